@@ -0,0 +1,108 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// balances of batchSize wallets over HTTP: one GET /wallets/{id}/balance per wallet vs a single POST /wallets/balances.
+// Scores are per call; divide by batchSize for the cost per wallet
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BalanceBatchBenchmark {
+
+    private static final int WALLETS = 2048;
+    private static final int DEPOSITS_PER_WALLET = 4;
+    private static final int POSITIONS = 64;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"1", "10", "100", "500"})
+    public int batchSize;
+
+    // current balance from the projection, or the balance at an instant aggregated from the ledger
+    @Param({"false", "true"})
+    public boolean historical;
+
+    private BenchmarkEnvironment environment;
+    private HttpClient client;
+    private UUID[] walletIds;
+    private String at;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2_WEB);
+        walletIds = new UUID[WALLETS];
+        for (int i = 0; i < WALLETS; i++) {
+            walletIds[i] = environment.createWalletUseCase().execute("bench-balances-" + i).id();
+            for (int d = 0; d < DEPOSITS_PER_WALLET; d++) {
+                environment.depositUseCase().execute(walletIds[i], AMOUNT);
+            }
+        }
+        at = historical ? Instant.now().toString() : null;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public int oneRequestPerWallet() throws IOException, InterruptedException {
+        int first = nextFirst();
+        int bytes = 0;
+        for (int i = 0; i < batchSize; i++) {
+            String path = "/wallets/" + walletIds[(first + i) % WALLETS] + "/balance" + (at == null ? "" : "?at=" + at);
+            bytes += send(HttpRequest.newBuilder(environment.baseUri().resolve(path)).GET().build());
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int batchRequest() throws IOException, InterruptedException {
+        int first = nextFirst();
+        StringBuilder body = new StringBuilder("{");
+        if (at != null) {
+            body.append("\"at\":\"").append(at).append("\",");
+        }
+        body.append("\"walletIds\":[");
+        for (int i = 0; i < batchSize; i++) {
+            body.append(i == 0 ? "\"" : ",\"").append(walletIds[(first + i) % WALLETS]).append('"');
+        }
+        body.append("]}");
+        return send(HttpRequest.newBuilder(environment.baseUri().resolve("/wallets/balances"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build());
+    }
+
+    // a different slice of wallets per call; repeating one query would let H2 hand back its cached result
+    private int nextFirst() {
+        return (next++ & (POSITIONS - 1)) * (WALLETS / POSITIONS);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("balance request failed with status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
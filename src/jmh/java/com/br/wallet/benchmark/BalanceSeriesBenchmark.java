@@ -0,0 +1,131 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.persistence.adapter.LedgerEntryRepositoryAdapter;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// a week of closing balances (10080 entries in range, one per minute) at a growing number of points:
+// the single pass should barely move with the point count, the per-point lookups grow with it
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BalanceSeriesBenchmark {
+
+    private static final int ENTRIES = 200_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int POSITIONS = 64;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration RANGE = Duration.ofDays(7);
+
+    // 7 daily, 168 hourly, 2016 five-minute points over the same week
+    @Param({"7", "168", "2016"})
+    public int points;
+
+    private BenchmarkEnvironment environment;
+    private LedgerEntryRepository ledgerEntryRepository;
+    private LedgerEntryRepositoryAdapter ledgerEntryRepositoryAdapter;
+    private LedgerEntryJpaRepository ledgerEntryJpaRepository;
+    private UUID walletId;
+    private List<List<Instant>> series;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2);
+        ledgerEntryRepository = environment.bean(LedgerEntryRepository.class);
+        ledgerEntryRepositoryAdapter = environment.bean(LedgerEntryRepositoryAdapter.class);
+        ledgerEntryJpaRepository = environment.bean(LedgerEntryJpaRepository.class);
+        walletId = environment.createWalletUseCase().execute("bench-series-" + UUID.randomUUID()).id();
+
+        JdbcTemplate jdbcTemplate = environment.bean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= ENTRIES; i++) {
+            Timestamp occurredAt = Timestamp.from(START.plus(Duration.ofMinutes(i)));
+            batch.add(new Object[]{
+                    UUID.randomUUID(), walletId, AMOUNT, occurredAt, occurredAt, AMOUNT.multiply(BigDecimal.valueOf(i)), (long) i
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || i == ENTRIES) {
+                jdbcTemplate.batchUpdate("""
+                        insert into ledger_entries
+                            (id, wallet_id, operation_type, direction, amount, occurred_at, created_at, balance_after, entry_sequence, backdated)
+                        values (?, ?, 'DEPOSIT', 'CREDIT', ?, ?, ?, ?, ?, false)
+                        """, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.update(
+                "update wallet_balances set balance = ?, entry_count = ?, last_occurred_at = ? where wallet_id = ?",
+                AMOUNT.multiply(BigDecimal.valueOf(ENTRIES)), ENTRIES, Timestamp.from(START.plus(Duration.ofMinutes(ENTRIES))), walletId
+        );
+
+        // weeks starting a day apart; repeating one range would let H2 hand back its cached result
+        Duration step = RANGE.dividedBy(points);
+        series = new ArrayList<>(POSITIONS);
+        for (int k = 0; k < POSITIONS; k++) {
+            Instant from = START.plus(Duration.ofDays(k + 1));
+            List<Instant> instants = new ArrayList<>(points + 1);
+            for (int p = 0; p <= points; p++) {
+                instants.add(from.plus(step.multipliedBy(p)));
+            }
+            series.add(instants);
+        }
+        BigDecimal last = ledgerEntryRepository.calculateBalanceSeries(walletId, series.get(0)).get(points).balance();
+        if (last.compareTo(ledgerEntryRepository.calculateBalanceAt(walletId, series.get(0).get(points))) != 0) {
+            throw new IllegalStateException("Balance series does not match the historical balance");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<BalancePoint> singlePass() {
+        return ledgerEntryRepository.calculateBalanceSeries(walletId, nextSeries());
+    }
+
+    // one running-balance seek per point, as repeated GET /wallets/{id}/balance?at= calls would do
+    // (bypassing the historical balance cache, which would answer this settled range from memory)
+    @Benchmark
+    public List<BigDecimal> seekPerPoint() {
+        List<Instant> instants = nextSeries();
+        List<BigDecimal> balances = new ArrayList<>(instants.size());
+        for (Instant at : instants) {
+            balances.add(ledgerEntryRepositoryAdapter.calculateBalanceAt(walletId, at));
+        }
+        return balances;
+    }
+
+    // re-summing the prefix of the ledger for every point
+    @Benchmark
+    public List<BigDecimal> aggregatePerPoint() {
+        List<Instant> instants = nextSeries();
+        List<BigDecimal> balances = new ArrayList<>(instants.size());
+        for (Instant at : instants) {
+            balances.add(ledgerEntryJpaRepository.calculateBalanceAt(walletId, at));
+        }
+        return balances;
+    }
+
+    private List<Instant> nextSeries() {
+        return series.get(next++ & (POSITIONS - 1));
+    }
+}
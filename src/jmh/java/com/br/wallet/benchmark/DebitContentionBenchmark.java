@@ -0,0 +1,53 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.PixTransfer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// every thread debits the same wallet, the worst case for a per-wallet lock
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class DebitContentionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"PESSIMISTIC_LOCK", "CONDITIONAL_UPDATE", "GROUP_COMMIT"})
+    public String strategy;
+
+    private BenchmarkEnvironment environment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2, "wallet.debit.strategy=" + strategy);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public LedgerEntry withdraw() {
+        return environment.withdrawUseCase().execute(environment.payerWalletId(), AMOUNT);
+    }
+
+    @Benchmark
+    public PixTransfer createPixTransfer() {
+        return environment.createPixTransferUseCase().executeNew(
+                environment.payerWalletId(),
+                environment.payeePixKey(),
+                AMOUNT,
+                UUID.randomUUID().toString()
+        );
+    }
+}
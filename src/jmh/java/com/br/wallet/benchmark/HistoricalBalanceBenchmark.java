@@ -0,0 +1,116 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.persistence.adapter.LedgerEntryRepositoryAdapter;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class HistoricalBalanceBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int QUERY_POINTS = 1024;
+    private static final int MONTH_ENDS = 12;
+
+    @Param({"10000", "100000", "1000000"})
+    public int entries;
+
+    private BenchmarkEnvironment environment;
+    private LedgerEntryRepository ledgerEntryRepository;
+    private LedgerEntryRepositoryAdapter ledgerEntryRepositoryAdapter;
+    private LedgerEntryJpaRepository ledgerEntryJpaRepository;
+    private UUID walletId;
+    private Instant[] points;
+    private Instant[] monthEnds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2);
+        ledgerEntryRepository = environment.bean(LedgerEntryRepository.class);
+        ledgerEntryRepositoryAdapter = environment.bean(LedgerEntryRepositoryAdapter.class);
+        ledgerEntryJpaRepository = environment.bean(LedgerEntryJpaRepository.class);
+        walletId = environment.createWalletUseCase().execute("bench-history-" + UUID.randomUUID()).id();
+
+        JdbcTemplate jdbcTemplate = environment.bean(JdbcTemplate.class);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= entries; i++) {
+            Timestamp occurredAt = Timestamp.from(start.plusSeconds(i));
+            batch.add(new Object[]{
+                    UUID.randomUUID(), walletId, AMOUNT, occurredAt, occurredAt, AMOUNT.multiply(BigDecimal.valueOf(i)), (long) i
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || i == entries) {
+                jdbcTemplate.batchUpdate("""
+                        insert into ledger_entries
+                            (id, wallet_id, operation_type, direction, amount, occurred_at, created_at, balance_after, entry_sequence, backdated)
+                        values (?, ?, 'DEPOSIT', 'CREDIT', ?, ?, ?, ?, ?, false)
+                        """, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.update(
+                "update wallet_balances set balance = ?, entry_count = ?, last_occurred_at = ? where wallet_id = ?",
+                AMOUNT.multiply(BigDecimal.valueOf(entries)), entries, Timestamp.from(start.plusSeconds(entries)), walletId
+        );
+        // spread lookups over the history; repeating one instant would let H2 hand back its cached result
+        Random random = new Random(42);
+        points = new Instant[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            points[i] = start.plusSeconds(1 + random.nextInt(entries));
+        }
+        // the same few closing instants asked for again and again, each a little apart, as statement tooling does
+        monthEnds = new Instant[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            long closing = (long) entries * (1 + i % MONTH_ENDS) / (MONTH_ENDS + 1);
+            monthEnds[i] = start.plusSeconds(closing - random.nextInt(60));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public BigDecimal seekRunningBalance() {
+        return ledgerEntryRepositoryAdapter.calculateBalanceAt(walletId, nextPoint());
+    }
+
+    // the history is long settled, so these are answered from the historical balance cache
+    @Benchmark
+    public BigDecimal cachedMonthEnd() {
+        return ledgerEntryRepository.calculateBalanceAt(walletId, monthEnds[next++ & (QUERY_POINTS - 1)]);
+    }
+
+    @Benchmark
+    public BigDecimal seekMonthEnd() {
+        return ledgerEntryRepositoryAdapter.calculateBalanceAt(walletId, monthEnds[next++ & (QUERY_POINTS - 1)]);
+    }
+
+    @Benchmark
+    public BigDecimal aggregateLedger() {
+        return ledgerEntryJpaRepository.calculateBalanceAt(walletId, nextPoint());
+    }
+
+    private Instant nextPoint() {
+        return points[next++ & (QUERY_POINTS - 1)];
+    }
+}
@@ -0,0 +1,49 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.application.usecase.wallet.ShardWalletBalanceUseCase;
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.model.LedgerEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// every thread credits the same merchant wallet; shards=0 is the unsharded wallet_balances row
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class HotWalletCreditBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"0", "4", "16"})
+    public int shards;
+
+    private BenchmarkEnvironment environment;
+    private UUID merchantWalletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2);
+        merchantWalletId = environment.createWalletUseCase().execute("merchant-" + UUID.randomUUID()).id();
+        environment.depositUseCase().execute(merchantWalletId, AMOUNT);
+        if (shards > 0) {
+            environment.bean(ShardWalletBalanceUseCase.class).execute(merchantWalletId, shards);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public LedgerEntry deposit() {
+        return environment.depositUseCase().execute(merchantWalletId, AMOUNT);
+    }
+}
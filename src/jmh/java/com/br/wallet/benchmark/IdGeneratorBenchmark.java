@@ -0,0 +1,58 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.domain.id.EndToEndIdGenerator;
+import com.br.wallet.domain.id.IdGenerator;
+import com.br.wallet.domain.id.PixEndToEndIdGenerator;
+import com.br.wallet.domain.id.RandomIdGenerator;
+import com.br.wallet.domain.id.UuidV7IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// generation cost only. The insert locality effect needs a disk-backed B-tree larger than the buffer cache,
+// which in-memory H2 does not have; src/jmh/resources/id-locality.sql measures it on Postgres.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator random = new RandomIdGenerator();
+    private final IdGenerator uuidV7 = new UuidV7IdGenerator();
+    private final EndToEndIdGenerator pixEndToEndId = new PixEndToEndIdGenerator("00000000");
+
+    @Benchmark
+    public UUID randomUuid() {
+        return random.newId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID randomUuidContended() {
+        return random.newId();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return uuidV7.newId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID uuidV7Contended() {
+        return uuidV7.newId();
+    }
+
+    @Benchmark
+    public String legacyEndToEndId() {
+        return "E2E-" + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String pixEndToEndId() {
+        return pixEndToEndId.newEndToEndId();
+    }
+}
@@ -0,0 +1,63 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.infrastructure.metrics.MetricResult;
+import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import com.br.wallet.infrastructure.metrics.WithdrawMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// run with -prof gc: the pre-registered paths should report ~0 B/op, the lookup paths pay for tags and ids per call
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MetricsRecordingBenchmark {
+
+    private MeterRegistry meterRegistry;
+    private PixWebhookMetrics pixWebhookMetrics;
+    private WithdrawMetrics withdrawMetrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pixWebhookMetrics = new PixWebhookMetrics(meterRegistry);
+        withdrawMetrics = new WithdrawMetrics(meterRegistry);
+    }
+
+    @Benchmark
+    public void webhookLookupPerCall() {
+        // how the webhook path recorded before the meters were resolved up front
+        meterRegistry.counter("wallet.pix.webhook.events.total", "event_type", PixEventType.CONFIRMED.name()).increment();
+        Timer.builder("wallet.pix.webhook.processing_duration.seconds")
+                .tag("event_type", PixEventType.CONFIRMED.name())
+                .tag("result", "success")
+                .register(meterRegistry)
+                .record(1_000L, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void webhookPreRegistered() {
+        pixWebhookMetrics.recordWebhookReceived(PixEventType.CONFIRMED);
+        pixWebhookMetrics.recordProcessingDuration(PixEventType.CONFIRMED, MetricResult.SUCCESS, 1_000L);
+    }
+
+    @Benchmark
+    public void withdrawLookupPerCall() {
+        Timer.builder("wallet.withdraw.duration.seconds")
+                .tag("result", "success")
+                .register(meterRegistry)
+                .record(1_000L, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void withdrawPreRegistered() {
+        withdrawMetrics.recordDuration(1_000L, MetricResult.SUCCESS);
+    }
+}
@@ -0,0 +1,104 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.InMemoryLedgerEntryRepository;
+import com.br.wallet.benchmark.support.InMemoryPixTransferRepository;
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import com.br.wallet.infrastructure.statemachine.PixTransferStateMachineConfig;
+import com.br.wallet.infrastructure.statemachine.PixTransferTransitionTable;
+import com.br.wallet.infrastructure.statemachine.PixTransitionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// compares only the transition machinery: both paths run the same confirm action against in-memory ports
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PixTransitionBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private StateMachineFactory<PixTransferStatus, PixEventType> stateMachineFactory;
+    private PixTransferTransitionTable transitionTable;
+    private PixTransfer transfer;
+    private Instant occurredAt;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        tearDown();
+        // every fire reuses the same PENDING transfer, so the guarded status update must always win
+        InMemoryPixTransferRepository pixTransferRepository = new InMemoryPixTransferRepository() {
+            @Override
+            public boolean updateStatusIfPending(String endToEndId, PixTransferStatus status, Instant updatedAt) {
+                return true;
+            }
+        };
+        InMemoryLedgerEntryRepository ledgerEntryRepository = new InMemoryLedgerEntryRepository();
+        PixWebhookMetrics pixWebhookMetrics = new PixWebhookMetrics(new SimpleMeterRegistry());
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(PixTransferRepository.class, () -> pixTransferRepository);
+        context.registerBean(LedgerEntryRepository.class, () -> ledgerEntryRepository);
+        context.registerBean(PixWebhookMetrics.class, () -> pixWebhookMetrics);
+        context.register(PixTransferStateMachineConfig.class);
+        context.refresh();
+        stateMachineFactory = context.getBean(StateMachineFactory.class);
+        transitionTable = context.getBean(PixTransferTransitionTable.class);
+
+        transfer = PixTransfer.newPending(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                new BigDecimal("10.00"),
+                "E2E-" + UUID.randomUUID(),
+                "bench-transition"
+        );
+        occurredAt = Instant.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public boolean stateMachine() {
+        StateMachine<PixTransferStatus, PixEventType> stateMachine =
+                stateMachineFactory.getStateMachine(transfer.id().toString());
+        stateMachine.stop();
+        stateMachine.getStateMachineAccessor()
+                .doWithAllRegions(access ->
+                        access.resetStateMachine(
+                                new DefaultStateMachineContext<>(transfer.status(), null, null, null)
+                        )
+                );
+        stateMachine.getExtendedState().getVariables().put("transfer", transfer);
+        stateMachine.getExtendedState().getVariables().put("occurredAt", occurredAt);
+        stateMachine.getExtendedState().getVariables().put("eventId", "evt-bench");
+        stateMachine.start();
+        return stateMachine.sendEvent(PixEventType.CONFIRMED);
+    }
+
+    @Benchmark
+    public PixTransitionResult transitionTable() {
+        return transitionTable.fire(transfer, PixEventType.CONFIRMED, occurredAt, "evt-bench");
+    }
+}
@@ -0,0 +1,102 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PixUseCaseBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+    private static final String REPEATED_KEY = "bench-repeated";
+
+    @Param({BenchmarkEnvironment.IN_MEMORY, BenchmarkEnvironment.H2})
+    public String backend;
+
+    private BenchmarkEnvironment environment;
+    private PixTransferRequest request;
+    private long sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // in-memory stores grow with every operation, so they start clean each iteration; the H2 context is reused
+        if (environment == null || environment.isInMemory()) {
+            tearDown();
+            environment = BenchmarkEnvironment.open(backend);
+            request = new PixTransferRequest(environment.payerWalletId(), environment.payeePixKey(), AMOUNT);
+            environment.idempotentCreatePixTransferUseCase().execute(request, REPEATED_KEY);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (environment != null) {
+            environment.close();
+            environment = null;
+        }
+    }
+
+    @Benchmark
+    public PixTransfer createPixTransfer() {
+        return environment.createPixTransferUseCase().execute(
+                environment.payerWalletId(),
+                environment.payeePixKey(),
+                AMOUNT,
+                nextKey()
+        );
+    }
+
+    @Benchmark
+    public PixTransferResponse idempotentCreatePixTransferMiss() {
+        return environment.idempotentCreatePixTransferUseCase().execute(request, nextKey());
+    }
+
+    @Benchmark
+    public PixTransferResponse idempotentCreatePixTransferHit() {
+        return environment.idempotentCreatePixTransferUseCase().execute(request, REPEATED_KEY);
+    }
+
+    @Benchmark
+    public void handlePixWebhook(PendingTransfer pending) {
+        environment.handlePixWebhookUseCase().execute(
+                pending.endToEndId,
+                "evt-" + pending.endToEndId,
+                PixEventType.CONFIRMED,
+                pending.occurredAt
+        );
+    }
+
+    String createPendingTransfer() {
+        return createPixTransfer().endToEndId();
+    }
+
+    private String nextKey() {
+        return "bench-" + sequence++;
+    }
+
+    @State(Scope.Thread)
+    public static class PendingTransfer {
+
+        String endToEndId;
+        Instant occurredAt;
+
+        // every webhook needs a transfer still in PENDING; creating it is kept out of the measured call
+        @Setup(Level.Invocation)
+        public void create(PixUseCaseBenchmark benchmark) {
+            endToEndId = benchmark.createPendingTransfer();
+            occurredAt = Instant.now();
+        }
+    }
+}
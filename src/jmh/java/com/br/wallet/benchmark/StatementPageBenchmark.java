@@ -0,0 +1,106 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// one statement page at the head of a long history and deep into it: keyset pages should not care how deep
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class StatementPageBenchmark {
+
+    private static final int ENTRIES = 200_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int POSITIONS = 64;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    // entries newer than the requested page
+    @Param({"0", "10000", "190000"})
+    public int depth;
+
+    private BenchmarkEnvironment environment;
+    private LedgerEntryRepository ledgerEntryRepository;
+    private LedgerEntryJpaRepository ledgerEntryJpaRepository;
+    private UUID walletId;
+    private StatementCursor[] cursors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.open(BenchmarkEnvironment.H2);
+        ledgerEntryRepository = environment.bean(LedgerEntryRepository.class);
+        ledgerEntryJpaRepository = environment.bean(LedgerEntryJpaRepository.class);
+        walletId = environment.createWalletUseCase().execute("bench-statement-" + UUID.randomUUID()).id();
+
+        JdbcTemplate jdbcTemplate = environment.bean(JdbcTemplate.class);
+        UUID[] ids = new UUID[ENTRIES + 1];
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= ENTRIES; i++) {
+            Timestamp occurredAt = Timestamp.from(START.plusSeconds(i));
+            ids[i] = UUID.randomUUID();
+            batch.add(new Object[]{
+                    ids[i], walletId, AMOUNT, occurredAt, occurredAt, AMOUNT.multiply(BigDecimal.valueOf(i)), (long) i
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || i == ENTRIES) {
+                jdbcTemplate.batchUpdate("""
+                        insert into ledger_entries
+                            (id, wallet_id, operation_type, direction, amount, occurred_at, created_at, balance_after, entry_sequence, backdated)
+                        values (?, ?, 'DEPOSIT', 'CREDIT', ?, ?, ?, ?, ?, false)
+                        """, batch);
+                batch.clear();
+            }
+        }
+
+        // neighbouring pages around each depth; repeating one query would let H2 hand back its cached result
+        cursors = new StatementCursor[POSITIONS];
+        for (int k = 0; k < POSITIONS; k++) {
+            // the last entry of the previous page, as a client would hold it
+            int last = ENTRIES - depth - k + 1;
+            cursors[k] = last > ENTRIES ? null : new StatementCursor(START.plusSeconds(last), ids[last]);
+        }
+        List<LedgerEntry> page = ledgerEntryRepository.findStatementPage(walletId, cursors[1], PAGE_SIZE);
+        if (!page.get(0).occurredAt().equals(START.plusSeconds(ENTRIES - depth - 1))) {
+            throw new IllegalStateException("Statement page does not start at depth " + depth);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<LedgerEntry> keyset() {
+        return ledgerEntryRepository.findStatementPage(walletId, cursors[nextPosition()], PAGE_SIZE);
+    }
+
+    // the same query paged with OFFSET, as Spring Data pagination would issue it
+    @Benchmark
+    public List<LedgerEntryEntity> offset() {
+        return ledgerEntryJpaRepository.findStatementHead(walletId, PageRequest.of(depth / PAGE_SIZE + nextPosition(), PAGE_SIZE));
+    }
+
+    private int nextPosition() {
+        return next++ & (POSITIONS - 1);
+    }
+}
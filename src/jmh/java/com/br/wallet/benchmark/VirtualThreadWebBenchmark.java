@@ -0,0 +1,81 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 2k concurrent HTTP clients depositing into a few hundred wallets, request handling on Tomcat's platform
+// thread pool vs one virtual thread per request. SampleTime reports the p99.
+// virtual needs a Java 21 runtime and a build with -Pjava21
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.tracePinnedThreads=short"})
+@Threads(2000)
+@State(Scope.Benchmark)
+public class VirtualThreadWebBenchmark {
+
+    private static final int WALLETS = 256;
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private BenchmarkEnvironment environment;
+    private HttpClient client;
+    private URI[] depositUris;
+    private HttpRequest.BodyPublisher body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual threads need a Java 21 runtime, found " + Runtime.version());
+        }
+        // measure how long requests queue for a connection rather than fail them at the production timeout
+        environment = BenchmarkEnvironment.open(
+                BenchmarkEnvironment.H2_WEB,
+                "spring.threads.virtual.enabled=" + virtual,
+                "spring.datasource.hikari.connection-timeout=120000"
+        );
+        depositUris = new URI[WALLETS];
+        for (int i = 0; i < WALLETS; i++) {
+            var walletId = environment.createWalletUseCase().execute("bench-web-" + i).id();
+            depositUris[i] = environment.baseUri().resolve("/wallets/" + walletId + "/deposit");
+        }
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        body = HttpRequest.BodyPublishers.ofString("{\"amount\":" + AMOUNT + "}");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public int deposit() throws IOException, InterruptedException {
+        URI uri = depositUris[ThreadLocalRandom.current().nextInt(WALLETS)];
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(body)
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("deposit failed with status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,51 @@
+package com.br.wallet.benchmark;
+
+import com.br.wallet.benchmark.support.BenchmarkEnvironment;
+import com.br.wallet.domain.model.LedgerEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class WalletUseCaseBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({BenchmarkEnvironment.IN_MEMORY, BenchmarkEnvironment.H2})
+    public String backend;
+
+    private BenchmarkEnvironment environment;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // in-memory stores grow with every operation, so they start clean each iteration; the H2 context is reused
+        if (environment == null || environment.isInMemory()) {
+            tearDown();
+            environment = BenchmarkEnvironment.open(backend);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (environment != null) {
+            environment.close();
+            environment = null;
+        }
+    }
+
+    @Benchmark
+    public LedgerEntry deposit() {
+        return environment.depositUseCase().execute(environment.payerWalletId(), AMOUNT);
+    }
+
+    @Benchmark
+    public LedgerEntry withdraw() {
+        return environment.withdrawUseCase().execute(environment.payerWalletId(), AMOUNT);
+    }
+}
@@ -0,0 +1,240 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.WalletApplication;
+import com.br.wallet.application.usecase.pix.CreatePixTransferUseCase;
+import com.br.wallet.application.usecase.pix.HandlePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.IdempotentCreatePixTransferUseCase;
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.application.usecase.wallet.WithdrawUseCase;
+import com.br.wallet.domain.enums.DebitStrategy;
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.domain.id.PixEndToEndIdGenerator;
+import com.br.wallet.infrastructure.metrics.*;
+import com.br.wallet.infrastructure.statemachine.PixTransferStateMachineConfig;
+import com.br.wallet.infrastructure.statemachine.PixTransferTransitionTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class BenchmarkEnvironment implements AutoCloseable {
+
+    public static final String IN_MEMORY = "in-memory";
+    public static final String H2 = "h2";
+    // H2 behind the embedded Tomcat on a random port, for benchmarks that go through HTTP
+    public static final String H2_WEB = "h2-web";
+
+    private static final String BENCHMARK_ISPB = "00000000";
+    private static final BigDecimal PAYER_FUNDS = new BigDecimal("1000000000000.00");
+
+    private final String backend;
+    private final ConfigurableApplicationContext context;
+    private final CreateWalletUseCase createWalletUseCase;
+    private final RegisterPixKeyUseCase registerPixKeyUseCase;
+    private final DepositUseCase depositUseCase;
+    private final WithdrawUseCase withdrawUseCase;
+    private final CreatePixTransferUseCase createPixTransferUseCase;
+    private final IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase;
+    private final HandlePixWebhookUseCase handlePixWebhookUseCase;
+
+    private UUID payerWalletId;
+    private String payeePixKey;
+
+    private BenchmarkEnvironment(
+            String backend,
+            ConfigurableApplicationContext context,
+            CreateWalletUseCase createWalletUseCase,
+            RegisterPixKeyUseCase registerPixKeyUseCase,
+            DepositUseCase depositUseCase,
+            WithdrawUseCase withdrawUseCase,
+            CreatePixTransferUseCase createPixTransferUseCase,
+            IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase,
+            HandlePixWebhookUseCase handlePixWebhookUseCase
+    ) {
+        this.backend = backend;
+        this.context = context;
+        this.createWalletUseCase = createWalletUseCase;
+        this.registerPixKeyUseCase = registerPixKeyUseCase;
+        this.depositUseCase = depositUseCase;
+        this.withdrawUseCase = withdrawUseCase;
+        this.createPixTransferUseCase = createPixTransferUseCase;
+        this.idempotentCreatePixTransferUseCase = idempotentCreatePixTransferUseCase;
+        this.handlePixWebhookUseCase = handlePixWebhookUseCase;
+    }
+
+    public static BenchmarkEnvironment open(String backend) {
+        return open(backend, new String[0]);
+    }
+
+    // properties are passed to the application context as --name=value and only apply to the H2 backend
+    public static BenchmarkEnvironment open(String backend, String... properties) {
+        BenchmarkEnvironment environment = switch (backend) {
+            case IN_MEMORY -> inMemory();
+            case H2 -> h2(WebApplicationType.NONE, properties);
+            case H2_WEB -> h2(WebApplicationType.SERVLET, properties);
+            default -> throw new IllegalArgumentException("Unknown benchmark backend: " + backend);
+        };
+        environment.seed();
+        return environment;
+    }
+
+    private static BenchmarkEnvironment inMemory() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryWalletRepository walletRepository = new InMemoryWalletRepository();
+        InMemoryLedgerEntryRepository ledgerEntryRepository = new InMemoryLedgerEntryRepository();
+        InMemoryPixKeyRepository pixKeyRepository = new InMemoryPixKeyRepository();
+        InMemoryPixTransferRepository pixTransferRepository = new InMemoryPixTransferRepository();
+        InMemoryPixEventRepository pixEventRepository = new InMemoryPixEventRepository();
+        InMemoryIdempotencyRecordRepository idempotencyRecordRepository = new InMemoryIdempotencyRecordRepository();
+        PixWebhookMetrics pixWebhookMetrics = new PixWebhookMetrics(registry);
+
+        PixTransferTransitionTable transitionTable = new PixTransferStateMachineConfig(
+                pixTransferRepository,
+                ledgerEntryRepository,
+                pixWebhookMetrics
+        ).pixTransferTransitionTable();
+
+        CreatePixTransferUseCase createPixTransferUseCase = new CreatePixTransferUseCase(
+                walletRepository,
+                pixKeyRepository,
+                pixTransferRepository,
+                ledgerEntryRepository,
+                idempotencyRecordRepository,
+                new PixMetrics(registry),
+                new PixEndToEndIdGenerator(BENCHMARK_ISPB),
+                DebitStrategy.PESSIMISTIC_LOCK,
+                null,
+                TransactionOperations.withoutTransaction()
+        );
+        return new BenchmarkEnvironment(
+                IN_MEMORY,
+                null,
+                new CreateWalletUseCase(walletRepository, new WalletMetrics(registry)),
+                new RegisterPixKeyUseCase(walletRepository, pixKeyRepository, new PixKeyMetrics(registry)),
+                new DepositUseCase(walletRepository, ledgerEntryRepository, new DepositMetrics(registry)),
+                new WithdrawUseCase(
+                        walletRepository,
+                        ledgerEntryRepository,
+                        new WithdrawMetrics(registry),
+                        DebitStrategy.PESSIMISTIC_LOCK,
+                        null,
+                        TransactionOperations.withoutTransaction()
+                ),
+                createPixTransferUseCase,
+                new IdempotentCreatePixTransferUseCase(
+                        idempotencyRecordRepository,
+                        createPixTransferUseCase,
+                        new ObjectMapper(),
+                        new PixTransferMetrics(registry),
+                        Duration.ofSeconds(5),
+                        Duration.ofHours(24),
+                        TransactionOperations.withoutTransaction()
+                ),
+                new HandlePixWebhookUseCase(pixTransferRepository, pixEventRepository, pixWebhookMetrics, transitionTable)
+        );
+    }
+
+    private static BenchmarkEnvironment h2(WebApplicationType webApplicationType, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MYSQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--server.port=0"
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletApplication.class)
+                .profiles("test")
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+        return new BenchmarkEnvironment(
+                webApplicationType == WebApplicationType.NONE ? H2 : H2_WEB,
+                context,
+                context.getBean(CreateWalletUseCase.class),
+                context.getBean(RegisterPixKeyUseCase.class),
+                context.getBean(DepositUseCase.class),
+                context.getBean(WithdrawUseCase.class),
+                context.getBean(CreatePixTransferUseCase.class),
+                context.getBean(IdempotentCreatePixTransferUseCase.class),
+                context.getBean(HandlePixWebhookUseCase.class)
+        );
+    }
+
+    private void seed() {
+        payerWalletId = createWalletUseCase.execute("bench-payer-" + UUID.randomUUID()).id();
+        depositUseCase.execute(payerWalletId, PAYER_FUNDS);
+        UUID payeeWalletId = createWalletUseCase.execute("bench-payee-" + UUID.randomUUID()).id();
+        payeePixKey = "bench-" + UUID.randomUUID() + "@wallet.test";
+        registerPixKeyUseCase.execute(payeeWalletId, PixKeyType.EMAIL, payeePixKey);
+    }
+
+    public boolean isInMemory() {
+        return IN_MEMORY.equals(backend);
+    }
+
+    public <T> T bean(Class<T> type) {
+        if (context == null) {
+            throw new IllegalStateException("No application context for backend " + backend);
+        }
+        return context.getBean(type);
+    }
+
+    public URI baseUri() {
+        if (!H2_WEB.equals(backend)) {
+            throw new IllegalStateException("No web server for backend " + backend);
+        }
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    public UUID payerWalletId() {
+        return payerWalletId;
+    }
+
+    public String payeePixKey() {
+        return payeePixKey;
+    }
+
+    public CreateWalletUseCase createWalletUseCase() {
+        return createWalletUseCase;
+    }
+
+    public DepositUseCase depositUseCase() {
+        return depositUseCase;
+    }
+
+    public WithdrawUseCase withdrawUseCase() {
+        return withdrawUseCase;
+    }
+
+    public CreatePixTransferUseCase createPixTransferUseCase() {
+        return createPixTransferUseCase;
+    }
+
+    public IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase() {
+        return idempotentCreatePixTransferUseCase;
+    }
+
+    public HandlePixWebhookUseCase handlePixWebhookUseCase() {
+        return handlePixWebhookUseCase;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
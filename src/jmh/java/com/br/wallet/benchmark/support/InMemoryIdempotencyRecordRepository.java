@@ -0,0 +1,49 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryIdempotencyRecordRepository implements IdempotencyRecordRepository {
+
+    private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public IdempotencyRecord save(IdempotencyRecord record) {
+        records.put(record.scope() + ":" + record.idempotencyKey(), record);
+        return record;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String key) {
+        return Optional.ofNullable(records.get(scope + ":" + key));
+    }
+
+    @Override
+    public boolean mightExist(String scope, String key) {
+        return records.containsKey(scope + ":" + key);
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        int deleted = 0;
+        for (var entry : records.entrySet()) {
+            if (deleted == limit) {
+                break;
+            }
+            if (entry.getValue().isExpiredAt(now) && records.remove(entry.getKey(), entry.getValue())) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public long count() {
+        return records.size();
+    }
+}
@@ -0,0 +1,161 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class InMemoryLedgerEntryRepository implements LedgerEntryRepository {
+
+    private final Map<UUID, List<LedgerEntry>> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> balances = new ConcurrentHashMap<>();
+
+    @Override
+    public LedgerEntry save(LedgerEntry entry) {
+        BigDecimal balance = balances.merge(entry.walletId(), entry.signedAmount(), BigDecimal::add);
+        LedgerEntry saved = new LedgerEntry(
+                entry.id(),
+                entry.walletId(),
+                entry.operationType(),
+                entry.direction(),
+                entry.amount(),
+                entry.referenceId(),
+                entry.endToEndId(),
+                entry.occurredAt(),
+                entry.createdAt(),
+                balance
+        );
+        List<LedgerEntry> walletEntries = entries.computeIfAbsent(entry.walletId(), id -> new ArrayList<>());
+        synchronized (walletEntries) {
+            walletEntries.add(saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<LedgerEntry> saveIfCovered(LedgerEntry debit) {
+        return calculateCurrentBalance(debit.walletId()).compareTo(debit.amount()) >= 0
+                ? Optional.of(save(debit))
+                : Optional.empty();
+    }
+
+    @Override
+    public List<LedgerEntry> saveAll(List<LedgerEntry> entries) {
+        return entries.stream().map(this::save).toList();
+    }
+
+    @Override
+    public BigDecimal calculateCurrentBalance(UUID walletId) {
+        return balances.getOrDefault(walletId, BigDecimal.ZERO);
+    }
+
+    @Override
+    public BigDecimal calculateBalanceAt(UUID walletId, Instant at) {
+        List<LedgerEntry> walletEntries = entries.getOrDefault(walletId, List.of());
+        synchronized (walletEntries) {
+            return walletEntries.stream()
+                    .filter(entry -> !entry.occurredAt().isAfter(at))
+                    .map(LedgerEntry::signedAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> calculateCurrentBalances(Collection<UUID> walletIds) {
+        Map<UUID, BigDecimal> result = new HashMap<>();
+        for (UUID walletId : walletIds) {
+            BigDecimal balance = balances.get(walletId);
+            if (balance != null) {
+                result.put(walletId, balance);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> calculateBalancesAt(Collection<UUID> walletIds, Instant at) {
+        Map<UUID, BigDecimal> result = new HashMap<>();
+        for (UUID walletId : walletIds) {
+            if (entries.containsKey(walletId)) {
+                result.put(walletId, calculateBalanceAt(walletId, at));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<BalancePoint> calculateBalanceSeries(UUID walletId, List<Instant> points) {
+        return points.stream()
+                .map(at -> new BalancePoint(at, calculateBalanceAt(walletId, at)))
+                .toList();
+    }
+
+    @Override
+    public List<BalancePoint> findBalanceChanges(UUID walletId, Instant from, Instant to) {
+        List<Instant> instants = new ArrayList<>();
+        instants.add(from);
+        List<LedgerEntry> walletEntries = entries.getOrDefault(walletId, List.of());
+        synchronized (walletEntries) {
+            walletEntries.stream()
+                    .map(LedgerEntry::occurredAt)
+                    .filter(at -> at.isAfter(from) && !at.isAfter(to))
+                    .distinct()
+                    .sorted()
+                    .forEach(instants::add);
+        }
+        return calculateBalanceSeries(walletId, instants);
+    }
+
+    @Override
+    public long backfillRunningBalances(UUID walletId) {
+        return 0;
+    }
+
+    @Override
+    public long archiveBefore(UUID walletId, Instant cutoff, int maxEntries) {
+        return 0;
+    }
+
+    @Override
+    public List<LedgerEntry> findStatementPage(UUID walletId, StatementCursor after, int limit) {
+        List<LedgerEntry> walletEntries = entries.getOrDefault(walletId, List.of());
+        synchronized (walletEntries) {
+            return walletEntries.stream()
+                    .filter(entry -> after == null || isBefore(entry, after))
+                    .sorted(Comparator.comparing(LedgerEntry::occurredAt).thenComparing(LedgerEntry::id).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+    }
+
+    @Override
+    public long forEachEntry(UUID walletId, Consumer<LedgerEntry> action) {
+        List<LedgerEntry> walletEntries = entries.getOrDefault(walletId, List.of());
+        List<LedgerEntry> snapshot;
+        synchronized (walletEntries) {
+            snapshot = walletEntries.stream()
+                    .sorted(Comparator.comparing(LedgerEntry::occurredAt).thenComparing(LedgerEntry::id))
+                    .toList();
+        }
+        snapshot.forEach(action);
+        return snapshot.size();
+    }
+
+    private static boolean isBefore(LedgerEntry entry, StatementCursor cursor) {
+        int byTime = entry.occurredAt().compareTo(cursor.occurredAt());
+        return byTime < 0 || (byTime == 0 && entry.id().compareTo(cursor.id()) < 0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.model.PixEvent;
+import com.br.wallet.domain.port.PixEventRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryPixEventRepository implements PixEventRepository {
+
+    private final Map<String, PixEvent> events = new ConcurrentHashMap<>();
+
+    @Override
+    public PixEvent save(PixEvent event) {
+        events.put(event.eventId(), event);
+        return event;
+    }
+
+    @Override
+    public Optional<PixEvent> findByEventId(String eventId, Instant occurredAt) {
+        return Optional.ofNullable(events.get(eventId));
+    }
+
+    @Override
+    public Set<String> findExistingEventIds(Collection<String> eventIds) {
+        return eventIds.stream().filter(events::containsKey).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,24 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.model.PixKey;
+import com.br.wallet.domain.port.PixKeyRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryPixKeyRepository implements PixKeyRepository {
+
+    private final Map<String, PixKey> keys = new ConcurrentHashMap<>();
+
+    @Override
+    public PixKey save(PixKey pixKey) {
+        keys.put(pixKey.keyValue(), pixKey);
+        return pixKey;
+    }
+
+    @Override
+    public Optional<PixKey> findByKeyValue(String keyValue) {
+        return Optional.ofNullable(keys.get(keyValue));
+    }
+}
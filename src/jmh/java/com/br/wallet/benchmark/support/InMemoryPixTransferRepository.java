@@ -0,0 +1,92 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.port.PixTransferRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryPixTransferRepository implements PixTransferRepository {
+
+    private final Map<String, PixTransfer> byEndToEndId = new ConcurrentHashMap<>();
+    private final Map<String, PixTransfer> byIdempotencyKey = new ConcurrentHashMap<>();
+
+    @Override
+    public PixTransfer save(PixTransfer transfer) {
+        PixTransfer saved = transfer.version() == null ? withVersion(transfer, 0L) : transfer;
+        byEndToEndId.put(saved.endToEndId(), saved);
+        byIdempotencyKey.put(idempotencyKey(saved.fromWalletId(), saved.idempotencyKey()), saved);
+        return saved;
+    }
+
+    @Override
+    public List<PixTransfer> saveAll(List<PixTransfer> transfers) {
+        return transfers.stream().map(this::save).toList();
+    }
+
+    @Override
+    public Optional<PixTransfer> findByEndToEndId(String endToEndId) {
+        return Optional.ofNullable(byEndToEndId.get(endToEndId));
+    }
+
+    @Override
+    public List<PixTransfer> findByEndToEndIds(Collection<String> endToEndIds) {
+        return endToEndIds.stream().map(byEndToEndId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Optional<PixTransfer> findByFromWalletIdAndIdempotencyKey(UUID fromWalletId, String idempotencyKey) {
+        return Optional.ofNullable(byIdempotencyKey.get(idempotencyKey(fromWalletId, idempotencyKey)));
+    }
+
+    @Override
+    public boolean updateStatusIfPending(String endToEndId, PixTransferStatus status, Instant updatedAt) {
+        PixTransfer current = byEndToEndId.get(endToEndId);
+        if (current == null || current.status() != PixTransferStatus.PENDING) {
+            return false;
+        }
+        PixTransfer updated = new PixTransfer(
+                current.id(),
+                current.endToEndId(),
+                current.fromWalletId(),
+                current.toWalletId(),
+                current.amount(),
+                current.idempotencyKey(),
+                current.createdAt(),
+                updatedAt,
+                current.version() == null ? 0L : current.version() + 1,
+                status
+        );
+        if (!byEndToEndId.replace(endToEndId, current, updated)) {
+            return false;
+        }
+        byIdempotencyKey.put(idempotencyKey(updated.fromWalletId(), updated.idempotencyKey()), updated);
+        return true;
+    }
+
+    private static String idempotencyKey(UUID fromWalletId, String idempotencyKey) {
+        return fromWalletId + ":" + idempotencyKey;
+    }
+
+    private static PixTransfer withVersion(PixTransfer transfer, Long version) {
+        return new PixTransfer(
+                transfer.id(),
+                transfer.endToEndId(),
+                transfer.fromWalletId(),
+                transfer.toWalletId(),
+                transfer.amount(),
+                transfer.idempotencyKey(),
+                transfer.createdAt(),
+                transfer.updatedAt(),
+                version,
+                transfer.status()
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.br.wallet.benchmark.support;
+
+import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.WalletRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryWalletRepository implements WalletRepository {
+
+    private final Map<UUID, Wallet> wallets = new ConcurrentHashMap<>();
+
+    @Override
+    public Wallet save(Wallet wallet) {
+        wallets.put(wallet.id(), wallet);
+        return wallet;
+    }
+
+    @Override
+    public Optional<Wallet> findById(UUID id) {
+        return Optional.ofNullable(wallets.get(id));
+    }
+
+    @Override
+    public Optional<Wallet> findByIdForUpdate(UUID id) {
+        return findById(id);
+    }
+
+    @Override
+    public List<UUID> findIdsAfter(UUID afterId, int limit) {
+        return wallets.keySet().stream()
+                .filter(id -> afterId == null || id.compareTo(afterId) > 0)
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+}
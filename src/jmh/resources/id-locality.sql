@@ -0,0 +1,53 @@
+-- Insert throughput and index size of random vs time-ordered keys on Postgres.
+-- psql -v rows=50000000 -f src/jmh/resources/id-locality.sql
+-- Run against a scratch database; \timing prints the insert time of each strategy.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 50000000
+\endif
+\timing on
+
+-- same layout as UuidV7IdGenerator: 48-bit unix millis, version 7, variant 10, random tail
+create or replace function id_locality_uuid_v7() returns uuid as $$
+    select encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                placing substring(int8send((extract(epoch from clock_timestamp()) * 1000)::bigint) from 3)
+                from 1 for 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ language sql volatile;
+
+drop table if exists id_locality_random;
+drop table if exists id_locality_v7;
+
+create unlogged table id_locality_random (
+    id uuid primary key,
+    end_to_end_id varchar(64) not null unique
+);
+create unlogged table id_locality_v7 (
+    id uuid primary key,
+    end_to_end_id varchar(64) not null unique
+);
+
+insert into id_locality_random
+select gen_random_uuid(), 'E2E-' || gen_random_uuid()
+from generate_series(1, :rows);
+
+insert into id_locality_v7
+select id_locality_uuid_v7(),
+       'E00000000' || to_char(clock_timestamp() at time zone 'UTC', 'YYYYMMDDHH24MI') || lpad(to_hex(n), 11, '0')
+from generate_series(1, :rows) as n;
+
+select c.relname,
+       pg_size_pretty(pg_relation_size(c.oid)) as size,
+       pg_relation_size(c.oid) as bytes
+from pg_class c
+where c.relname like 'id_locality_%'
+order by c.relname;
+
+drop table id_locality_random;
+drop table id_locality_v7;
+drop function id_locality_uuid_v7();
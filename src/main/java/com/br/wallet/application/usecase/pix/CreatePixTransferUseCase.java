@@ -1,23 +1,31 @@
 package com.br.wallet.application.usecase.pix;
 
+import com.br.wallet.application.usecase.wallet.DebitBatchResult;
+import com.br.wallet.application.usecase.wallet.PendingDebit;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
+import com.br.wallet.domain.enums.DebitStrategy;
 import com.br.wallet.domain.enums.LedgerEntryDirection;
 import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.id.EndToEndIdGenerator;
+import com.br.wallet.domain.model.IdempotencyRecord;
 import com.br.wallet.domain.model.LedgerEntry;
 import com.br.wallet.domain.model.PixKey;
 import com.br.wallet.domain.model.PixTransfer;
 import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.PixKeyRepository;
 import com.br.wallet.domain.port.PixTransferRepository;
 import com.br.wallet.domain.port.WalletRepository;
 import com.br.wallet.infrastructure.metrics.PixMetrics;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class CreatePixTransferUseCase {
 
@@ -27,24 +35,65 @@ public class CreatePixTransferUseCase {
     private final PixKeyRepository pixKeyRepository;
     private final PixTransferRepository pixTransferRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
     private final PixMetrics pixMetrics;
+    private final EndToEndIdGenerator endToEndIdGenerator;
+    private final DebitStrategy debitStrategy;
+    private final WalletDebitBatcher walletDebitBatcher;
+    private final TransactionOperations transactionOperations;
 
     public CreatePixTransferUseCase(
             WalletRepository walletRepository,
             PixKeyRepository pixKeyRepository,
             PixTransferRepository pixTransferRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            PixMetrics pixMetrics
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            PixMetrics pixMetrics,
+            EndToEndIdGenerator endToEndIdGenerator,
+            DebitStrategy debitStrategy,
+            WalletDebitBatcher walletDebitBatcher,
+            TransactionOperations transactionOperations
     ) {
         this.walletRepository = walletRepository;
         this.pixKeyRepository = pixKeyRepository;
         this.pixTransferRepository = pixTransferRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
         this.pixMetrics = pixMetrics;
+        this.endToEndIdGenerator = endToEndIdGenerator;
+        this.debitStrategy = debitStrategy;
+        this.walletDebitBatcher = walletDebitBatcher;
+        this.transactionOperations = transactionOperations;
     }
 
-    @Transactional
     public PixTransfer execute(UUID fromWalletId, String toPixKey, BigDecimal amount, String idempotencyKey) {
+        return transactionOperations.execute(status -> create(fromWalletId, toPixKey, amount, idempotencyKey, true, null));
+    }
+
+    public PixTransfer executeNew(UUID fromWalletId, String toPixKey, BigDecimal amount, String idempotencyKey) {
+        return transactionOperations.execute(status -> create(fromWalletId, toPixKey, amount, idempotencyKey, false, null));
+    }
+
+    public PixTransfer executeNew(
+            UUID fromWalletId,
+            String toPixKey,
+            BigDecimal amount,
+            String idempotencyKey,
+            Function<PixTransfer, IdempotencyRecord> idempotencyRecord
+    ) {
+        return transactionOperations.execute(
+                status -> create(fromWalletId, toPixKey, amount, idempotencyKey, false, idempotencyRecord)
+        );
+    }
+
+    private PixTransfer create(
+            UUID fromWalletId,
+            String toPixKey,
+            BigDecimal amount,
+            String idempotencyKey,
+            boolean checkExisting,
+            Function<PixTransfer, IdempotencyRecord> idempotencyRecord
+    ) {
         long startNanos = System.nanoTime();
         pixMetrics.onPixTransferRequested();
         log.info(
@@ -54,15 +103,28 @@ public class CreatePixTransferUseCase {
         try {
             PixKey key = loadPixKey(toPixKey);
             UUID toWalletId = key.walletId();
-            Optional<PixTransfer> idempotentResult =
-                    findExistingTransfer(fromWalletId, idempotencyKey);
-            if (idempotentResult.isPresent()) {
-                return idempotentResult.get();
+            if (checkExisting) {
+                Optional<PixTransfer> idempotentResult =
+                        findExistingTransfer(fromWalletId, idempotencyKey);
+                if (idempotentResult.isPresent()) {
+                    return idempotentResult.get();
+                }
+            }
+            PixTransfer savedTransfer;
+            if (debitStrategy == DebitStrategy.CONDITIONAL_UPDATE) {
+                savedTransfer = createPendingTransfer(fromWalletId, toWalletId, amount, idempotencyKey);
+                createDebitLedgerEntryIfCovered(fromWalletId, savedTransfer, amount);
+                saveIdempotencyRecord(savedTransfer, idempotencyRecord);
+            } else if (debitStrategy == DebitStrategy.GROUP_COMMIT) {
+                savedTransfer = createInBatch(fromWalletId, toWalletId, amount, idempotencyKey, idempotencyRecord);
+            } else {
+                Wallet fromWallet = loadWalletForUpdate(fromWalletId);
+                validateSufficientFunds(fromWallet, amount);
+                savedTransfer = createPendingTransfer(fromWalletId, toWalletId, amount, idempotencyKey);
+                createDebitLedgerEntry(fromWallet.id(), savedTransfer, amount);
+                saveIdempotencyRecord(savedTransfer, idempotencyRecord);
             }
-            Wallet fromWallet = loadWalletForUpdate(fromWalletId);
-            validateSufficientFunds(fromWallet, amount);
-            PixTransfer savedTransfer = createPendingTransfer(fromWalletId, toWalletId, amount, idempotencyKey);
-            createDebitLedgerEntry(fromWallet, savedTransfer, amount);
+            pixMetrics.onPixTransferCreated();
             log.info(
                     "CreatePixTransferUseCase - PIX transfer completed successfully transferId={}, endToEndId={}",
                     savedTransfer.id(), savedTransfer.endToEndId()
@@ -82,7 +144,7 @@ public class CreatePixTransferUseCase {
                 });
     }
 
-    private Optional<PixTransfer> findExistingTransfer(UUID fromWalletId, String idempotencyKey) {
+    public Optional<PixTransfer> findExistingTransfer(UUID fromWalletId, String idempotencyKey) {
         var existing = pixTransferRepository.findByFromWalletIdAndIdempotencyKey(fromWalletId, idempotencyKey);
         if (existing.isPresent()) {
             PixTransfer found = existing.get();
@@ -112,15 +174,19 @@ public class CreatePixTransferUseCase {
                 fromWallet.id(), balance, amount
         );
         if (balance.compareTo(amount) < 0) {
-            pixMetrics.onInsufficientFunds();
-            log.warn(
-                    "CreatePixTransferUseCase - insufficient funds walletId={}, balance={}, requestedAmount={}",
-                    fromWallet.id(), balance, amount
-            );
-            throw new IllegalStateException("Insufficient funds");
+            throw insufficientFunds(fromWallet.id(), balance, amount);
         }
     }
 
+    private IllegalStateException insufficientFunds(UUID walletId, BigDecimal balance, BigDecimal amount) {
+        pixMetrics.onInsufficientFunds();
+        log.warn(
+                "CreatePixTransferUseCase - insufficient funds walletId={}, balance={}, requestedAmount={}",
+                walletId, balance, amount
+        );
+        return new IllegalStateException("Insufficient funds");
+    }
+
     private PixTransfer createPendingTransfer(
             UUID fromWalletId,
             UUID toWalletId,
@@ -140,7 +206,6 @@ public class CreatePixTransferUseCase {
                 idempotencyKey
         );
         PixTransfer saved = pixTransferRepository.save(transfer);
-        pixMetrics.onPixTransferCreated();
         log.info(
                 "CreatePixTransferUseCase - pending transfer created transferId={}, endToEndId={}",
                 saved.id(), saved.endToEndId()
@@ -148,9 +213,65 @@ public class CreatePixTransferUseCase {
         return saved;
     }
 
-    private void createDebitLedgerEntry(Wallet fromWallet, PixTransfer transfer, BigDecimal amount) {
-        LedgerEntry debit = LedgerEntry.newEntry(
-                fromWallet.id(),
+    private PixTransfer createInBatch(
+            UUID fromWalletId,
+            UUID toWalletId,
+            BigDecimal amount,
+            String idempotencyKey,
+            Function<PixTransfer, IdempotencyRecord> idempotencyRecord
+    ) {
+        PixTransfer transfer = PixTransfer.newPending(
+                fromWalletId,
+                toWalletId,
+                amount,
+                generateEndToEndId(),
+                idempotencyKey
+        );
+        DebitBatchResult result = walletDebitBatcher.submit(new PendingDebit(
+                newDebit(fromWalletId, transfer, amount),
+                transfer,
+                idempotencyRecord == null ? null : idempotencyRecord.apply(transfer)
+        ));
+        if (!result.isPosted()) {
+            throw insufficientFunds(fromWalletId, result.availableBalance(), amount);
+        }
+        logDebit(fromWalletId, transfer, amount);
+        return transfer;
+    }
+
+    private void saveIdempotencyRecord(PixTransfer transfer, Function<PixTransfer, IdempotencyRecord> idempotencyRecord) {
+        if (idempotencyRecord == null) {
+            return;
+        }
+        IdempotencyRecord record = idempotencyRecord.apply(transfer);
+        idempotencyRecordRepository.save(record);
+        log.info(
+                "CreatePixTransferUseCase - idempotency record persisted scope={}, idempotencyKey={}, expiresAt={}",
+                record.scope(), record.idempotencyKey(), record.expiresAt()
+        );
+    }
+
+    private void createDebitLedgerEntry(UUID walletId, PixTransfer transfer, BigDecimal amount) {
+        ledgerEntryRepository.save(newDebit(walletId, transfer, amount));
+        logDebit(walletId, transfer, amount);
+    }
+
+    private void createDebitLedgerEntryIfCovered(UUID walletId, PixTransfer transfer, BigDecimal amount) {
+        if (ledgerEntryRepository.saveIfCovered(newDebit(walletId, transfer, amount)).isPresent()) {
+            logDebit(walletId, transfer, amount);
+            return;
+        }
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> {
+                    log.warn("CreatePixTransferUseCase - wallet not found fromWalletId={}", walletId);
+                    return new IllegalArgumentException("Wallet not found");
+                });
+        throw insufficientFunds(wallet.id(), ledgerEntryRepository.calculateCurrentBalance(wallet.id()), amount);
+    }
+
+    private static LedgerEntry newDebit(UUID walletId, PixTransfer transfer, BigDecimal amount) {
+        return LedgerEntry.newEntry(
+                walletId,
                 LedgerOperationType.PIX_DEBIT,
                 LedgerEntryDirection.DEBIT,
                 amount,
@@ -158,14 +279,16 @@ public class CreatePixTransferUseCase {
                 transfer.endToEndId(),
                 Instant.now()
         );
-        ledgerEntryRepository.save(debit);
+    }
+
+    private void logDebit(UUID walletId, PixTransfer transfer, BigDecimal amount) {
         log.info(
                 "CreatePixTransferUseCase - ledger debit entry created walletId={}, amount={}, transferId={}, endToEndId={}",
-                fromWallet.id(), amount, transfer.id(), transfer.endToEndId()
+                walletId, amount, transfer.id(), transfer.endToEndId()
         );
     }
 
     private String generateEndToEndId() {
-        return "E2E-" + UUID.randomUUID();
+        return endToEndIdGenerator.newEndToEndId();
     }
 }
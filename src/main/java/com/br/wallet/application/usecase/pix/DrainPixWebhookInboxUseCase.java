@@ -0,0 +1,95 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.model.PixWebhookInboxStats;
+import com.br.wallet.domain.port.PixWebhookInboxRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookInboxMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public class DrainPixWebhookInboxUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(DrainPixWebhookInboxUseCase.class);
+
+    private final PixWebhookInboxRepository pixWebhookInboxRepository;
+    private final HandlePixWebhookUseCase handlePixWebhookUseCase;
+    private final PixWebhookInboxMetrics pixWebhookInboxMetrics;
+    private final int maxAttempts;
+    private final Duration claimLease;
+
+    public DrainPixWebhookInboxUseCase(
+            PixWebhookInboxRepository pixWebhookInboxRepository,
+            HandlePixWebhookUseCase handlePixWebhookUseCase,
+            PixWebhookInboxMetrics pixWebhookInboxMetrics,
+            int maxAttempts,
+            Duration claimLease
+    ) {
+        this.pixWebhookInboxRepository = pixWebhookInboxRepository;
+        this.handlePixWebhookUseCase = handlePixWebhookUseCase;
+        this.pixWebhookInboxMetrics = pixWebhookInboxMetrics;
+        this.maxAttempts = maxAttempts;
+        this.claimLease = claimLease;
+    }
+
+    public int drain(int partition, int partitions, int batchSize) {
+        long startNs = System.nanoTime();
+        Instant now = Instant.now();
+        List<PixWebhookInboxEvent> claimed = pixWebhookInboxRepository.claim(
+                partition, partitions, batchSize, maxAttempts, now, now.plus(claimLease)
+        );
+        int drained = 0;
+        for (int i = 0; i < claimed.size(); i++) {
+            PixWebhookInboxEvent event = claimed.get(i);
+            try {
+                PixWebhookEventResult result = handlePixWebhookUseCase.execute(
+                        event.endToEndId(),
+                        event.eventId(),
+                        event.eventType(),
+                        event.occurredAt()
+                );
+                pixWebhookInboxRepository.delete(event.id());
+                pixWebhookInboxMetrics.recordDrained(event.eventType(), result);
+                drained++;
+            } catch (IllegalArgumentException e) {
+                log.warn(
+                        "DrainPixWebhookInboxUseCase - dropping event of unknown transfer endToEndId={}, eventId={}",
+                        event.endToEndId(), event.eventId()
+                );
+                pixWebhookInboxRepository.delete(event.id());
+                pixWebhookInboxMetrics.recordDrained(event.eventType(), PixWebhookEventResult.TRANSFER_NOT_FOUND);
+                drained++;
+            } catch (RuntimeException e) {
+                boolean parked = event.attempts() + 1 >= maxAttempts;
+                log.warn(
+                        "DrainPixWebhookInboxUseCase - event failed endToEndId={}, eventId={}, attempt={}, parked={}, error={}",
+                        event.endToEndId(), event.eventId(), event.attempts() + 1, parked, e.getMessage()
+                );
+                pixWebhookInboxRepository.recordFailure(event.id(), e.getMessage());
+                pixWebhookInboxMetrics.recordFailed(event.eventType(), parked);
+                // stop so later events of the same transfer are not applied ahead of the failed one
+                pixWebhookInboxRepository.release(
+                        claimed.subList(i + 1, claimed.size()).stream().map(PixWebhookInboxEvent::id).toList()
+                );
+                break;
+            }
+        }
+        if (!claimed.isEmpty()) {
+            pixWebhookInboxMetrics.recordDrainBatch(partition, drained, System.nanoTime() - startNs);
+        }
+        return drained;
+    }
+
+    public PixWebhookInboxStats refreshBacklog() {
+        PixWebhookInboxStats stats = pixWebhookInboxRepository.stats(maxAttempts);
+        long lagMillis = stats.oldestReceivedAt() == null
+                ? 0
+                : Math.max(0, Duration.between(stats.oldestReceivedAt(), Instant.now()).toMillis());
+        pixWebhookInboxMetrics.updateBacklog(stats.pending(), lagMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,40 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.port.PixWebhookInboxRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookInboxMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+
+public class EnqueuePixWebhookUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(EnqueuePixWebhookUseCase.class);
+
+    private final PixWebhookInboxRepository pixWebhookInboxRepository;
+    private final PixWebhookInboxMetrics pixWebhookInboxMetrics;
+
+    public EnqueuePixWebhookUseCase(
+            PixWebhookInboxRepository pixWebhookInboxRepository,
+            PixWebhookInboxMetrics pixWebhookInboxMetrics
+    ) {
+        this.pixWebhookInboxRepository = pixWebhookInboxRepository;
+        this.pixWebhookInboxMetrics = pixWebhookInboxMetrics;
+    }
+
+    public void execute(String endToEndId, String eventId, PixEventType type, Instant occurredAt) {
+        try {
+            pixWebhookInboxRepository.save(PixWebhookInboxEvent.newEvent(eventId, endToEndId, type, occurredAt));
+            pixWebhookInboxMetrics.recordEnqueued(type, false);
+        } catch (DataIntegrityViolationException e) {
+            log.info(
+                    "EnqueuePixWebhookUseCase - event already queued endToEndId={}, eventId={}, eventType={}",
+                    endToEndId, eventId, type
+            );
+            pixWebhookInboxMetrics.recordEnqueued(type, true);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+import com.br.wallet.domain.model.PixEvent;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.model.PixWebhookOutcome;
+import com.br.wallet.domain.port.PixEventRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class HandlePixWebhookBatchUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlePixWebhookBatchUseCase.class);
+
+    private final PixTransferRepository pixTransferRepository;
+    private final PixEventRepository pixEventRepository;
+    private final HandlePixWebhookUseCase handlePixWebhookUseCase;
+    private final PixWebhookMetrics pixWebhookMetrics;
+    private final int maxEvents;
+    private final int chunkSize;
+
+    public HandlePixWebhookBatchUseCase(
+            PixTransferRepository pixTransferRepository,
+            PixEventRepository pixEventRepository,
+            HandlePixWebhookUseCase handlePixWebhookUseCase,
+            PixWebhookMetrics pixWebhookMetrics,
+            int maxEvents,
+            int chunkSize
+    ) {
+        this.pixTransferRepository = pixTransferRepository;
+        this.pixEventRepository = pixEventRepository;
+        this.handlePixWebhookUseCase = handlePixWebhookUseCase;
+        this.pixWebhookMetrics = pixWebhookMetrics;
+        this.maxEvents = maxEvents;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<PixWebhookOutcome> execute(List<PixEvent> events) {
+        if (events.size() > maxEvents) {
+            throw new IllegalArgumentException("Batch exceeds " + maxEvents + " events");
+        }
+        long startNs = System.nanoTime();
+        log.info("HandlePixWebhookBatchUseCase - received batch size={}", events.size());
+
+        Set<String> eventIds = new LinkedHashSet<>();
+        Set<String> endToEndIds = new LinkedHashSet<>();
+        for (PixEvent event : events) {
+            eventIds.add(event.eventId());
+            endToEndIds.add(event.endToEndId());
+        }
+        Set<String> alreadyProcessed = pixEventRepository.findExistingEventIds(eventIds);
+        Map<String, PixTransfer> transfers = pixTransferRepository.findByEndToEndIds(endToEndIds).stream()
+                .collect(Collectors.toMap(PixTransfer::endToEndId, Function.identity()));
+
+        PixWebhookEventResult[] results = new PixWebhookEventResult[events.size()];
+        Set<String> seen = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            PixEvent event = events.get(i);
+            pixWebhookMetrics.recordWebhookReceived(event.eventType());
+            if (alreadyProcessed.contains(event.eventId()) || !seen.add(event.eventId())) {
+                pixWebhookMetrics.recordDuplicateEvent(event.eventType());
+                results[i] = PixWebhookEventResult.DUPLICATE;
+            } else if (!transfers.containsKey(event.endToEndId())) {
+                pixWebhookMetrics.recordTransferNotFound(event.eventType());
+                results[i] = PixWebhookEventResult.TRANSFER_NOT_FOUND;
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            applyChunk(events, chunk, transfers, results);
+        }
+
+        Map<PixWebhookEventResult, Long> counts = new HashMap<>();
+        List<PixWebhookOutcome> outcomes = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            PixEvent event = events.get(i);
+            outcomes.add(new PixWebhookOutcome(event.eventId(), event.endToEndId(), results[i]));
+            counts.merge(results[i], 1L, Long::sum);
+        }
+        pixWebhookMetrics.recordBatch(events.size(), System.nanoTime() - startNs);
+        log.info("HandlePixWebhookBatchUseCase - batch processed size={}, results={}", events.size(), counts);
+        return outcomes;
+    }
+
+    private void applyChunk(
+            List<PixEvent> events,
+            List<Integer> chunk,
+            Map<String, PixTransfer> transfers,
+            PixWebhookEventResult[] results
+    ) {
+        List<PixEvent> chunkEvents = chunk.stream().map(events::get).toList();
+        try {
+            List<PixWebhookEventResult> chunkResults = handlePixWebhookUseCase.executeChunk(chunkEvents, transfers);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = chunkResults.get(i);
+            }
+        } catch (RuntimeException e) {
+            // a concurrent single-event webhook or a bad row rolled the chunk back
+            log.warn(
+                    "HandlePixWebhookBatchUseCase - chunk failed, falling back to single events size={}, error={}",
+                    chunk.size(), e.getMessage()
+            );
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = applySingle(chunkEvents.get(i));
+            }
+        }
+    }
+
+    private PixWebhookEventResult applySingle(PixEvent event) {
+        try {
+            return handlePixWebhookUseCase.execute(
+                    event.endToEndId(),
+                    event.eventId(),
+                    event.eventType(),
+                    event.occurredAt()
+            );
+        } catch (IllegalArgumentException e) {
+            return PixWebhookEventResult.TRANSFER_NOT_FOUND;
+        } catch (RuntimeException e) {
+            log.error(
+                    "HandlePixWebhookBatchUseCase - error processing event endToEndId={}, eventId={}",
+                    event.endToEndId(), event.eventId(), e
+            );
+            return PixWebhookEventResult.FAILED;
+        }
+    }
+}
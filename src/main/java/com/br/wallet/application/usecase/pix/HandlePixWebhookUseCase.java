@@ -2,20 +2,24 @@ package com.br.wallet.application.usecase.pix;
 
 import com.br.wallet.domain.enums.PixEventType;
 import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.enums.PixWebhookEventResult;
 import com.br.wallet.domain.model.PixEvent;
 import com.br.wallet.domain.model.PixTransfer;
 import com.br.wallet.domain.port.PixEventRepository;
 import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import com.br.wallet.infrastructure.statemachine.PixTransferTransitionTable;
+import com.br.wallet.infrastructure.statemachine.PixTransitionResult;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.statemachine.StateMachine;
-import org.springframework.statemachine.config.StateMachineFactory;
-import org.springframework.statemachine.support.DefaultStateMachineContext;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class HandlePixWebhookUseCase {
 
@@ -24,37 +28,37 @@ public class HandlePixWebhookUseCase {
     private final PixTransferRepository pixTransferRepository;
     private final PixEventRepository pixEventRepository;
     private final PixWebhookMetrics pixWebhookMetrics;
-    private final StateMachineFactory<PixTransferStatus, PixEventType> stateMachineFactory;
+    private final PixTransferTransitionTable pixTransferTransitionTable;
 
     public HandlePixWebhookUseCase(
             PixTransferRepository pixTransferRepository,
             PixEventRepository pixEventRepository,
             PixWebhookMetrics pixWebhookMetrics,
-            StateMachineFactory<PixTransferStatus, PixEventType> stateMachineFactory
+            PixTransferTransitionTable pixTransferTransitionTable
     ) {
         this.pixTransferRepository = pixTransferRepository;
         this.pixEventRepository = pixEventRepository;
         this.pixWebhookMetrics = pixWebhookMetrics;
-        this.stateMachineFactory = stateMachineFactory;
+        this.pixTransferTransitionTable = pixTransferTransitionTable;
     }
 
     @Transactional
-    public void execute(String endToEndId, String eventId, PixEventType type, Instant occurredAt) {
+    public PixWebhookEventResult execute(String endToEndId, String eventId, PixEventType type, Instant occurredAt) {
         long startNs = System.nanoTime();
-        String resultTag = "success";
+        MetricResult resultTag = MetricResult.SUCCESS;
         pixWebhookMetrics.recordWebhookReceived(type);
         try {
             log.info(
                     "HandlePixWebhookUseCase - received webhook endToEndId={}, eventId={}, eventType={}, occurredAt={}",
                     endToEndId, eventId, type, occurredAt
             );
-            if (pixEventRepository.findByEventId(eventId).isPresent()) {
+            if (pixEventRepository.findByEventId(eventId, occurredAt).isPresent()) {
                 log.warn(
                         "HandlePixWebhookUseCase - duplicate event ignored endToEndId={}, eventId={}, eventType={}",
                         endToEndId, eventId, type
                 );
                 pixWebhookMetrics.recordDuplicateEvent(type);
-                return;
+                return PixWebhookEventResult.DUPLICATE;
             }
             PixTransfer transfer = pixTransferRepository.findByEndToEndId(endToEndId)
                     .orElseThrow(() -> {
@@ -65,52 +69,59 @@ public class HandlePixWebhookUseCase {
                         pixWebhookMetrics.recordTransferNotFound(type);
                         return new IllegalArgumentException("Transfer not found");
                     });
-            pixWebhookMetrics.recordWebhookLatency(
-                    type,
-                    Duration.between(occurredAt, Instant.now())
-            );
-            PixEvent event = PixEvent.newEvent(eventId, endToEndId, type, occurredAt);
-            pixEventRepository.save(event);
+            return apply(transfer, PixEvent.newEvent(eventId, endToEndId, type, occurredAt));
+        } catch (Exception e) {
+            resultTag = MetricResult.ERROR;
+            pixWebhookMetrics.recordError(type);
+            throw e;
+        } finally {
+            pixWebhookMetrics.recordProcessingDuration(type, resultTag, System.nanoTime() - startNs);
+        }
+    }
+
+    @Transactional
+    public List<PixWebhookEventResult> executeChunk(List<PixEvent> events, Map<String, PixTransfer> transfersByEndToEndId) {
+        List<PixWebhookEventResult> results = new ArrayList<>(events.size());
+        for (PixEvent event : events) {
+            results.add(apply(transfersByEndToEndId.get(event.endToEndId()), event));
+        }
+        return results;
+    }
+
+    private PixWebhookEventResult apply(PixTransfer transfer, PixEvent event) {
+        String endToEndId = event.endToEndId();
+        String eventId = event.eventId();
+        PixEventType type = event.eventType();
+        pixWebhookMetrics.recordWebhookLatency(
+                type,
+                Duration.between(event.occurredAt(), Instant.now())
+        );
+        pixEventRepository.save(event);
+        log.info(
+                "HandlePixWebhookUseCase - event persisted endToEndId={}, eventId={}, eventType={}",
+                endToEndId, eventId, type
+        );
+        if (transfer.status() == PixTransferStatus.CONFIRMED
+                || transfer.status() == PixTransferStatus.REJECTED) {
             log.info(
-                    "HandlePixWebhookUseCase - event persisted endToEndId={}, eventId={}, eventType={}",
-                    endToEndId, eventId, type
+                    "HandlePixWebhookUseCase - transfer already finalized, ignoring event endToEndId={}, currentStatus={}, eventId={}, eventType={}",
+                    endToEndId, transfer.status(), eventId, type
             );
-            if (transfer.status() == PixTransferStatus.CONFIRMED
-                    || transfer.status() == PixTransferStatus.REJECTED) {
-                log.info(
-                        "HandlePixWebhookUseCase - transfer already finalized, ignoring event endToEndId={}, currentStatus={}, eventId={}, eventType={}",
-                        endToEndId, transfer.status(), eventId, type
-                );
-                pixWebhookMetrics.recordIgnoredFinalized(type, transfer.status());
-                return;
-            }
-            StateMachine<PixTransferStatus, PixEventType> stateMachine =
-                    stateMachineFactory.getStateMachine(transfer.id().toString());
-            stateMachine.stop();
-            stateMachine.getStateMachineAccessor()
-                    .doWithAllRegions(access ->
-                            access.resetStateMachine(
-                                    new DefaultStateMachineContext<>(transfer.status(), null, null, null)
-                            )
-                    );
-            stateMachine.getExtendedState().getVariables().put("transfer", transfer);
-            stateMachine.getExtendedState().getVariables().put("occurredAt", occurredAt);
-            stateMachine.getExtendedState().getVariables().put("eventId", eventId);
-            stateMachine.start();
-            boolean accepted = stateMachine.sendEvent(type);
-            if (!accepted) {
+            pixWebhookMetrics.recordIgnoredFinalized(type, transfer.status());
+            return PixWebhookEventResult.IGNORED_FINALIZED;
+        }
+        PixTransitionResult transition = pixTransferTransitionTable.fire(transfer, type, event.occurredAt(), eventId);
+        return switch (transition) {
+            case APPLIED -> PixWebhookEventResult.APPLIED;
+            case CONFLICT -> PixWebhookEventResult.TRANSITION_CONFLICT;
+            case NOT_ACCEPTED -> {
                 log.warn(
                         "HandlePixWebhookUseCase - unsupported event transition endToEndId={}, eventId={}, eventType={}, currentStatus={}",
                         endToEndId, eventId, type, transfer.status()
                 );
                 pixWebhookMetrics.recordUnsupportedType(type);
+                yield PixWebhookEventResult.UNSUPPORTED_TRANSITION;
             }
-        } catch (Exception e) {
-            resultTag = "error";
-            pixWebhookMetrics.recordError(type);
-            throw e;
-        } finally {
-            pixWebhookMetrics.recordProcessingDuration(type, resultTag, System.nanoTime() - startNs);
-        }
+        };
     }
 }
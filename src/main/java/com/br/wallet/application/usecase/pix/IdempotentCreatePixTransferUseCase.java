@@ -3,14 +3,28 @@ package com.br.wallet.application.usecase.pix;
 import com.br.wallet.domain.model.IdempotencyRecord;
 import com.br.wallet.domain.model.PixTransfer;
 import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.metrics.IdempotencyOutcome;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.PixTransferMetrics;
 import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
 import com.br.wallet.interfaces.rest.pix.dto.PixTransferResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class IdempotentCreatePixTransferUseCase {
 
@@ -20,35 +34,95 @@ public class IdempotentCreatePixTransferUseCase {
     private final CreatePixTransferUseCase createPixTransferUseCase;
     private final ObjectMapper objectMapper;
     private final PixTransferMetrics pixTransferMetrics;
+    private final Duration inFlightWait;
+    private final Duration recordRetention;
+    private final TransactionOperations transactionOperations;
+    private final ConcurrentMap<String, CompletableFuture<PixTransferResponse>> inFlightRequests = new ConcurrentHashMap<>();
     private static final String SCOPE = "PIX_TRANSFER";
+    private static final char PAYLOAD_SEPARATOR = ':';
 
     public IdempotentCreatePixTransferUseCase(
             IdempotencyRecordRepository idempotencyRecordRepository,
             CreatePixTransferUseCase createPixTransferUseCase,
             ObjectMapper objectMapper,
-            PixTransferMetrics pixTransferMetrics
+            PixTransferMetrics pixTransferMetrics,
+            Duration inFlightWait,
+            Duration recordRetention,
+            TransactionOperations transactionOperations
     ) {
         this.idempotencyRecordRepository = idempotencyRecordRepository;
         this.createPixTransferUseCase = createPixTransferUseCase;
         this.objectMapper = objectMapper;
         this.pixTransferMetrics = pixTransferMetrics;
+        this.inFlightWait = inFlightWait;
+        this.recordRetention = recordRetention;
+        this.transactionOperations = transactionOperations;
     }
 
-    @Transactional
     public PixTransferResponse execute(PixTransferRequest request, String idempotencyKey) {
+        CompletableFuture<PixTransferResponse> inFlight = new CompletableFuture<>();
+        CompletableFuture<PixTransferResponse> leader = inFlightRequests.putIfAbsent(idempotencyKey, inFlight);
+        if (leader != null) {
+            PixTransferResponse coalesced = awaitLeader(leader, idempotencyKey);
+            if (coalesced != null) {
+                return coalesced;
+            }
+            return createOrReplayConflict(request, idempotencyKey, null);
+        }
+        try {
+            return createOrReplayConflict(request, idempotencyKey, inFlight);
+        } catch (RuntimeException e) {
+            release(idempotencyKey, inFlight, null);
+            throw e;
+        }
+    }
+
+    private PixTransferResponse createOrReplayConflict(
+            PixTransferRequest request,
+            String idempotencyKey,
+            CompletableFuture<PixTransferResponse> inFlight
+    ) {
+        try {
+            return transactionOperations.execute(status -> {
+                PixTransferResponse response = createOrReplay(request, idempotencyKey);
+                if (inFlight != null) {
+                    publishOnCompletion(idempotencyKey, inFlight, response);
+                }
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            Optional<PixTransfer> existing = transactionOperations.execute(
+                    status -> createPixTransferUseCase.findExistingTransfer(request.fromWalletId(), idempotencyKey)
+            );
+            if (existing.isEmpty()) {
+                throw e;
+            }
+            pixTransferMetrics.recordIdempotencyHit();
+            PixTransferResponse response = replay(existing.get(), idempotencyKey);
+            if (inFlight != null) {
+                release(idempotencyKey, inFlight, response);
+            }
+            return response;
+        }
+    }
+
+    private PixTransferResponse createOrReplay(PixTransferRequest request, String idempotencyKey) {
         long startNs = System.nanoTime();
-        String idempotencyType = "miss";
-        String resultTag = "success";
+        IdempotencyOutcome idempotencyType = IdempotencyOutcome.MISS;
+        MetricResult resultTag = MetricResult.SUCCESS;
         log.info(
                 "IdempotentCreatePixTransferUseCase - request received fromWalletId={}, toPixKey={}, amount={}, idempotencyKey={}",
                 request.fromWalletId(), request.toPixKey(), request.amount(), idempotencyKey
         );
 
         try {
-            var existingRecord = idempotencyRecordRepository
-                    .findByScopeAndIdempotencyKey(SCOPE, idempotencyKey);
+            boolean knownKey = idempotencyRecordRepository.mightExist(SCOPE, idempotencyKey);
+            // expires_at only bounds how long the row is kept: a record is replayed until the purge job removes it
+            Optional<IdempotencyRecord> existingRecord = knownKey
+                    ? idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, idempotencyKey)
+                    : Optional.empty();
             if (existingRecord.isPresent()) {
-                idempotencyType = "hit";
+                idempotencyType = IdempotencyOutcome.HIT;
                 pixTransferMetrics.recordIdempotencyHit();
                 pixTransferMetrics.recordCreateRequest(idempotencyType);
 
@@ -56,22 +130,35 @@ public class IdempotentCreatePixTransferUseCase {
                         "IdempotentCreatePixTransferUseCase - idempotency hit for scope={}, idempotencyKey={}",
                         SCOPE, idempotencyKey
                 );
-                PixTransferResponse response = deserialize(existingRecord.get().responsePayload(), PixTransferResponse.class);
+                PixTransferResponse response = decode(existingRecord.get().responsePayload());
                 log.info(
                         "IdempotentCreatePixTransferUseCase - returning cached response endToEndId={}, status={}",
                         response.endToEndId(), response.status()
                 );
 
-                pixTransferMetrics.recordCreateResult(idempotencyType, "success");
+                pixTransferMetrics.recordCreateResult(idempotencyType, MetricResult.SUCCESS);
+                return response;
+            }
+            Optional<PixTransfer> existingTransfer = Optional.empty();
+            if (knownKey) {
+                existingTransfer = createPixTransferUseCase.findExistingTransfer(request.fromWalletId(), idempotencyKey);
+            }
+            if (existingTransfer.isPresent()) {
+                idempotencyType = IdempotencyOutcome.HIT;
+                pixTransferMetrics.recordIdempotencyHit();
+                pixTransferMetrics.recordCreateRequest(idempotencyType);
+                PixTransferResponse response = replay(existingTransfer.get(), idempotencyKey);
+                pixTransferMetrics.recordCreateResult(idempotencyType, MetricResult.SUCCESS);
                 return response;
             }
             pixTransferMetrics.recordIdempotencyMiss();
             pixTransferMetrics.recordCreateRequest(idempotencyType);
-            PixTransfer transfer = createPixTransferUseCase.execute(
+            PixTransfer transfer = createPixTransferUseCase.executeNew(
                     request.fromWalletId(),
                     request.toPixKey(),
                     request.amount(),
-                    idempotencyKey
+                    idempotencyKey,
+                    created -> newRecord(idempotencyKey, created)
             );
             PixTransferResponse response = new PixTransferResponse(
                     transfer.endToEndId(),
@@ -82,35 +169,104 @@ public class IdempotentCreatePixTransferUseCase {
                     response.endToEndId(), response.status(), idempotencyKey
             );
             pixTransferMetrics.recordAmount(request.amount(), idempotencyType);
-            persistIdempotency(idempotencyKey, response);
-            pixTransferMetrics.recordCreateResult(idempotencyType, "success");
+            pixTransferMetrics.recordCreateResult(idempotencyType, MetricResult.SUCCESS);
             return response;
         } catch (Exception e) {
-            resultTag = "error";
-            pixTransferMetrics.recordCreateResult(idempotencyType, "error");
+            resultTag = MetricResult.ERROR;
+            pixTransferMetrics.recordCreateResult(idempotencyType, MetricResult.ERROR);
             throw e;
         } finally {
             pixTransferMetrics.recordCreateDuration(idempotencyType, resultTag, System.nanoTime() - startNs);
         }
     }
 
-    private void persistIdempotency(String key, Object response) {
+    private PixTransferResponse replay(PixTransfer transfer, String idempotencyKey) {
+        PixTransferResponse response = new PixTransferResponse(transfer.endToEndId(), transfer.status().name());
+        log.info(
+                "IdempotentCreatePixTransferUseCase - replaying existing transfer endToEndId={}, status={}, idempotencyKey={}",
+                response.endToEndId(), response.status(), idempotencyKey
+        );
+        return response;
+    }
+
+    private PixTransferResponse awaitLeader(CompletableFuture<PixTransferResponse> leader, String idempotencyKey) {
+        long startNs = System.nanoTime();
         try {
-            String json = objectMapper.writeValueAsString(response);
-            IdempotencyRecord record = IdempotencyRecord.newRecord(SCOPE, key, json);
-            idempotencyRecordRepository.save(record);
+            PixTransferResponse response = leader.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+            if (response == null) {
+                log.info(
+                        "IdempotentCreatePixTransferUseCase - in-flight request failed, executing retry idempotencyKey={}",
+                        idempotencyKey
+                );
+                return null;
+            }
             log.info(
-                    "IdempotentCreatePixTransferUseCase - idempotency record persisted scope={}, idempotencyKey={}",
-                    SCOPE, key
+                    "IdempotentCreatePixTransferUseCase - coalesced with in-flight request idempotencyKey={}, endToEndId={}",
+                    idempotencyKey, response.endToEndId()
             );
-        } catch (JsonProcessingException e) {
-            pixTransferMetrics.recordSerializationError("serialize");
-            log.error(
-                    "IdempotentCreatePixTransferUseCase - error serializing idempotency response scope={}, idempotencyKey={}",
-                    SCOPE, key, e
+            pixTransferMetrics.recordCreateRequest(IdempotencyOutcome.COALESCED);
+            pixTransferMetrics.recordCreateResult(IdempotencyOutcome.COALESCED, MetricResult.SUCCESS);
+            pixTransferMetrics.recordCreateDuration(IdempotencyOutcome.COALESCED, MetricResult.SUCCESS, System.nanoTime() - startNs);
+            return response;
+        } catch (TimeoutException e) {
+            log.warn(
+                    "IdempotentCreatePixTransferUseCase - in-flight request still running after {}ms idempotencyKey={}",
+                    inFlightWait.toMillis(), idempotencyKey
             );
-            throw new IllegalStateException("Cannot serialize idempotency response", e);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request", e);
+        }
+    }
+
+    private void publishOnCompletion(
+            String idempotencyKey,
+            CompletableFuture<PixTransferResponse> inFlight,
+            PixTransferResponse response
+    ) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(idempotencyKey, inFlight, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(idempotencyKey, inFlight, status == STATUS_COMMITTED ? response : null);
+            }
+        });
+    }
+
+    private void release(
+            String idempotencyKey,
+            CompletableFuture<PixTransferResponse> inFlight,
+            PixTransferResponse response
+    ) {
+        inFlightRequests.remove(idempotencyKey, inFlight);
+        inFlight.complete(response);
+    }
+
+    private IdempotencyRecord newRecord(String key, PixTransfer transfer) {
+        PixTransferResponse response = new PixTransferResponse(transfer.endToEndId(), transfer.status().name());
+        return IdempotencyRecord.newRecord(SCOPE, key, encode(response), recordRetention);
+    }
+
+    private static String encode(PixTransferResponse response) {
+        return response.status() + PAYLOAD_SEPARATOR + response.endToEndId();
+    }
+
+    private PixTransferResponse decode(String payload) {
+        if (payload.startsWith("{")) {
+            return deserialize(payload, PixTransferResponse.class);
+        }
+        int separator = payload.indexOf(PAYLOAD_SEPARATOR);
+        if (separator < 0) {
+            pixTransferMetrics.recordSerializationError("decode");
+            throw new IllegalStateException("Cannot decode idempotency response");
         }
+        return new PixTransferResponse(payload.substring(separator + 1), payload.substring(0, separator));
     }
 
     private <T> T deserialize(String json, Class<T> type) {
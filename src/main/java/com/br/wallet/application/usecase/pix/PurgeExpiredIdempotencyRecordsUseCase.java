@@ -0,0 +1,54 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.metrics.IdempotencyRecordMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+
+public class PurgeExpiredIdempotencyRecordsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(PurgeExpiredIdempotencyRecordsUseCase.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyRecordMetrics idempotencyRecordMetrics;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public PurgeExpiredIdempotencyRecordsUseCase(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            IdempotencyRecordMetrics idempotencyRecordMetrics,
+            int batchSize,
+            int maxBatches
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyRecordMetrics = idempotencyRecordMetrics;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    public int execute() {
+        Instant now = Instant.now();
+        int total = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            long startNs = System.nanoTime();
+            deleted = idempotencyRecordRepository.deleteExpired(now, batchSize);
+            idempotencyRecordMetrics.recordPurgeBatch(deleted, System.nanoTime() - startNs);
+            total += deleted;
+            batches++;
+        } while (deleted == batchSize && batches < maxBatches);
+        if (total > 0) {
+            log.info("PurgeExpiredIdempotencyRecordsUseCase - purged expired records count={}, batches={}", total, batches);
+        }
+        return total;
+    }
+
+    public long refreshRecordCount() {
+        long records = idempotencyRecordRepository.count();
+        idempotencyRecordMetrics.updateRecords(records);
+        return records;
+    }
+}
@@ -0,0 +1,121 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerArchiveSummary;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.LedgerArchiveMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ArchiveLedgerUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveLedgerUseCase.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerArchiveMetrics ledgerArchiveMetrics;
+    private final Duration retention;
+    private final int batchSize;
+    private final int parallelism;
+
+    public ArchiveLedgerUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            LedgerArchiveMetrics ledgerArchiveMetrics,
+            Duration retention,
+            int batchSize,
+            int parallelism
+    ) {
+        // a step also reads the previous opening entry back
+        if (batchSize < 2) {
+            throw new IllegalArgumentException("Archive batch size must be at least 2, got " + batchSize);
+        }
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerArchiveMetrics = ledgerArchiveMetrics;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public LedgerArchiveSummary execute(Instant now) {
+        long startNs = System.nanoTime();
+        Instant cutoff = now.minus(retention);
+        long checked = 0;
+        long archivedWallets = 0;
+        long archivedEntries = 0;
+        long failed = 0;
+        log.info("ArchiveLedgerUseCase - starting ledger archival cutoff={}, parallelism={}", cutoff, parallelism);
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-archive-" + threadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            UUID lastId = null;
+            List<UUID> page;
+            do {
+                page = walletRepository.findIdsAfter(lastId, PAGE_SIZE);
+                List<Future<Long>> results = new ArrayList<>(page.size());
+                for (UUID walletId : page) {
+                    results.add(pool.submit(() -> archive(walletId, cutoff)));
+                }
+                for (int i = 0; i < page.size(); i++) {
+                    UUID walletId = page.get(i);
+                    try {
+                        long archived = results.get(i).get();
+                        checked++;
+                        ledgerArchiveMetrics.recordChecked(archived);
+                        if (archived > 0) {
+                            archivedWallets++;
+                            archivedEntries += archived;
+                            log.info("ArchiveLedgerUseCase - archived walletId={}, entries={}", walletId, archived);
+                        }
+                    } catch (ExecutionException e) {
+                        failed++;
+                        ledgerArchiveMetrics.recordError(e.getCause().getClass().getSimpleName());
+                        log.error("ArchiveLedgerUseCase - error archiving walletId={}", walletId, e.getCause());
+                    }
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == PAGE_SIZE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("ArchiveLedgerUseCase - ledger archival interrupted after checked={}", checked);
+        } finally {
+            pool.shutdownNow();
+            ledgerArchiveMetrics.recordDuration(System.nanoTime() - startNs);
+        }
+        log.info(
+                "ArchiveLedgerUseCase - ledger archival finished checked={}, archivedWallets={}, archivedEntries={}, failed={}",
+                checked, archivedWallets, archivedEntries, failed
+        );
+        return new LedgerArchiveSummary(checked, archivedWallets, archivedEntries, failed);
+    }
+
+    private long archive(UUID walletId, Instant cutoff) {
+        long total = 0;
+        long archived;
+        do {
+            archived = ledgerEntryRepository.archiveBefore(walletId, cutoff, batchSize);
+            total += archived;
+        } while (archived > 0 && !Thread.currentThread().isInterrupted());
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.RunningBalanceBackfillSummary;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.ProjectionMode;
+import com.br.wallet.infrastructure.metrics.WalletBalanceProjectionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BackfillLedgerRunningBalancesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillLedgerRunningBalancesUseCase.class);
+
+    private static final int PAGE_SIZE = 500;
+    private static final ProjectionMode MODE = ProjectionMode.BACKFILL;
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletBalanceProjectionMetrics walletBalanceProjectionMetrics;
+
+    public BackfillLedgerRunningBalancesUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceProjectionMetrics walletBalanceProjectionMetrics
+    ) {
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.walletBalanceProjectionMetrics = walletBalanceProjectionMetrics;
+    }
+
+    public RunningBalanceBackfillSummary execute() {
+        long startNs = System.nanoTime();
+        long checked = 0;
+        long backfilledWallets = 0;
+        long updatedEntries = 0;
+        long failed = 0;
+        log.info("BackfillLedgerRunningBalancesUseCase - starting running balance backfill");
+        try {
+            UUID lastId = null;
+            List<UUID> page;
+            do {
+                page = walletRepository.findIdsAfter(lastId, PAGE_SIZE);
+                for (UUID walletId : page) {
+                    try {
+                        long updated = ledgerEntryRepository.backfillRunningBalances(walletId);
+                        checked++;
+                        walletBalanceProjectionMetrics.recordChecked(MODE);
+                        if (updated > 0) {
+                            backfilledWallets++;
+                            updatedEntries += updated;
+                            log.info("BackfillLedgerRunningBalancesUseCase - backfilled walletId={}, updatedEntries={}", walletId, updated);
+                        }
+                    } catch (Exception e) {
+                        failed++;
+                        walletBalanceProjectionMetrics.recordError(MODE, e.getClass().getSimpleName());
+                        log.error("BackfillLedgerRunningBalancesUseCase - error backfilling walletId={}", walletId, e);
+                    }
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == PAGE_SIZE);
+            log.info(
+                    "BackfillLedgerRunningBalancesUseCase - running balance backfill finished checked={}, backfilledWallets={}, updatedEntries={}, failed={}",
+                    checked, backfilledWallets, updatedEntries, failed
+            );
+            return new RunningBalanceBackfillSummary(checked, backfilledWallets, updatedEntries, failed);
+        } finally {
+            walletBalanceProjectionMetrics.recordDuration(System.nanoTime() - startNs, MODE);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.br.wallet.application.usecase.wallet;
 
 import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.WalletMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,7 +25,7 @@ public class CreateWalletUseCase {
     public Wallet execute(String ownerId) {
 
         long startNs = System.nanoTime();
-        String result = "success";
+        MetricResult result = MetricResult.SUCCESS;
 
         log.info("CreateWalletUseCase - creating wallet for ownerId={}", ownerId);
 
@@ -41,7 +42,7 @@ public class CreateWalletUseCase {
             return saved;
 
         } catch (Exception e) {
-            result = "error";
+            result = MetricResult.ERROR;
             walletMetrics.recordWalletError(e.getClass().getSimpleName());
             log.error("CreateWalletUseCase - error creating wallet ownerId={}", ownerId, e);
             throw e;
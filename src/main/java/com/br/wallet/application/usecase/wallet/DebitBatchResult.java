@@ -0,0 +1,20 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerEntry;
+
+import java.math.BigDecimal;
+
+public record DebitBatchResult(LedgerEntry entry, BigDecimal availableBalance) {
+
+    public static DebitBatchResult posted(LedgerEntry entry) {
+        return new DebitBatchResult(entry, null);
+    }
+
+    public static DebitBatchResult rejected(BigDecimal availableBalance) {
+        return new DebitBatchResult(null, availableBalance);
+    }
+
+    public boolean isPosted() {
+        return entry != null;
+    }
+}
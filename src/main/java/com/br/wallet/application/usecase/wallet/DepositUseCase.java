@@ -7,6 +7,7 @@ import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.WalletRepository;
 import com.br.wallet.infrastructure.metrics.DepositMetrics;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +37,7 @@ public class DepositUseCase {
     @Transactional
     public LedgerEntry execute(UUID walletId, BigDecimal amount) {
         long startNs = System.nanoTime();
-        String result = "success";
+        MetricResult result = MetricResult.SUCCESS;
 
         log.info(
                 "DepositUseCase - request received walletId={}, amount={}",
@@ -60,16 +61,16 @@ public class DepositUseCase {
                     null,
                     Instant.now()
             );
-            ledgerEntryRepository.save(entry);
+            LedgerEntry saved = ledgerEntryRepository.save(entry);
             log.info(
                     "DepositUseCase - deposit ledger entry created walletId={}, amount={}, ledgerEntryId={}",
                     wallet.id(), amount, entry.id()
             );
             depositMetrics.recordDepositSuccess(amount);
-            return entry;
+            return saved;
         } catch (Exception e) {
             depositMetrics.recordDepositError(e.getClass().getSimpleName());
-            result = "error";
+            result = MetricResult.ERROR;
             log.error("DepositUseCase - error processing deposit walletId={}, amount={}", walletId, amount, e);
             throw e;
         } finally {
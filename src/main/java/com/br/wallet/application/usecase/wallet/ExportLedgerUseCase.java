@@ -0,0 +1,147 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public class ExportLedgerUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportLedgerUseCase.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,wallet_id,operation_type,direction,amount,balance_after,reference_id,end_to_end_id,occurred_at,created_at\n";
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportLedgerUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public LedgerExport execute(UUID walletId, LedgerExportFormat format) {
+        walletRepository.findById(walletId)
+                .orElseThrow(() -> {
+                    log.warn("ExportLedgerUseCase - wallet not found walletId={}", walletId);
+                    return new IllegalArgumentException("Wallet not found");
+                });
+        return out -> {
+            long startNs = System.nanoTime();
+            log.info("ExportLedgerUseCase - export started walletId={}, format={}", walletId, format);
+            long count = format == LedgerExportFormat.CSV ? writeCsv(walletId, out) : writeNdjson(walletId, out);
+            log.info(
+                    "ExportLedgerUseCase - export finished walletId={}, format={}, entries={}, durationMs={}",
+                    walletId, format, count, (System.nanoTime() - startNs) / 1_000_000
+            );
+            return count;
+        };
+    }
+
+    private long writeNdjson(UUID walletId, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            return forEachEntry(walletId, entry -> {
+                json.writeStartObject();
+                json.writeStringField("id", entry.id().toString());
+                json.writeStringField("walletId", entry.walletId().toString());
+                json.writeStringField("operationType", entry.operationType().name());
+                json.writeStringField("direction", entry.direction().name());
+                json.writeNumberField("amount", entry.amount());
+                if (entry.balanceAfter() != null) {
+                    json.writeNumberField("balanceAfter", entry.balanceAfter());
+                } else {
+                    json.writeNullField("balanceAfter");
+                }
+                json.writeStringField("referenceId", entry.referenceId());
+                json.writeStringField("endToEndId", entry.endToEndId());
+                json.writeStringField("occurredAt", entry.occurredAt().toString());
+                json.writeStringField("createdAt", entry.createdAt().toString());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            });
+        }
+    }
+
+    private long writeCsv(UUID walletId, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        csv.write(CSV_HEADER);
+        long count = forEachEntry(walletId, entry -> {
+            csv.write(entry.id().toString());
+            csv.write(',');
+            csv.write(entry.walletId().toString());
+            csv.write(',');
+            csv.write(entry.operationType().name());
+            csv.write(',');
+            csv.write(entry.direction().name());
+            csv.write(',');
+            csv.write(entry.amount().toPlainString());
+            csv.write(',');
+            if (entry.balanceAfter() != null) {
+                csv.write(entry.balanceAfter().toPlainString());
+            }
+            csv.write(',');
+            writeCsvField(csv, entry.referenceId());
+            csv.write(',');
+            writeCsvField(csv, entry.endToEndId());
+            csv.write(',');
+            csv.write(entry.occurredAt().toString());
+            csv.write(',');
+            csv.write(entry.createdAt().toString());
+            csv.write('\n');
+        });
+        csv.flush();
+        return count;
+    }
+
+    private long forEachEntry(UUID walletId, EntryWriter writer) throws IOException {
+        try {
+            return ledgerEntryRepository.forEachEntry(walletId, entry -> {
+                try {
+                    writer.write(entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(LedgerEntry entry) throws IOException;
+    }
+}
@@ -0,0 +1,78 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.BalanceQueryType;
+import com.br.wallet.infrastructure.metrics.MetricResult;
+import com.br.wallet.infrastructure.metrics.WalletBalanceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class GetWalletBalanceSeriesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(GetWalletBalanceSeriesUseCase.class);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletBalanceMetrics walletBalanceMetrics;
+    private final int maxPoints;
+
+    public GetWalletBalanceSeriesUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceMetrics walletBalanceMetrics,
+            int maxPoints
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.walletBalanceMetrics = walletBalanceMetrics;
+        this.maxPoints = maxPoints;
+    }
+
+    public List<BalancePoint> execute(UUID walletId, Instant from, Instant to, Duration step) {
+        List<Instant> points = points(from, to, step);
+
+        long startNs = System.nanoTime();
+        BalanceQueryType type = BalanceQueryType.SERIES;
+        MetricResult result = MetricResult.SUCCESS;
+        log.info(
+                "GetWalletBalanceSeriesUseCase - calculating balance series walletId={}, from={}, to={}, step={}",
+                walletId, from, to, step
+        );
+        try {
+            List<BalancePoint> series = ledgerEntryRepository.calculateBalanceSeries(walletId, points);
+            walletBalanceMetrics.recordRequest(type);
+            return series;
+        } catch (Exception e) {
+            result = MetricResult.ERROR;
+            walletBalanceMetrics.recordError(type, e.getClass().getSimpleName());
+            log.error("GetWalletBalanceSeriesUseCase - error calculating balance series walletId={}", walletId, e);
+            throw e;
+        } finally {
+            walletBalanceMetrics.recordDuration(System.nanoTime() - startNs, type, result);
+        }
+    }
+
+    private List<Instant> points(Instant from, Instant to, Duration step) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (step == null || step.isNegative() || step.isZero()) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        long intervals = Duration.between(from, to).dividedBy(step);
+        long count = intervals + (from.plus(step.multipliedBy(intervals)).isBefore(to) ? 2 : 1);
+        if (count > maxPoints) {
+            throw new IllegalArgumentException("At most " + maxPoints + " points per series, got " + count);
+        }
+        List<Instant> points = new ArrayList<>((int) count);
+        for (Instant at = from; at.isBefore(to); at = at.plus(step)) {
+            points.add(at);
+        }
+        points.add(to);
+        return points;
+    }
+}
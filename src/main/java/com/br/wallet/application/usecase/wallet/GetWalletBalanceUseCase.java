@@ -1,11 +1,14 @@
 package com.br.wallet.application.usecase.wallet;
 
 import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.BalanceQueryType;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.WalletBalanceMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -15,20 +18,28 @@ public class GetWalletBalanceUseCase {
 
     private final LedgerEntryRepository ledgerEntryRepository;
     private final WalletBalanceMetrics walletBalanceMetrics;
+    private final Duration settlementHorizon;
 
     public GetWalletBalanceUseCase(
             LedgerEntryRepository ledgerEntryRepository,
-            WalletBalanceMetrics walletBalanceMetrics
+            WalletBalanceMetrics walletBalanceMetrics,
+            Duration settlementHorizon
     ) {
         this.ledgerEntryRepository = ledgerEntryRepository;
         this.walletBalanceMetrics = walletBalanceMetrics;
+        this.settlementHorizon = settlementHorizon;
+    }
+
+    // no posting is dated further back than the settlement horizon, so the balance at a settled instant is final
+    public boolean isSettled(Instant at) {
+        return at.isBefore(Instant.now().minus(settlementHorizon));
     }
 
     public BigDecimal currentBalance(UUID walletId) {
 
         long startNs = System.nanoTime();
-        String type = "current";
-        String result = "success";
+        BalanceQueryType type = BalanceQueryType.CURRENT;
+        MetricResult result = MetricResult.SUCCESS;
         log.info("GetWalletBalanceUseCase - calculating current balance for walletId={}", walletId);
         try {
             BigDecimal balance = ledgerEntryRepository.calculateCurrentBalance(walletId);
@@ -40,7 +51,7 @@ public class GetWalletBalanceUseCase {
             walletBalanceMetrics.recordValue(balance, type);
             return balance;
         } catch (Exception e) {
-            result = "error";
+            result = MetricResult.ERROR;
             walletBalanceMetrics.recordError(type, e.getClass().getSimpleName());
             log.error("GetWalletBalanceUseCase - error calculating current balance walletId={}", walletId, e);
             throw e;
@@ -51,8 +62,8 @@ public class GetWalletBalanceUseCase {
 
     public BigDecimal balanceAt(UUID walletId, Instant at) {
         long startNs = System.nanoTime();
-        String type = "historical";
-        String result = "success";
+        BalanceQueryType type = BalanceQueryType.HISTORICAL;
+        MetricResult result = MetricResult.SUCCESS;
         log.info(
                 "GetWalletBalanceUseCase - calculating historical balance walletId={}, at={}",
                 walletId, at
@@ -68,7 +79,7 @@ public class GetWalletBalanceUseCase {
             walletBalanceMetrics.recordValue(balance, type);
             return balance;
         } catch (Exception e) {
-            result = "error";
+            result = MetricResult.ERROR;
             walletBalanceMetrics.recordError(type, e.getClass().getSimpleName());
             log.error("GetWalletBalanceUseCase - error calculating historical balance walletId={}, at={}", walletId, at, e);
             throw e;
@@ -0,0 +1,75 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.BalanceQueryType;
+import com.br.wallet.infrastructure.metrics.MetricResult;
+import com.br.wallet.infrastructure.metrics.WalletBalanceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class GetWalletBalancesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(GetWalletBalancesUseCase.class);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletBalanceMetrics walletBalanceMetrics;
+    private final int maxWallets;
+
+    public GetWalletBalancesUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceMetrics walletBalanceMetrics,
+            int maxWallets
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.walletBalanceMetrics = walletBalanceMetrics;
+        this.maxWallets = maxWallets;
+    }
+
+    public Map<UUID, BigDecimal> execute(List<UUID> walletIds, Instant at) {
+        if (walletIds == null || walletIds.isEmpty()) {
+            throw new IllegalArgumentException("walletIds must not be empty");
+        }
+        Set<UUID> ids = new LinkedHashSet<>(walletIds);
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("walletIds must not contain null");
+        }
+        if (ids.size() > maxWallets) {
+            throw new IllegalArgumentException("At most " + maxWallets + " wallets per request, got " + ids.size());
+        }
+
+        long startNs = System.nanoTime();
+        BalanceQueryType type = at == null ? BalanceQueryType.CURRENT_BATCH : BalanceQueryType.HISTORICAL_BATCH;
+        MetricResult result = MetricResult.SUCCESS;
+        log.info("GetWalletBalancesUseCase - calculating balances wallets={}, at={}", ids.size(), at);
+        try {
+            Map<UUID, BigDecimal> found = at == null
+                    ? ledgerEntryRepository.calculateCurrentBalances(ids)
+                    : ledgerEntryRepository.calculateBalancesAt(ids, at);
+
+            Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+            for (UUID id : ids) {
+                BigDecimal balance = found.getOrDefault(id, BigDecimal.ZERO);
+                balances.put(id, balance);
+                walletBalanceMetrics.recordValue(balance, type);
+            }
+            walletBalanceMetrics.recordRequest(type);
+            return balances;
+        } catch (Exception e) {
+            result = MetricResult.ERROR;
+            walletBalanceMetrics.recordError(type, e.getClass().getSimpleName());
+            log.error("GetWalletBalancesUseCase - error calculating balances wallets={}, at={}", ids.size(), at, e);
+            throw e;
+        } finally {
+            walletBalanceMetrics.recordDuration(System.nanoTime() - startNs, type, result);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+public class GetWalletStatementUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(GetWalletStatementUseCase.class);
+    private static final byte CURSOR_VERSION = 1;
+    private static final int CURSOR_BYTES = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public GetWalletStatementUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            int defaultPageSize,
+            int maxPageSize
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public StatementPage execute(UUID walletId, Integer limit, String cursor) {
+        int pageSize = pageSize(limit);
+        StatementCursor after = cursor == null || cursor.isBlank() ? null : decode(cursor);
+        log.info(
+                "GetWalletStatementUseCase - reading statement page walletId={}, pageSize={}, after={}",
+                walletId, pageSize, after
+        );
+
+        List<LedgerEntry> entries = ledgerEntryRepository.findStatementPage(walletId, after, pageSize + 1);
+        if (entries.size() <= pageSize) {
+            return new StatementPage(entries, null);
+        }
+        List<LedgerEntry> page = entries.subList(0, pageSize);
+        return new StatementPage(page, encode(StatementCursor.after(page.get(pageSize - 1))));
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Statement page size must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static String encode(StatementCursor cursor) {
+        ByteBuffer buffer = ByteBuffer.allocate(CURSOR_BYTES)
+                .put(CURSOR_VERSION)
+                .putLong(cursor.occurredAt().getEpochSecond())
+                .putInt(cursor.occurredAt().getNano())
+                .putLong(cursor.id().getMostSignificantBits())
+                .putLong(cursor.id().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static StatementCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != CURSOR_BYTES || buffer.get() != CURSOR_VERSION) {
+                throw new IllegalArgumentException("Invalid statement cursor");
+            }
+            Instant occurredAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new StatementCursor(occurredAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid statement cursor", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.br.wallet.application.usecase.wallet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface LedgerExport {
+    long writeTo(OutputStream out) throws IOException;
+}
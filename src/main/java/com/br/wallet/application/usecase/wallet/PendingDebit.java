@@ -0,0 +1,23 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.PixTransfer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record PendingDebit(LedgerEntry entry, PixTransfer transfer, IdempotencyRecord idempotencyRecord) {
+
+    public PendingDebit(LedgerEntry entry, PixTransfer transfer) {
+        this(entry, transfer, null);
+    }
+
+    public UUID walletId() {
+        return entry.walletId();
+    }
+
+    public BigDecimal amount() {
+        return entry.amount();
+    }
+}
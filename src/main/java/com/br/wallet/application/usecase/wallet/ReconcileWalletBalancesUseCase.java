@@ -0,0 +1,92 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.BalanceReconciliation;
+import com.br.wallet.domain.model.BalanceReconciliationSummary;
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.ProjectionMode;
+import com.br.wallet.infrastructure.metrics.WalletBalanceProjectionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ReconcileWalletBalancesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconcileWalletBalancesUseCase.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final WalletRepository walletRepository;
+    private final WalletBalanceRepository walletBalanceRepository;
+    private final WalletBalanceProjectionMetrics walletBalanceProjectionMetrics;
+
+    public ReconcileWalletBalancesUseCase(
+            WalletRepository walletRepository,
+            WalletBalanceRepository walletBalanceRepository,
+            WalletBalanceProjectionMetrics walletBalanceProjectionMetrics
+    ) {
+        this.walletRepository = walletRepository;
+        this.walletBalanceRepository = walletBalanceRepository;
+        this.walletBalanceProjectionMetrics = walletBalanceProjectionMetrics;
+    }
+
+    public BalanceReconciliationSummary verify() {
+        return execute(false);
+    }
+
+    public BalanceReconciliationSummary rebuild() {
+        return execute(true);
+    }
+
+    private BalanceReconciliationSummary execute(boolean repair) {
+        long startNs = System.nanoTime();
+        ProjectionMode mode = repair ? ProjectionMode.REBUILD : ProjectionMode.VERIFY;
+        long checked = 0;
+        long mismatched = 0;
+        long repaired = 0;
+        long failed = 0;
+        log.info("ReconcileWalletBalancesUseCase - starting balance projection {}", mode.tag());
+        try {
+            UUID lastId = null;
+            List<UUID> page;
+            do {
+                page = walletRepository.findIdsAfter(lastId, PAGE_SIZE);
+                for (UUID walletId : page) {
+                    try {
+                        BalanceReconciliation reconciliation = walletBalanceRepository.reconcile(walletId, repair);
+                        checked++;
+                        walletBalanceProjectionMetrics.recordChecked(mode);
+                        if (!reconciliation.consistent()) {
+                            mismatched++;
+                            walletBalanceProjectionMetrics.recordMismatch(mode);
+                            log.warn(
+                                    "ReconcileWalletBalancesUseCase - balance projection mismatch walletId={}, projectedBalance={}, ledgerBalance={}, repaired={}",
+                                    walletId, reconciliation.projectedBalance(), reconciliation.ledgerBalance(), reconciliation.repaired()
+                            );
+                        }
+                        if (reconciliation.repaired()) {
+                            repaired++;
+                            walletBalanceProjectionMetrics.recordRepaired();
+                        }
+                    } catch (Exception e) {
+                        failed++;
+                        walletBalanceProjectionMetrics.recordError(mode, e.getClass().getSimpleName());
+                        log.error("ReconcileWalletBalancesUseCase - error reconciling walletId={}", walletId, e);
+                    }
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == PAGE_SIZE);
+            log.info(
+                    "ReconcileWalletBalancesUseCase - balance projection {} finished checked={}, mismatched={}, repaired={}, failed={}",
+                    mode.tag(), checked, mismatched, repaired, failed
+            );
+            return new BalanceReconciliationSummary(checked, mismatched, repaired, failed);
+        } finally {
+            walletBalanceProjectionMetrics.recordDuration(System.nanoTime() - startNs, mode);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.br.wallet.domain.model.PixKey;
 import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.PixKeyRepository;
 import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.PixKeyMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +33,7 @@ public class RegisterPixKeyUseCase {
     public PixKey execute(UUID walletId, PixKeyType type, String keyValue) {
 
         long startNs = System.nanoTime();
-        String result = "success";
+        MetricResult result = MetricResult.SUCCESS;
         log.info(
                 "RegisterPixKeyUseCase - received request walletId={}, type={}, keyValue={}",
                 walletId, type, keyValue
@@ -67,17 +68,17 @@ public class RegisterPixKeyUseCase {
 
         } catch (IllegalArgumentException e) {
             pixKeyMetrics.recordRegisterError(type, "wallet_not_found");
-            result = "error";
+            result = MetricResult.ERROR;
             throw e;
         } catch (IllegalStateException e) {
             if (!"Pix key already in use".equals(e.getMessage())) {
                 pixKeyMetrics.recordRegisterError(type, "illegal_state");
             }
-            result = "error";
+            result = MetricResult.ERROR;
             throw e;
         } catch (Exception e) {
             pixKeyMetrics.recordRegisterError(type, e.getClass().getSimpleName());
-            result = "error";
+            result = MetricResult.ERROR;
             log.error(
                     "RegisterPixKeyUseCase - unexpected error walletId={}, type={}, keyValue={}",
                     walletId, type, keyValue, e
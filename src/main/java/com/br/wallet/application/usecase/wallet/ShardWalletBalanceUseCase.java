@@ -0,0 +1,45 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+public class ShardWalletBalanceUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardWalletBalanceUseCase.class);
+
+    private final WalletRepository walletRepository;
+    private final WalletBalanceRepository walletBalanceRepository;
+    private final int maxShards;
+
+    public ShardWalletBalanceUseCase(
+            WalletRepository walletRepository,
+            WalletBalanceRepository walletBalanceRepository,
+            int maxShards
+    ) {
+        this.walletRepository = walletRepository;
+        this.walletBalanceRepository = walletBalanceRepository;
+        this.maxShards = maxShards;
+    }
+
+    public int execute(UUID walletId, int shards) {
+        if (shards < 1 || shards > maxShards) {
+            throw new IllegalArgumentException("Shards must be between 1 and " + maxShards);
+        }
+        walletRepository.findById(walletId)
+                .orElseThrow(() -> {
+                    log.warn("ShardWalletBalanceUseCase - wallet not found walletId={}", walletId);
+                    return new IllegalArgumentException("Wallet not found");
+                });
+
+        int applied = walletBalanceRepository.shard(walletId, shards);
+        log.info(
+                "ShardWalletBalanceUseCase - wallet balance sharded walletId={}, requestedShards={}, shards={}",
+                walletId, shards, applied
+        );
+        return applied;
+    }
+}
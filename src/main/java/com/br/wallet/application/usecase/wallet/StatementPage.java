@@ -0,0 +1,11 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerEntry;
+
+import java.util.List;
+
+public record StatementPage(
+        List<LedgerEntry> entries,
+        String nextCursor
+) {
+}
@@ -0,0 +1,207 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.infrastructure.metrics.DebitBatchMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class WalletDebitBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletDebitBatcher.class);
+
+    private final WriteDebitBatchUseCase writeDebitBatchUseCase;
+    private final DebitBatchMetrics debitBatchMetrics;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<UUID, WalletQueue> queues = new ConcurrentHashMap<>();
+
+    public WalletDebitBatcher(
+            WriteDebitBatchUseCase writeDebitBatchUseCase,
+            DebitBatchMetrics debitBatchMetrics,
+            Duration window,
+            int maxBatchSize
+    ) {
+        this.writeDebitBatchUseCase = writeDebitBatchUseCase;
+        this.debitBatchMetrics = debitBatchMetrics;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public DebitBatchResult submit(PendingDebit debit) {
+        UUID walletId = debit.walletId();
+        Submission submission = new Submission(debit);
+        WalletQueue queue;
+        Offer offer;
+        do {
+            queue = queues.computeIfAbsent(walletId, id -> new WalletQueue(id));
+            offer = queue.offer(submission);
+        } while (offer == Offer.RETIRED);
+
+        if (offer == Offer.LEAD || submission.awaitTurn()) {
+            lead(queue);
+        }
+        return submission.await();
+    }
+
+    private void lead(WalletQueue queue) {
+        List<Submission> batch = queue.collect();
+        try {
+            write(queue.walletId, batch);
+        } finally {
+            for (Submission submission : batch) {
+                // no-op unless the write ended with an Error
+                submission.result.completeExceptionally(new IllegalStateException("Debit batch aborted"));
+            }
+            Submission next = queue.handOff();
+            if (next != null) {
+                next.promoted.complete(null);
+            }
+        }
+    }
+
+    private void write(UUID walletId, List<Submission> batch) {
+        long startNs = System.nanoTime();
+        try {
+            List<DebitBatchResult> results = writeDebitBatchUseCase.execute(
+                    walletId,
+                    batch.stream().map(Submission::debit).toList()
+            );
+            debitBatchMetrics.recordBatch(batch.size(), System.nanoTime() - startNs);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (IllegalArgumentException e) {
+            batch.forEach(submission -> submission.result.completeExceptionally(e));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("WalletDebitBatcher - debit batch failed, retrying one by one walletId={}, size={}", walletId, batch.size(), e);
+            debitBatchMetrics.recordSplit();
+            for (Submission submission : batch) {
+                write(walletId, List.of(submission));
+            }
+        }
+    }
+
+    private enum Offer {
+        LEAD,
+        FOLLOW,
+        RETIRED
+    }
+
+    private record Submission(
+            PendingDebit debit,
+            CompletableFuture<DebitBatchResult> result,
+            CompletableFuture<Void> promoted
+    ) {
+
+        Submission(PendingDebit debit) {
+            this(debit, new CompletableFuture<>(), new CompletableFuture<>());
+        }
+
+        boolean awaitTurn() {
+            try {
+                CompletableFuture.anyOf(result, promoted).join();
+            } catch (CompletionException | CancellationException ignored) {
+            }
+            return !result.isDone();
+        }
+
+        DebitBatchResult await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    // ReentrantLock rather than synchronized: callers may be virtual threads parked here
+    private final class WalletQueue {
+
+        private final UUID walletId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition filled = lock.newCondition();
+        private final ArrayDeque<Submission> pending = new ArrayDeque<>();
+        private boolean leading;
+        private boolean retired;
+
+        private WalletQueue(UUID walletId) {
+            this.walletId = walletId;
+        }
+
+        Offer offer(Submission submission) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return Offer.RETIRED;
+                }
+                pending.add(submission);
+                if (!leading) {
+                    leading = true;
+                    return Offer.LEAD;
+                }
+                if (pending.size() >= maxBatchSize) {
+                    filled.signal();
+                }
+                return Offer.FOLLOW;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Submission> collect() {
+            lock.lock();
+            try {
+                long remaining = windowNanos;
+                while (pending.size() < maxBatchSize && remaining > 0) {
+                    remaining = filled.awaitNanos(remaining);
+                }
+                List<Submission> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                while (batch.size() < maxBatchSize && !pending.isEmpty()) {
+                    batch.add(pending.poll());
+                }
+                return batch;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                List<Submission> batch = new ArrayList<>();
+                batch.add(pending.poll());
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Submission handOff() {
+            lock.lock();
+            try {
+                Submission next = pending.peek();
+                if (next == null) {
+                    leading = false;
+                    retired = true;
+                    queues.remove(walletId, this);
+                }
+                return next;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.br.wallet.application.usecase.wallet;
 
+import com.br.wallet.domain.enums.DebitStrategy;
 import com.br.wallet.domain.enums.LedgerEntryDirection;
 import com.br.wallet.domain.enums.LedgerOperationType;
 import com.br.wallet.domain.model.LedgerEntry;
 import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.MetricResult;
 import com.br.wallet.infrastructure.metrics.WithdrawMetrics;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 public class WithdrawUseCase {
@@ -22,78 +25,137 @@ public class WithdrawUseCase {
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
     private final WithdrawMetrics withdrawMetrics;
+    private final DebitStrategy debitStrategy;
+    private final WalletDebitBatcher walletDebitBatcher;
+    private final TransactionOperations transactionOperations;
 
     public WithdrawUseCase(
             WalletRepository walletRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            WithdrawMetrics withdrawMetrics
+            WithdrawMetrics withdrawMetrics,
+            DebitStrategy debitStrategy,
+            WalletDebitBatcher walletDebitBatcher,
+            TransactionOperations transactionOperations
     ) {
         this.walletRepository = walletRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
         this.withdrawMetrics = withdrawMetrics;
+        this.debitStrategy = debitStrategy;
+        this.walletDebitBatcher = walletDebitBatcher;
+        this.transactionOperations = transactionOperations;
     }
 
-    @Transactional
     public LedgerEntry execute(UUID walletId, BigDecimal amount) {
         long startNs = System.nanoTime();
-        String result = "success";
+        MetricResult result = MetricResult.SUCCESS;
         log.info(
                 "WithdrawUseCase - request received walletId={}, amount={}",
                 walletId, amount
         );
         try {
-            Wallet wallet = walletRepository.findByIdForUpdate(walletId)
-                    .orElseThrow(() -> {
-                        log.warn(
-                                "WithdrawUseCase - wallet not found walletId={}",
-                                walletId
-                        );
-                        return new IllegalArgumentException("Wallet not found");
-                    });
-            BigDecimal balance = ledgerEntryRepository.calculateCurrentBalance(wallet.id());
-            if (balance.compareTo(amount) < 0) {
-                log.warn(
-                        "WithdrawUseCase - insufficient funds walletId={}, balance={}, requestedAmount={}",
-                        wallet.id(), balance, amount
-                );
-                withdrawMetrics.recordInsufficientFunds();
-                withdrawMetrics.recordWithdrawError("insufficient_funds");
-                result = "error";
-                throw new IllegalStateException("Insufficient funds");
-            }
-            LedgerEntry entry = LedgerEntry.newEntry(
-                    wallet.id(),
-                    LedgerOperationType.WITHDRAW,
-                    LedgerEntryDirection.DEBIT,
-                    amount,
-                    null,
-                    null,
-                    Instant.now()
-            );
-            ledgerEntryRepository.save(entry);
-            log.info(
-                    "WithdrawUseCase - withdraw ledger entry created walletId={}, amount={}, ledgerEntryId={}",
-                    wallet.id(), amount, entry.id()
-            );
+            LedgerEntry saved = transactionOperations.execute(status -> debit(walletId, amount));
             withdrawMetrics.recordWithdrawSuccess(amount);
-            return entry;
+            return saved;
         } catch (IllegalArgumentException e) {
             withdrawMetrics.recordWithdrawError("wallet_not_found");
-            result = "error";
+            result = MetricResult.ERROR;
             throw e;
         } catch (IllegalStateException e) {
             if (!"Insufficient funds".equals(e.getMessage())) {
                 withdrawMetrics.recordWithdrawError("illegal_state");
             }
-            result = "error";
+            result = MetricResult.ERROR;
             throw e;
         } catch (Exception e) {
             withdrawMetrics.recordWithdrawError(e.getClass().getSimpleName());
-            result = "error";
+            result = MetricResult.ERROR;
             log.error("WithdrawUseCase - unexpected error walletId={}, amount={}", walletId, amount, e);
             throw e;
         } finally {
             withdrawMetrics.recordDuration(System.nanoTime() - startNs, result);
         }
     }
+
+    private LedgerEntry debit(UUID walletId, BigDecimal amount) {
+        if (debitStrategy == DebitStrategy.CONDITIONAL_UPDATE) {
+            return debitIfCovered(walletId, amount);
+        }
+        if (debitStrategy == DebitStrategy.GROUP_COMMIT) {
+            return debitInBatch(walletId, amount);
+        }
+        return debitUnderLock(walletId, amount);
+    }
+
+    private LedgerEntry debitUnderLock(UUID walletId, BigDecimal amount) {
+        Wallet wallet = loadWallet(walletRepository.findByIdForUpdate(walletId), walletId);
+        BigDecimal balance = ledgerEntryRepository.calculateCurrentBalance(wallet.id());
+        if (balance.compareTo(amount) < 0) {
+            throw insufficientFunds(wallet.id(), balance, amount);
+        }
+        LedgerEntry entry = newDebit(wallet.id(), amount);
+        LedgerEntry saved = ledgerEntryRepository.save(entry);
+        logDebit(entry);
+        return saved;
+    }
+
+    private LedgerEntry debitIfCovered(UUID walletId, BigDecimal amount) {
+        LedgerEntry entry = newDebit(walletId, amount);
+        Optional<LedgerEntry> saved = ledgerEntryRepository.saveIfCovered(entry);
+        if (saved.isPresent()) {
+            logDebit(entry);
+            return saved.get();
+        }
+        // the guarded update cannot tell a missing wallet from a short balance
+        Wallet wallet = loadWallet(walletRepository.findById(walletId), walletId);
+        throw insufficientFunds(wallet.id(), ledgerEntryRepository.calculateCurrentBalance(wallet.id()), amount);
+    }
+
+    private LedgerEntry debitInBatch(UUID walletId, BigDecimal amount) {
+        LedgerEntry entry = newDebit(walletId, amount);
+        DebitBatchResult result = walletDebitBatcher.submit(new PendingDebit(entry, null));
+        if (!result.isPosted()) {
+            throw insufficientFunds(walletId, result.availableBalance(), amount);
+        }
+        logDebit(entry);
+        return result.entry();
+    }
+
+    private Wallet loadWallet(Optional<Wallet> wallet, UUID walletId) {
+        return wallet.orElseThrow(() -> {
+            log.warn(
+                    "WithdrawUseCase - wallet not found walletId={}",
+                    walletId
+            );
+            return new IllegalArgumentException("Wallet not found");
+        });
+    }
+
+    private IllegalStateException insufficientFunds(UUID walletId, BigDecimal balance, BigDecimal amount) {
+        log.warn(
+                "WithdrawUseCase - insufficient funds walletId={}, balance={}, requestedAmount={}",
+                walletId, balance, amount
+        );
+        withdrawMetrics.recordInsufficientFunds();
+        withdrawMetrics.recordWithdrawError("insufficient_funds");
+        return new IllegalStateException("Insufficient funds");
+    }
+
+    private void logDebit(LedgerEntry entry) {
+        log.info(
+                "WithdrawUseCase - withdraw ledger entry created walletId={}, amount={}, ledgerEntryId={}",
+                entry.walletId(), entry.amount(), entry.id()
+        );
+    }
+
+    private static LedgerEntry newDebit(UUID walletId, BigDecimal amount) {
+        return LedgerEntry.newEntry(
+                walletId,
+                LedgerOperationType.WITHDRAW,
+                LedgerEntryDirection.DEBIT,
+                amount,
+                null,
+                null,
+                Instant.now()
+        );
+    }
 }
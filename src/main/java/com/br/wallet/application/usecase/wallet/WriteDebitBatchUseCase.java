@@ -0,0 +1,87 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+public class WriteDebitBatchUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteDebitBatchUseCase.class);
+
+    private final WalletRepository walletRepository;
+    private final PixTransferRepository pixTransferRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    public WriteDebitBatchUseCase(
+            WalletRepository walletRepository,
+            PixTransferRepository pixTransferRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            IdempotencyRecordRepository idempotencyRecordRepository
+    ) {
+        this.walletRepository = walletRepository;
+        this.pixTransferRepository = pixTransferRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+    }
+
+    // the batch carries other callers' debits, so it must not share the leading thread's transaction
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<DebitBatchResult> execute(UUID walletId, List<PendingDebit> debits) {
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> {
+                    log.warn("WriteDebitBatchUseCase - wallet not found walletId={}", walletId);
+                    return new IllegalArgumentException("Wallet not found");
+                });
+        BigDecimal available = ledgerEntryRepository.calculateCurrentBalance(wallet.id());
+
+        List<PixTransfer> transfers = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>();
+        List<IdempotencyRecord> records = new ArrayList<>();
+        BigDecimal[] rejectedAt = new BigDecimal[debits.size()];
+        for (int i = 0; i < debits.size(); i++) {
+            PendingDebit debit = debits.get(i);
+            if (available.compareTo(debit.amount()) < 0) {
+                rejectedAt[i] = available;
+                continue;
+            }
+            available = available.subtract(debit.amount());
+            entries.add(debit.entry());
+            if (debit.transfer() != null) {
+                transfers.add(debit.transfer());
+            }
+            if (debit.idempotencyRecord() != null) {
+                records.add(debit.idempotencyRecord());
+            }
+        }
+
+        if (!transfers.isEmpty()) {
+            pixTransferRepository.saveAll(transfers);
+        }
+        records.forEach(idempotencyRecordRepository::save);
+        Iterator<LedgerEntry> posted = ledgerEntryRepository.saveAll(entries).iterator();
+        List<DebitBatchResult> results = new ArrayList<>(debits.size());
+        for (BigDecimal rejected : rejectedAt) {
+            results.add(rejected != null ? DebitBatchResult.rejected(rejected) : DebitBatchResult.posted(posted.next()));
+        }
+        log.info(
+                "WriteDebitBatchUseCase - debit batch written walletId={}, size={}, posted={}",
+                walletId, debits.size(), entries.size()
+        );
+        return results;
+    }
+}
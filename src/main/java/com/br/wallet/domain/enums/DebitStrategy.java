@@ -0,0 +1,7 @@
+package com.br.wallet.domain.enums;
+
+public enum DebitStrategy {
+    PESSIMISTIC_LOCK,
+    CONDITIONAL_UPDATE,
+    GROUP_COMMIT
+}
@@ -5,5 +5,7 @@ public enum LedgerOperationType {
     WITHDRAW,
     PIX_DEBIT,
     PIX_CREDIT,
-    PIX_REVERSAL
+    PIX_REVERSAL,
+    // the archived entries of a wallet rolled into one; amount and direction carry the balance they left
+    OPENING_BALANCE
 }
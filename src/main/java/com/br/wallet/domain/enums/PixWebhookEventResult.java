@@ -0,0 +1,11 @@
+package com.br.wallet.domain.enums;
+
+public enum PixWebhookEventResult {
+    APPLIED,
+    DUPLICATE,
+    IGNORED_FINALIZED,
+    TRANSITION_CONFLICT,
+    UNSUPPORTED_TRANSITION,
+    TRANSFER_NOT_FOUND,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.br.wallet.domain.id;
+
+public interface EndToEndIdGenerator {
+
+    String newEndToEndId();
+}
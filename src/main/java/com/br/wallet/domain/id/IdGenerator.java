@@ -0,0 +1,8 @@
+package com.br.wallet.domain.id;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID newId();
+}
@@ -0,0 +1,20 @@
+package com.br.wallet.domain.id;
+
+import java.util.UUID;
+
+// the domain factories are static, so the generator is swapped here once at startup
+public final class Ids {
+
+    private static volatile IdGenerator generator = new UuidV7IdGenerator();
+
+    private Ids() {
+    }
+
+    public static UUID newId() {
+        return generator.newId();
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,55 @@
+package com.br.wallet.domain.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+// "E" + ISPB + yyyyMMddHHmm (UTC) + 11 alphanumerics
+public final class PixEndToEndIdGenerator implements EndToEndIdGenerator {
+
+    private static final DateTimeFormatter MINUTE = DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC);
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int PREFIX_LENGTH = 21;
+    private static final int LENGTH = 32;
+
+    private final String ispb;
+    private final Clock clock;
+    private volatile Prefix prefix = new Prefix(Long.MIN_VALUE, "");
+
+    public PixEndToEndIdGenerator(String ispb) {
+        this(ispb, Clock.systemUTC());
+    }
+
+    PixEndToEndIdGenerator(String ispb, Clock clock) {
+        if (ispb == null || !ispb.matches("\\d{8}")) {
+            throw new IllegalArgumentException("ISPB must have 8 digits");
+        }
+        this.ispb = ispb;
+        this.clock = clock;
+    }
+
+    @Override
+    public String newEndToEndId() {
+        char[] id = new char[LENGTH];
+        prefix(Math.floorDiv(clock.millis(), 60_000L)).getChars(0, PREFIX_LENGTH, id, 0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = PREFIX_LENGTH; i < LENGTH; i++) {
+            id[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(id);
+    }
+
+    private String prefix(long minute) {
+        Prefix current = prefix;
+        if (current.minute() != minute) {
+            current = new Prefix(minute, "E" + ispb + MINUTE.format(Instant.ofEpochSecond(minute * 60)));
+            prefix = current;
+        }
+        return current.value();
+    }
+
+    private record Prefix(long minute, String value) {
+    }
+}
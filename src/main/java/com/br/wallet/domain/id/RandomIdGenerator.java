@@ -0,0 +1,11 @@
+package com.br.wallet.domain.id;
+
+import java.util.UUID;
+
+public final class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID newId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,38 @@
+package com.br.wallet.domain.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// RFC 9562 UUIDv7 with a 12-bit counter in rand_a: increasing per generator, not unguessable
+public final class UuidV7IdGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private final LongSupplier clockMillis;
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7IdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7IdGenerator(LongSupplier clockMillis) {
+        this.clockMillis = clockMillis;
+    }
+
+    @Override
+    public UUID newId() {
+        long now = clockMillis.getAsLong() << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            // more than 4096 ids in a millisecond, or a clock step back, borrows from the next millisecond
+            next = Math.max(now, previous + 1);
+        } while (!last.compareAndSet(previous, next));
+        long mostSigBits = (next >>> SEQUENCE_BITS) << 16 | 0x7000L | (next & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,10 @@
+package com.br.wallet.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record BalancePoint(
+        Instant at,
+        BigDecimal balance
+) {
+}
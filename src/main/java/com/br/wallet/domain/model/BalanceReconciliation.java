@@ -0,0 +1,16 @@
+package com.br.wallet.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BalanceReconciliation(
+        UUID walletId,
+        BigDecimal projectedBalance,
+        BigDecimal ledgerBalance,
+        boolean repaired
+) {
+
+    public boolean consistent() {
+        return projectedBalance != null && projectedBalance.compareTo(ledgerBalance) == 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.br.wallet.domain.model;
+
+public record BalanceReconciliationSummary(
+        long checked,
+        long mismatched,
+        long repaired,
+        long failed
+) {
+}
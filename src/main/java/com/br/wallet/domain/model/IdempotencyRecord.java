@@ -1,5 +1,8 @@
 package com.br.wallet.domain.model;
 
+import com.br.wallet.domain.id.Ids;
+
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -8,20 +11,28 @@ public record IdempotencyRecord(
         String scope,
         String idempotencyKey,
         String responsePayload,
-        Instant createdAt
+        Instant createdAt,
+        Instant expiresAt
 ) {
 
     public static IdempotencyRecord newRecord(
             String scope,
             String idempotencyKey,
-            String responsePayload
+            String responsePayload,
+            Duration retention
     ) {
+        Instant now = Instant.now();
         return new IdempotencyRecord(
-                UUID.randomUUID(),
+                Ids.newId(),
                 scope,
                 idempotencyKey,
                 responsePayload,
-                Instant.now()
+                now,
+                now.plus(retention)
         );
     }
+
+    public boolean isExpiredAt(Instant instant) {
+        return !expiresAt.isAfter(instant);
+    }
 }
@@ -0,0 +1,9 @@
+package com.br.wallet.domain.model;
+
+public record LedgerArchiveSummary(
+        long checked,
+        long archivedWallets,
+        long archivedEntries,
+        long failed
+) {
+}
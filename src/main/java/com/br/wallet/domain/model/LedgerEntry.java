@@ -2,6 +2,7 @@ package com.br.wallet.domain.model;
 
 import com.br.wallet.domain.enums.LedgerEntryDirection;
 import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.id.Ids;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -16,7 +17,8 @@ public record LedgerEntry(
         String referenceId,
         String endToEndId,
         Instant occurredAt,
-        Instant createdAt
+        Instant createdAt,
+        BigDecimal balanceAfter
 ) {
 
     public static LedgerEntry newEntry(
@@ -29,7 +31,7 @@ public record LedgerEntry(
             Instant occurredAt
     ) {
         return new LedgerEntry(
-                UUID.randomUUID(),
+                Ids.newId(),
                 walletId,
                 operationType,
                 direction,
@@ -37,7 +39,28 @@ public record LedgerEntry(
                 referenceId,
                 endToEndId,
                 occurredAt,
-                Instant.now()
+                Instant.now(),
+                null
         );
     }
+
+    // stands in for the archived entries up to occurredAt: signed, it adds up to the balance they left
+    public static LedgerEntry openingBalance(UUID walletId, BigDecimal balance, Instant occurredAt) {
+        return new LedgerEntry(
+                Ids.newId(),
+                walletId,
+                LedgerOperationType.OPENING_BALANCE,
+                balance.signum() < 0 ? LedgerEntryDirection.DEBIT : LedgerEntryDirection.CREDIT,
+                balance.abs(),
+                null,
+                null,
+                occurredAt,
+                Instant.now(),
+                balance
+        );
+    }
+
+    public BigDecimal signedAmount() {
+        return direction == LedgerEntryDirection.CREDIT ? amount : amount.negate();
+    }
 }
@@ -1,6 +1,7 @@
 package com.br.wallet.domain.model;
 
 import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.id.Ids;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -21,7 +22,7 @@ public record PixEvent(
             Instant occurredAt
     ) {
         return new PixEvent(
-                UUID.randomUUID(),
+                Ids.newId(),
                 eventId,
                 endToEndId,
                 eventType,
@@ -1,6 +1,7 @@
 package com.br.wallet.domain.model;
 
 import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.domain.id.Ids;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -15,7 +16,7 @@ public record PixKey(
 
     public static PixKey newKey(UUID walletId, PixKeyType keyType, String keyValue) {
         return new PixKey(
-                UUID.randomUUID(),
+                Ids.newId(),
                 walletId,
                 keyType,
                 keyValue,
@@ -1,6 +1,7 @@
 package com.br.wallet.domain.model;
 
 import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.id.Ids;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -28,7 +29,7 @@ public record PixTransfer(
     ) {
         Instant now = Instant.now();
         return new PixTransfer(
-                UUID.randomUUID(),
+                Ids.newId(),
                 endToEndId,
                 fromWalletId,
                 toWalletId,
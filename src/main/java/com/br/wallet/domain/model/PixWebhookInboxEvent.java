@@ -0,0 +1,40 @@
+package com.br.wallet.domain.model;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.id.Ids;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PixWebhookInboxEvent(
+        UUID id,
+        String eventId,
+        String endToEndId,
+        PixEventType eventType,
+        Instant occurredAt,
+        Instant receivedAt,
+        int partitionKey,
+        int attempts
+) {
+
+    // fixed key space so the worker pool can be resized without rewriting queued rows
+    public static final int PARTITION_KEYS = 1024;
+
+    public static PixWebhookInboxEvent newEvent(
+            String eventId,
+            String endToEndId,
+            PixEventType eventType,
+            Instant occurredAt
+    ) {
+        return new PixWebhookInboxEvent(
+                Ids.newId(),
+                eventId,
+                endToEndId,
+                eventType,
+                occurredAt,
+                Instant.now(),
+                Math.floorMod(endToEndId.hashCode(), PARTITION_KEYS),
+                0
+        );
+    }
+}
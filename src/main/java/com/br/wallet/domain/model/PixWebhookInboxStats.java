@@ -0,0 +1,8 @@
+package com.br.wallet.domain.model;
+
+import java.time.Instant;
+
+public record PixWebhookInboxStats(
+        long pending,
+        Instant oldestReceivedAt
+) {}
@@ -0,0 +1,9 @@
+package com.br.wallet.domain.model;
+
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+
+public record PixWebhookOutcome(
+        String eventId,
+        String endToEndId,
+        PixWebhookEventResult result
+) {}
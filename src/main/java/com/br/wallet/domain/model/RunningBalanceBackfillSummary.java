@@ -0,0 +1,9 @@
+package com.br.wallet.domain.model;
+
+public record RunningBalanceBackfillSummary(
+        long checked,
+        long backfilledWallets,
+        long updatedEntries,
+        long failed
+) {
+}
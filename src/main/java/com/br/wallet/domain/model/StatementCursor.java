@@ -0,0 +1,14 @@
+package com.br.wallet.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StatementCursor(
+        Instant occurredAt,
+        UUID id
+) {
+
+    public static StatementCursor after(LedgerEntry entry) {
+        return new StatementCursor(entry.occurredAt(), entry.id());
+    }
+}
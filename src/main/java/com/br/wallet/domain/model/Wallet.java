@@ -1,5 +1,7 @@
 package com.br.wallet.domain.model;
 
+import com.br.wallet.domain.id.Ids;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -11,7 +13,7 @@ public record Wallet(
 
     public static Wallet newWallet(String ownerId) {
         return new Wallet(
-                UUID.randomUUID(),
+                Ids.newId(),
                 ownerId,
                 Instant.now()
         );
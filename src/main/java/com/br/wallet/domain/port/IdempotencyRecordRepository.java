@@ -2,9 +2,14 @@ package com.br.wallet.domain.port;
 
 import com.br.wallet.domain.model.IdempotencyRecord;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface IdempotencyRecordRepository {
     IdempotencyRecord save(IdempotencyRecord record);
     Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String key);
+    // false only for a key that was certainly never stored; true means it has to be looked up
+    boolean mightExist(String scope, String key);
+    int deleteExpired(Instant now, int limit);
+    long count();
 }
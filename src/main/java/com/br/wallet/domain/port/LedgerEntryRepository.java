@@ -1,13 +1,30 @@
 package com.br.wallet.domain.port;
 
+import com.br.wallet.domain.model.BalancePoint;
 import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface LedgerEntryRepository {
     LedgerEntry save(LedgerEntry entry);
+    Optional<LedgerEntry> saveIfCovered(LedgerEntry debit);
+    List<LedgerEntry> saveAll(List<LedgerEntry> entries);
     BigDecimal calculateCurrentBalance(UUID walletId);
     BigDecimal calculateBalanceAt(UUID walletId, Instant at);
+    Map<UUID, BigDecimal> calculateCurrentBalances(Collection<UUID> walletIds);
+    Map<UUID, BigDecimal> calculateBalancesAt(Collection<UUID> walletIds, Instant at);
+    List<BalancePoint> calculateBalanceSeries(UUID walletId, List<Instant> points);
+    List<BalancePoint> findBalanceChanges(UUID walletId, Instant from, Instant to);
+    long backfillRunningBalances(UUID walletId);
+    long archiveBefore(UUID walletId, Instant cutoff, int maxEntries);
+    List<LedgerEntry> findStatementPage(UUID walletId, StatementCursor after, int limit);
+    long forEachEntry(UUID walletId, Consumer<LedgerEntry> action);
 }
@@ -2,9 +2,14 @@ package com.br.wallet.domain.port;
 
 import com.br.wallet.domain.model.PixEvent;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PixEventRepository {
     PixEvent save(PixEvent event);
-    Optional<PixEvent> findByEventId(String eventId);
+    // occurredAt, when known, tells where to start looking for the stored event; it never hides one
+    Optional<PixEvent> findByEventId(String eventId, Instant occurredAt);
+    Set<String> findExistingEventIds(Collection<String> eventIds);
 }
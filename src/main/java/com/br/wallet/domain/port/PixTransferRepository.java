@@ -1,12 +1,19 @@
 package com.br.wallet.domain.port;
 
+import com.br.wallet.domain.enums.PixTransferStatus;
 import com.br.wallet.domain.model.PixTransfer;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PixTransferRepository {
     PixTransfer save(PixTransfer transfer);
+    List<PixTransfer> saveAll(List<PixTransfer> transfers);
     Optional<PixTransfer> findByEndToEndId(String endToEndId);
+    List<PixTransfer> findByEndToEndIds(Collection<String> endToEndIds);
     Optional<PixTransfer> findByFromWalletIdAndIdempotencyKey(UUID fromWalletId, String idempotencyKey);
+    boolean updateStatusIfPending(String endToEndId, PixTransferStatus status, Instant updatedAt);
 }
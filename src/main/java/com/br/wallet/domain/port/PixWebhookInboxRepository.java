@@ -0,0 +1,18 @@
+package com.br.wallet.domain.port;
+
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.model.PixWebhookInboxStats;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PixWebhookInboxRepository {
+    PixWebhookInboxEvent save(PixWebhookInboxEvent event);
+    List<PixWebhookInboxEvent> claim(int partition, int partitions, int limit, int maxAttempts, Instant now, Instant claimedUntil);
+    void delete(UUID id);
+    void recordFailure(UUID id, String error);
+    void release(Collection<UUID> ids);
+    PixWebhookInboxStats stats(int maxAttempts);
+}
@@ -0,0 +1,11 @@
+package com.br.wallet.domain.port;
+
+import com.br.wallet.domain.model.BalanceReconciliation;
+
+import java.util.UUID;
+
+public interface WalletBalanceRepository {
+    BalanceReconciliation reconcile(UUID walletId, boolean repair);
+
+    int shard(UUID walletId, int shards);
+}
@@ -1,6 +1,7 @@
 package com.br.wallet.domain.port;
 
 import com.br.wallet.domain.model.Wallet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -8,4 +9,5 @@ public interface WalletRepository {
     Wallet save(Wallet wallet);
     Optional<Wallet> findById(UUID id);
     Optional<Wallet> findByIdForUpdate(UUID id);
+    List<UUID> findIdsAfter(UUID afterId, int limit);
 }
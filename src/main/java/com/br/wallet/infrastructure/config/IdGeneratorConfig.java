@@ -0,0 +1,31 @@
+package com.br.wallet.infrastructure.config;
+
+import com.br.wallet.domain.id.EndToEndIdGenerator;
+import com.br.wallet.domain.id.IdGenerator;
+import com.br.wallet.domain.id.Ids;
+import com.br.wallet.domain.id.PixEndToEndIdGenerator;
+import com.br.wallet.domain.id.RandomIdGenerator;
+import com.br.wallet.domain.id.UuidV7IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${wallet.ids.strategy:uuid-v7}") String strategy) {
+        IdGenerator idGenerator = switch (strategy) {
+            case "uuid-v7" -> new UuidV7IdGenerator();
+            case "random" -> new RandomIdGenerator();
+            default -> throw new IllegalArgumentException("Unknown id strategy: " + strategy);
+        };
+        Ids.use(idGenerator);
+        return idGenerator;
+    }
+
+    @Bean
+    public EndToEndIdGenerator endToEndIdGenerator(@Value("${wallet.pix.ispb}") String ispb) {
+        return new PixEndToEndIdGenerator(ispb);
+    }
+}
@@ -1,18 +1,29 @@
 package com.br.wallet.infrastructure.config;
 
 import com.br.wallet.application.usecase.pix.CreatePixTransferUseCase;
+import com.br.wallet.application.usecase.pix.DrainPixWebhookInboxUseCase;
+import com.br.wallet.application.usecase.pix.EnqueuePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.HandlePixWebhookBatchUseCase;
 import com.br.wallet.application.usecase.pix.HandlePixWebhookUseCase;
 import com.br.wallet.application.usecase.pix.IdempotentCreatePixTransferUseCase;
-import com.br.wallet.domain.enums.PixEventType;
-import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.application.usecase.pix.PurgeExpiredIdempotencyRecordsUseCase;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
+import com.br.wallet.domain.enums.DebitStrategy;
+import com.br.wallet.domain.id.EndToEndIdGenerator;
 import com.br.wallet.domain.port.*;
+import com.br.wallet.infrastructure.metrics.IdempotencyRecordMetrics;
 import com.br.wallet.infrastructure.metrics.PixMetrics;
 import com.br.wallet.infrastructure.metrics.PixTransferMetrics;
+import com.br.wallet.infrastructure.metrics.PixWebhookInboxMetrics;
 import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import com.br.wallet.infrastructure.statemachine.PixTransferTransitionTable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 
 @Configuration
 public class PixUseCaseConfig {
@@ -23,14 +34,24 @@ public class PixUseCaseConfig {
             PixKeyRepository pixKeyRepository,
             PixTransferRepository pixTransferRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            PixMetrics pixMetrics
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            PixMetrics pixMetrics,
+            EndToEndIdGenerator endToEndIdGenerator,
+            @Value("${wallet.debit.strategy:PESSIMISTIC_LOCK}") DebitStrategy debitStrategy,
+            WalletDebitBatcher walletDebitBatcher,
+            TransactionTemplate transactionTemplate
     ) {
         return new CreatePixTransferUseCase(
                 walletRepository,
                 pixKeyRepository,
                 pixTransferRepository,
                 ledgerEntryRepository,
-                pixMetrics
+                idempotencyRecordRepository,
+                pixMetrics,
+                endToEndIdGenerator,
+                debitStrategy,
+                walletDebitBatcher,
+                WalletUseCaseConfig.debitTransactions(debitStrategy, transactionTemplate)
         );
     }
 
@@ -39,13 +60,20 @@ public class PixUseCaseConfig {
             IdempotencyRecordRepository idempotencyRecordRepository,
             CreatePixTransferUseCase createPixTransferUseCase,
             ObjectMapper objectMapper,
-            PixTransferMetrics pixTransferMetrics
+            PixTransferMetrics pixTransferMetrics,
+            @Value("${wallet.pix.transfer.in-flight-wait:5s}") Duration inFlightWait,
+            @Value("${wallet.idempotency.scopes.pix-transfer.retention:24h}") Duration recordRetention,
+            @Value("${wallet.debit.strategy:PESSIMISTIC_LOCK}") DebitStrategy debitStrategy,
+            TransactionTemplate transactionTemplate
     ) {
         return new IdempotentCreatePixTransferUseCase(
                 idempotencyRecordRepository,
                 createPixTransferUseCase,
                 objectMapper,
-                pixTransferMetrics
+                pixTransferMetrics,
+                inFlightWait,
+                recordRetention,
+                WalletUseCaseConfig.debitTransactions(debitStrategy, transactionTemplate)
         );
     }
 
@@ -54,13 +82,72 @@ public class PixUseCaseConfig {
             PixTransferRepository pixTransferRepository,
             PixEventRepository pixEventRepository,
             PixWebhookMetrics pixWebhookMetrics,
-            StateMachineFactory<PixTransferStatus, PixEventType> stateMachineFactory
+            PixTransferTransitionTable pixTransferTransitionTable
     ) {
         return new HandlePixWebhookUseCase(
                 pixTransferRepository,
                 pixEventRepository,
                 pixWebhookMetrics,
-                stateMachineFactory
+                pixTransferTransitionTable
+        );
+    }
+
+    @Bean
+    public HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase(
+            PixTransferRepository pixTransferRepository,
+            PixEventRepository pixEventRepository,
+            HandlePixWebhookUseCase handlePixWebhookUseCase,
+            PixWebhookMetrics pixWebhookMetrics,
+            @Value("${wallet.pix.webhook.batch.max-events:10000}") int maxEvents,
+            @Value("${wallet.pix.webhook.batch.chunk-size:200}") int chunkSize
+    ) {
+        return new HandlePixWebhookBatchUseCase(
+                pixTransferRepository,
+                pixEventRepository,
+                handlePixWebhookUseCase,
+                pixWebhookMetrics,
+                maxEvents,
+                chunkSize
+        );
+    }
+
+    @Bean
+    public EnqueuePixWebhookUseCase enqueuePixWebhookUseCase(
+            PixWebhookInboxRepository pixWebhookInboxRepository,
+            PixWebhookInboxMetrics pixWebhookInboxMetrics
+    ) {
+        return new EnqueuePixWebhookUseCase(pixWebhookInboxRepository, pixWebhookInboxMetrics);
+    }
+
+    @Bean
+    public DrainPixWebhookInboxUseCase drainPixWebhookInboxUseCase(
+            PixWebhookInboxRepository pixWebhookInboxRepository,
+            HandlePixWebhookUseCase handlePixWebhookUseCase,
+            PixWebhookInboxMetrics pixWebhookInboxMetrics,
+            @Value("${wallet.pix.webhook.inbox.max-attempts:10}") int maxAttempts,
+            @Value("${wallet.pix.webhook.inbox.claim-lease-ms:30000}") long claimLeaseMs
+    ) {
+        return new DrainPixWebhookInboxUseCase(
+                pixWebhookInboxRepository,
+                handlePixWebhookUseCase,
+                pixWebhookInboxMetrics,
+                maxAttempts,
+                Duration.ofMillis(claimLeaseMs)
+        );
+    }
+
+    @Bean
+    public PurgeExpiredIdempotencyRecordsUseCase purgeExpiredIdempotencyRecordsUseCase(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            IdempotencyRecordMetrics idempotencyRecordMetrics,
+            @Value("${wallet.idempotency.purge.batch-size:500}") int batchSize,
+            @Value("${wallet.idempotency.purge.max-batches:100}") int maxBatches
+    ) {
+        return new PurgeExpiredIdempotencyRecordsUseCase(
+                idempotencyRecordRepository,
+                idempotencyRecordMetrics,
+                batchSize,
+                maxBatches
         );
     }
 }
@@ -0,0 +1,27 @@
+package com.br.wallet.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // not a default candidate, so @Scheduled jobs keep Spring Boot's shared taskScheduler
+    @Bean(defaultCandidate = false)
+    @ConditionalOnProperty(name = "wallet.pix.webhook.inbox.enabled", havingValue = "true")
+    public ThreadPoolTaskScheduler pixInboxTaskScheduler(
+            @Value("${wallet.pix.webhook.inbox.partitions:4}") int partitions
+    ) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(partitions);
+        scheduler.setThreadNamePrefix("pix-inbox-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
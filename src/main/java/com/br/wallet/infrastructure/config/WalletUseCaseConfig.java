@@ -1,16 +1,36 @@
 package com.br.wallet.infrastructure.config;
 
+import com.br.wallet.application.usecase.wallet.ArchiveLedgerUseCase;
+import com.br.wallet.application.usecase.wallet.BackfillLedgerRunningBalancesUseCase;
 import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
 import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.ExportLedgerUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalanceSeriesUseCase;
 import com.br.wallet.application.usecase.wallet.GetWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalancesUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletStatementUseCase;
+import com.br.wallet.application.usecase.wallet.ReconcileWalletBalancesUseCase;
 import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.application.usecase.wallet.ShardWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
 import com.br.wallet.application.usecase.wallet.WithdrawUseCase;
+import com.br.wallet.application.usecase.wallet.WriteDebitBatchUseCase;
+import com.br.wallet.domain.enums.DebitStrategy;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.PixKeyRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.domain.port.WalletBalanceRepository;
 import com.br.wallet.domain.port.WalletRepository;
 import com.br.wallet.infrastructure.metrics.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 
 @Configuration
 public class WalletUseCaseConfig {
@@ -32,9 +52,46 @@ public class WalletUseCaseConfig {
     @Bean
     public GetWalletBalanceUseCase getWalletBalanceUseCase(
             LedgerEntryRepository ledgerEntryRepository,
-            WalletBalanceMetrics walletBalanceMetrics
+            WalletBalanceMetrics walletBalanceMetrics,
+            @Value("${wallet.balance.settlement-horizon:7d}") Duration settlementHorizon
+    ) {
+        return new GetWalletBalanceUseCase(ledgerEntryRepository, walletBalanceMetrics, settlementHorizon);
+    }
+
+    @Bean
+    public GetWalletBalanceSeriesUseCase getWalletBalanceSeriesUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceMetrics walletBalanceMetrics,
+            @Value("${wallet.balance-series.max-points:2000}") int maxPoints
+    ) {
+        return new GetWalletBalanceSeriesUseCase(ledgerEntryRepository, walletBalanceMetrics, maxPoints);
+    }
+
+    @Bean
+    public GetWalletBalancesUseCase getWalletBalancesUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceMetrics walletBalanceMetrics,
+            @Value("${wallet.balances.max-wallets:500}") int maxWallets
+    ) {
+        return new GetWalletBalancesUseCase(ledgerEntryRepository, walletBalanceMetrics, maxWallets);
+    }
+
+    @Bean
+    public GetWalletStatementUseCase getWalletStatementUseCase(
+            LedgerEntryRepository ledgerEntryRepository,
+            @Value("${wallet.statement.default-page-size:50}") int defaultPageSize,
+            @Value("${wallet.statement.max-page-size:200}") int maxPageSize
+    ) {
+        return new GetWalletStatementUseCase(ledgerEntryRepository, defaultPageSize, maxPageSize);
+    }
+
+    @Bean
+    public ExportLedgerUseCase exportLedgerUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            ObjectMapper objectMapper
     ) {
-        return new GetWalletBalanceUseCase(ledgerEntryRepository, walletBalanceMetrics);
+        return new ExportLedgerUseCase(walletRepository, ledgerEntryRepository, objectMapper);
     }
 
     @Bean
@@ -50,8 +107,82 @@ public class WalletUseCaseConfig {
     public WithdrawUseCase withdrawUseCase(
             WalletRepository walletRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            WithdrawMetrics withdrawMetrics
+            WithdrawMetrics withdrawMetrics,
+            @Value("${wallet.debit.strategy:PESSIMISTIC_LOCK}") DebitStrategy debitStrategy,
+            WalletDebitBatcher walletDebitBatcher,
+            TransactionTemplate transactionTemplate
+    ) {
+        return new WithdrawUseCase(
+                walletRepository,
+                ledgerEntryRepository,
+                withdrawMetrics,
+                debitStrategy,
+                walletDebitBatcher,
+                debitTransactions(debitStrategy, transactionTemplate)
+        );
+    }
+
+    @Bean
+    public WriteDebitBatchUseCase writeDebitBatchUseCase(
+            WalletRepository walletRepository,
+            PixTransferRepository pixTransferRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            IdempotencyRecordRepository idempotencyRecordRepository
     ) {
-        return new WithdrawUseCase(walletRepository, ledgerEntryRepository, withdrawMetrics);
+        return new WriteDebitBatchUseCase(walletRepository, pixTransferRepository, ledgerEntryRepository, idempotencyRecordRepository);
+    }
+
+    @Bean
+    public WalletDebitBatcher walletDebitBatcher(
+            WriteDebitBatchUseCase writeDebitBatchUseCase,
+            DebitBatchMetrics debitBatchMetrics,
+            @Value("${wallet.debit.batch.window:2ms}") Duration window,
+            @Value("${wallet.debit.batch.max-size:64}") int maxBatchSize
+    ) {
+        return new WalletDebitBatcher(writeDebitBatchUseCase, debitBatchMetrics, window, maxBatchSize);
+    }
+
+    @Bean
+    public ReconcileWalletBalancesUseCase reconcileWalletBalancesUseCase(
+            WalletRepository walletRepository,
+            WalletBalanceRepository walletBalanceRepository,
+            WalletBalanceProjectionMetrics walletBalanceProjectionMetrics
+    ) {
+        return new ReconcileWalletBalancesUseCase(walletRepository, walletBalanceRepository, walletBalanceProjectionMetrics);
+    }
+
+    @Bean
+    public ShardWalletBalanceUseCase shardWalletBalanceUseCase(
+            WalletRepository walletRepository,
+            WalletBalanceRepository walletBalanceRepository,
+            @Value("${wallet.balance.max-shards:64}") int maxShards
+    ) {
+        return new ShardWalletBalanceUseCase(walletRepository, walletBalanceRepository, maxShards);
+    }
+
+    @Bean
+    public BackfillLedgerRunningBalancesUseCase backfillLedgerRunningBalancesUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            WalletBalanceProjectionMetrics walletBalanceProjectionMetrics
+    ) {
+        return new BackfillLedgerRunningBalancesUseCase(walletRepository, ledgerEntryRepository, walletBalanceProjectionMetrics);
+    }
+
+    @Bean
+    public ArchiveLedgerUseCase archiveLedgerUseCase(
+            WalletRepository walletRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            LedgerArchiveMetrics ledgerArchiveMetrics,
+            @Value("${wallet.ledger.archive.retention:400d}") Duration retention,
+            @Value("${wallet.ledger.archive.batch-size:1000}") int batchSize,
+            @Value("${wallet.ledger.archive.parallelism:4}") int parallelism
+    ) {
+        return new ArchiveLedgerUseCase(walletRepository, ledgerEntryRepository, ledgerArchiveMetrics, retention, batchSize, parallelism);
+    }
+
+    // GROUP_COMMIT callers must not hold a pool connection while parked on their batch
+    static TransactionOperations debitTransactions(DebitStrategy debitStrategy, TransactionTemplate transactionTemplate) {
+        return debitStrategy == DebitStrategy.GROUP_COMMIT ? TransactionOperations.withoutTransaction() : transactionTemplate;
     }
 }
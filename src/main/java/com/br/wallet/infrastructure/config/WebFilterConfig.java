@@ -0,0 +1,22 @@
+package com.br.wallet.infrastructure.config;
+
+import com.br.wallet.infrastructure.web.GzipRequestFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class WebFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilter(
+            @Value("${wallet.pix.webhook.batch.max-inflated-size:8MB}") DataSize maxInflatedSize
+    ) {
+        FilterRegistrationBean<GzipRequestFilter> registration =
+                new FilterRegistrationBean<>(new GzipRequestFilter(maxInflatedSize.toBytes()));
+        registration.addUrlPatterns("/pix/webhook/batch");
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.application.usecase.pix.PurgeExpiredIdempotencyRecordsUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "wallet.idempotency.purge.enabled", havingValue = "true")
+public class IdempotencyRecordPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRecordPurgeJob.class);
+
+    private final PurgeExpiredIdempotencyRecordsUseCase purgeExpiredIdempotencyRecordsUseCase;
+
+    public IdempotencyRecordPurgeJob(PurgeExpiredIdempotencyRecordsUseCase purgeExpiredIdempotencyRecordsUseCase) {
+        this.purgeExpiredIdempotencyRecordsUseCase = purgeExpiredIdempotencyRecordsUseCase;
+    }
+
+    @Scheduled(
+            initialDelayString = "${wallet.idempotency.purge.interval:60s}",
+            fixedDelayString = "${wallet.idempotency.purge.interval:60s}"
+    )
+    public void purge() {
+        try {
+            purgeExpiredIdempotencyRecordsUseCase.execute();
+        } catch (RuntimeException e) {
+            log.error("IdempotencyRecordPurgeJob - error purging expired idempotency records", e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${wallet.idempotency.purge.interval:60s}",
+            fixedDelayString = "${wallet.idempotency.purge.records-gauge-interval:15m}"
+    )
+    public void refreshRecordCount() {
+        try {
+            purgeExpiredIdempotencyRecordsUseCase.refreshRecordCount();
+        } catch (RuntimeException e) {
+            log.error("IdempotencyRecordPurgeJob - error counting idempotency records", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.application.usecase.wallet.ArchiveLedgerUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "wallet.ledger.archive.enabled", havingValue = "true")
+public class LedgerArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerArchiveJob.class);
+
+    private final ArchiveLedgerUseCase archiveLedgerUseCase;
+
+    public LedgerArchiveJob(ArchiveLedgerUseCase archiveLedgerUseCase) {
+        this.archiveLedgerUseCase = archiveLedgerUseCase;
+    }
+
+    @Scheduled(
+            initialDelayString = "${wallet.ledger.archive.interval:24h}",
+            fixedDelayString = "${wallet.ledger.archive.interval:24h}"
+    )
+    public void archive() {
+        try {
+            archiveLedgerUseCase.execute(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("LedgerArchiveJob - error archiving ledger entries", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.infrastructure.metrics.PartitionMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "wallet.partitioning.enabled", havingValue = "true")
+public class MonthlyPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyPartitionJob.class);
+
+    private static final List<String> TABLES = List.of("ledger_entries", "pix_events");
+    private static final Map<String, String> PARTITION_KEYS = Map.of(
+            "ledger_entries", "occurred_at",
+            "pix_events", "processed_at"
+    );
+    private static final long ADVISORY_LOCK_KEY = 0x7761_6c6c_6574_7031L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final PartitionMetrics partitionMetrics;
+    private final int monthsBehind;
+    private final int monthsAhead;
+    private final Duration lockTimeout;
+
+    public MonthlyPartitionJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            PartitionMetrics partitionMetrics,
+            @Value("${wallet.partitioning.months-behind:1}") int monthsBehind,
+            @Value("${wallet.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${wallet.partitioning.lock-timeout:5s}") Duration lockTimeout
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.partitionMetrics = partitionMetrics;
+        this.monthsBehind = monthsBehind;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @PostConstruct
+    public void createInitialPartitions() {
+        ensurePartitions(YearMonth.now(ZoneOffset.UTC));
+        log.info("MonthlyPartitionJob - started monthsBehind={}, monthsAhead={}", monthsBehind, monthsAhead);
+    }
+
+    // the lock timeout keeps the ACCESS EXCLUSIVE lock on the parent from queueing every insert behind it
+    public void ensurePartitions(YearMonth current) {
+        transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("select pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+            jdbcTemplate.execute("set local lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            for (String table : TABLES) {
+                for (YearMonth month = current.minusMonths(monthsBehind);
+                     !month.isAfter(current.plusMonths(monthsAhead));
+                     month = month.plusMonths(1)) {
+                    createIfMissing(table, month);
+                }
+            }
+        });
+        partitionMetrics.updateMonthsAhead(coveredMonthsAhead(current));
+    }
+
+    @Scheduled(
+            initialDelayString = "${wallet.partitioning.interval:6h}",
+            fixedDelayString = "${wallet.partitioning.interval:6h}"
+    )
+    public void maintain() {
+        try {
+            ensurePartitions(YearMonth.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            partitionMetrics.recordFailure();
+            log.error("MonthlyPartitionJob - error creating monthly partitions", e);
+        }
+    }
+
+    private void createIfMissing(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        if (exists(partition)) {
+            return;
+        }
+        String from = "'" + month.atDay(1) + " 00:00:00+00'";
+        String to = "'" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+        String bounds = " for values from (" + from + ") to (" + to + ")";
+        String defaultPartition = table + "_default";
+        String inRange = PARTITION_KEYS.get(table) + " >= " + from + " and " + PARTITION_KEYS.get(table) + " < " + to;
+        if (exists(defaultPartition) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + defaultPartition + " where " + inRange + ")", Boolean.class
+        ))) {
+            // rows of this month already sit in the default partition, which a plain create would refuse
+            jdbcTemplate.execute("create table " + partition + " (like " + table + " including defaults)");
+            int moved = jdbcTemplate.update("with moved as (delete from " + defaultPartition + " where " + inRange
+                    + " returning *) insert into " + partition + " select * from moved");
+            jdbcTemplate.execute("alter table " + table + " attach partition " + partition + bounds);
+            log.warn(
+                    "MonthlyPartitionJob - rows moved out of the default partition table={}, partition={}, rows={}",
+                    table, partition, moved
+            );
+        } else {
+            jdbcTemplate.execute("create table if not exists " + partition + " partition of " + table + bounds);
+        }
+        partitionMetrics.recordCreated(table);
+        log.info("MonthlyPartitionJob - partition created table={}, partition={}", table, partition);
+    }
+
+    private long coveredMonthsAhead(YearMonth current) {
+        long covered = monthsAhead;
+        for (String table : TABLES) {
+            long months = -1;
+            while (months < monthsAhead && exists(partitionName(table, current.plusMonths(months + 1)))) {
+                months++;
+            }
+            covered = Math.min(covered, months);
+        }
+        return covered;
+    }
+
+    private boolean exists(String relation) {
+        return jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, relation);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return String.format("%s_%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,76 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.application.usecase.pix.DrainPixWebhookInboxUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// one lane per partition on pixInboxTaskScheduler: a lane keeps draining while its partition has a backlog, which
+// on the shared scheduler would hold back the other jobs. Order within a transfer comes from the claim, not the lane
+@Component
+@ConditionalOnProperty(name = "wallet.pix.webhook.inbox.enabled", havingValue = "true")
+public class PixWebhookInboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PixWebhookInboxWorker.class);
+
+    private final DrainPixWebhookInboxUseCase drainPixWebhookInboxUseCase;
+    private final ThreadPoolTaskScheduler pixInboxTaskScheduler;
+    private final int partitions;
+    private final int batchSize;
+    private final long pollIntervalMs;
+
+    public PixWebhookInboxWorker(
+            DrainPixWebhookInboxUseCase drainPixWebhookInboxUseCase,
+            @Qualifier("pixInboxTaskScheduler") ThreadPoolTaskScheduler pixInboxTaskScheduler,
+            @Value("${wallet.pix.webhook.inbox.partitions:4}") int partitions,
+            @Value("${wallet.pix.webhook.inbox.batch-size:100}") int batchSize,
+            @Value("${wallet.pix.webhook.inbox.poll-interval-ms:200}") long pollIntervalMs
+    ) {
+        this.drainPixWebhookInboxUseCase = drainPixWebhookInboxUseCase;
+        this.pixInboxTaskScheduler = pixInboxTaskScheduler;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int partition = 0; partition < partitions; partition++) {
+            int lane = partition;
+            pixInboxTaskScheduler.scheduleWithFixedDelay(() -> drainLane(lane), Duration.ofMillis(pollIntervalMs));
+        }
+        log.info(
+                "PixWebhookInboxWorker - started partitions={}, batchSize={}, pollIntervalMs={}",
+                partitions, batchSize, pollIntervalMs
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.pix.webhook.inbox.backlog-interval-ms:5000}")
+    public void refreshBacklog() {
+        try {
+            drainPixWebhookInboxUseCase.refreshBacklog();
+        } catch (RuntimeException e) {
+            log.error("PixWebhookInboxWorker - error refreshing inbox backlog", e);
+        }
+    }
+
+    private void drainLane(int partition) {
+        try {
+            while (!pixInboxTaskScheduler.getScheduledExecutor().isShutdown()
+                    && drainPixWebhookInboxUseCase.drain(partition, partitions, batchSize) > 0) {
+                log.debug("PixWebhookInboxWorker - partition={} still has backlog, draining again", partition);
+            }
+        } catch (RuntimeException e) {
+            log.error("PixWebhookInboxWorker - error draining partition={}", partition, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.application.usecase.wallet.BackfillLedgerRunningBalancesUseCase;
+import com.br.wallet.application.usecase.wallet.ReconcileWalletBalancesUseCase;
+import com.br.wallet.domain.model.BalanceReconciliationSummary;
+import com.br.wallet.domain.model.RunningBalanceBackfillSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "wallet.balance-projection.command")
+public class WalletBalanceProjectionCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletBalanceProjectionCommand.class);
+
+    private final ReconcileWalletBalancesUseCase reconcileWalletBalancesUseCase;
+    private final BackfillLedgerRunningBalancesUseCase backfillLedgerRunningBalancesUseCase;
+    private final String command;
+
+    public WalletBalanceProjectionCommand(
+            ReconcileWalletBalancesUseCase reconcileWalletBalancesUseCase,
+            BackfillLedgerRunningBalancesUseCase backfillLedgerRunningBalancesUseCase,
+            @Value("${wallet.balance-projection.command}") String command
+    ) {
+        this.reconcileWalletBalancesUseCase = reconcileWalletBalancesUseCase;
+        this.backfillLedgerRunningBalancesUseCase = backfillLedgerRunningBalancesUseCase;
+        this.command = command;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if ("backfill-running-balance".equals(command)) {
+            RunningBalanceBackfillSummary summary = backfillLedgerRunningBalancesUseCase.execute();
+            log.info(
+                    "WalletBalanceProjectionCommand - {} completed checked={}, backfilledWallets={}, updatedEntries={}, failed={}",
+                    command, summary.checked(), summary.backfilledWallets(), summary.updatedEntries(), summary.failed()
+            );
+            return;
+        }
+        BalanceReconciliationSummary summary = switch (command) {
+            case "rebuild" -> reconcileWalletBalancesUseCase.rebuild();
+            case "verify" -> reconcileWalletBalancesUseCase.verify();
+            default -> throw new IllegalArgumentException(
+                    "Unknown wallet.balance-projection.command: " + command + " (expected rebuild, verify or backfill-running-balance)"
+            );
+        };
+        log.info(
+                "WalletBalanceProjectionCommand - {} completed checked={}, mismatched={}, repaired={}, failed={}",
+                command, summary.checked(), summary.mismatched(), summary.repaired(), summary.failed()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.br.wallet.infrastructure.metrics;
+
+public enum BalanceQueryType {
+    CURRENT("current"),
+    HISTORICAL("historical"),
+    CURRENT_BATCH("current_batch"),
+    HISTORICAL_BATCH("historical_batch"),
+    SERIES("series");
+
+    private final String tag;
+
+    BalanceQueryType(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DebitBatchMetrics {
+
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+    private final Counter splits;
+
+    public DebitBatchMetrics(MeterRegistry meterRegistry) {
+        this.batchSize = DistributionSummary.builder("wallet.debit.batch.size")
+                .serviceLevelObjectives(1, 2, 4, 8, 16, 32, 64, 128)
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("wallet.debit.batch.duration.seconds")
+                .register(meterRegistry);
+        this.splits = meterRegistry.counter("wallet.debit.batch.splits.total");
+    }
+
+    public void recordBatch(int size, long nanos) {
+        batchSize.record(size);
+        batchDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSplit() {
+        splits.increment();
+    }
+}
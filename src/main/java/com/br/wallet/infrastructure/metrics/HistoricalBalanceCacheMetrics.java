@@ -0,0 +1,35 @@
+package com.br.wallet.infrastructure.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HistoricalBalanceCacheMetrics {
+
+    private static final String CACHE_NAME = "historical_balance";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter unsettled;
+    private final Counter latePostings;
+
+    public HistoricalBalanceCacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.unsettled = meterRegistry.counter("wallet.balance.history_cache.unsettled.total");
+        this.latePostings = meterRegistry.counter("wallet.balance.history_cache.late_postings.total");
+    }
+
+    public void monitor(Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public void recordUnsettled() {
+        unsettled.increment();
+    }
+
+    public void recordLatePosting() {
+        latePostings.increment();
+    }
+}
@@ -0,0 +1,79 @@
+package com.br.wallet.infrastructure.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class IdempotencyCacheMetrics {
+
+    private static final String LOOKUPS = "wallet.idempotency.lookups.total";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter filtered;
+    private final Counter cached;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+    private final Counter keysLoaded;
+
+    public IdempotencyCacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.filtered = meterRegistry.counter(LOOKUPS, "result", "filtered");
+        this.cached = meterRegistry.counter(LOOKUPS, "result", "cached");
+        this.databaseHits = meterRegistry.counter(LOOKUPS, "result", "database_hit");
+        this.falsePositives = meterRegistry.counter(LOOKUPS, "result", "false_positive");
+        this.keysLoaded = meterRegistry.counter("wallet.idempotency.filter.loaded_keys.total");
+        // observed share of absent keys the filter failed to rule out
+        Gauge.builder("wallet.idempotency.filter.false_positive.ratio", this, IdempotencyCacheMetrics::falsePositiveRatio)
+                .register(meterRegistry);
+    }
+
+    public void monitorCache(Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency_response");
+    }
+
+    public <T> void monitorFilter(
+            String scope,
+            T filter,
+            ToDoubleFunction<T> expectedFalsePositiveRate,
+            ToDoubleFunction<T> memoryBytes
+    ) {
+        Gauge.builder("wallet.idempotency.filter.expected_false_positive.ratio", filter, expectedFalsePositiveRate)
+                .tag("scope", scope)
+                .register(meterRegistry);
+        Gauge.builder("wallet.idempotency.filter.memory.bytes", filter, memoryBytes)
+                .tag("scope", scope)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void recordFiltered() {
+        filtered.increment();
+    }
+
+    public void recordCached() {
+        cached.increment();
+    }
+
+    public void recordDatabaseHit() {
+        databaseHits.increment();
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void recordKeysLoaded(int count) {
+        keysLoaded.increment(count);
+    }
+
+    private double falsePositiveRatio() {
+        double negatives = filtered.count() + falsePositives.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+}
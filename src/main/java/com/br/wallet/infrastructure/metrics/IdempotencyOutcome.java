@@ -0,0 +1,17 @@
+package com.br.wallet.infrastructure.metrics;
+
+public enum IdempotencyOutcome {
+    HIT("hit"),
+    MISS("miss"),
+    COALESCED("coalesced");
+
+    private final String tag;
+
+    IdempotencyOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class IdempotencyRecordMetrics {
+
+    private final AtomicLong records = new AtomicLong();
+    private final Counter purged;
+    private final Timer purgeBatchDuration;
+
+    public IdempotencyRecordMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("wallet.idempotency.records", records, AtomicLong::get)
+                .register(meterRegistry);
+        this.purged = meterRegistry.counter("wallet.idempotency.purge.deleted.total");
+        this.purgeBatchDuration = Timer.builder("wallet.idempotency.purge.batch.duration.seconds")
+                .register(meterRegistry);
+    }
+
+    public void recordPurgeBatch(int deleted, long nanos) {
+        purged.increment(deleted);
+        purgeBatchDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void updateRecords(long count) {
+        records.set(count);
+    }
+}
@@ -0,0 +1,46 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LedgerArchiveMetrics {
+
+    private final Counter checked;
+    private final Counter archivedWallets;
+    private final Counter archivedEntries;
+    private final MeterCache<String, Counter> errors;
+    private final Timer duration;
+
+    public LedgerArchiveMetrics(MeterRegistry meterRegistry) {
+        this.checked = meterRegistry.counter("wallet.ledger.archive.checked.total");
+        this.archivedWallets = meterRegistry.counter("wallet.ledger.archive.wallets.total");
+        this.archivedEntries = meterRegistry.counter("wallet.ledger.archive.entries.total");
+        this.errors = new MeterCache<>(errorType -> meterRegistry.counter(
+                "wallet.ledger.archive.errors.total",
+                "error_type", errorType
+        ));
+        this.duration = Timer.builder("wallet.ledger.archive.duration.seconds")
+                .register(meterRegistry);
+    }
+
+    public void recordChecked(long entries) {
+        checked.increment();
+        if (entries > 0) {
+            archivedWallets.increment();
+            archivedEntries.increment(entries);
+        }
+    }
+
+    public void recordError(String errorType) {
+        errors.get(errorType).increment();
+    }
+
+    public void recordDuration(long nanos) {
+        duration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
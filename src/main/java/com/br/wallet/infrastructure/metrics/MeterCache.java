@@ -0,0 +1,22 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Meter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+final class MeterCache<K, M extends Meter> {
+
+    private final ConcurrentMap<K, M> meters = new ConcurrentHashMap<>();
+    private final Function<K, M> factory;
+
+    MeterCache(Function<K, M> factory) {
+        this.factory = factory;
+    }
+
+    M get(K key) {
+        M meter = meters.get(key);
+        return meter != null ? meter : meters.computeIfAbsent(key, factory);
+    }
+}
@@ -0,0 +1,16 @@
+package com.br.wallet.infrastructure.metrics;
+
+public enum MetricResult {
+    SUCCESS("success"),
+    ERROR("error");
+
+    private final String tag;
+
+    MetricResult(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
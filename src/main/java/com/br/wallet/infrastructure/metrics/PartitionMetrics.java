@@ -0,0 +1,36 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PartitionMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong monthsAhead = new AtomicLong();
+    private final Counter failures;
+
+    public PartitionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // months past the current one that already have partitions; inserts fail once this reaches below zero
+        Gauge.builder("wallet.partitions.months_ahead", monthsAhead, AtomicLong::get)
+                .register(meterRegistry);
+        this.failures = meterRegistry.counter("wallet.partitions.maintenance.failures.total");
+    }
+
+    public void recordCreated(String table) {
+        meterRegistry.counter("wallet.partitions.created.total", "table", table).increment();
+    }
+
+    public void updateMonthsAhead(long months) {
+        monthsAhead.set(months);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+}
@@ -0,0 +1,35 @@
+package com.br.wallet.infrastructure.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PixKeyCacheMetrics {
+
+    private static final String CACHE_NAME = "pix_key";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter notFound;
+    private final Counter invalidations;
+
+    public PixKeyCacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.notFound = meterRegistry.counter("wallet.pix_key.cache.not_found.total");
+        this.invalidations = meterRegistry.counter("wallet.pix_key.cache.invalidations.total");
+    }
+
+    public void monitor(Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public void recordNotFound() {
+        notFound.increment();
+    }
+
+    public void recordInvalidation() {
+        invalidations.increment();
+    }
+}
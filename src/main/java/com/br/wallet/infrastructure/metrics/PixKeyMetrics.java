@@ -1,6 +1,7 @@
 package com.br.wallet.infrastructure.metrics;
 
 import com.br.wallet.domain.enums.PixKeyType;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
@@ -10,46 +11,63 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class PixKeyMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private static final PixKeyType[] TYPES = PixKeyType.values();
+    // the last slot holds the "UNKNOWN" tag
+    private static final int UNKNOWN = TYPES.length;
+
+    private final Counter[] registered = new Counter[TYPES.length + 1];
+    private final Counter[] failed = new Counter[TYPES.length + 1];
+    private final Counter[] alreadyInUse = new Counter[TYPES.length + 1];
+    @SuppressWarnings("unchecked")
+    private final MeterCache<String, Counter>[] errors = new MeterCache[TYPES.length + 1];
+    private final Timer[][] durations = new Timer[TYPES.length + 1][MetricResult.values().length];
 
     public PixKeyMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        for (int slot = 0; slot <= UNKNOWN; slot++) {
+            String type = slot == UNKNOWN ? "UNKNOWN" : TYPES[slot].name();
+            registered[slot] = meterRegistry.counter(
+                    "wallet.pix_key.register.total",
+                    "result", "success",
+                    "type", type
+            );
+            failed[slot] = meterRegistry.counter(
+                    "wallet.pix_key.register.total",
+                    "result", "error",
+                    "type", type
+            );
+            alreadyInUse[slot] = meterRegistry.counter("wallet.pix_key.already_in_use.total", "type", type);
+            errors[slot] = new MeterCache<>(errorType -> meterRegistry.counter(
+                    "wallet.pix_key.register.errors.total",
+                    "error_type", errorType,
+                    "type", type
+            ));
+            for (MetricResult result : MetricResult.values()) {
+                durations[slot][result.ordinal()] = Timer.builder("wallet.pix_key.register.duration.seconds")
+                        .tag("result", result.tag())
+                        .tag("type", type)
+                        .register(meterRegistry);
+            }
+        }
     }
 
     public void recordRegisterSuccess(PixKeyType type) {
-        meterRegistry.counter(
-                "wallet.pix_key.register.total",
-                "result", "success",
-                "type", type.name()
-        ).increment();
+        registered[slot(type)].increment();
     }
 
     public void recordRegisterError(PixKeyType type, String errorType) {
-        meterRegistry.counter(
-                "wallet.pix_key.register.errors.total",
-                "error_type", errorType,
-                "type", type != null ? type.name() : "UNKNOWN"
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.pix_key.register.total",
-                "result", "error",
-                "type", type != null ? type.name() : "UNKNOWN"
-        ).increment();
+        errors[slot(type)].get(errorType).increment();
+        failed[slot(type)].increment();
     }
 
     public void recordAlreadyInUse(PixKeyType type) {
-        meterRegistry.counter(
-                "wallet.pix_key.already_in_use.total",
-                "type", type.name()
-        ).increment();
+        alreadyInUse[slot(type)].increment();
+    }
+
+    public void recordDuration(long nanos, PixKeyType type, MetricResult result) {
+        durations[slot(type)][result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
     }
 
-    public void recordDuration(long nanos, PixKeyType type, String result) {
-        Timer.builder("wallet.pix_key.register.duration.seconds")
-                .tag("result", result)
-                .tag("type", type != null ? type.name() : "UNKNOWN")
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    private static int slot(PixKeyType type) {
+        return type != null ? type.ordinal() : UNKNOWN;
     }
 }
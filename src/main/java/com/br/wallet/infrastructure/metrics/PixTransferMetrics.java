@@ -1,70 +1,83 @@
 package com.br.wallet.infrastructure.metrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class PixTransferMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private final Map<IdempotencyOutcome, Counter> requests = new EnumMap<>(IdempotencyOutcome.class);
+    private final Map<IdempotencyOutcome, DistributionSummary> amounts = new EnumMap<>(IdempotencyOutcome.class);
+    private final Counter[][] results = new Counter[IdempotencyOutcome.values().length][MetricResult.values().length];
+    private final Timer[][] durations = new Timer[IdempotencyOutcome.values().length][MetricResult.values().length];
+    private final Counter idempotencyHit;
+    private final Counter idempotencyMiss;
+    private final MeterCache<String, Counter> serializationErrors;
 
     public PixTransferMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        for (IdempotencyOutcome idempotency : IdempotencyOutcome.values()) {
+            requests.put(idempotency, meterRegistry.counter(
+                    "wallet.pix.transfer.create.requests.total",
+                    "idempotency", idempotency.tag()
+            ));
+            amounts.put(idempotency, meterRegistry.summary(
+                    "wallet.pix.transfer.create.amount.brl",
+                    "idempotency", idempotency.tag()
+            ));
+            for (MetricResult result : MetricResult.values()) {
+                results[idempotency.ordinal()][result.ordinal()] = meterRegistry.counter(
+                        "wallet.pix.transfer.create.requests.total",
+                        "idempotency", idempotency.tag(),
+                        "result", result.tag()
+                );
+                durations[idempotency.ordinal()][result.ordinal()] = Timer.builder("wallet.pix.transfer.create.duration.seconds")
+                        .tag("idempotency", idempotency.tag())
+                        .tag("result", result.tag())
+                        .register(meterRegistry);
+            }
+        }
+        this.idempotencyHit = meterRegistry.counter("wallet.pix.transfer.idempotency.hit.total", "scope", "PIX_TRANSFER");
+        this.idempotencyMiss = meterRegistry.counter("wallet.pix.transfer.idempotency.miss.total", "scope", "PIX_TRANSFER");
+        this.serializationErrors = new MeterCache<>(operation -> meterRegistry.counter(
+                "wallet.pix.transfer.idempotency.serialization_error.total",
+                "scope", "PIX_TRANSFER",
+                "operation", operation
+        ));
     }
 
-    public void recordCreateRequest(String idempotencyType) {
-        meterRegistry.counter(
-                "wallet.pix.transfer.create.requests.total",
-                "idempotency", idempotencyType
-        ).increment();
+    public void recordCreateRequest(IdempotencyOutcome idempotency) {
+        requests.get(idempotency).increment();
     }
 
-    public void recordCreateResult(String idempotencyType, String result) {
-        meterRegistry.counter(
-                "wallet.pix.transfer.create.requests.total",
-                "idempotency", idempotencyType,
-                "result", result
-        ).increment();
+    public void recordCreateResult(IdempotencyOutcome idempotency, MetricResult result) {
+        results[idempotency.ordinal()][result.ordinal()].increment();
     }
 
     public void recordIdempotencyHit() {
-        meterRegistry.counter(
-                "wallet.pix.transfer.idempotency.hit.total",
-                "scope", "PIX_TRANSFER"
-        ).increment();
+        idempotencyHit.increment();
     }
 
     public void recordIdempotencyMiss() {
-        meterRegistry.counter(
-                "wallet.pix.transfer.idempotency.miss.total",
-                "scope", "PIX_TRANSFER"
-        ).increment();
+        idempotencyMiss.increment();
     }
 
     public void recordSerializationError(String operation) {
-        meterRegistry.counter(
-                "wallet.pix.transfer.idempotency.serialization_error.total",
-                "scope", "PIX_TRANSFER",
-                "operation", operation
-        ).increment();
+        serializationErrors.get(operation).increment();
     }
 
-    public void recordAmount(BigDecimal amount, String idempotencyType) {
-        meterRegistry.summary(
-                "wallet.pix.transfer.create.amount.brl",
-                "idempotency", idempotencyType
-        ).record(amount.doubleValue());
+    public void recordAmount(BigDecimal amount, IdempotencyOutcome idempotency) {
+        amounts.get(idempotency).record(amount.doubleValue());
     }
 
-    public void recordCreateDuration(String idempotencyType, String result, long nanos) {
-        Timer.builder("wallet.pix.transfer.create.duration.seconds")
-                .tag("idempotency", idempotencyType)
-                .tag("result", result)
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    public void recordCreateDuration(IdempotencyOutcome idempotency, MetricResult result, long nanos) {
+        durations[idempotency.ordinal()][result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
     }
 }
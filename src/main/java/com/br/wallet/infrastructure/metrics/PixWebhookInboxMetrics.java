@@ -0,0 +1,96 @@
+package com.br.wallet.infrastructure.metrics;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PixWebhookInboxMetrics {
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Map<PixEventType, Counter> queued = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> alreadyQueued = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> failed = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> parked = new EnumMap<>(PixEventType.class);
+    private final Counter[][] drained =
+            new Counter[PixEventType.values().length][PixWebhookEventResult.values().length];
+    private final MeterCache<Integer, Timer> drainBatchDurations;
+    private final MeterCache<Integer, DistributionSummary> drainBatchSizes;
+
+    public PixWebhookInboxMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("wallet.pix.webhook.inbox.pending", pending, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("wallet.pix.webhook.inbox.lag.seconds", lagMillis, value -> value.get() / 1000.0)
+                .register(meterRegistry);
+        for (PixEventType type : PixEventType.values()) {
+            String eventType = type.name();
+            queued.put(type, meterRegistry.counter(
+                    "wallet.pix.webhook.inbox.enqueued.total",
+                    "event_type", eventType,
+                    "result", "queued"
+            ));
+            alreadyQueued.put(type, meterRegistry.counter(
+                    "wallet.pix.webhook.inbox.enqueued.total",
+                    "event_type", eventType,
+                    "result", "duplicate"
+            ));
+            failed.put(type, meterRegistry.counter(
+                    "wallet.pix.webhook.inbox.failed.total",
+                    "event_type", eventType,
+                    "parked", "false"
+            ));
+            parked.put(type, meterRegistry.counter(
+                    "wallet.pix.webhook.inbox.failed.total",
+                    "event_type", eventType,
+                    "parked", "true"
+            ));
+            for (PixWebhookEventResult result : PixWebhookEventResult.values()) {
+                drained[type.ordinal()][result.ordinal()] = meterRegistry.counter(
+                        "wallet.pix.webhook.inbox.drained.total",
+                        "event_type", eventType,
+                        "result", result.name()
+                );
+            }
+        }
+        this.drainBatchDurations = new MeterCache<>(partition -> Timer.builder("wallet.pix.webhook.inbox.drain_batch.seconds")
+                .tag("partition", String.valueOf(partition))
+                .register(meterRegistry));
+        this.drainBatchSizes = new MeterCache<>(partition -> meterRegistry.summary(
+                "wallet.pix.webhook.inbox.drain_batch.size",
+                "partition", String.valueOf(partition)
+        ));
+    }
+
+    public void recordEnqueued(PixEventType type, boolean duplicate) {
+        (duplicate ? alreadyQueued : queued).get(type).increment();
+    }
+
+    public void recordDrained(PixEventType type, PixWebhookEventResult result) {
+        drained[type.ordinal()][result.ordinal()].increment();
+    }
+
+    public void recordFailed(PixEventType type, boolean parked) {
+        (parked ? this.parked : failed).get(type).increment();
+    }
+
+    public void recordDrainBatch(int partition, int size, long nanos) {
+        drainBatchDurations.get(partition).record(nanos, TimeUnit.NANOSECONDS);
+        drainBatchSizes.get(partition).record(size);
+    }
+
+    public void updateBacklog(long pendingEvents, long oldestAgeMillis) {
+        pending.set(pendingEvents);
+        lagMillis.set(oldestAgeMillis);
+    }
+}
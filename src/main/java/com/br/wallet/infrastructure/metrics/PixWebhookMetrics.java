@@ -2,105 +2,144 @@ package com.br.wallet.infrastructure.metrics;
 
 import com.br.wallet.domain.enums.PixEventType;
 import com.br.wallet.domain.enums.PixTransferStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class PixWebhookMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private static final String EVENTS = "wallet.pix.webhook.events.total";
+
+    private final Map<PixEventType, Counter> received = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> duplicates = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> duplicateEvents = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> transferNotFound = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> ignoredFinalizedEvents = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> transitionConflictEvents = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> unsupportedTypeEvents = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Counter> errors = new EnumMap<>(PixEventType.class);
+    private final Map<PixEventType, Timer> latencies = new EnumMap<>(PixEventType.class);
+    private final Map<PixTransferStatus, Timer> settlementDurations = new EnumMap<>(PixTransferStatus.class);
+    private final Map<PixTransferStatus, DistributionSummary> amounts = new EnumMap<>(PixTransferStatus.class);
+    // [type.ordinal()][status.ordinal()]
+    private final Counter[][] ignoredFinalized =
+            new Counter[PixEventType.values().length][PixTransferStatus.values().length];
+    // [type.ordinal()][result.ordinal()]
+    private final Timer[][] processingDurations =
+            new Timer[PixEventType.values().length][MetricResult.values().length];
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
 
     public PixWebhookMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        for (PixEventType type : PixEventType.values()) {
+            String eventType = type.name();
+            received.put(type, meterRegistry.counter(EVENTS, "event_type", eventType));
+            duplicates.put(type, meterRegistry.counter("wallet.pix.webhook.duplicates.total", "event_type", eventType));
+            duplicateEvents.put(type, meterRegistry.counter(EVENTS, "event_type", eventType, "result", "duplicate"));
+            transferNotFound.put(type, meterRegistry.counter(
+                    "wallet.pix.webhook.transfer_not_found.total",
+                    "event_type", eventType
+            ));
+            ignoredFinalizedEvents.put(type, meterRegistry.counter(
+                    EVENTS,
+                    "event_type", eventType,
+                    "result", "ignored_finalized"
+            ));
+            transitionConflictEvents.put(type, meterRegistry.counter(
+                    EVENTS,
+                    "event_type", eventType,
+                    "result", "transition_conflict"
+            ));
+            unsupportedTypeEvents.put(type, meterRegistry.counter(
+                    EVENTS,
+                    "event_type", eventType,
+                    "result", "unsupported_type"
+            ));
+            errors.put(type, meterRegistry.counter("wallet.pix.webhook.errors.total", "event_type", eventType));
+            latencies.put(type, meterRegistry.timer("wallet.pix.webhook.latency.seconds", "event_type", eventType));
+            for (PixTransferStatus status : PixTransferStatus.values()) {
+                ignoredFinalized[type.ordinal()][status.ordinal()] = meterRegistry.counter(
+                        "wallet.pix.webhook.ignored_finalized.total",
+                        "event_type", eventType,
+                        "current_status", status.name()
+                );
+            }
+            for (MetricResult result : MetricResult.values()) {
+                processingDurations[type.ordinal()][result.ordinal()] =
+                        Timer.builder("wallet.pix.webhook.processing_duration.seconds")
+                                .tag("event_type", eventType)
+                                .tag("result", result.tag())
+                                .register(meterRegistry);
+            }
+        }
+        for (PixTransferStatus status : PixTransferStatus.values()) {
+            settlementDurations.put(status, meterRegistry.timer(
+                    "wallet.pix.transfer.settlement_duration.seconds",
+                    "status", status.name()
+            ));
+            amounts.put(status, meterRegistry.summary("wallet.pix.transfer.amount.brl", "status", status.name()));
+        }
+        this.batchSize = meterRegistry.summary("wallet.pix.webhook.batch.size");
+        this.batchDuration = Timer.builder("wallet.pix.webhook.batch.duration.seconds").register(meterRegistry);
     }
 
     public void recordWebhookReceived(PixEventType type) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.events.total",
-                "event_type", type.name()
-        ).increment();
+        received.get(type).increment();
     }
 
     public void recordDuplicateEvent(PixEventType type) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.duplicates.total",
-                "event_type", type.name()
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.pix.webhook.events.total",
-                "event_type", type.name(),
-                "result", "duplicate"
-        ).increment();
+        duplicates.get(type).increment();
+        duplicateEvents.get(type).increment();
     }
 
     public void recordTransferNotFound(PixEventType type) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.transfer_not_found.total",
-                "event_type", type.name()
-        ).increment();
+        transferNotFound.get(type).increment();
     }
 
     public void recordIgnoredFinalized(PixEventType type, PixTransferStatus currentStatus) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.ignored_finalized.total",
-                "event_type", type.name(),
-                "current_status", currentStatus.name()
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.pix.webhook.events.total",
-                "event_type", type.name(),
-                "result", "ignored_finalized"
-        ).increment();
+        ignoredFinalized[type.ordinal()][currentStatus.ordinal()].increment();
+        ignoredFinalizedEvents.get(type).increment();
+    }
+
+    public void recordTransitionConflict(PixEventType type) {
+        transitionConflictEvents.get(type).increment();
     }
 
     public void recordUnsupportedType(PixEventType type) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.events.total",
-                "event_type", type.name(),
-                "result", "unsupported_type"
-        ).increment();
+        unsupportedTypeEvents.get(type).increment();
     }
 
     public void recordError(PixEventType type) {
-        meterRegistry.counter(
-                "wallet.pix.webhook.errors.total",
-                "event_type", type.name()
-        ).increment();
+        errors.get(type).increment();
     }
 
     public void recordWebhookLatency(PixEventType type, Duration latency) {
-        meterRegistry.timer(
-                "wallet.pix.webhook.latency.seconds",
-                "event_type", type.name()
-        ).record(latency);
+        latencies.get(type).record(latency);
     }
 
     public void recordSettlementDuration(PixTransferStatus status, Duration duration) {
-        meterRegistry.timer(
-                "wallet.pix.transfer.settlement_duration.seconds",
-                "status", status.name()
-        ).record(duration);
+        settlementDurations.get(status).record(duration);
     }
 
     public void recordAmount(PixTransferStatus status, BigDecimal amount) {
-        meterRegistry.summary(
-                "wallet.pix.transfer.amount.brl",
-                "status", status.name()
-        ).record(amount.doubleValue());
+        amounts.get(status).record(amount.doubleValue());
+    }
+
+    public void recordProcessingDuration(PixEventType type, MetricResult result, long nanos) {
+        processingDurations[type.ordinal()][result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
     }
 
-    public void recordProcessingDuration(PixEventType type, String result, long nanos) {
-        Timer.builder("wallet.pix.webhook.processing_duration.seconds")
-                .tag("event_type", type.name())
-                .tag("result", result)
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    public void recordBatch(int size, long nanos) {
+        batchSize.record(size);
+        batchDuration.record(nanos, TimeUnit.NANOSECONDS);
     }
 }
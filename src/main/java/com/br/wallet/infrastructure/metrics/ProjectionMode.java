@@ -0,0 +1,17 @@
+package com.br.wallet.infrastructure.metrics;
+
+public enum ProjectionMode {
+    VERIFY("verify"),
+    REBUILD("rebuild"),
+    BACKFILL("backfill");
+
+    private final String tag;
+
+    ProjectionMode(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -1,55 +1,66 @@
 package com.br.wallet.infrastructure.metrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class WalletBalanceMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private final Map<BalanceQueryType, Counter> succeeded = new EnumMap<>(BalanceQueryType.class);
+    private final Map<BalanceQueryType, Counter> failed = new EnumMap<>(BalanceQueryType.class);
+    private final Map<BalanceQueryType, MeterCache<String, Counter>> errors = new EnumMap<>(BalanceQueryType.class);
+    private final Map<BalanceQueryType, DistributionSummary> values = new EnumMap<>(BalanceQueryType.class);
+    private final Timer[][] durations = new Timer[BalanceQueryType.values().length][MetricResult.values().length];
 
     public WalletBalanceMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        for (BalanceQueryType type : BalanceQueryType.values()) {
+            succeeded.put(type, meterRegistry.counter(
+                    "wallet.balance.requests.total",
+                    "type", type.tag(),
+                    "result", "success"
+            ));
+            failed.put(type, meterRegistry.counter(
+                    "wallet.balance.requests.total",
+                    "type", type.tag(),
+                    "result", "error"
+            ));
+            errors.put(type, new MeterCache<>(errorType -> meterRegistry.counter(
+                    "wallet.balance.errors.total",
+                    "type", type.tag(),
+                    "error_type", errorType
+            )));
+            values.put(type, meterRegistry.summary("wallet.balance.value.brl", "type", type.tag()));
+            for (MetricResult result : MetricResult.values()) {
+                durations[type.ordinal()][result.ordinal()] = Timer.builder("wallet.balance.duration.seconds")
+                        .tag("type", type.tag())
+                        .tag("result", result.tag())
+                        .register(meterRegistry);
+            }
+        }
     }
 
-    public void recordRequest(String type) {
-        meterRegistry.counter(
-                "wallet.balance.requests.total",
-                "type", type,
-                "result", "success"
-        ).increment();
+    public void recordRequest(BalanceQueryType type) {
+        succeeded.get(type).increment();
     }
 
-    public void recordError(String type, String errorType) {
-        meterRegistry.counter(
-                "wallet.balance.requests.total",
-                "type", type,
-                "result", "error"
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.balance.errors.total",
-                "type", type,
-                "error_type", errorType
-        ).increment();
+    public void recordError(BalanceQueryType type, String errorType) {
+        failed.get(type).increment();
+        errors.get(type).get(errorType).increment();
     }
 
-    public void recordValue(BigDecimal balance, String type) {
-        meterRegistry.summary(
-                "wallet.balance.value.brl",
-                "type", type
-        ).record(balance.doubleValue());
+    public void recordValue(BigDecimal balance, BalanceQueryType type) {
+        values.get(type).record(balance.doubleValue());
     }
 
-    public void recordDuration(long nanos, String type, String result) {
-        Timer.builder("wallet.balance.duration.seconds")
-                .tag("type", type)
-                .tag("result", result)
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    public void recordDuration(long nanos, BalanceQueryType type, MetricResult result) {
+        durations[type.ordinal()][result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
     }
 }
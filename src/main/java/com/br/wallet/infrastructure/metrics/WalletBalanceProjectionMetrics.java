@@ -0,0 +1,56 @@
+package com.br.wallet.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class WalletBalanceProjectionMetrics {
+
+    private final Map<ProjectionMode, Counter> checked = new EnumMap<>(ProjectionMode.class);
+    private final Map<ProjectionMode, Counter> mismatches = new EnumMap<>(ProjectionMode.class);
+    private final Map<ProjectionMode, MeterCache<String, Counter>> errors = new EnumMap<>(ProjectionMode.class);
+    private final Map<ProjectionMode, Timer> durations = new EnumMap<>(ProjectionMode.class);
+    private final Counter repaired;
+
+    public WalletBalanceProjectionMetrics(MeterRegistry meterRegistry) {
+        for (ProjectionMode mode : ProjectionMode.values()) {
+            checked.put(mode, meterRegistry.counter("wallet.balance.projection.checked.total", "mode", mode.tag()));
+            mismatches.put(mode, meterRegistry.counter("wallet.balance.projection.mismatch.total", "mode", mode.tag()));
+            errors.put(mode, new MeterCache<>(errorType -> meterRegistry.counter(
+                    "wallet.balance.projection.errors.total",
+                    "mode", mode.tag(),
+                    "error_type", errorType
+            )));
+            durations.put(mode, Timer.builder("wallet.balance.projection.duration.seconds")
+                    .tag("mode", mode.tag())
+                    .register(meterRegistry));
+        }
+        this.repaired = meterRegistry.counter("wallet.balance.projection.repaired.total");
+    }
+
+    public void recordChecked(ProjectionMode mode) {
+        checked.get(mode).increment();
+    }
+
+    public void recordMismatch(ProjectionMode mode) {
+        mismatches.get(mode).increment();
+    }
+
+    public void recordRepaired() {
+        repaired.increment();
+    }
+
+    public void recordError(ProjectionMode mode, String errorType) {
+        errors.get(mode).get(errorType).increment();
+    }
+
+    public void recordDuration(long nanos, ProjectionMode mode) {
+        durations.get(mode).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,43 +1,46 @@
 package com.br.wallet.infrastructure.metrics;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class WalletMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private final Counter created;
+    private final Counter failed;
+    private final MeterCache<String, Counter> errors;
+    private final Map<MetricResult, Timer> durations = new EnumMap<>(MetricResult.class);
 
     public WalletMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        this.created = meterRegistry.counter("wallet.create.total", "result", "success");
+        this.failed = meterRegistry.counter("wallet.create.total", "result", "error");
+        this.errors = new MeterCache<>(errorType -> meterRegistry.counter(
+                "wallet.create.errors.total",
+                "error_type", errorType
+        ));
+        for (MetricResult result : MetricResult.values()) {
+            durations.put(result, Timer.builder("wallet.create.duration.seconds")
+                    .tag("result", result.tag())
+                    .register(meterRegistry));
+        }
     }
 
     public void recordWalletCreated() {
-        meterRegistry.counter(
-                "wallet.create.total",
-                "result", "success"
-        ).increment();
+        created.increment();
     }
 
     public void recordWalletError(String errorType) {
-        meterRegistry.counter(
-                "wallet.create.errors.total",
-                "error_type", errorType
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.create.total",
-                "result", "error"
-        ).increment();
+        errors.get(errorType).increment();
+        failed.increment();
     }
 
-    public void recordDuration(long nanos, String result) {
-        Timer.builder("wallet.create.duration.seconds")
-                .tag("result", result)
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    public void recordDuration(long nanos, MetricResult result) {
+        durations.get(result).record(nanos, TimeUnit.NANOSECONDS);
     }
 }
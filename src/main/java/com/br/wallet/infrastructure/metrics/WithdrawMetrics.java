@@ -1,55 +1,57 @@
 package com.br.wallet.infrastructure.metrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class WithdrawMetrics {
 
-    private final MeterRegistry meterRegistry;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter insufficientFunds;
+    private final DistributionSummary amount;
+    private final MeterCache<String, Counter> errors;
+    private final Map<MetricResult, Timer> durations = new EnumMap<>(MetricResult.class);
 
     public WithdrawMetrics(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        this.succeeded = meterRegistry.counter("wallet.withdraw.total", "result", "success");
+        this.failed = meterRegistry.counter("wallet.withdraw.total", "result", "error");
+        this.insufficientFunds = meterRegistry.counter("wallet.withdraw.insufficient_funds.total");
+        this.amount = meterRegistry.summary("wallet.withdraw.amount.brl", "result", "success");
+        this.errors = new MeterCache<>(errorType -> meterRegistry.counter(
+                "wallet.withdraw.errors.total",
+                "error_type", errorType
+        ));
+        for (MetricResult result : MetricResult.values()) {
+            durations.put(result, Timer.builder("wallet.withdraw.duration.seconds")
+                    .tag("result", result.tag())
+                    .register(meterRegistry));
+        }
     }
 
     public void recordWithdrawSuccess(BigDecimal amount) {
-        meterRegistry.counter(
-                "wallet.withdraw.total",
-                "result", "success"
-        ).increment();
-
-        meterRegistry.summary(
-                "wallet.withdraw.amount.brl",
-                "result", "success"
-        ).record(amount.doubleValue());
+        succeeded.increment();
+        this.amount.record(amount.doubleValue());
     }
 
     public void recordWithdrawError(String errorType) {
-        meterRegistry.counter(
-                "wallet.withdraw.errors.total",
-                "error_type", errorType
-        ).increment();
-
-        meterRegistry.counter(
-                "wallet.withdraw.total",
-                "result", "error"
-        ).increment();
+        errors.get(errorType).increment();
+        failed.increment();
     }
 
     public void recordInsufficientFunds() {
-        meterRegistry.counter(
-                "wallet.withdraw.insufficient_funds.total"
-        ).increment();
+        insufficientFunds.increment();
     }
 
-    public void recordDuration(long nanos, String result) {
-        Timer.builder("wallet.withdraw.duration.seconds")
-                .tag("result", result)
-                .register(meterRegistry)
-                .record(nanos, TimeUnit.NANOSECONDS);
+    public void recordDuration(long nanos, MetricResult result) {
+        durations.get(result).record(nanos, TimeUnit.NANOSECONDS);
     }
 }
@@ -0,0 +1,235 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.metrics.IdempotencyCacheMetrics;
+import com.br.wallet.infrastructure.persistence.repository.IdempotencyKeyRow;
+import com.br.wallet.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// keys stored by other instances reach the Bloom filter at its next refresh; until then the unique key rejects reuse
+@Primary
+@Component
+public class CachingIdempotencyRecordRepositoryAdapter implements IdempotencyRecordRepository, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingIdempotencyRecordRepositoryAdapter.class);
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final IdempotencyRecordRepository delegate;
+    private final IdempotencyRecordJpaRepository idempotencyRecordJpaRepository;
+    private final IdempotencyCacheMetrics idempotencyCacheMetrics;
+    private final boolean filterEnabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration refreshInterval;
+    private final Duration refreshOverlap;
+    private final Map<String, BloomFilter> filters = new ConcurrentHashMap<>();
+    private final Cache<ScopedKey, IdempotencyRecord> responses;
+
+    private volatile boolean filterReady;
+    private Instant loadedUntil = Instant.EPOCH;
+    private ScheduledExecutorService executor;
+
+    public CachingIdempotencyRecordRepositoryAdapter(
+            IdempotencyRecordRepositoryAdapter delegate,
+            IdempotencyRecordJpaRepository idempotencyRecordJpaRepository,
+            IdempotencyCacheMetrics idempotencyCacheMetrics,
+            @Value("${wallet.idempotency.filter.enabled:true}") boolean filterEnabled,
+            @Value("${wallet.idempotency.filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${wallet.idempotency.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${wallet.idempotency.filter.refresh-interval:5s}") Duration refreshInterval,
+            @Value("${wallet.idempotency.filter.refresh-overlap:30s}") Duration refreshOverlap,
+            @Value("${wallet.idempotency.response-cache.maximum-size:10000}") long responseCacheSize
+    ) {
+        this.delegate = delegate;
+        this.idempotencyRecordJpaRepository = idempotencyRecordJpaRepository;
+        this.idempotencyCacheMetrics = idempotencyCacheMetrics;
+        this.filterEnabled = filterEnabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshInterval = refreshInterval;
+        this.refreshOverlap = refreshOverlap;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(responseCacheSize)
+                .expireAfter(Expiry.<ScopedKey, IdempotencyRecord>creating((key, record) -> remaining(record)))
+                .recordStats()
+                .build();
+        idempotencyCacheMetrics.monitorCache(responses);
+    }
+
+    @Override
+    public IdempotencyRecord save(IdempotencyRecord record) {
+        IdempotencyRecord saved = delegate.save(record);
+        // set before commit: a rollback only leaves a false positive behind
+        filter(saved.scope()).put(saved.idempotencyKey());
+        ScopedKey key = new ScopedKey(saved.scope(), saved.idempotencyKey());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.put(key, saved);
+                }
+            });
+        } else {
+            responses.put(key, saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String key) {
+        if (!mightExist(scope, key)) {
+            return Optional.empty();
+        }
+        IdempotencyRecord cached = responses.getIfPresent(new ScopedKey(scope, key));
+        if (cached != null) {
+            idempotencyCacheMetrics.recordCached();
+            return Optional.of(cached);
+        }
+        Optional<IdempotencyRecord> record = delegate.findByScopeAndIdempotencyKey(scope, key);
+        if (record.isPresent()) {
+            idempotencyCacheMetrics.recordDatabaseHit();
+            responses.put(new ScopedKey(scope, key), record.get());
+        } else if (filterReady) {
+            idempotencyCacheMetrics.recordFalsePositive();
+        }
+        return record;
+    }
+
+    @Override
+    public boolean mightExist(String scope, String key) {
+        if (filterReady && !filter(scope).mightContain(key)) {
+            idempotencyCacheMetrics.recordFiltered();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        return delegate.deleteExpired(now, limit);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!filterEnabled || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresh();
+        executor.scheduleWithFixedDelay(
+                this::refresh,
+                refreshInterval.toMillis(),
+                refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private synchronized void refresh() {
+        Instant from = filterReady ? loadedUntil.minus(refreshOverlap) : Instant.EPOCH;
+        UUID afterId = MIN_ID;
+        int loaded = 0;
+        try {
+            List<IdempotencyKeyRow> page;
+            do {
+                page = idempotencyRecordJpaRepository.findKeysAfter(from, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (IdempotencyKeyRow row : page) {
+                    filter(row.scope()).put(row.idempotencyKey());
+                }
+                if (!page.isEmpty()) {
+                    IdempotencyKeyRow last = page.get(page.size() - 1);
+                    from = last.createdAt();
+                    afterId = last.id();
+                    if (last.createdAt().isAfter(loadedUntil)) {
+                        loadedUntil = last.createdAt();
+                    }
+                }
+                loaded += page.size();
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            log.error("CachingIdempotencyRecordRepositoryAdapter - error loading idempotency keys", e);
+            return;
+        }
+        idempotencyCacheMetrics.recordKeysLoaded(loaded);
+        if (!filterReady) {
+            filterReady = true;
+            log.info("CachingIdempotencyRecordRepositoryAdapter - idempotency filter loaded keys={}", loaded);
+        }
+    }
+
+    private BloomFilter filter(String scope) {
+        BloomFilter filter = filters.get(scope);
+        if (filter != null) {
+            return filter;
+        }
+        return filters.computeIfAbsent(scope, s -> {
+            BloomFilter created = new BloomFilter(expectedInsertions, falsePositiveRate);
+            idempotencyCacheMetrics.monitorFilter(
+                    s,
+                    created,
+                    BloomFilter::expectedFalsePositiveRate,
+                    BloomFilter::memoryBytes
+            );
+            return created;
+        });
+    }
+
+    private static Duration remaining(IdempotencyRecord record) {
+        Duration remaining = Duration.between(Instant.now(), record.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private record ScopedKey(String scope, String key) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.HistoricalBalanceCacheMetrics;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+// balances before the settlement horizon never change again
+@Primary
+@Component
+public class CachingLedgerEntryRepositoryAdapter implements LedgerEntryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingLedgerEntryRepositoryAdapter.class);
+
+    private final LedgerEntryRepository delegate;
+    private final HistoricalBalanceCacheMetrics historicalBalanceCacheMetrics;
+    private final boolean enabled;
+    private final Duration settlementHorizon;
+    private final long bucketMillis;
+    private final AsyncCache<BucketKey, List<BalancePoint>> buckets;
+
+    public CachingLedgerEntryRepositoryAdapter(
+            LedgerEntryRepositoryAdapter delegate,
+            HistoricalBalanceCacheMetrics historicalBalanceCacheMetrics,
+            @Value("${wallet.balance.history-cache.enabled:true}") boolean enabled,
+            @Value("${wallet.balance.settlement-horizon:7d}") Duration settlementHorizon,
+            @Value("${wallet.balance.history-cache.bucket:1h}") Duration bucket,
+            @Value("${wallet.balance.history-cache.maximum-weight:200000}") long maximumWeight
+    ) {
+        this.delegate = delegate;
+        this.historicalBalanceCacheMetrics = historicalBalanceCacheMetrics;
+        this.enabled = enabled;
+        this.settlementHorizon = settlementHorizon;
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((BucketKey key, List<BalancePoint> changes) -> changes.size())
+                .recordStats()
+                .buildAsync();
+        historicalBalanceCacheMetrics.monitor(buckets.synchronous());
+    }
+
+    @Override
+    public LedgerEntry save(LedgerEntry entry) {
+        LedgerEntry saved = delegate.save(entry);
+        checkSettled(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<LedgerEntry> saveIfCovered(LedgerEntry debit) {
+        Optional<LedgerEntry> saved = delegate.saveIfCovered(debit);
+        saved.ifPresent(this::checkSettled);
+        return saved;
+    }
+
+    @Override
+    public List<LedgerEntry> saveAll(List<LedgerEntry> entries) {
+        List<LedgerEntry> saved = delegate.saveAll(entries);
+        saved.forEach(this::checkSettled);
+        return saved;
+    }
+
+    @Override
+    public BigDecimal calculateCurrentBalance(UUID walletId) {
+        return delegate.calculateCurrentBalance(walletId);
+    }
+
+    @Override
+    public BigDecimal calculateBalanceAt(UUID walletId, Instant at) {
+        if (!enabled) {
+            return delegate.calculateBalanceAt(walletId, at);
+        }
+        Instant start = Instant.ofEpochMilli(Math.floorDiv(at.toEpochMilli(), bucketMillis) * bucketMillis);
+        Instant end = start.plusMillis(bucketMillis);
+        if (end.isAfter(settledBefore())) {
+            historicalBalanceCacheMetrics.recordUnsettled();
+            return delegate.calculateBalanceAt(walletId, at);
+        }
+        BucketKey key = new BucketKey(walletId, start);
+        CompletableFuture<List<BalancePoint>> load = new CompletableFuture<>();
+        CompletableFuture<List<BalancePoint>> cached = buckets.get(key, (k, executor) -> load);
+        if (cached == load) {
+            try {
+                load.complete(List.copyOf(delegate.findBalanceChanges(walletId, start, end)));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return balanceAt(await(cached), at);
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> calculateCurrentBalances(Collection<UUID> walletIds) {
+        return delegate.calculateCurrentBalances(walletIds);
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> calculateBalancesAt(Collection<UUID> walletIds, Instant at) {
+        return delegate.calculateBalancesAt(walletIds, at);
+    }
+
+    @Override
+    public List<BalancePoint> calculateBalanceSeries(UUID walletId, List<Instant> points) {
+        return delegate.calculateBalanceSeries(walletId, points);
+    }
+
+    @Override
+    public List<BalancePoint> findBalanceChanges(UUID walletId, Instant from, Instant to) {
+        return delegate.findBalanceChanges(walletId, from, to);
+    }
+
+    @Override
+    public long backfillRunningBalances(UUID walletId) {
+        return delegate.backfillRunningBalances(walletId);
+    }
+
+    @Override
+    public long archiveBefore(UUID walletId, Instant cutoff, int maxEntries) {
+        return delegate.archiveBefore(walletId, cutoff, maxEntries);
+    }
+
+    @Override
+    public List<LedgerEntry> findStatementPage(UUID walletId, StatementCursor after, int limit) {
+        return delegate.findStatementPage(walletId, after, limit);
+    }
+
+    @Override
+    public long forEachEntry(UUID walletId, Consumer<LedgerEntry> action) {
+        return delegate.forEachEntry(walletId, action);
+    }
+
+    private boolean isSettled(Instant at) {
+        return at.isBefore(settledBefore());
+    }
+
+    private Instant settledBefore() {
+        return Instant.now().minus(settlementHorizon);
+    }
+
+    // a late posting drops the buckets it reaches into, again after commit so a racing lookup cannot restore them
+    private void checkSettled(LedgerEntry entry) {
+        if (!isSettled(entry.occurredAt())) {
+            return;
+        }
+        historicalBalanceCacheMetrics.recordLatePosting();
+        log.warn(
+                "CachingLedgerEntryRepositoryAdapter - posting dated before the settlement horizon walletId={}, entryId={}, occurredAt={}",
+                entry.walletId(), entry.id(), entry.occurredAt()
+        );
+        invalidateFrom(entry.walletId(), entry.occurredAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateFrom(entry.walletId(), entry.occurredAt());
+                }
+            });
+        }
+    }
+
+    private void invalidateFrom(UUID walletId, Instant occurredAt) {
+        buckets.synchronous().asMap().keySet().removeIf(key -> key.walletId().equals(walletId)
+                && key.start().plusMillis(bucketMillis).isAfter(occurredAt));
+    }
+
+    private static BigDecimal balanceAt(List<BalancePoint> changes, Instant at) {
+        int low = 0;
+        int high = changes.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (changes.get(mid).at().isAfter(at)) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+        return changes.get(low).balance();
+    }
+
+    private static List<BalancePoint> await(CompletableFuture<List<BalancePoint>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record BucketKey(UUID walletId, Instant start) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.PixKey;
+import com.br.wallet.domain.port.PixKeyRepository;
+import com.br.wallet.infrastructure.metrics.PixKeyCacheMetrics;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Primary
+@Component
+public class CachingPixKeyRepositoryAdapter implements PixKeyRepository {
+
+    private final PixKeyRepository delegate;
+    private final PixKeyCacheMetrics pixKeyCacheMetrics;
+    private final AsyncCache<String, Optional<PixKey>> cache;
+
+    public CachingPixKeyRepositoryAdapter(
+            PixKeyRepositoryAdapter delegate,
+            PixKeyCacheMetrics pixKeyCacheMetrics,
+            @Value("${wallet.pix.key-cache.maximum-size:10000}") long maximumSize,
+            @Value("${wallet.pix.key-cache.ttl:5m}") Duration ttl,
+            @Value("${wallet.pix.key-cache.negative-ttl:30s}") Duration negativeTtl
+    ) {
+        this.delegate = delegate;
+        this.pixKeyCacheMetrics = pixKeyCacheMetrics;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Optional<PixKey>>creating(
+                        (keyValue, pixKey) -> pixKey.isPresent() ? ttl : negativeTtl
+                ))
+                .recordStats()
+                .buildAsync();
+        pixKeyCacheMetrics.monitor(cache.synchronous());
+    }
+
+    @Override
+    public PixKey save(PixKey pixKey) {
+        PixKey saved = delegate.save(pixKey);
+        invalidate(saved.keyValue());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent miss may cache "not found" before the insert is visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(saved.keyValue());
+                }
+            });
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<PixKey> findByKeyValue(String keyValue) {
+        // the query runs outside Cache.get's loader, whose monitor would pin a virtual thread's carrier
+        CompletableFuture<Optional<PixKey>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<PixKey>> cached = cache.get(keyValue, (key, executor) -> load);
+        if (cached == load) {
+            try {
+                load.complete(delegate.findByKeyValue(keyValue));
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        Optional<PixKey> pixKey = await(cached);
+        if (pixKey.isEmpty()) {
+            pixKeyCacheMetrics.recordNotFound();
+        }
+        return pixKey;
+    }
+
+    private static Optional<PixKey> await(CompletableFuture<Optional<PixKey>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate(String keyValue) {
+        cache.synchronous().invalidate(keyValue);
+        pixKeyCacheMetrics.recordInvalidation();
+    }
+}
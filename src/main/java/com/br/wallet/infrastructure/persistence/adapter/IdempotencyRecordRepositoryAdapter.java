@@ -4,8 +4,14 @@ import com.br.wallet.domain.model.IdempotencyRecord;
 import com.br.wallet.domain.port.IdempotencyRecordRepository;
 import com.br.wallet.infrastructure.persistence.entity.IdempotencyRecordEntity;
 import com.br.wallet.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class IdempotencyRecordRepositoryAdapter implements IdempotencyRecordRepository {
@@ -25,5 +31,26 @@ public class IdempotencyRecordRepositoryAdapter implements IdempotencyRecordRepo
     public Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String key) {
         return idempotencyRecordJpaRepository.findByScopeAndIdempotencyKey(scope, key).map(IdempotencyRecordEntity::toDomain);
     }
-}
 
+    @Override
+    public boolean mightExist(String scope, String key) {
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(Instant now, int limit) {
+        List<UUID> ids = idempotencyRecordJpaRepository.findExpired(now, PageRequest.of(0, limit)).stream()
+                .map(IdempotencyRecordEntity::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return idempotencyRecordJpaRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public long count() {
+        return idempotencyRecordJpaRepository.count();
+    }
+}
@@ -1,38 +1,423 @@
 package com.br.wallet.infrastructure.persistence.adapter;
 
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.BalancePoint;
 import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
 import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.persistence.entity.LedgerEntryArchiveEntity;
 import com.br.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceEntity;
+import com.br.wallet.infrastructure.persistence.repository.LedgerAggregate;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryArchiveJpaRepository;
 import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
-import lombok.RequiredArgsConstructor;
+import com.br.wallet.infrastructure.persistence.repository.LedgerMovement;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceRow;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceShardJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceState;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class LedgerEntryRepositoryAdapter implements LedgerEntryRepository {
 
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
     private final LedgerEntryJpaRepository ledgerEntryJpaRepository;
+    private final LedgerEntryArchiveJpaRepository ledgerEntryArchiveJpaRepository;
+    private final WalletBalanceJpaRepository walletBalanceJpaRepository;
+    private final WalletBalanceShardJpaRepository walletBalanceShardJpaRepository;
+    private final EntityManager entityManager;
 
-    public LedgerEntryRepositoryAdapter(LedgerEntryJpaRepository ledgerEntryJpaRepository) {
+    public LedgerEntryRepositoryAdapter(
+            LedgerEntryJpaRepository ledgerEntryJpaRepository,
+            LedgerEntryArchiveJpaRepository ledgerEntryArchiveJpaRepository,
+            WalletBalanceJpaRepository walletBalanceJpaRepository,
+            WalletBalanceShardJpaRepository walletBalanceShardJpaRepository,
+            EntityManager entityManager
+    ) {
         this.ledgerEntryJpaRepository = ledgerEntryJpaRepository;
+        this.ledgerEntryArchiveJpaRepository = ledgerEntryArchiveJpaRepository;
+        this.walletBalanceJpaRepository = walletBalanceJpaRepository;
+        this.walletBalanceShardJpaRepository = walletBalanceShardJpaRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional
     public LedgerEntry save(LedgerEntry entry) {
-        return ledgerEntryJpaRepository.save(LedgerEntryEntity.fromDomain(entry)).toDomain();
+        BigDecimal delta = entry.signedAmount();
+        Instant now = Instant.now();
+        // column precision, so the comparison with last_occurred_at is exact
+        Instant occurredAt = entry.occurredAt().truncatedTo(ChronoUnit.MICROS);
+
+        // applyPosting locks the wallet_balances row, so entry_count and balance below belong to this entry
+        int updated = walletBalanceJpaRepository.applyPosting(entry.walletId(), delta, occurredAt, now);
+        if (updated == 0) {
+            int shards = walletBalanceJpaRepository.findShardCount(entry.walletId()).orElse(0);
+            if (shards > 0) {
+                return postToShard(entry, occurredAt, shards, now);
+            }
+            // wallet created before the projection existed
+            seedProjection(entry.walletId(), now);
+            updated = walletBalanceJpaRepository.applyPosting(entry.walletId(), delta, occurredAt, now);
+            if (updated == 0) {
+                // sharded between the two statements
+                throw new IllegalStateException("Wallet balance projection changed while seeding: " + entry.walletId());
+            }
+        }
+
+        return persist(entry, occurredAt);
+    }
+
+    @Override
+    @Transactional
+    public Optional<LedgerEntry> saveIfCovered(LedgerEntry debit) {
+        Instant now = Instant.now();
+        Instant occurredAt = debit.occurredAt().truncatedTo(ChronoUnit.MICROS);
+
+        // check and posting in one statement; zero rows means not covered, or no projection row yet
+        int updated = walletBalanceJpaRepository.applyDebitIfCovered(debit.walletId(), debit.amount(), occurredAt, now);
+        if (updated == 0 && !walletBalanceJpaRepository.existsById(debit.walletId())) {
+            seedProjection(debit.walletId(), now);
+            updated = walletBalanceJpaRepository.applyDebitIfCovered(debit.walletId(), debit.amount(), occurredAt, now);
+        }
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(persist(debit, occurredAt));
+    }
+
+    @Override
+    @Transactional
+    public List<LedgerEntry> saveAll(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        UUID walletId = entries.get(0).walletId();
+        Instant now = Instant.now();
+        WalletBalanceEntity projection = walletBalanceJpaRepository.findByIdForUpdate(walletId)
+                .orElseGet(() -> seedProjection(walletId, now));
+        boolean sharded = projection.getShardCount() > 0;
+        BigDecimal running = projection.getBalance();
+        long sequence = projection.getEntryCount();
+        Instant lastOccurredAt = projection.getLastOccurredAt();
+
+        List<LedgerEntryEntity> rows = new ArrayList<>(entries.size());
+        for (LedgerEntry entry : entries) {
+            if (!entry.walletId().equals(walletId)) {
+                throw new IllegalArgumentException("Entries of more than one wallet in a batch: " + walletId + ", " + entry.walletId());
+            }
+            Instant occurredAt = entry.occurredAt().truncatedTo(ChronoUnit.MICROS);
+            running = running.add(entry.signedAmount());
+            sequence++;
+            LedgerEntryEntity entity = LedgerEntryEntity.fromDomain(entry);
+            entity.setOccurredAt(occurredAt);
+            entity.setBackdated(!sharded && lastOccurredAt != null && lastOccurredAt.isAfter(occurredAt));
+            if (!sharded) {
+                entity.setBalanceAfter(running);
+                entity.setEntrySequence(sequence);
+            }
+            lastOccurredAt = latest(lastOccurredAt, occurredAt);
+            rows.add(entity);
+        }
+        projection.setBalance(running);
+        projection.setEntryCount(sequence);
+        projection.setLastOccurredAt(lastOccurredAt);
+        projection.setUpdatedAt(now);
+        walletBalanceJpaRepository.save(projection);
+
+        return ledgerEntryJpaRepository.saveAll(rows).stream()
+                .map(LedgerEntryEntity::toDomain)
+                .toList();
+    }
+
+    private LedgerEntry persist(LedgerEntry entry, Instant occurredAt) {
+        WalletBalanceState state = walletBalanceJpaRepository.findState(entry.walletId())
+                .orElseThrow(() -> new IllegalStateException("Wallet balance projection not found: " + entry.walletId()));
+
+        LedgerEntryEntity entity = LedgerEntryEntity.fromDomain(entry);
+        entity.setOccurredAt(occurredAt);
+        if (state.shardCount() > 0) {
+            // a hot wallet's main row holds only part of its balance
+            entity.setBackdated(false);
+            return ledgerEntryJpaRepository.save(entity).toDomain();
+        }
+        entity.setBalanceAfter(state.balance());
+        entity.setEntrySequence(state.entryCount());
+        // posted after a later-dated entry: its balance_after is no anchor for time-based lookups
+        entity.setBackdated(state.lastOccurredAt().isAfter(occurredAt));
+
+        return ledgerEntryJpaRepository.save(entity).toDomain();
+    }
+
+    // no single row lock orders shard postings, so they carry no balance_after or entry_sequence
+    private LedgerEntry postToShard(LedgerEntry entry, Instant occurredAt, int shards, Instant now) {
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        if (walletBalanceShardJpaRepository.applyCredit(entry.walletId(), shard, entry.signedAmount(), now) == 0) {
+            throw new IllegalStateException("Wallet balance shard not found: " + entry.walletId() + "/" + shard);
+        }
+        LedgerEntryEntity entity = LedgerEntryEntity.fromDomain(entry);
+        entity.setOccurredAt(occurredAt);
+        entity.setBackdated(false);
+        return ledgerEntryJpaRepository.save(entity).toDomain();
     }
 
     @Override
     public BigDecimal calculateCurrentBalance(UUID walletId) {
-        return ledgerEntryJpaRepository.calculateCurrentBalance(walletId);
+        return walletBalanceJpaRepository.findBalance(walletId)
+                .orElseGet(() -> ledgerEntryJpaRepository.calculateCurrentBalance(walletId));
     }
 
     @Override
     public BigDecimal calculateBalanceAt(UUID walletId, Instant at) {
-        return ledgerEntryJpaRepository.calculateBalanceAt(walletId, at);
+        if (walletBalanceJpaRepository.findShardCount(walletId).orElse(0) > 0) {
+            return ledgerEntryJpaRepository.calculateBalanceAt(walletId, at);
+        }
+        List<LedgerEntryEntity> anchors = ledgerEntryJpaRepository.findBalanceAnchor(walletId, at, PageRequest.of(0, 1));
+        if (anchors.isEmpty()) {
+            // only backdated, legacy or archived rows up to this instant
+            return ledgerEntryJpaRepository.calculateBalanceAt(walletId, at);
+        }
+
+        LedgerEntryEntity anchor = anchors.get(0);
+        BigDecimal correction = ledgerEntryJpaRepository.sumBackdatedAfter(walletId, anchor.getEntrySequence(), at);
+        return anchor.getBalanceAfter().add(correction);
     }
-}
 
+    @Override
+    public Map<UUID, BigDecimal> calculateCurrentBalances(Collection<UUID> walletIds) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (WalletBalanceRow row : walletBalanceJpaRepository.findBalances(walletIds)) {
+            balances.put(row.walletId(), row.balance());
+        }
+        if (balances.size() < walletIds.size()) {
+            List<UUID> missing = walletIds.stream()
+                    .filter(walletId -> !balances.containsKey(walletId))
+                    .toList();
+            for (WalletBalanceRow row : ledgerEntryJpaRepository.calculateBalances(missing)) {
+                balances.put(row.walletId(), row.balance());
+            }
+        }
+        return balances;
+    }
+
+    // a running-balance seek would need one anchor query per wallet
+    @Override
+    public Map<UUID, BigDecimal> calculateBalancesAt(Collection<UUID> walletIds, Instant at) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (WalletBalanceRow row : ledgerEntryJpaRepository.calculateBalancesAt(walletIds, at)) {
+            balances.put(row.walletId(), row.balance());
+        }
+        return balances;
+    }
+
+    @Override
+    @Transactional
+    public List<BalancePoint> calculateBalanceSeries(UUID walletId, List<Instant> points) {
+        if (points.isEmpty()) {
+            return List.of();
+        }
+        Instant first = points.get(0);
+        Instant last = points.get(points.size() - 1);
+        BigDecimal running = calculateBalanceAt(walletId, first);
+        List<BalancePoint> series = new ArrayList<>(points.size());
+        series.add(new BalancePoint(first, running));
+        int next = 1;
+        try (Stream<LedgerMovement> movements = ledgerEntryJpaRepository.streamMovements(walletId, first, last)) {
+            for (LedgerMovement movement : (Iterable<LedgerMovement>) movements::iterator) {
+                while (movement.occurredAt().isAfter(points.get(next))) {
+                    series.add(new BalancePoint(points.get(next), running));
+                    next++;
+                }
+                running = running.add(movement.signedAmount());
+            }
+        }
+        while (next < points.size()) {
+            series.add(new BalancePoint(points.get(next), running));
+            next++;
+        }
+        return series;
+    }
+
+    @Override
+    @Transactional
+    public List<BalancePoint> findBalanceChanges(UUID walletId, Instant from, Instant to) {
+        BigDecimal running = calculateBalanceAt(walletId, from);
+        List<BalancePoint> changes = new ArrayList<>();
+        changes.add(new BalancePoint(from, running));
+        try (Stream<LedgerMovement> movements = ledgerEntryJpaRepository.streamMovements(walletId, from, to)) {
+            for (LedgerMovement movement : (Iterable<LedgerMovement>) movements::iterator) {
+                running = running.add(movement.signedAmount());
+                BalancePoint last = changes.get(changes.size() - 1);
+                if (last.at().equals(movement.occurredAt())) {
+                    changes.set(changes.size() - 1, new BalancePoint(last.at(), running));
+                } else {
+                    changes.add(new BalancePoint(movement.occurredAt(), running));
+                }
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public List<LedgerEntry> findStatementPage(UUID walletId, StatementCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<LedgerEntryEntity> rows = after == null
+                ? ledgerEntryJpaRepository.findStatementHead(walletId, page)
+                : ledgerEntryJpaRepository.findStatementAfter(walletId, after.occurredAt(), after.id(), page);
+        return rows.stream()
+                .map(LedgerEntryEntity::toDomain)
+                .toList();
+    }
+
+    // the transaction keeps the cursor open while the caller consumes it
+    @Override
+    @Transactional
+    public long forEachEntry(UUID walletId, Consumer<LedgerEntry> action) {
+        long count = 0;
+        try (Stream<LedgerEntry> entries = ledgerEntryJpaRepository.streamByWalletId(walletId)) {
+            for (LedgerEntry entry : (Iterable<LedgerEntry>) entries::iterator) {
+                action.accept(entry);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional
+    public long backfillRunningBalances(UUID walletId) {
+        WalletBalanceEntity projection = walletBalanceJpaRepository.findByIdForUpdate(walletId).orElse(null);
+        if (projection != null && projection.getShardCount() > 0) {
+            return 0;
+        }
+        if (!ledgerEntryJpaRepository.existsByWalletIdAndBalanceAfterIsNull(walletId)) {
+            return 0;
+        }
+
+        // legacy rows predate every sequenced row
+        long legacyCount = ledgerEntryJpaRepository.countByWalletIdAndEntrySequenceIsNull(walletId);
+        Long minSequence = ledgerEntryJpaRepository.findMinSequence(walletId);
+        long firstSequenced = minSequence != null
+                ? minSequence
+                : (projection != null ? projection.getEntryCount() + 1 : 1);
+        long nextSequence = firstSequenced - legacyCount;
+
+        BigDecimal running = BigDecimal.ZERO;
+        Instant lastOccurredAt = null;
+        long touched = 0;
+
+        List<LedgerEntryEntity> batch = ledgerEntryJpaRepository.findUnsequenced(walletId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            for (LedgerEntryEntity row : batch) {
+                running = running.add(row.signedAmount());
+                row.setBalanceAfter(running);
+                row.setEntrySequence(nextSequence++);
+                row.setBackdated(false);
+                lastOccurredAt = latest(lastOccurredAt, row.getOccurredAt());
+                touched++;
+            }
+            entityManager.flush();
+            entityManager.clear();
+            batch = ledgerEntryJpaRepository.findUnsequenced(walletId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        }
+
+        // rows posted after the projection was seeded carry balances relative to it; rebase them on the legacy history
+        long afterSequence = nextSequence - 1;
+        batch = ledgerEntryJpaRepository.findSequencedAfter(walletId, afterSequence, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            for (LedgerEntryEntity row : batch) {
+                running = running.add(row.signedAmount());
+                boolean backdated = lastOccurredAt != null && lastOccurredAt.isAfter(row.getOccurredAt());
+                if (row.getBalanceAfter() == null || running.compareTo(row.getBalanceAfter()) != 0 || !Boolean.valueOf(backdated).equals(row.getBackdated())) {
+                    row.setBalanceAfter(running);
+                    row.setBackdated(backdated);
+                    touched++;
+                }
+                lastOccurredAt = latest(lastOccurredAt, row.getOccurredAt());
+                afterSequence = row.getEntrySequence();
+            }
+            entityManager.flush();
+            entityManager.clear();
+            batch = ledgerEntryJpaRepository.findSequencedAfter(walletId, afterSequence, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        }
+
+        Instant now = Instant.now();
+        WalletBalanceEntity balance = walletBalanceJpaRepository.findById(walletId)
+                .orElseGet(() -> new WalletBalanceEntity(walletId, BigDecimal.ZERO, now));
+        balance.setBalance(running);
+        balance.setEntryCount(Math.max(balance.getEntryCount(), afterSequence));
+        balance.setLastOccurredAt(lastOccurredAt);
+        balance.setUpdatedAt(now);
+        walletBalanceJpaRepository.save(balance);
+
+        return touched;
+    }
+
+    // no wallet lock: postings are sequenced past entry_count. A concurrent step fails on the archive primary key
+    @Override
+    @Transactional
+    public long archiveBefore(UUID walletId, Instant cutoff, int maxEntries) {
+        WalletBalanceState state = walletBalanceJpaRepository.findState(walletId).orElse(null);
+        if (state == null || state.shardCount() > 0 || ledgerEntryJpaRepository.existsByWalletIdAndBalanceAfterIsNull(walletId)) {
+            return 0;
+        }
+        // archives a prefix of the sequence: an older backdated entry waits for everything before it
+        Long firstKept = ledgerEntryJpaRepository.findMinSequenceFrom(walletId, cutoff);
+        long throughSequence = firstKept != null ? firstKept - 1 : state.entryCount();
+        List<LedgerEntryEntity> rows = ledgerEntryJpaRepository.findArchivable(walletId, throughSequence, cutoff, PageRequest.of(0, maxEntries));
+
+        Instant now = Instant.now();
+        Instant openedAt = null;
+        List<LedgerEntryArchiveEntity> archived = new ArrayList<>(rows.size());
+        for (LedgerEntryEntity row : rows) {
+            // the previous opening entry only summarizes rows already archived
+            if (row.getOperationType() != LedgerOperationType.OPENING_BALANCE) {
+                archived.add(LedgerEntryArchiveEntity.from(row, now));
+            }
+            openedAt = latest(openedAt, row.getOccurredAt());
+        }
+        if (archived.isEmpty()) {
+            return 0;
+        }
+
+        LedgerEntryEntity last = rows.get(rows.size() - 1);
+        ledgerEntryArchiveJpaRepository.saveAll(archived);
+        ledgerEntryJpaRepository.deleteArchived(walletId, last.getEntrySequence(), cutoff);
+        LedgerEntryEntity opening = LedgerEntryEntity.fromDomain(LedgerEntry.openingBalance(walletId, last.getBalanceAfter(), openedAt));
+        opening.setEntrySequence(last.getEntrySequence());
+        opening.setBackdated(false);
+        ledgerEntryJpaRepository.save(opening);
+        return archived.size();
+    }
+
+    // the row is locked on return, whichever transaction inserted it
+    private WalletBalanceEntity seedProjection(UUID walletId, Instant now) {
+        LedgerAggregate ledger = ledgerEntryJpaRepository.aggregate(walletId);
+        walletBalanceJpaRepository.insertIfAbsent(walletId, ledger.balance(), ledger.entryCount(), ledger.lastOccurredAt(), now);
+        return walletBalanceJpaRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new IllegalStateException("Wallet balance projection not found: " + walletId));
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+}
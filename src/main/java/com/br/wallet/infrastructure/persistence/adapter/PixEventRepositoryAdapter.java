@@ -4,18 +4,32 @@ import com.br.wallet.domain.model.PixEvent;
 import com.br.wallet.domain.port.PixEventRepository;
 import com.br.wallet.infrastructure.persistence.entity.PixEventEntity;
 import com.br.wallet.infrastructure.persistence.repository.PixEventJpaRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 public class PixEventRepositoryAdapter implements PixEventRepository {
 
     private final PixEventJpaRepository pixEventJpaRepository;
+    private final boolean partitioned;
+    private final Duration clockSkew;
 
-    public PixEventRepositoryAdapter(PixEventJpaRepository pixEventJpaRepository) {
+    public PixEventRepositoryAdapter(
+            PixEventJpaRepository pixEventJpaRepository,
+            @Value("${wallet.partitioning.enabled:false}") boolean partitioned,
+            @Value("${wallet.pix.events.clock-skew:1d}") Duration clockSkew
+    ) {
         this.pixEventJpaRepository = pixEventJpaRepository;
+        this.partitioned = partitioned;
+        this.clockSkew = clockSkew;
     }
 
     @Override
@@ -24,8 +38,27 @@ public class PixEventRepositoryAdapter implements PixEventRepository {
     }
 
     @Override
-    public Optional<PixEvent> findByEventId(String eventId) {
-        return pixEventJpaRepository.findByEventId(eventId).map(PixEventEntity::toDomain);
+    public Optional<PixEvent> findByEventId(String eventId, Instant occurredAt) {
+        if (!partitioned) {
+            return pixEventJpaRepository.findByEventId(eventId).map(PixEventEntity::toDomain);
+        }
+        // the event is read from the partitions after occurredAt, and from all of them for a later-stamped redelivery
+        if (pixEventJpaRepository.findClaimedEventIdsIn(List.of(eventId)).isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<PixEventEntity> event = occurredAt == null
+                ? Optional.empty()
+                : pixEventJpaRepository.findByEventIdProcessedSince(eventId, occurredAt.minus(clockSkew));
+        return event.or(() -> pixEventJpaRepository.findByEventId(eventId)).map(PixEventEntity::toDomain);
     }
-}
 
+    @Override
+    public Set<String> findExistingEventIds(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(partitioned
+                ? pixEventJpaRepository.findClaimedEventIdsIn(eventIds)
+                : pixEventJpaRepository.findEventIdsIn(eventIds));
+    }
+}
@@ -1,12 +1,17 @@
 package com.br.wallet.infrastructure.persistence.adapter;
 
+import com.br.wallet.domain.enums.PixTransferStatus;
 import com.br.wallet.domain.model.PixTransfer;
 import com.br.wallet.domain.port.PixTransferRepository;
 import com.br.wallet.infrastructure.persistence.entity.PixTransferEntity;
 import com.br.wallet.infrastructure.persistence.repository.PixTransferJpaRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,15 +29,38 @@ public class PixTransferRepositoryAdapter implements PixTransferRepository {
         return pixTransferJpaRepository.save(PixTransferEntity.fromDomain(transfer)).toDomain();
     }
 
+    @Override
+    public List<PixTransfer> saveAll(List<PixTransfer> transfers) {
+        return pixTransferJpaRepository.saveAll(transfers.stream().map(PixTransferEntity::fromDomain).toList()).stream()
+                .map(PixTransferEntity::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<PixTransfer> findByEndToEndId(String endToEndId) {
         return pixTransferJpaRepository.findByEndToEndId(endToEndId).map(PixTransferEntity::toDomain);
     }
 
+    @Override
+    public List<PixTransfer> findByEndToEndIds(Collection<String> endToEndIds) {
+        if (endToEndIds.isEmpty()) {
+            return List.of();
+        }
+        return pixTransferJpaRepository.findByEndToEndIdIn(endToEndIds).stream()
+                .map(PixTransferEntity::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<PixTransfer> findByFromWalletIdAndIdempotencyKey(UUID fromWalletId, String key) {
         return pixTransferJpaRepository.findByFromWalletIdAndIdempotencyKey(fromWalletId, key)
                 .map(PixTransferEntity::toDomain);
     }
-}
 
+    @Override
+    @Transactional
+    public boolean updateStatusIfPending(String endToEndId, PixTransferStatus status, Instant updatedAt) {
+        // guarded by status = PENDING so a concurrent settlement that already moved the row turns this into a no-op
+        return pixTransferJpaRepository.updateStatusIfPending(endToEndId, status, updatedAt) == 1;
+    }
+}
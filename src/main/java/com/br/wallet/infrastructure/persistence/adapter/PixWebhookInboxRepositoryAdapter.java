@@ -0,0 +1,83 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.model.PixWebhookInboxStats;
+import com.br.wallet.domain.port.PixWebhookInboxRepository;
+import com.br.wallet.infrastructure.persistence.entity.PixWebhookInboxEntity;
+import com.br.wallet.infrastructure.persistence.repository.PixWebhookInboxJpaRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class PixWebhookInboxRepositoryAdapter implements PixWebhookInboxRepository {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PixWebhookInboxJpaRepository pixWebhookInboxJpaRepository;
+
+    public PixWebhookInboxRepositoryAdapter(PixWebhookInboxJpaRepository pixWebhookInboxJpaRepository) {
+        this.pixWebhookInboxJpaRepository = pixWebhookInboxJpaRepository;
+    }
+
+    @Override
+    public PixWebhookInboxEvent save(PixWebhookInboxEvent event) {
+        return pixWebhookInboxJpaRepository.save(PixWebhookInboxEntity.fromDomain(event)).toDomain();
+    }
+
+    @Override
+    @Transactional
+    public List<PixWebhookInboxEvent> claim(
+            int partition,
+            int partitions,
+            int limit,
+            int maxAttempts,
+            Instant now,
+            Instant claimedUntil
+    ) {
+        // rows stay leased after commit, so a crashed worker's lease simply expires
+        List<PixWebhookInboxEntity> rows = pixWebhookInboxJpaRepository.findClaimable(
+                partition, partitions, maxAttempts, now, PageRequest.of(0, limit)
+        );
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        pixWebhookInboxJpaRepository.claim(rows.stream().map(PixWebhookInboxEntity::getId).toList(), claimedUntil);
+        return rows.stream().map(PixWebhookInboxEntity::toDomain).toList();
+    }
+
+    @Override
+    @Transactional
+    public void delete(UUID id) {
+        pixWebhookInboxJpaRepository.deleteByIdDirect(id);
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(UUID id, String error) {
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        pixWebhookInboxJpaRepository.recordFailure(id, truncated);
+    }
+
+    @Override
+    @Transactional
+    public void release(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        pixWebhookInboxJpaRepository.release(ids);
+    }
+
+    @Override
+    public PixWebhookInboxStats stats(int maxAttempts) {
+        return new PixWebhookInboxStats(
+                pixWebhookInboxJpaRepository.countPending(maxAttempts),
+                pixWebhookInboxJpaRepository.findOldestReceivedAt(maxAttempts)
+        );
+    }
+}
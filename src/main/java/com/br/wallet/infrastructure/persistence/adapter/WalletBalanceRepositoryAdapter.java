@@ -0,0 +1,90 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.BalanceReconciliation;
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceEntity;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardEntity;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardId;
+import com.br.wallet.infrastructure.persistence.repository.LedgerAggregate;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceShardJpaRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class WalletBalanceRepositoryAdapter implements WalletBalanceRepository {
+
+    private final WalletBalanceJpaRepository walletBalanceJpaRepository;
+    private final WalletBalanceShardJpaRepository walletBalanceShardJpaRepository;
+    private final LedgerEntryJpaRepository ledgerEntryJpaRepository;
+
+    public WalletBalanceRepositoryAdapter(
+            WalletBalanceJpaRepository walletBalanceJpaRepository,
+            WalletBalanceShardJpaRepository walletBalanceShardJpaRepository,
+            LedgerEntryJpaRepository ledgerEntryJpaRepository
+    ) {
+        this.walletBalanceJpaRepository = walletBalanceJpaRepository;
+        this.walletBalanceShardJpaRepository = walletBalanceShardJpaRepository;
+        this.ledgerEntryJpaRepository = ledgerEntryJpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public BalanceReconciliation reconcile(UUID walletId, boolean repair) {
+        Optional<WalletBalanceEntity> projection = walletBalanceJpaRepository.findByIdForUpdate(walletId);
+        BigDecimal shardBalance = projection.filter(p -> p.getShardCount() > 0)
+                .map(p -> walletBalanceShardJpaRepository.findByWalletIdForUpdate(walletId).stream()
+                        .map(WalletBalanceShardEntity::getBalance)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .orElse(BigDecimal.ZERO);
+        BigDecimal ledgerBalance = ledgerEntryJpaRepository.calculateCurrentBalance(walletId);
+        BigDecimal projectedBalance = projection.map(p -> p.getBalance().add(shardBalance)).orElse(null);
+        boolean consistent = projectedBalance != null && projectedBalance.compareTo(ledgerBalance) == 0;
+        if (consistent || !repair) {
+            return new BalanceReconciliation(walletId, projectedBalance, ledgerBalance, false);
+        }
+        WalletBalanceEntity entity = projection
+                .orElseGet(() -> new WalletBalanceEntity(walletId, ledgerBalance, Instant.now()));
+        entity.setBalance(ledgerBalance.subtract(shardBalance));
+        entity.setUpdatedAt(Instant.now());
+        walletBalanceJpaRepository.save(entity);
+        return new BalanceReconciliation(walletId, projectedBalance, ledgerBalance, true);
+    }
+
+    @Override
+    @Transactional
+    public int shard(UUID walletId, int shards) {
+        Instant now = Instant.now();
+        WalletBalanceEntity projection = walletBalanceJpaRepository.findByIdForUpdate(walletId)
+                .orElseGet(() -> seedProjection(walletId, now));
+        int current = projection.getShardCount();
+        if (shards <= current) {
+            // shards are never merged back: their balances would have to move under every shard lock
+            return current;
+        }
+        List<WalletBalanceShardEntity> added = new ArrayList<>();
+        for (int shard = current; shard < shards; shard++) {
+            added.add(new WalletBalanceShardEntity(new WalletBalanceShardId(walletId, shard), BigDecimal.ZERO, now));
+        }
+        walletBalanceShardJpaRepository.saveAll(added);
+        projection.setShardCount(shards);
+        projection.setUpdatedAt(now);
+        walletBalanceJpaRepository.save(projection);
+        return shards;
+    }
+
+    private WalletBalanceEntity seedProjection(UUID walletId, Instant now) {
+        LedgerAggregate ledger = ledgerEntryJpaRepository.aggregate(walletId);
+        walletBalanceJpaRepository.insertIfAbsent(walletId, ledger.balance(), ledger.entryCount(), ledger.lastOccurredAt(), now);
+        return walletBalanceJpaRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new IllegalStateException("Wallet balance projection not found: " + walletId));
+    }
+}
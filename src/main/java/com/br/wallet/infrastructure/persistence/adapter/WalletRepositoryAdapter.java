@@ -2,12 +2,16 @@ package com.br.wallet.infrastructure.persistence.adapter;
 
 import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceEntity;
 import com.br.wallet.infrastructure.persistence.entity.WalletEntity;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceJpaRepository;
 import com.br.wallet.infrastructure.persistence.repository.WalletJpaRepository;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,9 +19,14 @@ import java.util.UUID;
 public class WalletRepositoryAdapter implements WalletRepository {
 
     private final WalletJpaRepository walletRepository;
+    private final WalletBalanceJpaRepository walletBalanceJpaRepository;
 
-    public WalletRepositoryAdapter(WalletJpaRepository walletRepository) {
+    public WalletRepositoryAdapter(
+            WalletJpaRepository walletRepository,
+            WalletBalanceJpaRepository walletBalanceJpaRepository
+    ) {
         this.walletRepository = walletRepository;
+        this.walletBalanceJpaRepository = walletBalanceJpaRepository;
     }
 
     @Override
@@ -25,6 +34,7 @@ public class WalletRepositoryAdapter implements WalletRepository {
     public Wallet save(Wallet wallet) {
         WalletEntity entity = WalletEntity.fromDomain(wallet);
         WalletEntity saved = walletRepository.save(entity);
+        walletBalanceJpaRepository.save(new WalletBalanceEntity(saved.getId(), BigDecimal.ZERO, saved.getCreatedAt()));
         return saved.toDomain();
     }
 
@@ -37,4 +47,12 @@ public class WalletRepositoryAdapter implements WalletRepository {
     public Optional<Wallet> findByIdForUpdate(UUID id) {
         return walletRepository.findByIdForUpdate(id).map(WalletEntity::toDomain);
     }
+
+    @Override
+    public List<UUID> findIdsAfter(UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return afterId == null
+                ? walletRepository.findIds(page)
+                : walletRepository.findIdsAfter(afterId, page);
+    }
 }
@@ -15,11 +15,15 @@ import java.util.UUID;
                         name = "uk_idempotency_scope_key",
                         columnNames = {"scope", "idempotency_key"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_idempotency_records_created_at", columnList = "created_at, id"),
+                @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at")
         }
 )
 @Getter
 @Setter
-public class IdempotencyRecordEntity {
+public class IdempotencyRecordEntity extends InsertableEntity {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -31,22 +35,32 @@ public class IdempotencyRecordEntity {
     @Column(name = "idempotency_key", nullable = false, length = 100)
     private String idempotencyKey;
 
-    @Lob
-    @Column(name = "response_payload", nullable = false)
+    @Column(name = "response_payload", nullable = false, length = 512)
     private String responsePayload;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
     public IdempotencyRecordEntity() {
     }
 
-    public IdempotencyRecordEntity(UUID id, String scope, String idempotencyKey, String responsePayload, Instant createdAt) {
+    public IdempotencyRecordEntity(
+            UUID id,
+            String scope,
+            String idempotencyKey,
+            String responsePayload,
+            Instant createdAt,
+            Instant expiresAt
+    ) {
         this.id = id;
         this.scope = scope;
         this.idempotencyKey = idempotencyKey;
         this.responsePayload = responsePayload;
         this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
     }
 
     public static IdempotencyRecordEntity fromDomain(IdempotencyRecord record) {
@@ -55,7 +69,8 @@ public class IdempotencyRecordEntity {
                 record.scope(),
                 record.idempotencyKey(),
                 record.responsePayload(),
-                record.createdAt()
+                record.createdAt(),
+                record.expiresAt()
         );
     }
 
@@ -65,7 +80,8 @@ public class IdempotencyRecordEntity {
                 this.scope,
                 this.idempotencyKey,
                 this.responsePayload,
-                this.createdAt
+                this.createdAt,
+                this.expiresAt
         );
     }
 }
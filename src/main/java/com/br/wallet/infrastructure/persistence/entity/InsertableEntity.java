@@ -0,0 +1,28 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+// ids come from the domain, so Spring Data cannot tell a new row from a detached one and would merge
+@MappedSuperclass
+public abstract class InsertableEntity implements Persistable<UUID> {
+
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "ledger_entries_archive",
+        indexes = {
+                @Index(name = "idx_ledger_entries_archive_wallet_id_occurred_at", columnList = "wallet_id, occurred_at"),
+                @Index(name = "idx_ledger_entries_archive_wallet_id_sequence", columnList = "wallet_id, entry_sequence")
+        }
+)
+@Getter
+@Setter
+public class LedgerEntryArchiveEntity extends InsertableEntity {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private UUID walletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", nullable = false)
+    private LedgerOperationType operationType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false)
+    private LedgerEntryDirection direction;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "end_to_end_id")
+    private String endToEndId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "balance_after", precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "entry_sequence")
+    private Long entrySequence;
+
+    @Column(name = "backdated")
+    private Boolean backdated;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public LedgerEntryArchiveEntity() {
+    }
+
+    public static LedgerEntryArchiveEntity from(LedgerEntryEntity entry, Instant archivedAt) {
+        LedgerEntryArchiveEntity entity = new LedgerEntryArchiveEntity();
+        entity.setId(entry.getId());
+        entity.setWalletId(entry.getWalletId());
+        entity.setOperationType(entry.getOperationType());
+        entity.setDirection(entry.getDirection());
+        entity.setAmount(entry.getAmount());
+        entity.setReferenceId(entry.getReferenceId());
+        entity.setEndToEndId(entry.getEndToEndId());
+        entity.setOccurredAt(entry.getOccurredAt());
+        entity.setCreatedAt(entry.getCreatedAt());
+        entity.setBalanceAfter(entry.getBalanceAfter());
+        entity.setEntrySequence(entry.getEntrySequence());
+        entity.setBackdated(entry.getBackdated());
+        entity.setArchivedAt(archivedAt);
+        return entity;
+    }
+}
@@ -15,13 +15,15 @@ import java.util.UUID;
         name = "ledger_entries",
         indexes = {
                 @Index(name = "idx_ledger_entries_wallet_id", columnList = "wallet_id"),
-                @Index(name = "idx_ledger_entries_wallet_id_occurred_at", columnList = "wallet_id, occurred_at"),
-                @Index(name = "idx_ledger_entries_end_to_end_id", columnList = "end_to_end_id")
+                @Index(name = "idx_ledger_entries_wallet_id_occurred_at", columnList = "wallet_id, occurred_at, id"),
+                @Index(name = "idx_ledger_entries_end_to_end_id", columnList = "end_to_end_id"),
+                @Index(name = "idx_ledger_entries_wallet_id_backdated_sequence", columnList = "wallet_id, backdated, entry_sequence"),
+                @Index(name = "idx_ledger_entries_wallet_id_backdated_occurred_at", columnList = "wallet_id, backdated, occurred_at, entry_sequence")
         }
 )
 @Getter
 @Setter
-public class LedgerEntryEntity {
+public class LedgerEntryEntity extends InsertableEntity {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -53,6 +55,15 @@ public class LedgerEntryEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "balance_after", precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "entry_sequence")
+    private Long entrySequence;
+
+    @Column(name = "backdated")
+    private Boolean backdated;
+
     public LedgerEntryEntity() {
     }
 
@@ -69,7 +80,7 @@ public class LedgerEntryEntity {
     }
 
     public static LedgerEntryEntity fromDomain(LedgerEntry entry) {
-        return new LedgerEntryEntity(
+        LedgerEntryEntity entity = new LedgerEntryEntity(
                 entry.id(),
                 entry.walletId(),
                 entry.operationType(),
@@ -80,6 +91,8 @@ public class LedgerEntryEntity {
                 entry.occurredAt(),
                 entry.createdAt()
         );
+        entity.setBalanceAfter(entry.balanceAfter());
+        return entity;
     }
 
     public LedgerEntry toDomain() {
@@ -92,7 +105,12 @@ public class LedgerEntryEntity {
                 this.referenceId,
                 this.endToEndId,
                 this.occurredAt,
-                this.createdAt
+                this.createdAt,
+                this.balanceAfter
         );
     }
+
+    public BigDecimal signedAmount() {
+        return direction == LedgerEntryDirection.CREDIT ? amount : amount.negate();
+    }
 }
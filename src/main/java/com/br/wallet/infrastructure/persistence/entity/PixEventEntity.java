@@ -17,7 +17,7 @@ import java.util.UUID;
 )
 @Getter
 @Setter
-public class PixEventEntity {
+public class PixEventEntity extends InsertableEntity {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -17,7 +17,7 @@ import java.util.UUID;
 )
 @Getter
 @Setter
-public class PixKeyEntity {
+public class PixKeyEntity extends InsertableEntity {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -0,0 +1,107 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "pix_webhook_inbox",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_pix_webhook_inbox_event_id", columnNames = "event_id")
+        },
+        indexes = {
+                @Index(name = "idx_pix_webhook_inbox_partition_received", columnList = "partition_key, received_at"),
+                @Index(name = "idx_pix_webhook_inbox_end_to_end_id_received", columnList = "end_to_end_id, received_at, id")
+        }
+)
+@Getter
+@Setter
+public class PixWebhookInboxEntity extends InsertableEntity {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+
+    @Column(name = "end_to_end_id", nullable = false, updatable = false)
+    private String endToEndId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private PixEventType eventType;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    @Column(name = "partition_key", nullable = false, updatable = false)
+    private int partitionKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public PixWebhookInboxEntity() {
+    }
+
+    public PixWebhookInboxEntity(
+            UUID id,
+            String eventId,
+            String endToEndId,
+            PixEventType eventType,
+            Instant occurredAt,
+            Instant receivedAt,
+            int partitionKey,
+            int attempts
+    ) {
+        this.id = id;
+        this.eventId = eventId;
+        this.endToEndId = endToEndId;
+        this.eventType = eventType;
+        this.occurredAt = occurredAt;
+        this.receivedAt = receivedAt;
+        this.partitionKey = partitionKey;
+        this.attempts = attempts;
+    }
+
+    public static PixWebhookInboxEntity fromDomain(PixWebhookInboxEvent event) {
+        return new PixWebhookInboxEntity(
+                event.id(),
+                event.eventId(),
+                event.endToEndId(),
+                event.eventType(),
+                event.occurredAt(),
+                event.receivedAt(),
+                event.partitionKey(),
+                event.attempts()
+        );
+    }
+
+    public PixWebhookInboxEvent toDomain() {
+        return new PixWebhookInboxEvent(
+                this.id,
+                this.eventId,
+                this.endToEndId,
+                this.eventType,
+                this.occurredAt,
+                this.receivedAt,
+                this.partitionKey,
+                this.attempts
+        );
+    }
+}
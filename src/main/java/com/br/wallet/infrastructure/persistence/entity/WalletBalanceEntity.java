@@ -0,0 +1,55 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "wallet_balances")
+@Getter
+@Setter
+public class WalletBalanceEntity extends InsertableEntity {
+
+    @Id
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "last_occurred_at")
+    private Instant lastOccurredAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "shard_count", nullable = false)
+    private int shardCount;
+
+    public WalletBalanceEntity() {
+    }
+
+    public WalletBalanceEntity(UUID walletId, BigDecimal balance, Instant updatedAt) {
+        this(walletId, balance, 0L, null, updatedAt);
+    }
+
+    public WalletBalanceEntity(UUID walletId, BigDecimal balance, long entryCount, Instant lastOccurredAt, Instant updatedAt) {
+        this.walletId = walletId;
+        this.balance = balance;
+        this.entryCount = entryCount;
+        this.lastOccurredAt = lastOccurredAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public UUID getId() {
+        return walletId;
+    }
+}
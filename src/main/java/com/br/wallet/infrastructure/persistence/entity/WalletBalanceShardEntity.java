@@ -0,0 +1,33 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "wallet_balance_shards")
+@Getter
+@Setter
+public class WalletBalanceShardEntity {
+
+    @EmbeddedId
+    private WalletBalanceShardId id;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public WalletBalanceShardEntity() {
+    }
+
+    public WalletBalanceShardEntity(WalletBalanceShardId id, BigDecimal balance, Instant updatedAt) {
+        this.id = id;
+        this.balance = balance;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.br.wallet.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+public class WalletBalanceShardId implements Serializable {
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(name = "shard", nullable = false, updatable = false)
+    private int shard;
+
+    public WalletBalanceShardId() {
+    }
+
+    public WalletBalanceShardId(UUID walletId, int shard) {
+        this.walletId = walletId;
+        this.shard = shard;
+    }
+}
@@ -12,7 +12,7 @@ import java.util.UUID;
 @Table(name = "wallets")
 @Getter
 @Setter
-public class WalletEntity {
+public class WalletEntity extends InsertableEntity {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -0,0 +1,12 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record IdempotencyKeyRow(
+        UUID id,
+        String scope,
+        String idempotencyKey,
+        Instant createdAt
+) {
+}
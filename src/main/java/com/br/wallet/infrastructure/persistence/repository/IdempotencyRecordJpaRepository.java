@@ -1,12 +1,47 @@
 package com.br.wallet.infrastructure.persistence.repository;
 
 import com.br.wallet.infrastructure.persistence.entity.IdempotencyRecordEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface IdempotencyRecordJpaRepository extends JpaRepository<IdempotencyRecordEntity, UUID> {
 
     Optional<IdempotencyRecordEntity> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.IdempotencyKeyRow(
+                r.id, r.scope, r.idempotencyKey, r.createdAt
+            )
+            from IdempotencyRecordEntity r
+            where r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :afterId)
+            order by r.createdAt, r.id
+            """)
+    List<IdempotencyKeyRow> findKeysAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // SKIP LOCKED lets several instances purge side by side without queueing behind each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from IdempotencyRecordEntity r where r.expiresAt <= :now order by r.expiresAt")
+    List<IdempotencyRecordEntity> findExpired(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
 }
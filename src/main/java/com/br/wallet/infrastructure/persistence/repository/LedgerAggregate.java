@@ -0,0 +1,11 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record LedgerAggregate(
+        long entryCount,
+        BigDecimal balance,
+        Instant lastOccurredAt
+) {
+}
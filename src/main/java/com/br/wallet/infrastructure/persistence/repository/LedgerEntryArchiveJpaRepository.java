@@ -0,0 +1,9 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import com.br.wallet.infrastructure.persistence.entity.LedgerEntryArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface LedgerEntryArchiveJpaRepository extends JpaRepository<LedgerEntryArchiveEntity, UUID> {
+}
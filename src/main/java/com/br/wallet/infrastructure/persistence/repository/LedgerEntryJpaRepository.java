@@ -1,20 +1,25 @@
 package com.br.wallet.infrastructure.persistence.repository;
 
+import com.br.wallet.domain.model.LedgerEntry;
 import com.br.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LedgerEntryJpaRepository extends JpaRepository<LedgerEntryEntity, UUID> {
 
-    List<LedgerEntryEntity> findByWalletId(UUID walletId);
-
-    List<LedgerEntryEntity> findByWalletIdAndOccurredAtLessThanEqual(UUID walletId, Instant at);
-
     @Query("""
             select coalesce(
               sum(
@@ -27,17 +32,235 @@ public interface LedgerEntryJpaRepository extends JpaRepository<LedgerEntryEntit
             """)
     BigDecimal calculateCurrentBalance(UUID walletId);
 
+    // archived entries stand in for the OPENING_BALANCE entries that replaced them; one statement reads both halves
     @Query("""
-            select coalesce(
-              sum(
-                case when e.direction = 'CREDIT' then e.amount else -e.amount end
-              ),
-              0
+            select coalesce((
+              select sum(case when e.direction = 'CREDIT' then e.amount else -e.amount end)
+              from LedgerEntryEntity e
+              where e.walletId = :walletId
+                and e.occurredAt <= :at
+                and e.operationType <> com.br.wallet.domain.enums.LedgerOperationType.OPENING_BALANCE
+            ), 0) + coalesce((
+              select sum(case when a.direction = 'CREDIT' then a.amount else -a.amount end)
+              from LedgerEntryArchiveEntity a
+              where a.walletId = :walletId
+                and a.occurredAt <= :at
+            ), 0)
+            """)
+    BigDecimal calculateBalanceAt(@Param("walletId") UUID walletId, @Param("at") Instant at);
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.WalletBalanceRow(
+              e.walletId,
+              sum(case when e.direction = 'CREDIT' then e.amount else -e.amount end)
+            )
+            from LedgerEntryEntity e
+            where e.walletId in :walletIds
+            group by e.walletId
+            """)
+    List<WalletBalanceRow> calculateBalances(@Param("walletIds") Collection<UUID> walletIds);
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.WalletBalanceRow(m.walletId, sum(m.amount))
+            from (
+              select e.walletId as walletId,
+                     case when e.direction = 'CREDIT' then e.amount else -e.amount end as amount
+              from LedgerEntryEntity e
+              where e.walletId in :walletIds
+                and e.occurredAt <= :at
+                and e.operationType <> com.br.wallet.domain.enums.LedgerOperationType.OPENING_BALANCE
+              union all
+              select a.walletId as walletId,
+                     case when a.direction = 'CREDIT' then a.amount else -a.amount end as amount
+              from LedgerEntryArchiveEntity a
+              where a.walletId in :walletIds
+                and a.occurredAt <= :at
+            ) m
+            group by m.walletId
+            """)
+    List<WalletBalanceRow> calculateBalancesAt(
+            @Param("walletIds") Collection<UUID> walletIds,
+            @Param("at") Instant at
+    );
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.LedgerAggregate(
+              count(e),
+              coalesce(sum(case when e.direction = 'CREDIT' then e.amount else -e.amount end), 0),
+              max(e.occurredAt)
             )
             from LedgerEntryEntity e
             where e.walletId = :walletId
+            """)
+    LedgerAggregate aggregate(@Param("walletId") UUID walletId);
+
+    // equality columns repeated in the sort so a backward index scan serves it
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.backdated = false
               and e.occurredAt <= :at
+            order by e.walletId desc, e.backdated desc, e.occurredAt desc, e.entrySequence desc
             """)
-    BigDecimal calculateBalanceAt(UUID walletId, Instant at);
-}
+    List<LedgerEntryEntity> findBalanceAnchor(
+            @Param("walletId") UUID walletId,
+            @Param("at") Instant at,
+            Pageable pageable
+    );
+
+    // an anchor read just before an archival committed may precede backdated entries it moved to the archive
+    @Query("""
+            select coalesce((
+              select sum(case when e.direction = 'CREDIT' then e.amount else -e.amount end)
+              from LedgerEntryEntity e
+              where e.walletId = :walletId
+                and e.backdated = true
+                and e.entrySequence > :afterSequence
+                and e.occurredAt <= :at
+            ), 0) + coalesce((
+              select sum(case when a.direction = 'CREDIT' then a.amount else -a.amount end)
+              from LedgerEntryArchiveEntity a
+              where a.walletId = :walletId
+                and a.entrySequence > :afterSequence
+                and a.backdated = true
+                and a.occurredAt <= :at
+            ), 0)
+            """)
+    BigDecimal sumBackdatedAfter(
+            @Param("walletId") UUID walletId,
+            @Param("afterSequence") long afterSequence,
+            @Param("at") Instant at
+    );
+
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+            order by e.walletId desc, e.occurredAt desc, e.id desc
+            """)
+    List<LedgerEntryEntity> findStatementHead(@Param("walletId") UUID walletId, Pageable pageable);
+
+    // Postgres does not prune partitions on a row-value comparison; the scalar bound lets it skip newer ones
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.occurredAt <= :occurredAt
+              and (e.occurredAt, e.id) < (:occurredAt, :id)
+            order by e.walletId desc, e.occurredAt desc, e.id desc
+            """)
+    List<LedgerEntryEntity> findStatementAfter(
+            @Param("walletId") UUID walletId,
+            @Param("occurredAt") Instant occurredAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 
+    // with a fetch size inside a transaction pgjdbc reads through a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.br.wallet.domain.model.LedgerEntry(
+              e.id, e.walletId, e.operationType, e.direction, e.amount, e.referenceId, e.endToEndId,
+              e.occurredAt, e.createdAt, e.balanceAfter
+            )
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+            order by e.walletId, e.occurredAt, e.id
+            """)
+    Stream<LedgerEntry> streamByWalletId(@Param("walletId") UUID walletId);
+
+    // archived entries in range take the place of the OPENING_BALANCE entries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.LedgerMovement(m.occurredAt, m.amount)
+            from (
+              select e.occurredAt as occurredAt,
+                     case when e.direction = 'CREDIT' then e.amount else -e.amount end as amount
+              from LedgerEntryEntity e
+              where e.walletId = :walletId
+                and e.occurredAt > :from
+                and e.occurredAt <= :to
+                and e.operationType <> com.br.wallet.domain.enums.LedgerOperationType.OPENING_BALANCE
+              union all
+              select a.occurredAt as occurredAt,
+                     case when a.direction = 'CREDIT' then a.amount else -a.amount end as amount
+              from LedgerEntryArchiveEntity a
+              where a.walletId = :walletId
+                and a.occurredAt > :from
+                and a.occurredAt <= :to
+            ) m
+            order by m.occurredAt
+            """)
+    Stream<LedgerMovement> streamMovements(
+            @Param("walletId") UUID walletId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    boolean existsByWalletIdAndBalanceAfterIsNull(UUID walletId);
+
+    long countByWalletIdAndEntrySequenceIsNull(UUID walletId);
+
+    @Query("select min(e.entrySequence) from LedgerEntryEntity e where e.walletId = :walletId")
+    Long findMinSequence(@Param("walletId") UUID walletId);
+
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.entrySequence is null
+            order by e.occurredAt asc, e.createdAt asc, e.id asc
+            """)
+    List<LedgerEntryEntity> findUnsequenced(@Param("walletId") UUID walletId, Pageable pageable);
+
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.entrySequence > :afterSequence
+            order by e.entrySequence asc
+            """)
+    List<LedgerEntryEntity> findSequencedAfter(
+            @Param("walletId") UUID walletId,
+            @Param("afterSequence") long afterSequence,
+            Pageable pageable
+    );
+
+    @Query("""
+            select min(e.entrySequence)
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.occurredAt >= :cutoff
+            """)
+    Long findMinSequenceFrom(@Param("walletId") UUID walletId, @Param("cutoff") Instant cutoff);
+
+    // the cutoff bound is implied by the sequence one; it lets Postgres skip later partitions
+    @Query("""
+            select e
+            from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.entrySequence <= :throughSequence
+              and e.occurredAt < :cutoff
+            order by e.entrySequence asc
+            """)
+    List<LedgerEntryEntity> findArchivable(
+            @Param("walletId") UUID walletId,
+            @Param("throughSequence") long throughSequence,
+            @Param("cutoff") Instant cutoff,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+            delete from LedgerEntryEntity e
+            where e.walletId = :walletId
+              and e.entrySequence <= :throughSequence
+              and e.occurredAt < :cutoff
+            """)
+    int deleteArchived(
+            @Param("walletId") UUID walletId,
+            @Param("throughSequence") long throughSequence,
+            @Param("cutoff") Instant cutoff
+    );
+}
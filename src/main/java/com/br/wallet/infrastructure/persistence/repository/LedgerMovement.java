@@ -0,0 +1,10 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record LedgerMovement(
+        Instant occurredAt,
+        BigDecimal signedAmount
+) {
+}
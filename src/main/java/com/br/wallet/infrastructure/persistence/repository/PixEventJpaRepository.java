@@ -2,11 +2,29 @@ package com.br.wallet.infrastructure.persistence.repository;
 
 import com.br.wallet.infrastructure.persistence.entity.PixEventEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PixEventJpaRepository extends JpaRepository<PixEventEntity, UUID> {
 
     Optional<PixEventEntity> findByEventId(String eventId);
+
+    @Query("select e from PixEventEntity e where e.eventId = :eventId and e.processedAt >= :processedSince")
+    Optional<PixEventEntity> findByEventIdProcessedSince(
+            @Param("eventId") String eventId,
+            @Param("processedSince") Instant processedSince
+    );
+
+    @Query("select e.eventId from PixEventEntity e where e.eventId in :eventIds")
+    List<String> findEventIdsIn(@Param("eventIds") Collection<String> eventIds);
+
+    // pix_event_ids only exists on the partitioned schema
+    @Query(value = "select event_id from pix_event_ids where event_id in (:eventIds)", nativeQuery = true)
+    List<String> findClaimedEventIdsIn(@Param("eventIds") Collection<String> eventIds);
 }
@@ -1,8 +1,15 @@
 package com.br.wallet.infrastructure.persistence.repository;
 
+import com.br.wallet.domain.enums.PixTransferStatus;
 import com.br.wallet.infrastructure.persistence.entity.PixTransferEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,5 +17,22 @@ public interface PixTransferJpaRepository extends JpaRepository<PixTransferEntit
 
     Optional<PixTransferEntity> findByEndToEndId(String endToEndId);
 
+    List<PixTransferEntity> findByEndToEndIdIn(Collection<String> endToEndIds);
+
     Optional<PixTransferEntity> findByFromWalletIdAndIdempotencyKey(UUID fromWalletId, String idempotencyKey);
+
+    @Modifying
+    @Query("""
+            update PixTransferEntity t
+               set t.status = :status,
+                   t.updatedAt = :updatedAt,
+                   t.version = t.version + 1
+             where t.endToEndId = :endToEndId
+               and t.status = com.br.wallet.domain.enums.PixTransferStatus.PENDING
+            """)
+    int updateStatusIfPending(
+            @Param("endToEndId") String endToEndId,
+            @Param("status") PixTransferStatus status,
+            @Param("updatedAt") Instant updatedAt
+    );
 }
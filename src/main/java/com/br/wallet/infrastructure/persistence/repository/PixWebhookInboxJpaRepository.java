@@ -0,0 +1,71 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import com.br.wallet.infrastructure.persistence.entity.PixWebhookInboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PixWebhookInboxJpaRepository extends JpaRepository<PixWebhookInboxEntity, UUID> {
+
+    // lock timeout -2 is SKIP LOCKED. Only the oldest row of a transfer is claimable, even when it is leased or parked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select i from PixWebhookInboxEntity i
+             where mod(i.partitionKey, :partitions) = :partition
+               and i.attempts < :maxAttempts
+               and (i.claimedUntil is null or i.claimedUntil < :now)
+               and not exists (
+                   select 1 from PixWebhookInboxEntity p
+                    where p.endToEndId = i.endToEndId
+                      and (p.receivedAt < i.receivedAt or (p.receivedAt = i.receivedAt and p.id < i.id))
+               )
+             order by i.receivedAt, i.id
+            """)
+    List<PixWebhookInboxEntity> findClaimable(
+            @Param("partition") int partition,
+            @Param("partitions") int partitions,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("now") Instant now,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("update PixWebhookInboxEntity i set i.claimedUntil = :claimedUntil where i.id in :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("claimedUntil") Instant claimedUntil);
+
+    @Modifying
+    @Query("update PixWebhookInboxEntity i set i.claimedUntil = null where i.id in :ids")
+    int release(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("""
+            update PixWebhookInboxEntity i
+               set i.attempts = i.attempts + 1,
+                   i.claimedUntil = null,
+                   i.lastError = :error
+             where i.id = :id
+            """)
+    int recordFailure(@Param("id") UUID id, @Param("error") String error);
+
+    @Modifying
+    @Query("delete from PixWebhookInboxEntity i where i.id = :id")
+    int deleteByIdDirect(@Param("id") UUID id);
+
+    @Query("select count(i) from PixWebhookInboxEntity i where i.attempts < :maxAttempts")
+    long countPending(@Param("maxAttempts") int maxAttempts);
+
+    @Query("select min(i.receivedAt) from PixWebhookInboxEntity i where i.attempts < :maxAttempts")
+    Instant findOldestReceivedAt(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,123 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletBalanceJpaRepository extends JpaRepository<WalletBalanceEntity, UUID> {
+
+    // a hot wallet's debits land here and may take the row below zero; they were checked against row plus shards
+    @Modifying
+    @Query("""
+            update WalletBalanceEntity b
+               set b.balance = b.balance + :delta,
+                   b.entryCount = b.entryCount + 1,
+                   b.lastOccurredAt = case
+                       when b.lastOccurredAt is null or b.lastOccurredAt < :occurredAt then :occurredAt
+                       else b.lastOccurredAt
+                   end,
+                   b.updatedAt = :updatedAt
+             where b.walletId = :walletId
+               and (:delta < 0 or b.shardCount = 0)
+            """)
+    int applyPosting(
+            @Param("walletId") UUID walletId,
+            @Param("delta") BigDecimal delta,
+            @Param("occurredAt") Instant occurredAt,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    @Modifying
+    @Query("""
+            update WalletBalanceEntity b
+               set b.balance = b.balance - :amount,
+                   b.entryCount = b.entryCount + 1,
+                   b.lastOccurredAt = case
+                       when b.lastOccurredAt is null or b.lastOccurredAt < :occurredAt then :occurredAt
+                       else b.lastOccurredAt
+                   end,
+                   b.updatedAt = :updatedAt
+             where b.walletId = :walletId
+               and (
+                   b.balance >= :amount
+                   or (b.shardCount > 0 and b.balance + coalesce((
+                       select sum(s.balance) from WalletBalanceShardEntity s where s.id.walletId = b.walletId
+                   ), 0) >= :amount)
+               )
+            """)
+    int applyDebitIfCovered(
+            @Param("walletId") UUID walletId,
+            @Param("amount") BigDecimal amount,
+            @Param("occurredAt") Instant occurredAt,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    @Query("""
+            select case
+                when b.shardCount = 0 then b.balance
+                else b.balance + coalesce((
+                    select sum(s.balance) from WalletBalanceShardEntity s where s.id.walletId = b.walletId
+                ), 0)
+            end
+            from WalletBalanceEntity b
+            where b.walletId = :walletId
+            """)
+    Optional<BigDecimal> findBalance(@Param("walletId") UUID walletId);
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.WalletBalanceRow(
+                b.walletId,
+                case
+                    when b.shardCount = 0 then b.balance
+                    else b.balance + coalesce((
+                        select sum(s.balance) from WalletBalanceShardEntity s where s.id.walletId = b.walletId
+                    ), 0)
+                end
+            )
+            from WalletBalanceEntity b
+            where b.walletId in :walletIds
+            """)
+    List<WalletBalanceRow> findBalances(@Param("walletIds") Collection<UUID> walletIds);
+
+    // concurrent seeds of one wallet: the loser inserts nothing instead of failing on the primary key
+    @Modifying
+    @Query("""
+            insert into WalletBalanceEntity (walletId, balance, entryCount, lastOccurredAt, updatedAt, shardCount)
+            values (:walletId, :balance, :entryCount, :lastOccurredAt, :updatedAt, 0)
+            on conflict do nothing
+            """)
+    int insertIfAbsent(
+            @Param("walletId") UUID walletId,
+            @Param("balance") BigDecimal balance,
+            @Param("entryCount") long entryCount,
+            @Param("lastOccurredAt") Instant lastOccurredAt,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    @Query("select b.shardCount from WalletBalanceEntity b where b.walletId = :walletId")
+    Optional<Integer> findShardCount(@Param("walletId") UUID walletId);
+
+    @Query("""
+            select new com.br.wallet.infrastructure.persistence.repository.WalletBalanceState(
+                b.balance, b.entryCount, b.lastOccurredAt, b.shardCount
+            )
+            from WalletBalanceEntity b
+            where b.walletId = :walletId
+            """)
+    Optional<WalletBalanceState> findState(@Param("walletId") UUID walletId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from WalletBalanceEntity b where b.walletId = :walletId")
+    Optional<WalletBalanceEntity> findByIdForUpdate(@Param("walletId") UUID walletId);
+}
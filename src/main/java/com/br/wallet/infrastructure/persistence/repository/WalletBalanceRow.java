@@ -0,0 +1,10 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletBalanceRow(
+        UUID walletId,
+        BigDecimal balance
+) {
+}
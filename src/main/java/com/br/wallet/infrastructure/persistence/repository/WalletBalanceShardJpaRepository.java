@@ -0,0 +1,40 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardEntity;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface WalletBalanceShardJpaRepository extends JpaRepository<WalletBalanceShardEntity, WalletBalanceShardId> {
+
+    @Modifying
+    @Query("""
+            update WalletBalanceShardEntity s
+               set s.balance = s.balance + :amount,
+                   s.updatedAt = :updatedAt
+             where s.id.walletId = :walletId
+               and s.id.shard = :shard
+            """)
+    int applyCredit(
+            @Param("walletId") UUID walletId,
+            @Param("shard") int shard,
+            @Param("amount") BigDecimal amount,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    @Query("select coalesce(sum(s.balance), 0) from WalletBalanceShardEntity s where s.id.walletId = :walletId")
+    BigDecimal sumBalance(@Param("walletId") UUID walletId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from WalletBalanceShardEntity s where s.id.walletId = :walletId order by s.id.shard")
+    List<WalletBalanceShardEntity> findByWalletIdForUpdate(@Param("walletId") UUID walletId);
+}
@@ -0,0 +1,12 @@
+package com.br.wallet.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record WalletBalanceState(
+        BigDecimal balance,
+        long entryCount,
+        Instant lastOccurredAt,
+        int shardCount
+) {
+}
@@ -2,11 +2,13 @@ package com.br.wallet.infrastructure.persistence.repository;
 
 import com.br.wallet.infrastructure.persistence.entity.WalletEntity;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +17,10 @@ public interface WalletJpaRepository extends JpaRepository<WalletEntity, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select w from WalletEntity w where w.id = :id")
     Optional<WalletEntity> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("select w.id from WalletEntity w order by w.id")
+    List<UUID> findIds(Pageable pageable);
+
+    @Query("select w.id from WalletEntity w where w.id > :afterId order by w.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package com.br.wallet.infrastructure.statemachine;
+
+import com.br.wallet.domain.model.PixTransfer;
+
+import java.time.Instant;
+
+@FunctionalInterface
+public interface PixTransferAction {
+    // false when the transfer was settled concurrently and nothing was applied
+    boolean execute(PixTransfer transfer, Instant occurredAt, String eventId);
+}
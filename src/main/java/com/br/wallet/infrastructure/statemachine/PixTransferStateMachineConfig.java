@@ -23,6 +23,7 @@ import org.springframework.statemachine.config.builders.StateMachineTransitionCo
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 @Configuration
 @EnableStateMachineFactory
@@ -66,109 +67,144 @@ public class PixTransferStateMachineConfig
     @Override
     public void configure(StateMachineTransitionConfigurer<PixTransferStatus, PixEventType> transitions)
             throws Exception {
-        transitions
-                .withExternal()
-                .source(PixTransferStatus.PENDING)
-                .target(PixTransferStatus.CONFIRMED)
-                .event(PixEventType.CONFIRMED)
-                .action(confirmPixAction())
-                .and()
-                .withExternal()
-                .source(PixTransferStatus.PENDING)
-                .target(PixTransferStatus.REJECTED)
-                .event(PixEventType.REJECTED)
-                .action(rejectPixAction());
+        for (PixTransferTransition transition : transitionDefinitions()) {
+            transitions
+                    .withExternal()
+                    .source(transition.source())
+                    .target(transition.target())
+                    .event(transition.event())
+                    .action(toStateMachineAction(transition.action()));
+        }
     }
 
     @Bean
-    public Action<PixTransferStatus, PixEventType> confirmPixAction() {
-        return context -> {
-            PixTransfer transfer = getTransferFromContext(context);
-            Instant occurredAt = getOccurredAtFromContext(context);
-            String eventId = getEventIdFromContext(context);
-
-            log.info(
-                    "PixStateMachine - CONFIRM action started endToEndId={}, transferId={}, eventId={}",
-                    transfer.endToEndId(), transfer.id(), eventId
-            );
-
-            LedgerEntry credit = LedgerEntry.newEntry(
-                    transfer.toWalletId(),
-                    LedgerOperationType.PIX_CREDIT,
-                    LedgerEntryDirection.CREDIT,
-                    transfer.amount(),
-                    transfer.id().toString(),
-                    transfer.endToEndId(),
-                    occurredAt
-            );
-            ledgerEntryRepository.save(credit);
-            log.info(
-                    "PixStateMachine - pix credit applied walletId={}, amount={}, endToEndId={}, eventId={}, ledgerEntryId={}",
-                    transfer.toWalletId(), transfer.amount(), transfer.endToEndId(), eventId, credit.id()
-            );
-
-            PixTransfer updated = transfer.markConfirmed();
-            pixTransferRepository.save(updated);
-
-            log.info(
-                    "PixStateMachine - transfer marked as CONFIRMED endToEndId={}, transferId={}",
-                    transfer.endToEndId(), updated.id()
-            );
+    public PixTransferTransitionTable pixTransferTransitionTable() {
+        return PixTransferTransitionTable.compile(transitionDefinitions());
+    }
 
-            pixWebhookMetrics.recordAmount(PixTransferStatus.CONFIRMED, transfer.amount());
-            if (transfer.createdAt() != null && occurredAt != null) {
-                pixWebhookMetrics.recordSettlementDuration(
+    private List<PixTransferTransition> transitionDefinitions() {
+        return List.of(
+                new PixTransferTransition(
+                        PixTransferStatus.PENDING,
+                        PixEventType.CONFIRMED,
                         PixTransferStatus.CONFIRMED,
-                        Duration.between(transfer.createdAt(), occurredAt)
-                );
-            }
-        };
+                        this::confirmPix
+                ),
+                new PixTransferTransition(
+                        PixTransferStatus.PENDING,
+                        PixEventType.REJECTED,
+                        PixTransferStatus.REJECTED,
+                        this::rejectPix
+                )
+        );
     }
 
-    @Bean
-    public Action<PixTransferStatus, PixEventType> rejectPixAction() {
-        return context -> {
-            PixTransfer transfer = getTransferFromContext(context);
-            Instant occurredAt = getOccurredAtFromContext(context);
-            String eventId = getEventIdFromContext(context);
+    private Action<PixTransferStatus, PixEventType> toStateMachineAction(PixTransferAction action) {
+        return context -> action.execute(
+                getTransferFromContext(context),
+                getOccurredAtFromContext(context),
+                getEventIdFromContext(context)
+        );
+    }
 
+    private boolean confirmPix(PixTransfer transfer, Instant occurredAt, String eventId) {
+        log.info(
+                "PixStateMachine - CONFIRM action started endToEndId={}, transferId={}, eventId={}",
+                transfer.endToEndId(), transfer.id(), eventId
+        );
+
+        // single guarded UPDATE: losing the race against another settlement leaves the row and the ledger untouched
+        boolean transitioned = pixTransferRepository.updateStatusIfPending(
+                transfer.endToEndId(),
+                PixTransferStatus.CONFIRMED,
+                Instant.now()
+        );
+        if (!transitioned) {
             log.info(
-                    "PixStateMachine - REJECT action started endToEndId={}, transferId={}, eventId={}",
+                    "PixStateMachine - transfer no longer PENDING, skipping credit endToEndId={}, transferId={}, eventId={}",
                     transfer.endToEndId(), transfer.id(), eventId
             );
-
-            LedgerEntry reversal = LedgerEntry.newEntry(
-                    transfer.fromWalletId(),
-                    LedgerOperationType.PIX_REVERSAL,
-                    LedgerEntryDirection.CREDIT,
-                    transfer.amount(),
-                    transfer.id().toString(),
-                    transfer.endToEndId(),
-                    occurredAt
+            pixWebhookMetrics.recordTransitionConflict(PixEventType.CONFIRMED);
+            return false;
+        }
+        log.info(
+                "PixStateMachine - transfer marked as CONFIRMED endToEndId={}, transferId={}",
+                transfer.endToEndId(), transfer.id()
+        );
+
+        LedgerEntry credit = LedgerEntry.newEntry(
+                transfer.toWalletId(),
+                LedgerOperationType.PIX_CREDIT,
+                LedgerEntryDirection.CREDIT,
+                transfer.amount(),
+                transfer.id().toString(),
+                transfer.endToEndId(),
+                occurredAt
+        );
+        ledgerEntryRepository.save(credit);
+        log.info(
+                "PixStateMachine - pix credit applied walletId={}, amount={}, endToEndId={}, eventId={}, ledgerEntryId={}",
+                transfer.toWalletId(), transfer.amount(), transfer.endToEndId(), eventId, credit.id()
+        );
+
+        pixWebhookMetrics.recordAmount(PixTransferStatus.CONFIRMED, transfer.amount());
+        if (transfer.createdAt() != null && occurredAt != null) {
+            pixWebhookMetrics.recordSettlementDuration(
+                    PixTransferStatus.CONFIRMED,
+                    Duration.between(transfer.createdAt(), occurredAt)
             );
-            ledgerEntryRepository.save(reversal);
+        }
+        return true;
+    }
 
+    private boolean rejectPix(PixTransfer transfer, Instant occurredAt, String eventId) {
+        log.info(
+                "PixStateMachine - REJECT action started endToEndId={}, transferId={}, eventId={}",
+                transfer.endToEndId(), transfer.id(), eventId
+        );
+
+        boolean transitioned = pixTransferRepository.updateStatusIfPending(
+                transfer.endToEndId(),
+                PixTransferStatus.REJECTED,
+                Instant.now()
+        );
+        if (!transitioned) {
             log.info(
-                    "PixStateMachine - pix reversal applied walletId={}, amount={}, endToEndId={}, eventId={}, ledgerEntryId={}",
-                    transfer.fromWalletId(), transfer.amount(), transfer.endToEndId(), eventId, reversal.id()
+                    "PixStateMachine - transfer no longer PENDING, skipping reversal endToEndId={}, transferId={}, eventId={}",
+                    transfer.endToEndId(), transfer.id(), eventId
             );
-
-            PixTransfer updated = transfer.markRejected();
-            pixTransferRepository.save(updated);
-
-            log.info(
-                    "PixStateMachine - transfer marked as REJECTED endToEndId={}, transferId={}",
-                    transfer.endToEndId(), updated.id()
+            pixWebhookMetrics.recordTransitionConflict(PixEventType.REJECTED);
+            return false;
+        }
+        log.info(
+                "PixStateMachine - transfer marked as REJECTED endToEndId={}, transferId={}",
+                transfer.endToEndId(), transfer.id()
+        );
+
+        LedgerEntry reversal = LedgerEntry.newEntry(
+                transfer.fromWalletId(),
+                LedgerOperationType.PIX_REVERSAL,
+                LedgerEntryDirection.CREDIT,
+                transfer.amount(),
+                transfer.id().toString(),
+                transfer.endToEndId(),
+                occurredAt
+        );
+        ledgerEntryRepository.save(reversal);
+
+        log.info(
+                "PixStateMachine - pix reversal applied walletId={}, amount={}, endToEndId={}, eventId={}, ledgerEntryId={}",
+                transfer.fromWalletId(), transfer.amount(), transfer.endToEndId(), eventId, reversal.id()
+        );
+
+        pixWebhookMetrics.recordAmount(PixTransferStatus.REJECTED, transfer.amount());
+        if (transfer.createdAt() != null && occurredAt != null) {
+            pixWebhookMetrics.recordSettlementDuration(
+                    PixTransferStatus.REJECTED,
+                    Duration.between(transfer.createdAt(), occurredAt)
             );
-
-            pixWebhookMetrics.recordAmount(PixTransferStatus.REJECTED, transfer.amount());
-            if (transfer.createdAt() != null && occurredAt != null) {
-                pixWebhookMetrics.recordSettlementDuration(
-                        PixTransferStatus.REJECTED,
-                        Duration.between(transfer.createdAt(), occurredAt)
-                );
-            }
-        };
+        }
+        return true;
     }
 
     private PixTransfer getTransferFromContext(StateContext<PixTransferStatus, PixEventType> context) {
@@ -0,0 +1,12 @@
+package com.br.wallet.infrastructure.statemachine;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixTransferStatus;
+
+public record PixTransferTransition(
+        PixTransferStatus source,
+        PixEventType event,
+        PixTransferStatus target,
+        PixTransferAction action
+) {
+}
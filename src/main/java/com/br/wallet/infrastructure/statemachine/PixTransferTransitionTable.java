@@ -0,0 +1,45 @@
+package com.br.wallet.infrastructure.statemachine;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.model.PixTransfer;
+
+import java.time.Instant;
+import java.util.List;
+
+public final class PixTransferTransitionTable {
+
+    private static final PixTransferStatus[] STATUSES = PixTransferStatus.values();
+    private static final PixEventType[] EVENTS = PixEventType.values();
+
+    // [status.ordinal()][event.ordinal()], null where the event is not accepted in that status
+    private final PixTransferTransition[][] transitions;
+
+    private PixTransferTransitionTable(PixTransferTransition[][] transitions) {
+        this.transitions = transitions;
+    }
+
+    public static PixTransferTransitionTable compile(List<PixTransferTransition> definitions) {
+        PixTransferTransition[][] transitions = new PixTransferTransition[STATUSES.length][EVENTS.length];
+        for (PixTransferTransition definition : definitions) {
+            PixTransferTransition[] row = transitions[definition.source().ordinal()];
+            if (row[definition.event().ordinal()] != null) {
+                throw new IllegalStateException(
+                        "Duplicate transition for status=" + definition.source() + ", event=" + definition.event()
+                );
+            }
+            row[definition.event().ordinal()] = definition;
+        }
+        return new PixTransferTransitionTable(transitions);
+    }
+
+    public PixTransitionResult fire(PixTransfer transfer, PixEventType event, Instant occurredAt, String eventId) {
+        PixTransferTransition transition = transitions[transfer.status().ordinal()][event.ordinal()];
+        if (transition == null) {
+            return PixTransitionResult.NOT_ACCEPTED;
+        }
+        return transition.action().execute(transfer, occurredAt, eventId)
+                ? PixTransitionResult.APPLIED
+                : PixTransitionResult.CONFLICT;
+    }
+}
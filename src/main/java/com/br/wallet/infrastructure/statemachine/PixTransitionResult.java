@@ -0,0 +1,7 @@
+package com.br.wallet.infrastructure.statemachine;
+
+public enum PixTransitionResult {
+    APPLIED,
+    CONFLICT,
+    NOT_ACCEPTED
+}
@@ -1,32 +1,62 @@
 package com.br.wallet.interfaces.rest.pix;
 
+import com.br.wallet.application.usecase.pix.EnqueuePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.HandlePixWebhookBatchUseCase;
 import com.br.wallet.application.usecase.pix.HandlePixWebhookUseCase;
+import com.br.wallet.domain.model.PixEvent;
+import com.br.wallet.domain.model.PixWebhookOutcome;
+import com.br.wallet.interfaces.rest.pix.dto.PixWebhookBatchItemResponse;
+import com.br.wallet.interfaces.rest.pix.dto.PixWebhookBatchResponse;
 import com.br.wallet.interfaces.rest.pix.dto.PixWebhookRequest;
 import com.br.wallet.interfaces.rest.pix.dto.PixWebhookResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/pix/webhook")
 public class PixWebhookController {
 
     private final HandlePixWebhookUseCase handlePixWebhookUseCase;
+    private final HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase;
+    private final EnqueuePixWebhookUseCase enqueuePixWebhookUseCase;
+    private final boolean inboxEnabled;
 
-    public PixWebhookController(HandlePixWebhookUseCase handlePixWebhookUseCase) {
+    public PixWebhookController(
+            HandlePixWebhookUseCase handlePixWebhookUseCase,
+            HandlePixWebhookBatchUseCase handlePixWebhookBatchUseCase,
+            EnqueuePixWebhookUseCase enqueuePixWebhookUseCase,
+            @Value("${wallet.pix.webhook.inbox.enabled:false}") boolean inboxEnabled
+    ) {
         this.handlePixWebhookUseCase = handlePixWebhookUseCase;
+        this.handlePixWebhookBatchUseCase = handlePixWebhookBatchUseCase;
+        this.enqueuePixWebhookUseCase = enqueuePixWebhookUseCase;
+        this.inboxEnabled = inboxEnabled;
     }
 
     @PostMapping
     public ResponseEntity<PixWebhookResponse> receive(@RequestBody PixWebhookRequest request) {
-        handlePixWebhookUseCase.execute(
-                request.endToEndId(),
-                request.eventId(),
-                request.eventType(),
-                request.occurredAt()
-        );
+        requireOccurredAt(request);
+        if (inboxEnabled) {
+            enqueuePixWebhookUseCase.execute(
+                    request.endToEndId(),
+                    request.eventId(),
+                    request.eventType(),
+                    request.occurredAt()
+            );
+        } else {
+            handlePixWebhookUseCase.execute(
+                    request.endToEndId(),
+                    request.eventId(),
+                    request.eventType(),
+                    request.occurredAt()
+            );
+        }
         PixWebhookResponse response = new PixWebhookResponse(
                 "ACCEPTED",
                 request.eventId(),
@@ -36,5 +66,38 @@ public class PixWebhookController {
                 .status(HttpStatus.ACCEPTED)
                 .body(response);
     }
-}
 
+    @PostMapping("/batch")
+    public ResponseEntity<PixWebhookBatchResponse> receiveBatch(@RequestBody List<PixWebhookRequest> requests) {
+        requests.forEach(PixWebhookController::requireOccurredAt);
+        List<PixEvent> events = requests.stream()
+                .map(request -> PixEvent.newEvent(
+                        request.eventId(),
+                        request.endToEndId(),
+                        request.eventType(),
+                        request.occurredAt()
+                ))
+                .toList();
+        List<PixWebhookOutcome> outcomes = handlePixWebhookBatchUseCase.execute(events);
+        PixWebhookBatchResponse response = new PixWebhookBatchResponse(
+                outcomes.size(),
+                outcomes.stream()
+                        .map(outcome -> new PixWebhookBatchItemResponse(
+                                outcome.eventId(),
+                                outcome.endToEndId(),
+                                outcome.result()
+                        ))
+                        .toList(),
+                Instant.now()
+        );
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(response);
+    }
+
+    private static void requireOccurredAt(PixWebhookRequest request) {
+        if (request.occurredAt() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "occurredAt is required for event " + request.eventId());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.br.wallet.interfaces.rest.pix.dto;
+
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+
+public record PixWebhookBatchItemResponse(
+        String eventId,
+        String endToEndId,
+        PixWebhookEventResult result
+) {}
@@ -0,0 +1,10 @@
+package com.br.wallet.interfaces.rest.pix.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PixWebhookBatchResponse(
+        int received,
+        List<PixWebhookBatchItemResponse> results,
+        Instant receivedAt
+) {}
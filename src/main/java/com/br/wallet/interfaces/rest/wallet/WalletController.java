@@ -2,38 +2,70 @@ package com.br.wallet.interfaces.rest.wallet;
 
 import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
 import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalanceSeriesUseCase;
 import com.br.wallet.application.usecase.wallet.GetWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalancesUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletStatementUseCase;
 import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.ExportLedgerUseCase;
+import com.br.wallet.application.usecase.wallet.LedgerExportFormat;
+import com.br.wallet.application.usecase.wallet.ShardWalletBalanceUseCase;
 import com.br.wallet.application.usecase.wallet.WithdrawUseCase;
 import com.br.wallet.interfaces.rest.wallet.dto.*;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/wallets")
 public class WalletController {
 
+    private static final Duration SETTLED_BALANCE_MAX_AGE = Duration.ofDays(365);
+
     private final CreateWalletUseCase createWalletUseCase;
     private final RegisterPixKeyUseCase registerPixKeyUseCase;
     private final GetWalletBalanceUseCase getWalletBalanceUseCase;
+    private final GetWalletBalancesUseCase getWalletBalancesUseCase;
+    private final GetWalletBalanceSeriesUseCase getWalletBalanceSeriesUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
+    private final ShardWalletBalanceUseCase shardWalletBalanceUseCase;
+    private final GetWalletStatementUseCase getWalletStatementUseCase;
+    private final ExportLedgerUseCase exportLedgerUseCase;
 
     public WalletController(
             CreateWalletUseCase createWalletUseCase,
             RegisterPixKeyUseCase registerPixKeyUseCase,
             GetWalletBalanceUseCase getWalletBalanceUseCase,
+            GetWalletBalancesUseCase getWalletBalancesUseCase,
+            GetWalletBalanceSeriesUseCase getWalletBalanceSeriesUseCase,
             DepositUseCase depositUseCase,
-            WithdrawUseCase withdrawUseCase
+            WithdrawUseCase withdrawUseCase,
+            ShardWalletBalanceUseCase shardWalletBalanceUseCase,
+            GetWalletStatementUseCase getWalletStatementUseCase,
+            ExportLedgerUseCase exportLedgerUseCase
     ) {
         this.createWalletUseCase = createWalletUseCase;
         this.registerPixKeyUseCase = registerPixKeyUseCase;
         this.getWalletBalanceUseCase = getWalletBalanceUseCase;
+        this.getWalletBalancesUseCase = getWalletBalancesUseCase;
+        this.getWalletBalanceSeriesUseCase = getWalletBalanceSeriesUseCase;
         this.depositUseCase = depositUseCase;
         this.withdrawUseCase = withdrawUseCase;
+        this.shardWalletBalanceUseCase = shardWalletBalanceUseCase;
+        this.getWalletStatementUseCase = getWalletStatementUseCase;
+        this.exportLedgerUseCase = exportLedgerUseCase;
     }
 
     @PostMapping
@@ -66,13 +98,106 @@ public class WalletController {
     @GetMapping("/{id}/balance")
     public ResponseEntity<BalanceResponse> getBalance(
             @PathVariable UUID id,
-            @RequestParam(value = "at", required = false) Instant at
+            @RequestParam(value = "at", required = false) Instant at,
+            WebRequest webRequest
     ) {
         var balance = (at == null)
                 ? getWalletBalanceUseCase.currentBalance(id)
                 : getWalletBalanceUseCase.balanceAt(id, at);
 
         var response = new BalanceResponse(id, balance);
+        if (at != null && getWalletBalanceUseCase.isSettled(at)) {
+            var etag = DigestUtils.md5DigestAsHex((id + "|" + at + "|" + balance.toPlainString()).getBytes(StandardCharsets.UTF_8));
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(SETTLED_BALANCE_MAX_AGE).cachePrivate().immutable())
+                    .body(response);
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
+    @GetMapping("/{id}/balance/series")
+    public ResponseEntity<BalanceSeriesResponse> getBalanceSeries(
+            @PathVariable UUID id,
+            @RequestParam("from") Instant from,
+            @RequestParam("to") Instant to,
+            @RequestParam(value = "step", defaultValue = "P1D") Duration step
+    ) {
+        var points = getWalletBalanceSeriesUseCase.execute(id, from, to, step).stream()
+                .map(point -> new BalancePointResponse(point.at(), point.balance()))
+                .toList();
+        var response = new BalanceSeriesResponse(id, points);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
+    @PostMapping("/balances")
+    public ResponseEntity<BalancesResponse> getBalances(@RequestBody BalancesRequest request) {
+        var balances = getWalletBalancesUseCase.execute(request.walletIds(), request.at());
+        var response = new BalancesResponse(
+                request.at(),
+                balances.entrySet().stream()
+                        .map(balance -> new BalanceResponse(balance.getKey(), balance.getValue()))
+                        .toList()
+        );
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<StatementResponse> getStatement(
+            @PathVariable UUID id,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        var page = getWalletStatementUseCase.execute(id, limit, cursor);
+        var entries = page.entries().stream()
+                .map(entry -> new StatementEntryResponse(
+                        entry.id(),
+                        entry.operationType().name(),
+                        entry.direction().name(),
+                        entry.amount(),
+                        entry.balanceAfter(),
+                        entry.endToEndId(),
+                        entry.occurredAt()
+                ))
+                .toList();
+        var response = new StatementResponse(id, entries, page.nextCursor());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable UUID id,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format
+    ) {
+        var exportFormat = LedgerExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        var export = exportLedgerUseCase.execute(id, exportFormat);
+        StreamingResponseBody body = export::writeTo;
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledger-" + id + "." + exportFormat.extension() + "\"")
+                .body(body);
+    }
+
+    @PutMapping("/{id}/balance-shards")
+    public ResponseEntity<BalanceShardsResponse> shardBalance(
+            @PathVariable UUID id,
+            @RequestBody BalanceShardsRequest request
+    ) {
+        var shards = shardWalletBalanceUseCase.execute(id, request.shards());
+        var response = new BalanceShardsResponse(id, shards);
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(response);
@@ -88,7 +213,7 @@ public class WalletController {
                 id,
                 entry.id(),
                 request.amount(),
-                entry.amount(),
+                entry.balanceAfter(),
                 "DEPOSIT",
                 "COMPLETED",
                 entry.occurredAt()
@@ -108,7 +233,7 @@ public class WalletController {
                 id,
                 entry.id(),
                 request.amount(),
-                entry.amount(),
+                entry.balanceAfter(),
                 "WITHDRAW",
                 "COMPLETED",
                 entry.occurredAt()
@@ -0,0 +1,6 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record BalancePointResponse(Instant at, BigDecimal balance) {}
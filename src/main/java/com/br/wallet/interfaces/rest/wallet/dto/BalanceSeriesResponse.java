@@ -0,0 +1,6 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BalanceSeriesResponse(UUID walletId, List<BalancePointResponse> points) {}
@@ -0,0 +1,3 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+public record BalanceShardsRequest(int shards) {}
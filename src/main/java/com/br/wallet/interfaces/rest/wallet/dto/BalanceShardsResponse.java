@@ -0,0 +1,5 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.util.UUID;
+
+public record BalanceShardsResponse(UUID walletId, int shards) {}
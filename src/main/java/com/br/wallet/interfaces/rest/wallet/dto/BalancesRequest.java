@@ -0,0 +1,7 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record BalancesRequest(List<UUID> walletIds, Instant at) {}
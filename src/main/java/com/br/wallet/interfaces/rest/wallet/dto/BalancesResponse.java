@@ -0,0 +1,6 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BalancesResponse(Instant at, List<BalanceResponse> balances) {}
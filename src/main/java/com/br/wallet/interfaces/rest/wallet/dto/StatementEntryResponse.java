@@ -0,0 +1,15 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record StatementEntryResponse(
+        UUID ledgerEntryId,
+        String operationType,
+        String direction,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        String endToEndId,
+        Instant occurredAt
+) {}
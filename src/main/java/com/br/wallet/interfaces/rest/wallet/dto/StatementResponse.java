@@ -0,0 +1,10 @@
+package com.br.wallet.interfaces.rest.wallet.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StatementResponse(
+        UUID walletId,
+        List<StatementEntryResponse> entries,
+        String nextCursor
+) {}
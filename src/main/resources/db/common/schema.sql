@@ -0,0 +1,109 @@
+-- Tables shared by the default and the "partitioned" profiles (PostgreSQL 14+). Columns and indexes mirror the
+-- entities. Safe to run on every startup: it creates what is missing and brings a database created before
+-- wallet_balances, expires_at and the webhook inbox up to date. Run as a single statement (spring.sql.init.separator).
+
+create table if not exists wallets (
+    id uuid not null,
+    owner_id varchar(255) not null,
+    created_at timestamp(6) with time zone not null,
+    constraint wallets_pkey primary key (id),
+    constraint wallets_owner_id_key unique (owner_id)
+);
+
+-- wallets without a row here are seeded from the ledger at their first posting
+create table if not exists wallet_balances (
+    wallet_id uuid not null,
+    balance numeric(19, 2) not null,
+    entry_count bigint not null,
+    last_occurred_at timestamp(6) with time zone,
+    shard_count integer not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint wallet_balances_pkey primary key (wallet_id)
+);
+
+create table if not exists wallet_balance_shards (
+    wallet_id uuid not null,
+    shard integer not null,
+    balance numeric(19, 2) not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint wallet_balance_shards_pkey primary key (shard, wallet_id)
+);
+
+create table if not exists pix_keys (
+    id uuid not null,
+    wallet_id uuid not null,
+    key_type varchar(255) not null check (key_type in ('EMAIL', 'PHONE', 'EVP', 'CPF', 'CNPJ')),
+    key_value varchar(255) not null,
+    created_at timestamp(6) with time zone not null,
+    constraint pix_keys_pkey primary key (id),
+    constraint uk_pix_keys_key_value unique (key_value)
+);
+
+create table if not exists pix_transfers (
+    id uuid not null,
+    end_to_end_id varchar(255) not null,
+    from_wallet_id uuid not null,
+    to_wallet_id uuid not null,
+    amount numeric(19, 2) not null,
+    status varchar(255) not null check (status in ('PENDING', 'CONFIRMED', 'REJECTED')),
+    idempotency_key varchar(255) not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    version bigint not null,
+    constraint pix_transfers_pkey primary key (id),
+    constraint uk_pix_transfers_from_wallet_id_idempotency_key unique (from_wallet_id, idempotency_key),
+    constraint uk_pix_transfers_end_to_end_id unique (end_to_end_id)
+);
+
+create table if not exists idempotency_records (
+    id uuid not null,
+    scope varchar(50) not null,
+    idempotency_key varchar(100) not null,
+    response_payload varchar(512) not null,
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    constraint idempotency_records_pkey primary key (id),
+    constraint uk_idempotency_scope_key unique (scope, idempotency_key)
+);
+
+-- records written before expires_at existed get the default retention (wallet.idempotency.scopes.*.retention)
+do $$
+begin
+    if not exists (select 1 from information_schema.columns
+                    where table_schema = current_schema() and table_name = 'idempotency_records' and column_name = 'expires_at') then
+        alter table idempotency_records add column expires_at timestamp(6) with time zone;
+        update idempotency_records set expires_at = created_at + interval '24 hours';
+        alter table idempotency_records alter column expires_at set not null;
+    end if;
+    if exists (select 1 from information_schema.columns
+                where table_schema = current_schema() and table_name = 'idempotency_records' and column_name = 'response_payload'
+                  and character_maximum_length < 512) then
+        alter table idempotency_records alter column response_payload type varchar(512);
+    end if;
+end;
+$$;
+
+create index if not exists idx_idempotency_records_created_at
+    on idempotency_records (created_at, id);
+create index if not exists idx_idempotency_records_expires_at
+    on idempotency_records (expires_at);
+
+create table if not exists pix_webhook_inbox (
+    id uuid not null,
+    event_id varchar(255) not null,
+    end_to_end_id varchar(255) not null,
+    event_type varchar(255) not null check (event_type in ('CONFIRMED', 'REJECTED')),
+    occurred_at timestamp(6) with time zone not null,
+    received_at timestamp(6) with time zone not null,
+    partition_key integer not null,
+    attempts integer not null,
+    claimed_until timestamp(6) with time zone,
+    last_error varchar(500),
+    constraint pix_webhook_inbox_pkey primary key (id),
+    constraint uk_pix_webhook_inbox_event_id unique (event_id)
+);
+
+create index if not exists idx_pix_webhook_inbox_partition_received
+    on pix_webhook_inbox (partition_key, received_at);
+create index if not exists idx_pix_webhook_inbox_end_to_end_id_received
+    on pix_webhook_inbox (end_to_end_id, received_at, id);
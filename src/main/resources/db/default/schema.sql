@@ -0,0 +1,97 @@
+-- ledger_entries and pix_events as plain tables (default profile, PostgreSQL 14+); db/partitioned/schema.sql has the
+-- partitioned layout. Columns and indexes mirror LedgerEntryEntity, LedgerEntryArchiveEntity and PixEventEntity.
+-- Safe to run on every startup, and it brings a ledger created before balance_after up to date: the running
+-- balances of existing rows are filled afterwards by --wallet.balance-projection.command=backfill-running-balance.
+-- Run as a single statement (spring.sql.init.separator).
+
+create table if not exists ledger_entries (
+    id uuid not null,
+    wallet_id uuid not null,
+    operation_type varchar(255) not null,
+    direction varchar(255) not null check (direction in ('CREDIT', 'DEBIT')),
+    amount numeric(19, 2) not null,
+    reference_id varchar(255),
+    end_to_end_id varchar(255),
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    balance_after numeric(19, 2),
+    entry_sequence bigint,
+    backdated boolean,
+    constraint ledger_entries_pkey primary key (id)
+);
+
+do $$
+begin
+    if (select count(*) from information_schema.columns
+         where table_schema = current_schema() and table_name = 'ledger_entries'
+           and column_name in ('balance_after', 'entry_sequence', 'backdated')) < 3 then
+        alter table ledger_entries
+            add column if not exists balance_after numeric(19, 2),
+            add column if not exists entry_sequence bigint,
+            add column if not exists backdated boolean;
+    end if;
+
+    -- OPENING_BALANCE came with the ledger archive
+    if not exists (select 1 from pg_constraint
+                    where conrelid = to_regclass('ledger_entries')
+                      and conname = 'ledger_entries_operation_type_check'
+                      and pg_get_constraintdef(oid) like '%OPENING_BALANCE%') then
+        alter table ledger_entries drop constraint if exists ledger_entries_operation_type_check;
+        alter table ledger_entries add constraint ledger_entries_operation_type_check check (operation_type in
+            ('DEPOSIT', 'WITHDRAW', 'PIX_DEBIT', 'PIX_CREDIT', 'PIX_REVERSAL', 'OPENING_BALANCE'));
+    end if;
+
+    -- id joined the index for keyset pagination and the running-balance seek. On a large ledger, build the new
+    -- index concurrently under another name and swap it in by hand before deploying: this rebuild blocks writes
+    if to_regclass('idx_ledger_entries_wallet_id_occurred_at') is not null
+            and pg_get_indexdef(to_regclass('idx_ledger_entries_wallet_id_occurred_at'))
+                not like '%(wallet_id, occurred_at, id)' then
+        drop index idx_ledger_entries_wallet_id_occurred_at;
+    end if;
+end;
+$$;
+
+create index if not exists idx_ledger_entries_wallet_id
+    on ledger_entries (wallet_id);
+create index if not exists idx_ledger_entries_wallet_id_occurred_at
+    on ledger_entries (wallet_id, occurred_at, id);
+create index if not exists idx_ledger_entries_end_to_end_id
+    on ledger_entries (end_to_end_id);
+create index if not exists idx_ledger_entries_wallet_id_backdated_sequence
+    on ledger_entries (wallet_id, backdated, entry_sequence);
+create index if not exists idx_ledger_entries_wallet_id_backdated_occurred_at
+    on ledger_entries (wallet_id, backdated, occurred_at, entry_sequence);
+
+create table if not exists ledger_entries_archive (
+    id uuid not null,
+    wallet_id uuid not null,
+    operation_type varchar(255) not null check (operation_type in
+        ('DEPOSIT', 'WITHDRAW', 'PIX_DEBIT', 'PIX_CREDIT', 'PIX_REVERSAL', 'OPENING_BALANCE')),
+    direction varchar(255) not null check (direction in ('CREDIT', 'DEBIT')),
+    amount numeric(19, 2) not null,
+    reference_id varchar(255),
+    end_to_end_id varchar(255),
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    balance_after numeric(19, 2),
+    entry_sequence bigint,
+    backdated boolean,
+    archived_at timestamp(6) with time zone not null,
+    constraint ledger_entries_archive_pkey primary key (id)
+);
+
+create index if not exists idx_ledger_entries_archive_wallet_id_occurred_at
+    on ledger_entries_archive (wallet_id, occurred_at);
+create index if not exists idx_ledger_entries_archive_wallet_id_sequence
+    on ledger_entries_archive (wallet_id, entry_sequence);
+
+create table if not exists pix_events (
+    id uuid not null,
+    event_id varchar(255) not null,
+    end_to_end_id varchar(255) not null,
+    event_type varchar(255) not null check (event_type in ('CONFIRMED', 'REJECTED')),
+    occurred_at timestamp(6) with time zone not null,
+    processed_at timestamp(6) with time zone not null,
+    constraint pix_events_pkey primary key (id),
+    constraint uk_pix_events_event_id unique (event_id)
+);
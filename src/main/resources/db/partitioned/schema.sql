@@ -0,0 +1,110 @@
+-- ledger_entries and pix_events range-partitioned by month (profile "partitioned", PostgreSQL 14+).
+-- The other tables come from db/common/schema.sql. Columns and indexes mirror LedgerEntryEntity and PixEventEntity;
+-- the monthly partitions themselves are created ahead of time by MonthlyPartitionJob. Run as a single statement
+-- (spring.sql.init.separator), so the plpgsql body below is not split on its semicolons.
+
+-- "create table if not exists" would silently keep an existing unpartitioned table; stop instead. The migration of
+-- an existing database is described in the README (Particionamento mensal)
+do $$
+declare
+    parent text;
+begin
+    foreach parent in array array['ledger_entries', 'pix_events'] loop
+        if exists (select 1 from pg_class where oid = to_regclass(parent) and relkind <> 'p') then
+            raise exception '% already exists and is not partitioned; migrate it before starting with the partitioned profile', parent;
+        end if;
+    end loop;
+end;
+$$;
+
+-- the partition key has to be part of every unique constraint, so the primary key is (id, occurred_at)
+create table if not exists ledger_entries (
+    id uuid not null,
+    wallet_id uuid not null,
+    operation_type varchar(255) not null,
+    direction varchar(255) not null,
+    amount numeric(19, 2) not null,
+    reference_id varchar(255),
+    end_to_end_id varchar(255),
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    balance_after numeric(19, 2),
+    entry_sequence bigint,
+    backdated boolean,
+    constraint pk_ledger_entries primary key (id, occurred_at)
+) partition by range (occurred_at);
+
+-- catches entries dated before the oldest monthly partition (a late PSP occurredAt) or past the newest, instead of
+-- failing the insert; MonthlyPartitionJob moves them out if it later creates their month
+create table if not exists ledger_entries_default partition of ledger_entries default;
+
+create index if not exists idx_ledger_entries_wallet_id
+    on ledger_entries (wallet_id);
+create index if not exists idx_ledger_entries_wallet_id_occurred_at
+    on ledger_entries (wallet_id, occurred_at, id);
+create index if not exists idx_ledger_entries_end_to_end_id
+    on ledger_entries (end_to_end_id);
+create index if not exists idx_ledger_entries_wallet_id_backdated_sequence
+    on ledger_entries (wallet_id, backdated, entry_sequence);
+create index if not exists idx_ledger_entries_wallet_id_backdated_occurred_at
+    on ledger_entries (wallet_id, backdated, occurred_at, entry_sequence);
+
+-- entries moved out by LedgerArchiveJob (LedgerEntryArchiveEntity); only read for balances before a wallet's
+-- OPENING_BALANCE entry, so it stays a plain table
+create table if not exists ledger_entries_archive (
+    id uuid not null,
+    wallet_id uuid not null,
+    operation_type varchar(255) not null,
+    direction varchar(255) not null,
+    amount numeric(19, 2) not null,
+    reference_id varchar(255),
+    end_to_end_id varchar(255),
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    balance_after numeric(19, 2),
+    entry_sequence bigint,
+    backdated boolean,
+    archived_at timestamp(6) with time zone not null,
+    constraint pk_ledger_entries_archive primary key (id)
+);
+
+create index if not exists idx_ledger_entries_archive_wallet_id_occurred_at
+    on ledger_entries_archive (wallet_id, occurred_at);
+create index if not exists idx_ledger_entries_archive_wallet_id_sequence
+    on ledger_entries_archive (wallet_id, entry_sequence);
+
+create table if not exists pix_events (
+    id uuid not null,
+    event_id varchar(255) not null,
+    end_to_end_id varchar(255) not null,
+    event_type varchar(255) not null,
+    occurred_at timestamp(6) with time zone not null,
+    processed_at timestamp(6) with time zone not null,
+    constraint pk_pix_events primary key (id, processed_at)
+) partition by range (processed_at);
+
+create table if not exists pix_events_default partition of pix_events default;
+
+create index if not exists idx_pix_events_event_id_processed_at
+    on pix_events (event_id, processed_at);
+
+-- a partitioned pix_events cannot enforce a unique event_id across months, so every insert claims the id in this
+-- small unpartitioned table first. The constraint keeps its old name: a concurrent duplicate still fails on
+-- uk_pix_events_event_id and rolls its transaction back, as it does on the unpartitioned schema
+create table if not exists pix_event_ids (
+    event_id varchar(255) not null,
+    processed_at timestamp(6) with time zone not null,
+    constraint uk_pix_events_event_id primary key (event_id)
+);
+
+create or replace function pix_events_claim_event_id() returns trigger
+language plpgsql as $$
+begin
+    insert into pix_event_ids (event_id, processed_at) values (new.event_id, new.processed_at);
+    return new;
+end;
+$$;
+
+create or replace trigger pix_events_claim_event_id
+    before insert on pix_events
+    for each row execute function pix_events_claim_event_id();
@@ -3,7 +3,8 @@ package com.br.wallet;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// the schema scripts need the Postgres of the default profile; the context itself does not
+@SpringBootTest(properties = "spring.sql.init.mode=never")
 class WalletApplicationTests {
 
     @Test
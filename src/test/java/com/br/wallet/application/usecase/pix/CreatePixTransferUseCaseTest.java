@@ -1,20 +1,28 @@
 package com.br.wallet.application.usecase.pix;
 
+import com.br.wallet.application.usecase.wallet.DebitBatchResult;
+import com.br.wallet.application.usecase.wallet.PendingDebit;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
+import com.br.wallet.domain.enums.DebitStrategy;
 import com.br.wallet.domain.enums.LedgerEntryDirection;
 import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.id.EndToEndIdGenerator;
 import com.br.wallet.domain.model.LedgerEntry;
 import com.br.wallet.domain.model.PixKey;
 import com.br.wallet.domain.model.PixTransfer;
 import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.PixKeyRepository;
 import com.br.wallet.domain.port.PixTransferRepository;
 import com.br.wallet.domain.port.WalletRepository;
 import com.br.wallet.infrastructure.metrics.PixMetrics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,15 +44,43 @@ class CreatePixTransferUseCaseTest {
     @Mock
     private LedgerEntryRepository ledgerEntryRepository;
 
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @Mock
     private PixMetrics pixMetrics;
 
-    @InjectMocks
+    @Mock
+    private EndToEndIdGenerator endToEndIdGenerator;
+
+    @Mock
+    private WalletDebitBatcher walletDebitBatcher;
+
     private CreatePixTransferUseCase useCase;
 
     @Captor
     private ArgumentCaptor<LedgerEntry> ledgerEntryCaptor;
 
+    @BeforeEach
+    void setUp() {
+        useCase = newUseCase(DebitStrategy.PESSIMISTIC_LOCK);
+    }
+
+    private CreatePixTransferUseCase newUseCase(DebitStrategy debitStrategy) {
+        return new CreatePixTransferUseCase(
+                walletRepository,
+                pixKeyRepository,
+                pixTransferRepository,
+                ledgerEntryRepository,
+                idempotencyRecordRepository,
+                pixMetrics,
+                endToEndIdGenerator,
+                debitStrategy,
+                walletDebitBatcher,
+                TransactionOperations.withoutTransaction()
+        );
+    }
+
     @Test
     void shouldCreatePixTransferAndDebitLedgerWhenBalanceIsSufficient() {
         UUID fromWalletId = UUID.randomUUID();
@@ -91,6 +127,59 @@ class CreatePixTransferUseCaseTest {
         assertEquals(transferId.toString(), ledgerEntry.referenceId());
         assertEquals(endToEndId, ledgerEntry.endToEndId());
         assertNotNull(ledgerEntry.occurredAt());
+        verifyNoInteractions(walletDebitBatcher);
+    }
+
+    @Test
+    void shouldHandTransferAndDebitToTheWalletBatchUnderGroupCommit() {
+        CreatePixTransferUseCase groupCommit = newUseCase(DebitStrategy.GROUP_COMMIT);
+        UUID fromWalletId = UUID.randomUUID();
+        UUID toWalletId = UUID.randomUUID();
+        String toPixKey = "user@pix.com";
+        String idempotencyKey = "idem-123";
+        BigDecimal amount = new BigDecimal("100.00");
+        PixKey pixKey = mock(PixKey.class);
+        when(pixKey.walletId()).thenReturn(toWalletId);
+        when(pixKeyRepository.findByKeyValue(toPixKey)).thenReturn(Optional.of(pixKey));
+        when(pixTransferRepository.findByFromWalletIdAndIdempotencyKey(fromWalletId, idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(endToEndIdGenerator.newEndToEndId()).thenReturn("E2E-1");
+        ArgumentCaptor<PendingDebit> debitCaptor = ArgumentCaptor.forClass(PendingDebit.class);
+        when(walletDebitBatcher.submit(debitCaptor.capture()))
+                .thenAnswer(invocation -> DebitBatchResult.posted(invocation.<PendingDebit>getArgument(0).entry()));
+
+        PixTransfer result = groupCommit.execute(fromWalletId, toPixKey, amount, idempotencyKey);
+
+        PendingDebit debit = debitCaptor.getValue();
+        assertSame(result, debit.transfer());
+        assertEquals("E2E-1", result.endToEndId());
+        assertEquals(fromWalletId, debit.entry().walletId());
+        assertEquals(result.id().toString(), debit.entry().referenceId());
+        assertEquals(amount, debit.entry().amount());
+        verify(walletRepository, never()).findByIdForUpdate(any());
+        verify(pixTransferRepository, never()).save(any());
+        verify(ledgerEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportInsufficientFundsWhenTheBatchRejectsTheDebit() {
+        CreatePixTransferUseCase groupCommit = newUseCase(DebitStrategy.GROUP_COMMIT);
+        UUID fromWalletId = UUID.randomUUID();
+        PixKey pixKey = mock(PixKey.class);
+        when(pixKey.walletId()).thenReturn(UUID.randomUUID());
+        when(pixKeyRepository.findByKeyValue("user@pix.com")).thenReturn(Optional.of(pixKey));
+        when(pixTransferRepository.findByFromWalletIdAndIdempotencyKey(fromWalletId, "idem-123"))
+                .thenReturn(Optional.empty());
+        when(endToEndIdGenerator.newEndToEndId()).thenReturn("E2E-1");
+        when(walletDebitBatcher.submit(any())).thenReturn(DebitBatchResult.rejected(new BigDecimal("10.00")));
+
+        IllegalStateException ex = assertThrows(
+                IllegalStateException.class,
+                () -> groupCommit.execute(fromWalletId, "user@pix.com", new BigDecimal("100.00"), "idem-123")
+        );
+
+        assertEquals("Insufficient funds", ex.getMessage());
+        verify(pixMetrics).onInsufficientFunds();
     }
 
     @Test
@@ -0,0 +1,95 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.port.PixWebhookInboxRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookInboxMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DrainPixWebhookInboxUseCaseTest {
+
+    @Mock
+    private PixWebhookInboxRepository pixWebhookInboxRepository;
+
+    @Mock
+    private HandlePixWebhookUseCase handlePixWebhookUseCase;
+
+    @Mock
+    private PixWebhookInboxMetrics pixWebhookInboxMetrics;
+
+    private DrainPixWebhookInboxUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new DrainPixWebhookInboxUseCase(
+                pixWebhookInboxRepository,
+                handlePixWebhookUseCase,
+                pixWebhookInboxMetrics,
+                3,
+                Duration.ofSeconds(30)
+        );
+    }
+
+    @Test
+    void shouldDeleteEventsOnceHandled() {
+        PixWebhookInboxEvent first = PixWebhookInboxEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixWebhookInboxEvent second = PixWebhookInboxEvent.newEvent("evt-2", "E2E-1", PixEventType.REJECTED, Instant.now());
+        when(pixWebhookInboxRepository.claim(eq(0), eq(4), eq(10), eq(3), any(), any())).thenReturn(List.of(first, second));
+        when(handlePixWebhookUseCase.execute(eq("E2E-1"), anyString(), any(), any()))
+                .thenReturn(PixWebhookEventResult.APPLIED, PixWebhookEventResult.IGNORED_FINALIZED);
+
+        assertEquals(2, useCase.drain(0, 4, 10));
+
+        verify(pixWebhookInboxRepository).delete(first.id());
+        verify(pixWebhookInboxRepository).delete(second.id());
+        verify(pixWebhookInboxRepository, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void shouldStopAtFirstFailureToKeepTransferOrder() {
+        PixWebhookInboxEvent first = PixWebhookInboxEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixWebhookInboxEvent second = PixWebhookInboxEvent.newEvent("evt-2", "E2E-2", PixEventType.REJECTED, Instant.now());
+        when(pixWebhookInboxRepository.claim(eq(1), eq(4), eq(10), eq(3), any(), any())).thenReturn(List.of(first, second));
+        when(handlePixWebhookUseCase.execute(eq("E2E-1"), eq("evt-1"), any(), any()))
+                .thenThrow(new IllegalStateException("Connection reset"));
+
+        assertEquals(0, useCase.drain(1, 4, 10));
+
+        verify(pixWebhookInboxRepository).recordFailure(first.id(), "Connection reset");
+        verify(pixWebhookInboxRepository).release(List.of(second.id()));
+        verify(handlePixWebhookUseCase, never()).execute(any(), eq("evt-2"), any(), any());
+        verify(pixWebhookInboxMetrics).recordFailed(PixEventType.CONFIRMED, false);
+    }
+
+    @Test
+    void shouldDropEventsOfUnknownTransfersWithoutStoppingTheBatch() {
+        PixWebhookInboxEvent unknown = PixWebhookInboxEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixWebhookInboxEvent next = PixWebhookInboxEvent.newEvent("evt-2", "E2E-2", PixEventType.CONFIRMED, Instant.now());
+        when(pixWebhookInboxRepository.claim(eq(2), eq(4), eq(10), eq(3), any(), any())).thenReturn(List.of(unknown, next));
+        when(handlePixWebhookUseCase.execute(eq("E2E-1"), eq("evt-1"), any(), any()))
+                .thenThrow(new IllegalArgumentException("Transfer not found"));
+        when(handlePixWebhookUseCase.execute(eq("E2E-2"), eq("evt-2"), any(), any()))
+                .thenReturn(PixWebhookEventResult.APPLIED);
+
+        assertEquals(2, useCase.drain(2, 4, 10));
+
+        verify(pixWebhookInboxRepository).delete(unknown.id());
+        verify(pixWebhookInboxRepository).delete(next.id());
+        verify(pixWebhookInboxRepository, never()).recordFailure(any(), any());
+        verify(pixWebhookInboxMetrics).recordDrained(PixEventType.CONFIRMED, PixWebhookEventResult.TRANSFER_NOT_FOUND);
+    }
+}
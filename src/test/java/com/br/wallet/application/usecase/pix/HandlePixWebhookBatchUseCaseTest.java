@@ -0,0 +1,117 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixWebhookEventResult;
+import com.br.wallet.domain.model.PixEvent;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.model.PixWebhookOutcome;
+import com.br.wallet.domain.port.PixEventRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HandlePixWebhookBatchUseCaseTest {
+
+    @Mock
+    private PixTransferRepository pixTransferRepository;
+
+    @Mock
+    private PixEventRepository pixEventRepository;
+
+    @Mock
+    private HandlePixWebhookUseCase handlePixWebhookUseCase;
+
+    @Mock
+    private PixWebhookMetrics pixWebhookMetrics;
+
+    private HandlePixWebhookBatchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new HandlePixWebhookBatchUseCase(
+                pixTransferRepository,
+                pixEventRepository,
+                handlePixWebhookUseCase,
+                pixWebhookMetrics,
+                10,
+                2
+        );
+    }
+
+    @Test
+    void shouldDedupeAndApplyRemainingEventsInChunks() {
+        PixTransfer transfer = PixTransfer.newPending(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN, "E2E-1", "idem-1");
+        PixEvent known = PixEvent.newEvent("evt-known", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixEvent first = PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixEvent repeated = PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now());
+        PixEvent unknownTransfer = PixEvent.newEvent("evt-2", "E2E-404", PixEventType.CONFIRMED, Instant.now());
+        PixEvent second = PixEvent.newEvent("evt-3", "E2E-1", PixEventType.REJECTED, Instant.now());
+        PixEvent third = PixEvent.newEvent("evt-4", "E2E-1", PixEventType.REJECTED, Instant.now());
+        when(pixEventRepository.findExistingEventIds(any())).thenReturn(Set.of("evt-known"));
+        when(pixTransferRepository.findByEndToEndIds(any())).thenReturn(List.of(transfer));
+        when(handlePixWebhookUseCase.executeChunk(eq(List.of(first, second)), anyMap()))
+                .thenReturn(List.of(PixWebhookEventResult.APPLIED, PixWebhookEventResult.TRANSITION_CONFLICT));
+        when(handlePixWebhookUseCase.executeChunk(eq(List.of(third)), anyMap()))
+                .thenReturn(List.of(PixWebhookEventResult.IGNORED_FINALIZED));
+
+        List<PixWebhookOutcome> outcomes = useCase.execute(List.of(known, first, repeated, unknownTransfer, second, third));
+
+        assertEquals(
+                List.of(
+                        PixWebhookEventResult.DUPLICATE,
+                        PixWebhookEventResult.APPLIED,
+                        PixWebhookEventResult.DUPLICATE,
+                        PixWebhookEventResult.TRANSFER_NOT_FOUND,
+                        PixWebhookEventResult.TRANSITION_CONFLICT,
+                        PixWebhookEventResult.IGNORED_FINALIZED
+                ),
+                outcomes.stream().map(PixWebhookOutcome::result).toList()
+        );
+        verify(pixEventRepository, times(1)).findExistingEventIds(any());
+        verify(pixTransferRepository, times(1)).findByEndToEndIds(any());
+        verify(handlePixWebhookUseCase, never()).execute(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldFallBackToSingleEventsWhenChunkFails() {
+        PixTransfer transfer = PixTransfer.newPending(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN, "E2E-1", "idem-1");
+        Instant occurredAt = Instant.now();
+        PixEvent first = PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, occurredAt);
+        PixEvent second = PixEvent.newEvent("evt-2", "E2E-1", PixEventType.CONFIRMED, occurredAt);
+        when(pixEventRepository.findExistingEventIds(any())).thenReturn(Set.of());
+        when(pixTransferRepository.findByEndToEndIds(any())).thenReturn(List.of(transfer));
+        when(handlePixWebhookUseCase.executeChunk(any(), anyMap())).thenThrow(new IllegalStateException("unique violation"));
+        when(handlePixWebhookUseCase.execute("E2E-1", "evt-1", PixEventType.CONFIRMED, occurredAt))
+                .thenReturn(PixWebhookEventResult.DUPLICATE);
+        when(handlePixWebhookUseCase.execute("E2E-1", "evt-2", PixEventType.CONFIRMED, occurredAt))
+                .thenThrow(new IllegalStateException("boom"));
+
+        List<PixWebhookOutcome> outcomes = useCase.execute(List.of(first, second));
+
+        assertEquals(PixWebhookEventResult.DUPLICATE, outcomes.get(0).result());
+        assertEquals(PixWebhookEventResult.FAILED, outcomes.get(1).result());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<PixEvent> events = java.util.stream.IntStream.range(0, 11)
+                .mapToObj(i -> PixEvent.newEvent("evt-" + i, "E2E-1", PixEventType.CONFIRMED, Instant.now()))
+                .toList();
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(events));
+        verifyNoInteractions(pixEventRepository, pixTransferRepository);
+    }
+}
@@ -11,6 +11,9 @@ import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.PixEventRepository;
 import com.br.wallet.domain.port.PixTransferRepository;
 import com.br.wallet.infrastructure.metrics.PixWebhookMetrics;
+import com.br.wallet.infrastructure.statemachine.PixTransferStateMachineConfig;
+import com.br.wallet.infrastructure.statemachine.PixTransferTransitionTable;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -38,19 +41,28 @@ class HandlePixWebhookUseCaseTest {
     @Mock
     private PixWebhookMetrics pixWebhookMetrics;
 
-    @InjectMocks
     private HandlePixWebhookUseCase useCase;
 
     @Captor
     private ArgumentCaptor<LedgerEntry> ledgerEntryCaptor;
 
+    @BeforeEach
+    void setUp() {
+        PixTransferTransitionTable transitionTable = new PixTransferStateMachineConfig(
+                pixTransferRepository,
+                ledgerEntryRepository,
+                pixWebhookMetrics
+        ).pixTransferTransitionTable();
+        useCase = new HandlePixWebhookUseCase(pixTransferRepository, pixEventRepository, pixWebhookMetrics, transitionTable);
+    }
+
     @Test
     void shouldIgnoreWhenEventAlreadyProcessed() {
         String endToEndId = "E2E-123";
         String eventId = "evt-1";
         PixEventType type = PixEventType.CONFIRMED;
         Instant occurredAt = Instant.now();
-        when(pixEventRepository.findByEventId(eventId))
+        when(pixEventRepository.findByEventId(eventId, occurredAt))
                 .thenReturn(Optional.of(mock(PixEvent.class)));
         useCase.execute(endToEndId, eventId, type, occurredAt);
         verify(pixTransferRepository, never()).findByEndToEndId(anyString());
@@ -63,7 +75,7 @@ class HandlePixWebhookUseCaseTest {
         String eventId = "evt-2";
         PixEventType type = PixEventType.CONFIRMED;
         Instant occurredAt = Instant.now();
-        when(pixEventRepository.findByEventId(eventId)).thenReturn(Optional.empty());
+        when(pixEventRepository.findByEventId(eventId, occurredAt)).thenReturn(Optional.empty());
         when(pixTransferRepository.findByEndToEndId(endToEndId)).thenReturn(Optional.empty());
         IllegalArgumentException ex = assertThrows(
                 IllegalArgumentException.class,
@@ -81,7 +93,7 @@ class HandlePixWebhookUseCaseTest {
         Instant occurredAt = Instant.now();
         UUID transferId = UUID.randomUUID();
         UUID toWalletId = UUID.randomUUID();
-        when(pixEventRepository.findByEventId(eventId)).thenReturn(Optional.empty());
+        when(pixEventRepository.findByEventId(eventId, occurredAt)).thenReturn(Optional.empty());
         PixTransfer transfer = mock(PixTransfer.class);
         when(transfer.status()).thenReturn(PixTransferStatus.PENDING);
         when(transfer.id()).thenReturn(transferId);
@@ -89,9 +101,8 @@ class HandlePixWebhookUseCaseTest {
         when(transfer.toWalletId()).thenReturn(toWalletId);
         when(transfer.amount()).thenReturn(java.math.BigDecimal.valueOf(150));
         when(pixTransferRepository.findByEndToEndId(endToEndId)).thenReturn(Optional.of(transfer));
-        PixTransfer confirmedTransfer = mock(PixTransfer.class);
-        when(confirmedTransfer.id()).thenReturn(transferId);
-        when(transfer.markConfirmed()).thenReturn(confirmedTransfer);
+        when(pixTransferRepository.updateStatusIfPending(eq(endToEndId), eq(PixTransferStatus.CONFIRMED), any(Instant.class)))
+                .thenReturn(true);
         useCase.execute(endToEndId, eventId, type, occurredAt);
         verify(pixEventRepository).save(any(PixEvent.class));
         verify(ledgerEntryRepository).save(ledgerEntryCaptor.capture());
@@ -102,7 +113,7 @@ class HandlePixWebhookUseCaseTest {
         assertEquals(transfer.amount(), ledgerEntry.amount());
         assertEquals(transferId.toString(), ledgerEntry.referenceId());
         assertEquals(occurredAt, ledgerEntry.occurredAt());
-        verify(pixTransferRepository).save(confirmedTransfer);
+        verify(pixTransferRepository, never()).save(any());
     }
 
 
@@ -114,7 +125,7 @@ class HandlePixWebhookUseCaseTest {
         Instant occurredAt = Instant.now();
         UUID transferId = UUID.randomUUID();
         UUID fromWalletId = UUID.randomUUID();
-        when(pixEventRepository.findByEventId(eventId)).thenReturn(Optional.empty());
+        when(pixEventRepository.findByEventId(eventId, occurredAt)).thenReturn(Optional.empty());
         PixTransfer transfer = mock(PixTransfer.class);
         when(transfer.status()).thenReturn(PixTransferStatus.PENDING);
         when(transfer.id()).thenReturn(transferId);
@@ -122,9 +133,8 @@ class HandlePixWebhookUseCaseTest {
         when(transfer.fromWalletId()).thenReturn(fromWalletId);
         when(transfer.amount()).thenReturn(java.math.BigDecimal.valueOf(200));
         when(pixTransferRepository.findByEndToEndId(endToEndId)).thenReturn(Optional.of(transfer));
-        PixTransfer rejectedTransfer = mock(PixTransfer.class);
-        when(rejectedTransfer.id()).thenReturn(transferId);
-        when(transfer.markRejected()).thenReturn(rejectedTransfer);
+        when(pixTransferRepository.updateStatusIfPending(eq(endToEndId), eq(PixTransferStatus.REJECTED), any(Instant.class)))
+                .thenReturn(true);
         useCase.execute(endToEndId, eventId, type, occurredAt);
         verify(pixEventRepository).save(any(PixEvent.class));
         verify(ledgerEntryRepository).save(ledgerEntryCaptor.capture());
@@ -135,7 +145,7 @@ class HandlePixWebhookUseCaseTest {
         assertEquals(transfer.amount(), ledgerEntry.amount());
         assertEquals(transferId.toString(), ledgerEntry.referenceId());
         assertEquals(occurredAt, ledgerEntry.occurredAt());
-        verify(pixTransferRepository).save(rejectedTransfer);
+        verify(pixTransferRepository, never()).save(any());
     }
 
 
@@ -145,7 +155,7 @@ class HandlePixWebhookUseCaseTest {
         String eventId = "evt-5";
         PixEventType type = PixEventType.CONFIRMED;
         Instant occurredAt = Instant.now();
-        when(pixEventRepository.findByEventId(eventId)).thenReturn(Optional.empty());
+        when(pixEventRepository.findByEventId(eventId, occurredAt)).thenReturn(Optional.empty());
         PixTransfer transfer = mock(PixTransfer.class);
         when(transfer.status()).thenReturn(PixTransferStatus.CONFIRMED);
         when(pixTransferRepository.findByEndToEndId(endToEndId)).thenReturn(Optional.of(transfer));
@@ -154,4 +164,23 @@ class HandlePixWebhookUseCaseTest {
         verify(ledgerEntryRepository, never()).save(any());
         verify(pixTransferRepository, never()).save(any());
     }
+
+    @Test
+    void shouldSkipLedgerWhenTransferSettledConcurrently() {
+        String endToEndId = "E2E-RACE";
+        String eventId = "evt-6";
+        PixEventType type = PixEventType.CONFIRMED;
+        Instant occurredAt = Instant.now();
+        when(pixEventRepository.findByEventId(eventId, occurredAt)).thenReturn(Optional.empty());
+        PixTransfer transfer = mock(PixTransfer.class);
+        when(transfer.status()).thenReturn(PixTransferStatus.PENDING);
+        when(transfer.endToEndId()).thenReturn(endToEndId);
+        when(pixTransferRepository.findByEndToEndId(endToEndId)).thenReturn(Optional.of(transfer));
+        when(pixTransferRepository.updateStatusIfPending(eq(endToEndId), eq(PixTransferStatus.CONFIRMED), any(Instant.class)))
+                .thenReturn(false);
+        useCase.execute(endToEndId, eventId, type, occurredAt);
+        verify(pixEventRepository).save(any(PixEvent.class));
+        verify(ledgerEntryRepository, never()).save(any());
+        verify(pixWebhookMetrics).recordTransitionConflict(PixEventType.CONFIRMED);
+    }
 }
@@ -0,0 +1,230 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.metrics.IdempotencyOutcome;
+import com.br.wallet.infrastructure.metrics.MetricResult;
+import com.br.wallet.infrastructure.metrics.PixTransferMetrics;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentCreatePixTransferUseCaseTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private CreatePixTransferUseCase createPixTransferUseCase;
+
+    @Mock
+    private PixTransferMetrics pixTransferMetrics;
+
+    @Captor
+    private ArgumentCaptor<Function<PixTransfer, IdempotencyRecord>> recordFor;
+
+    private IdempotentCreatePixTransferUseCase useCase;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new IdempotentCreatePixTransferUseCase(
+                idempotencyRecordRepository,
+                createPixTransferUseCase,
+                new ObjectMapper(),
+                pixTransferMetrics,
+                Duration.ofSeconds(5),
+                Duration.ofHours(24),
+                TransactionOperations.withoutTransaction()
+        );
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldAwaitInFlightRequestWithSameKeyInsteadOfExecutingAgain() throws Exception {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        PixTransfer transfer = PixTransfer.newPending(fromWalletId, UUID.randomUUID(), BigDecimal.TEN, "E2E-1", "idem-1");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-1")).thenReturn(false);
+        when(createPixTransferUseCase.executeNew(eq(fromWalletId), eq("merchant@test.com"), eq(BigDecimal.TEN), eq("idem-1"), any()))
+                .thenAnswer(invocation -> {
+                    entered.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return transfer;
+                });
+
+        Future<PixTransferResponse> first = executor.submit(() -> useCase.execute(request, "idem-1"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<PixTransferResponse> second = executor.submit(() -> useCase.execute(request, "idem-1"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(createPixTransferUseCase, times(1)).executeNew(any(), any(), any(), any(), any());
+        verify(pixTransferMetrics).recordCreateResult(IdempotencyOutcome.COALESCED, MetricResult.SUCCESS);
+    }
+
+    @Test
+    void shouldExecuteWaitingRequestWhenInFlightRequestFails() throws Exception {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        PixTransfer transfer = PixTransfer.newPending(fromWalletId, UUID.randomUUID(), BigDecimal.TEN, "E2E-2", "idem-2");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-2")).thenReturn(false);
+        when(createPixTransferUseCase.executeNew(eq(fromWalletId), eq("merchant@test.com"), eq(BigDecimal.TEN), eq("idem-2"), any()))
+                .thenAnswer(invocation -> {
+                    entered.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new IllegalStateException("Insufficient funds");
+                })
+                .thenReturn(transfer);
+
+        Future<PixTransferResponse> first = executor.submit(() -> useCase.execute(request, "idem-2"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<PixTransferResponse> second = executor.submit(() -> useCase.execute(request, "idem-2"));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception failure = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("E2E-2", second.get(5, TimeUnit.SECONDS).endToEndId());
+        verify(createPixTransferUseCase, times(2)).executeNew(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReplayCompactAndLegacyPayloads() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        Instant now = Instant.now();
+        when(idempotencyRecordRepository.mightExist(eq("PIX_TRANSFER"), any())).thenReturn(true);
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", "idem-compact")).thenReturn(Optional.of(
+                new IdempotencyRecord(UUID.randomUUID(), "PIX_TRANSFER", "idem-compact", "PENDING:E2E-3", now, now.plusSeconds(60))
+        ));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", "idem-legacy")).thenReturn(Optional.of(
+                new IdempotencyRecord(UUID.randomUUID(), "PIX_TRANSFER", "idem-legacy",
+                        "{\"endToEndId\":\"E2E-4\",\"status\":\"CONFIRMED\"}", now, now.plusSeconds(60))
+        ));
+
+        assertEquals(new PixTransferResponse("E2E-3", "PENDING"), useCase.execute(request, "idem-compact"));
+        assertEquals(new PixTransferResponse("E2E-4", "CONFIRMED"), useCase.execute(request, "idem-legacy"));
+        verify(createPixTransferUseCase, never()).executeNew(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReplayExistingTransferWhenTheRecordLookupMisses() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        PixTransfer transfer = PixTransfer.newPending(fromWalletId, UUID.randomUUID(), BigDecimal.TEN, "E2E-6", "idem-6");
+        // e.g. a record already purged
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-6")).thenReturn(true);
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", "idem-6")).thenReturn(Optional.empty());
+        when(createPixTransferUseCase.findExistingTransfer(fromWalletId, "idem-6")).thenReturn(Optional.of(transfer));
+
+        assertEquals(new PixTransferResponse("E2E-6", "PENDING"), useCase.execute(request, "idem-6"));
+
+        verify(createPixTransferUseCase, never()).executeNew(any(), any(), any(), any(), any());
+        verify(idempotencyRecordRepository, never()).save(any());
+        verify(pixTransferMetrics).recordCreateResult(IdempotencyOutcome.HIT, MetricResult.SUCCESS);
+    }
+
+    @Test
+    void shouldReplayRecordPastItsExpiryUntilItIsPurged() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        Instant now = Instant.now();
+        IdempotencyRecord expired = new IdempotencyRecord(
+                UUID.randomUUID(), "PIX_TRANSFER", "idem-5", "PENDING:E2E-5", now.minusSeconds(120), now.minusSeconds(60)
+        );
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-5")).thenReturn(true);
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", "idem-5")).thenReturn(Optional.of(expired));
+
+        assertEquals(new PixTransferResponse("E2E-5", "PENDING"), useCase.execute(request, "idem-5"));
+
+        verify(createPixTransferUseCase, never()).findExistingTransfer(any(), any());
+        verify(createPixTransferUseCase, never()).executeNew(any(), any(), any(), any(), any());
+        verify(idempotencyRecordRepository, never()).deleteExpired(any(), anyInt());
+    }
+
+    @Test
+    void shouldCreateWithoutLookupsWhenTheKeyIsRuledOut() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        PixTransfer transfer = PixTransfer.newPending(fromWalletId, UUID.randomUUID(), BigDecimal.TEN, "E2E-8", "idem-8");
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-8")).thenReturn(false);
+        when(createPixTransferUseCase.executeNew(eq(fromWalletId), eq("merchant@test.com"), eq(BigDecimal.TEN), eq("idem-8"), any()))
+                .thenReturn(transfer);
+
+        Instant now = Instant.now();
+        assertEquals(new PixTransferResponse("E2E-8", "PENDING"), useCase.execute(request, "idem-8"));
+
+        verify(idempotencyRecordRepository, never()).findByScopeAndIdempotencyKey(any(), any());
+        verify(createPixTransferUseCase, never()).findExistingTransfer(any(), any());
+        verify(createPixTransferUseCase).executeNew(any(), any(), any(), any(), recordFor.capture());
+        IdempotencyRecord record = recordFor.getValue().apply(transfer);
+        assertEquals("PENDING:E2E-8", record.responsePayload());
+        assertTrue(record.expiresAt().isAfter(now.plus(Duration.ofHours(23))));
+    }
+
+    @Test
+    void shouldReplayTransferWhenTheCreateHitsTheUniqueKey() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        PixTransfer transfer = PixTransfer.newPending(fromWalletId, UUID.randomUUID(), BigDecimal.TEN, "E2E-9", "idem-9");
+        // stored by another instance after this one's filter was last refreshed
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-9")).thenReturn(false);
+        when(createPixTransferUseCase.executeNew(eq(fromWalletId), eq("merchant@test.com"), eq(BigDecimal.TEN), eq("idem-9"), any()))
+                .thenThrow(new DataIntegrityViolationException("uk_pix_transfers_from_wallet_id_idempotency_key"));
+        when(createPixTransferUseCase.findExistingTransfer(fromWalletId, "idem-9")).thenReturn(Optional.of(transfer));
+
+        assertEquals(new PixTransferResponse("E2E-9", "PENDING"), useCase.execute(request, "idem-9"));
+        verify(pixTransferMetrics).recordIdempotencyHit();
+    }
+
+    @Test
+    void shouldRethrowConflictsThatLeaveNoTransferToReplay() {
+        UUID fromWalletId = UUID.randomUUID();
+        PixTransferRequest request = new PixTransferRequest(fromWalletId, "merchant@test.com", BigDecimal.TEN);
+        DataIntegrityViolationException conflict = new DataIntegrityViolationException("uk_pix_transfers_end_to_end_id");
+        when(idempotencyRecordRepository.mightExist("PIX_TRANSFER", "idem-10")).thenReturn(false);
+        when(createPixTransferUseCase.executeNew(eq(fromWalletId), eq("merchant@test.com"), eq(BigDecimal.TEN), eq("idem-10"), any()))
+                .thenThrow(conflict);
+        when(createPixTransferUseCase.findExistingTransfer(fromWalletId, "idem-10")).thenReturn(Optional.empty());
+
+        assertSame(conflict, assertThrows(DataIntegrityViolationException.class, () -> useCase.execute(request, "idem-10")));
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.wallet.application.usecase.pix;
+
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.metrics.IdempotencyRecordMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PurgeExpiredIdempotencyRecordsUseCaseTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private IdempotencyRecordMetrics idempotencyRecordMetrics;
+
+    private PurgeExpiredIdempotencyRecordsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new PurgeExpiredIdempotencyRecordsUseCase(idempotencyRecordRepository, idempotencyRecordMetrics, 100, 3);
+    }
+
+    @Test
+    void shouldKeepPurgingUntilBatchComesBackShort() {
+        when(idempotencyRecordRepository.deleteExpired(any(), eq(100))).thenReturn(100, 40);
+
+        assertEquals(140, useCase.execute());
+
+        verify(idempotencyRecordRepository, times(2)).deleteExpired(any(), eq(100));
+        verify(idempotencyRecordMetrics).recordPurgeBatch(eq(100), anyLong());
+        verify(idempotencyRecordMetrics).recordPurgeBatch(eq(40), anyLong());
+        verify(idempotencyRecordRepository, never()).count();
+    }
+
+    @Test
+    void shouldRefreshTheRecordGaugeOnItsOwn() {
+        when(idempotencyRecordRepository.count()).thenReturn(7L);
+
+        assertEquals(7L, useCase.refreshRecordCount());
+
+        verify(idempotencyRecordMetrics).updateRecords(7L);
+    }
+
+    @Test
+    void shouldStopAfterMaxBatches() {
+        when(idempotencyRecordRepository.deleteExpired(any(), eq(100))).thenReturn(100);
+
+        assertEquals(300, useCase.execute());
+
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(any(), eq(100));
+    }
+}
@@ -0,0 +1,80 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.LedgerArchiveSummary;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.LedgerArchiveMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveLedgerUseCaseTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant CUTOFF = Instant.parse("2025-03-01T00:00:00Z");
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private LedgerArchiveMetrics ledgerArchiveMetrics;
+
+    private ArchiveLedgerUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ArchiveLedgerUseCase(walletRepository, ledgerEntryRepository, ledgerArchiveMetrics, Duration.ofDays(365), 100, 2);
+    }
+
+    @Test
+    void shouldArchiveEachWalletStepByStepUntilNothingIsLeft() {
+        UUID oldWallet = UUID.randomUUID();
+        UUID newWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(oldWallet, newWallet));
+        when(ledgerEntryRepository.archiveBefore(oldWallet, CUTOFF, 100)).thenReturn(100L, 99L, 12L, 0L);
+        when(ledgerEntryRepository.archiveBefore(newWallet, CUTOFF, 100)).thenReturn(0L);
+
+        LedgerArchiveSummary summary = useCase.execute(NOW);
+
+        assertEquals(new LedgerArchiveSummary(2, 1, 211, 0), summary);
+        verify(ledgerEntryRepository, times(4)).archiveBefore(oldWallet, CUTOFF, 100);
+        verify(ledgerArchiveMetrics).recordChecked(211);
+        verify(ledgerArchiveMetrics).recordChecked(0);
+    }
+
+    @Test
+    void shouldKeepGoingWhenOneWalletFails() {
+        UUID failingWallet = UUID.randomUUID();
+        UUID healthyWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(failingWallet, healthyWallet));
+        when(ledgerEntryRepository.archiveBefore(failingWallet, CUTOFF, 100)).thenThrow(new IllegalStateException("boom"));
+        when(ledgerEntryRepository.archiveBefore(healthyWallet, CUTOFF, 100)).thenReturn(3L, 0L);
+
+        LedgerArchiveSummary summary = useCase.execute(NOW);
+
+        assertEquals(new LedgerArchiveSummary(1, 1, 3, 1), summary);
+        verify(ledgerArchiveMetrics).recordError("IllegalStateException");
+    }
+
+    @Test
+    void shouldRejectStepsTooSmallToMakeProgress() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ArchiveLedgerUseCase(walletRepository, ledgerEntryRepository, ledgerArchiveMetrics, Duration.ofDays(365), 1, 2)
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.RunningBalanceBackfillSummary;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.ProjectionMode;
+import com.br.wallet.infrastructure.metrics.WalletBalanceProjectionMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackfillLedgerRunningBalancesUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private WalletBalanceProjectionMetrics walletBalanceProjectionMetrics;
+
+    @InjectMocks
+    private BackfillLedgerRunningBalancesUseCase useCase;
+
+    @Test
+    void shouldBackfillEveryWalletAndCountUpdatedEntries() {
+        UUID legacyWallet = UUID.randomUUID();
+        UUID currentWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(legacyWallet, currentWallet));
+        when(ledgerEntryRepository.backfillRunningBalances(legacyWallet)).thenReturn(12L);
+        when(ledgerEntryRepository.backfillRunningBalances(currentWallet)).thenReturn(0L);
+        RunningBalanceBackfillSummary summary = useCase.execute();
+        assertEquals(2, summary.checked());
+        assertEquals(1, summary.backfilledWallets());
+        assertEquals(12, summary.updatedEntries());
+        assertEquals(0, summary.failed());
+    }
+
+    @Test
+    void shouldKeepGoingWhenOneWalletFails() {
+        UUID failingWallet = UUID.randomUUID();
+        UUID healthyWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(failingWallet, healthyWallet));
+        when(ledgerEntryRepository.backfillRunningBalances(failingWallet)).thenThrow(new IllegalStateException("boom"));
+        when(ledgerEntryRepository.backfillRunningBalances(healthyWallet)).thenReturn(3L);
+        RunningBalanceBackfillSummary summary = useCase.execute();
+        assertEquals(1, summary.checked());
+        assertEquals(1, summary.failed());
+        verify(walletBalanceProjectionMetrics).recordError(ProjectionMode.BACKFILL, "IllegalStateException");
+    }
+}
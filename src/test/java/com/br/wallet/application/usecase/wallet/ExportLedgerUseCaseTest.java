@@ -0,0 +1,179 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportLedgerUseCaseTest {
+
+    private static final long LARGE_EXPORT_ROWS = 5_000_000;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private ExportLedgerUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportLedgerUseCase(walletRepository, ledgerEntryRepository, new ObjectMapper());
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        LedgerEntry entry = entry(walletId, 1, "ref \"quoted\"");
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
+        exports(walletId, List.of(entry, entry(walletId, 2, null)));
+
+        String body = write(useCase.execute(walletId, LedgerExportFormat.NDJSON));
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        var first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(entry.id().toString(), first.get("id").asText());
+        assertEquals("ref \"quoted\"", first.get("referenceId").asText());
+        assertEquals(0, new BigDecimal("1.00").compareTo(first.get("amount").decimalValue()));
+        assertTrue(new ObjectMapper().readTree(lines[1]).get("referenceId").isNull());
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsOnlyWhenNeeded() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
+        exports(walletId, List.of(entry(walletId, 1, "a,\"b\""), entry(walletId, 2, "plain")));
+
+        String[] lines = write(useCase.execute(walletId, LedgerExportFormat.CSV)).split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,wallet_id,"));
+        assertTrue(lines[1].contains(",1.00,1.00,\"a,\"\"b\"\"\","));
+        assertTrue(lines[2].contains(",2.00,2.00,plain,"));
+    }
+
+    @Test
+    void shouldRejectMissingWalletBeforeWriting() {
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, LedgerExportFormat.CSV));
+        verify(ledgerEntryRepository, never()).forEachEntry(any(), any());
+    }
+
+    // a heap far smaller than the export: any buffering of entries ends in OutOfMemoryError
+    @Test
+    void shouldExportMillionsOfRowsInSmallHeap() throws Exception {
+        Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-Xmx32m",
+                "-cp", System.getProperty("java.class.path"),
+                LargeExport.class.getName(),
+                Long.toString(LARGE_EXPORT_ROWS)
+        ).redirectErrorStream(true).start();
+
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES));
+        assertEquals(0, process.exitValue(), output);
+        assertTrue(output.contains("exported=" + LARGE_EXPORT_ROWS + " "), output);
+    }
+
+    private void exports(UUID walletId, List<LedgerEntry> entries) {
+        when(ledgerEntryRepository.forEachEntry(eq(walletId), any())).thenAnswer(invocation -> {
+            Consumer<LedgerEntry> action = invocation.getArgument(1);
+            entries.forEach(action);
+            return (long) entries.size();
+        });
+    }
+
+    private static String write(LedgerExport export) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static LedgerEntry entry(UUID walletId, long n, String referenceId) {
+        BigDecimal amount = BigDecimal.valueOf(n).setScale(2);
+        return new LedgerEntry(
+                UUID.randomUUID(),
+                walletId,
+                LedgerOperationType.DEPOSIT,
+                LedgerEntryDirection.CREDIT,
+                amount,
+                referenceId,
+                null,
+                Instant.EPOCH.plusSeconds(n),
+                Instant.EPOCH.plusSeconds(n),
+                amount
+        );
+    }
+
+    // runs in its own JVM: exports generated entries as NDJSON and CSV into a byte counter
+    static final class LargeExport {
+
+        public static void main(String[] args) throws Exception {
+            long rows = Long.parseLong(args[0]);
+            UUID walletId = UUID.randomUUID();
+            WalletRepository walletRepository = mock(WalletRepository.class);
+            when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(walletId, "export", Instant.EPOCH)));
+            // entries are generated as they are consumed, never held
+            LedgerEntryRepository ledgerEntryRepository = mock(LedgerEntryRepository.class);
+            when(ledgerEntryRepository.forEachEntry(eq(walletId), any())).thenAnswer(invocation -> {
+                Consumer<LedgerEntry> action = invocation.getArgument(1);
+                for (long n = 1; n <= rows; n++) {
+                    action.accept(entry(walletId, n, "ref-" + n));
+                }
+                return rows;
+            });
+            ExportLedgerUseCase useCase = new ExportLedgerUseCase(walletRepository, ledgerEntryRepository, new ObjectMapper());
+            for (LedgerExportFormat format : LedgerExportFormat.values()) {
+                CountingOutputStream out = new CountingOutputStream();
+                long exported = useCase.execute(walletId, format).writeTo(out);
+                System.out.println("format=" + format + " exported=" + exported + " bytes=" + out.bytes);
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
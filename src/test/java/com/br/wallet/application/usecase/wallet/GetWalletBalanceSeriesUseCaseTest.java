@@ -0,0 +1,70 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.WalletBalanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetWalletBalanceSeriesUseCaseTest {
+
+    private static final Instant FROM = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private WalletBalanceMetrics walletBalanceMetrics;
+
+    private GetWalletBalanceSeriesUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetWalletBalanceSeriesUseCase(ledgerEntryRepository, walletBalanceMetrics, 8);
+    }
+
+    @Test
+    void shouldAskForOnePointPerStepAndOneAtTheEnd() {
+        UUID walletId = UUID.randomUUID();
+        List<BalancePoint> series = List.of(new BalancePoint(FROM, BigDecimal.ONE));
+        when(ledgerEntryRepository.calculateBalanceSeries(eq(walletId), any())).thenReturn(series);
+
+        assertEquals(series, useCase.execute(walletId, FROM, FROM.plus(Duration.ofDays(2)), Duration.ofDays(1)));
+        useCase.execute(walletId, FROM, FROM.plus(Duration.ofHours(30)), Duration.ofDays(1));
+
+        verify(ledgerEntryRepository).calculateBalanceSeries(walletId, List.of(
+                FROM, FROM.plus(Duration.ofDays(1)), FROM.plus(Duration.ofDays(2))
+        ));
+        // the last interval is shorter than a day and closes at to
+        verify(ledgerEntryRepository).calculateBalanceSeries(walletId, List.of(
+                FROM, FROM.plus(Duration.ofDays(1)), FROM.plus(Duration.ofHours(30))
+        ));
+    }
+
+    @Test
+    void shouldRejectInvalidRanges() {
+        UUID walletId = UUID.randomUUID();
+        Instant to = FROM.plus(Duration.ofDays(1));
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, to, FROM, Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, FROM, to, Duration.ZERO));
+        // 25 hourly points against a limit of 8
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, FROM, to, Duration.ofHours(1)));
+        verifyNoInteractions(ledgerEntryRepository);
+    }
+}
@@ -0,0 +1,74 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.infrastructure.metrics.WalletBalanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetWalletBalancesUseCaseTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private WalletBalanceMetrics walletBalanceMetrics;
+
+    private GetWalletBalancesUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetWalletBalancesUseCase(ledgerEntryRepository, walletBalanceMetrics, 3);
+    }
+
+    @Test
+    void shouldAnswerInRequestOrderWithZeroForWalletsWithoutEntries() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        when(ledgerEntryRepository.calculateCurrentBalances(Set.of(first, second, empty))).thenReturn(Map.of(
+                first, new BigDecimal("10.00"),
+                second, new BigDecimal("20.00")
+        ));
+
+        Map<UUID, BigDecimal> balances = useCase.execute(List.of(second, empty, first, second), null);
+
+        assertEquals(List.of(second, empty, first), List.copyOf(balances.keySet()));
+        assertEquals(new BigDecimal("20.00"), balances.get(second));
+        assertEquals(BigDecimal.ZERO, balances.get(empty));
+        verify(ledgerEntryRepository, never()).calculateBalancesAt(any(), any());
+    }
+
+    @Test
+    void shouldReadHistoricalBalancesInOneCall() {
+        UUID walletId = UUID.randomUUID();
+        Instant at = Instant.parse("2025-01-01T10:00:00Z");
+        when(ledgerEntryRepository.calculateBalancesAt(Set.of(walletId), at)).thenReturn(Map.of(walletId, new BigDecimal("5.00")));
+
+        assertEquals(new BigDecimal("5.00"), useCase.execute(List.of(walletId), at).get(walletId));
+        verify(ledgerEntryRepository, never()).calculateCurrentBalances(any());
+    }
+
+    @Test
+    void shouldRejectEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(
+                List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()), null
+        ));
+        verifyNoInteractions(ledgerEntryRepository);
+    }
+}
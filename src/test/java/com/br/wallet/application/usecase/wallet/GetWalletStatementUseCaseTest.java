@@ -0,0 +1,87 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetWalletStatementUseCaseTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private GetWalletStatementUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetWalletStatementUseCase(ledgerEntryRepository, 2, 3);
+    }
+
+    @Test
+    void shouldResumeFromCursorOfLastEntry() {
+        UUID walletId = UUID.randomUUID();
+        Instant now = Instant.now();
+        LedgerEntry first = entry(walletId, now);
+        LedgerEntry second = entry(walletId, now.minusNanos(1_000));
+        LedgerEntry third = entry(walletId, now.minusNanos(2_000));
+        when(ledgerEntryRepository.findStatementPage(eq(walletId), isNull(), eq(3))).thenReturn(List.of(first, second, third));
+        when(ledgerEntryRepository.findStatementPage(walletId, StatementCursor.after(second), 3)).thenReturn(List.of(third));
+
+        StatementPage page = useCase.execute(walletId, null, null);
+        assertEquals(List.of(first, second), page.entries());
+        assertNotNull(page.nextCursor());
+
+        StatementPage last = useCase.execute(walletId, null, page.nextCursor());
+        assertEquals(List.of(third), last.entries());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        UUID walletId = UUID.randomUUID();
+        when(ledgerEntryRepository.findStatementPage(walletId, null, 4)).thenReturn(List.of());
+
+        assertTrue(useCase.execute(walletId, 1_000, null).entries().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, 0, null));
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        UUID walletId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, null, "not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, null, "AAAA"));
+        verify(ledgerEntryRepository, never()).findStatementPage(any(), any(), anyInt());
+    }
+
+    private static LedgerEntry entry(UUID walletId, Instant occurredAt) {
+        return LedgerEntry.newEntry(
+                walletId,
+                LedgerOperationType.DEPOSIT,
+                LedgerEntryDirection.CREDIT,
+                BigDecimal.ONE,
+                null,
+                null,
+                occurredAt
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.BalanceReconciliation;
+import com.br.wallet.domain.model.BalanceReconciliationSummary;
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.infrastructure.metrics.WalletBalanceProjectionMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconcileWalletBalancesUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletBalanceRepository walletBalanceRepository;
+
+    @Mock
+    private WalletBalanceProjectionMetrics walletBalanceProjectionMetrics;
+
+    @InjectMocks
+    private ReconcileWalletBalancesUseCase useCase;
+
+    @Test
+    void shouldReportMismatchesWithoutRepairingWhenVerifying() {
+        UUID consistentWallet = UUID.randomUUID();
+        UUID driftedWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(consistentWallet, driftedWallet));
+        when(walletBalanceRepository.reconcile(consistentWallet, false))
+                .thenReturn(new BalanceReconciliation(consistentWallet, new BigDecimal("10.00"), new BigDecimal("10.00"), false));
+        when(walletBalanceRepository.reconcile(driftedWallet, false))
+                .thenReturn(new BalanceReconciliation(driftedWallet, new BigDecimal("5.00"), new BigDecimal("7.00"), false));
+        BalanceReconciliationSummary summary = useCase.verify();
+        assertEquals(2, summary.checked());
+        assertEquals(1, summary.mismatched());
+        assertEquals(0, summary.repaired());
+        verify(walletBalanceRepository, never()).reconcile(any(), eq(true));
+    }
+
+    @Test
+    void shouldRepairMissingProjectionWhenRebuilding() {
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(walletId));
+        when(walletBalanceRepository.reconcile(walletId, true))
+                .thenReturn(new BalanceReconciliation(walletId, null, new BigDecimal("42.00"), true));
+        BalanceReconciliationSummary summary = useCase.rebuild();
+        assertEquals(1, summary.checked());
+        assertEquals(1, summary.mismatched());
+        assertEquals(1, summary.repaired());
+        verify(walletBalanceProjectionMetrics).recordRepaired();
+    }
+
+    @Test
+    void shouldKeepGoingWhenOneWalletFails() {
+        UUID failingWallet = UUID.randomUUID();
+        UUID healthyWallet = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(null, 500)).thenReturn(List.of(failingWallet, healthyWallet));
+        when(walletBalanceRepository.reconcile(failingWallet, true)).thenThrow(new IllegalStateException("boom"));
+        when(walletBalanceRepository.reconcile(healthyWallet, true))
+                .thenReturn(new BalanceReconciliation(healthyWallet, BigDecimal.ZERO, BigDecimal.ZERO, false));
+        BalanceReconciliationSummary summary = useCase.rebuild();
+        assertEquals(1, summary.checked());
+        assertEquals(1, summary.failed());
+    }
+}
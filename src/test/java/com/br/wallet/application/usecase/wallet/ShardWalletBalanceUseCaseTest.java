@@ -0,0 +1,54 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.model.Wallet;
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardWalletBalanceUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletBalanceRepository walletBalanceRepository;
+
+    private ShardWalletBalanceUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ShardWalletBalanceUseCase(walletRepository, walletBalanceRepository, 16);
+    }
+
+    @Test
+    void shouldShardExistingWallet() {
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(mock(Wallet.class)));
+        when(walletBalanceRepository.shard(walletId, 8)).thenReturn(8);
+
+        assertEquals(8, useCase.execute(walletId, 8));
+    }
+
+    @Test
+    void shouldRejectShardCountOutOfRangeOrUnknownWallet() {
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, 0));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, 17));
+        IllegalArgumentException notFound = assertThrows(IllegalArgumentException.class, () -> useCase.execute(walletId, 4));
+        assertEquals("Wallet not found", notFound.getMessage());
+        verify(walletBalanceRepository, never()).shard(any(), anyInt());
+    }
+}
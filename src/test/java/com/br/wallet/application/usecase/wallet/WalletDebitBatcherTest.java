@@ -0,0 +1,144 @@
+package com.br.wallet.application.usecase.wallet;
+
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.infrastructure.metrics.DebitBatchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDebitBatcherTest {
+
+    @Mock
+    private WriteDebitBatchUseCase writeDebitBatchUseCase;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WalletDebitBatcher batcher;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batcher = new WalletDebitBatcher(
+                writeDebitBatchUseCase,
+                new DebitBatchMetrics(meterRegistry),
+                Duration.ofMillis(200),
+                4
+        );
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldWriteConcurrentDebitsOfWalletInOneBatch() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        // accepts the first three debits and rejects the rest, like a balance that covers only three
+        when(writeDebitBatchUseCase.execute(eq(walletId), any())).thenAnswer(invocation -> {
+            List<PendingDebit> debits = invocation.getArgument(1);
+            List<DebitBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < debits.size(); i++) {
+                results.add(i < 3 ? DebitBatchResult.posted(debits.get(i).entry()) : DebitBatchResult.rejected(BigDecimal.ZERO));
+            }
+            return results;
+        });
+
+        List<Future<DebitBatchResult>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> batcher.submit(debit(walletId))));
+        }
+
+        long posted = 0;
+        for (Future<DebitBatchResult> result : results) {
+            if (result.get(5, TimeUnit.SECONDS).isPosted()) {
+                posted++;
+            }
+        }
+        assertEquals(3, posted);
+        verify(writeDebitBatchUseCase, times(1)).execute(eq(walletId), argThat(debits -> debits.size() == 4));
+        assertEquals(4.0, meterRegistry.get("wallet.debit.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void shouldRetryDebitsOneByOneWhenBatchFails() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        PendingDebit failing = debit(walletId);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(writeDebitBatchUseCase.execute(eq(walletId), any())).thenAnswer(invocation -> {
+            List<PendingDebit> debits = invocation.getArgument(1);
+            if (debits.size() == 1 && debits.get(0) != failing && writing.getCount() > 0) {
+                // holds the first batch so the next debits queue up behind it
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (debits.contains(failing)) {
+                throw new IllegalStateException("duplicate transfer");
+            }
+            return debits.stream().map(debit -> DebitBatchResult.posted(debit.entry())).toList();
+        });
+
+        Future<DebitBatchResult> first = executor.submit(() -> batcher.submit(debit(walletId)));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Future<DebitBatchResult> second = executor.submit(() -> batcher.submit(debit(walletId)));
+        Future<DebitBatchResult> third = executor.submit(() -> batcher.submit(failing));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPosted());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isPosted());
+        Exception failure = assertThrows(Exception.class, () -> third.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(1.0, meterRegistry.get("wallet.debit.batch.splits.total").counter().count());
+    }
+
+    @Test
+    void shouldFailWholeBatchWhenWalletIsMissing() {
+        UUID walletId = UUID.randomUUID();
+        when(writeDebitBatchUseCase.execute(eq(walletId), any())).thenThrow(new IllegalArgumentException("Wallet not found"));
+
+        assertThrows(IllegalArgumentException.class, () -> batcher.submit(debit(walletId)));
+        // the drained queue is dropped, so the next debit leads a fresh batch
+        assertThrows(IllegalArgumentException.class, () -> batcher.submit(debit(walletId)));
+        verify(writeDebitBatchUseCase, times(2)).execute(eq(walletId), any());
+    }
+
+    private static PendingDebit debit(UUID walletId) {
+        return new PendingDebit(LedgerEntry.newEntry(
+                walletId,
+                LedgerOperationType.WITHDRAW,
+                LedgerEntryDirection.DEBIT,
+                BigDecimal.TEN,
+                null,
+                null,
+                Instant.now()
+        ), null);
+    }
+}
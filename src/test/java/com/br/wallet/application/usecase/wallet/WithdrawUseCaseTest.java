@@ -1,5 +1,6 @@
 package com.br.wallet.application.usecase.wallet;
 
+import com.br.wallet.domain.enums.DebitStrategy;
 import com.br.wallet.domain.enums.LedgerEntryDirection;
 import com.br.wallet.domain.enums.LedgerOperationType;
 import com.br.wallet.domain.model.LedgerEntry;
@@ -7,10 +8,12 @@ import com.br.wallet.domain.model.Wallet;
 import com.br.wallet.domain.port.LedgerEntryRepository;
 import com.br.wallet.domain.port.WalletRepository;
 import com.br.wallet.infrastructure.metrics.WithdrawMetrics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -31,12 +34,30 @@ class WithdrawUseCaseTest {
     @Mock
     private WithdrawMetrics withdrawMetrics;
 
-    @InjectMocks
+    @Mock
+    private WalletDebitBatcher walletDebitBatcher;
+
     private WithdrawUseCase useCase;
 
     @Captor
     private ArgumentCaptor<LedgerEntry> ledgerEntryCaptor;
 
+    @BeforeEach
+    void setUp() {
+        useCase = newUseCase(DebitStrategy.PESSIMISTIC_LOCK);
+    }
+
+    private WithdrawUseCase newUseCase(DebitStrategy debitStrategy) {
+        return new WithdrawUseCase(
+                walletRepository,
+                ledgerEntryRepository,
+                withdrawMetrics,
+                debitStrategy,
+                walletDebitBatcher,
+                TransactionOperations.withoutTransaction()
+        );
+    }
+
     @Test
     void shouldCreateWithdrawLedgerEntryWhenWalletExistsAndHasSufficientBalance() {
         UUID walletId = UUID.randomUUID();
@@ -60,6 +81,7 @@ class WithdrawUseCaseTest {
         assertNull(entry.referenceId());
         assertNull(entry.endToEndId());
         assertNotNull(entry.occurredAt());
+        verifyNoInteractions(walletDebitBatcher);
     }
 
     @Test
@@ -97,4 +119,40 @@ class WithdrawUseCaseTest {
         verify(ledgerEntryRepository).calculateCurrentBalance(walletId);
         verify(ledgerEntryRepository, never()).save(any());
     }
+
+    @Test
+    void shouldDebitWithGuardedUpdateWithoutLockingWallet() {
+        WithdrawUseCase conditional = newUseCase(DebitStrategy.CONDITIONAL_UPDATE);
+        UUID walletId = UUID.randomUUID();
+        BigDecimal amount = new BigDecimal("150.00");
+        when(ledgerEntryRepository.saveIfCovered(any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        LedgerEntry entry = conditional.execute(walletId, amount);
+
+        assertEquals(walletId, entry.walletId());
+        assertEquals(LedgerEntryDirection.DEBIT, entry.direction());
+        verify(walletRepository, never()).findByIdForUpdate(any());
+        verify(ledgerEntryRepository, never()).calculateCurrentBalance(any());
+        verify(ledgerEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportInsufficientFundsWhenGuardedUpdateIsRejected() {
+        WithdrawUseCase conditional = newUseCase(DebitStrategy.CONDITIONAL_UPDATE);
+        UUID walletId = UUID.randomUUID();
+        Wallet wallet = mock(Wallet.class);
+        when(wallet.id()).thenReturn(walletId);
+        when(ledgerEntryRepository.saveIfCovered(any())).thenReturn(Optional.empty());
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(ledgerEntryRepository.calculateCurrentBalance(walletId)).thenReturn(new BigDecimal("50.00"));
+
+        IllegalStateException ex = assertThrows(
+                IllegalStateException.class,
+                () -> conditional.execute(walletId, new BigDecimal("200.00"))
+        );
+
+        assertEquals("Insufficient funds", ex.getMessage());
+        verify(withdrawMetrics).recordInsufficientFunds();
+        verify(walletRepository, never()).findByIdForUpdate(any());
+    }
 }
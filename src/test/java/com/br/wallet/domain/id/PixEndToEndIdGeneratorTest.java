@@ -0,0 +1,28 @@
+package com.br.wallet.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixEndToEndIdGeneratorTest {
+
+    @Test
+    void shouldFollowPixEndToEndIdFormat() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-14T15:09:26Z"), ZoneOffset.UTC);
+
+        String endToEndId = new PixEndToEndIdGenerator("12345678", clock).newEndToEndId();
+
+        assertEquals(32, endToEndId.length());
+        assertTrue(endToEndId.startsWith("E12345678202603141509"), endToEndId);
+        assertTrue(endToEndId.substring(21).matches("[A-Za-z0-9]{11}"), endToEndId);
+    }
+
+    @Test
+    void shouldRejectInvalidIspb() {
+        assertThrows(IllegalArgumentException.class, () -> new PixEndToEndIdGenerator("1234"));
+    }
+}
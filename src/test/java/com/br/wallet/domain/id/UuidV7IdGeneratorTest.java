@@ -0,0 +1,44 @@
+package com.br.wallet.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7IdGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void shouldCarryTimestampVersionAndVariant() {
+        UUID id = new UuidV7IdGenerator(() -> NOW).newId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldStayStrictlyIncreasingWithinMillisecondAndWhenClockStepsBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7IdGenerator generator = new UuidV7IdGenerator(clock::get);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.newId());
+        }
+        clock.set(NOW - 1_000);
+        ids.add(generator.newId());
+
+        for (int i = 1; i < ids.size(); i++) {
+            // unsigned byte order, as Postgres compares uuid columns
+            assertTrue(
+                    Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()) < 0,
+                    "id " + i + " is not after its predecessor"
+            );
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.infrastructure.metrics.PartitionMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyPartitionJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PartitionMetrics partitionMetrics;
+
+    private final Set<String> partitions = new HashSet<>();
+    private final List<String> ddl = new ArrayList<>();
+    private MonthlyPartitionJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new MonthlyPartitionJob(
+                jdbcTemplate,
+                TransactionOperations.withoutTransaction(),
+                partitionMetrics,
+                1,
+                2,
+                Duration.ofSeconds(5)
+        );
+        when(jdbcTemplate.queryForObject(eq("select pg_advisory_xact_lock(?)"), eq(Object.class), anyLong())).thenReturn(null);
+        when(jdbcTemplate.queryForObject(eq("select to_regclass(?) is not null"), eq(Boolean.class), anyString()))
+                .thenAnswer(invocation -> partitions.contains(invocation.<String>getArgument(2)));
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            ddl.add(sql);
+            if (sql.startsWith("create table")) {
+                partitions.add(sql.replace("create table if not exists ", "create table ").split(" ")[2]);
+            }
+            return null;
+        }).when(jdbcTemplate).execute(anyString());
+    }
+
+    @Test
+    void shouldCreateMonthlyPartitionsAroundCurrentMonth() {
+        job.ensurePartitions(YearMonth.of(2025, 12));
+
+        assertEquals("set local lock_timeout = '5000ms'", ddl.get(0));
+        assertTrue(ddl.contains("create table if not exists ledger_entries_2025_12 partition of ledger_entries"
+                + " for values from ('2025-12-01 00:00:00+00') to ('2026-01-01 00:00:00+00')"));
+        assertTrue(ddl.contains("create table if not exists pix_events_2026_02 partition of pix_events"
+                + " for values from ('2026-02-01 00:00:00+00') to ('2026-03-01 00:00:00+00')"));
+        assertEquals(
+                Set.of(
+                        "ledger_entries_2025_11", "ledger_entries_2025_12", "ledger_entries_2026_01", "ledger_entries_2026_02",
+                        "pix_events_2025_11", "pix_events_2025_12", "pix_events_2026_01", "pix_events_2026_02"
+                ),
+                partitions
+        );
+        verify(partitionMetrics, times(4)).recordCreated("ledger_entries");
+        verify(partitionMetrics, times(4)).recordCreated("pix_events");
+        verify(partitionMetrics).updateMonthsAhead(2);
+    }
+
+    @Test
+    void shouldOnlyCreateMissingPartitions() {
+        job.ensurePartitions(YearMonth.of(2025, 12));
+        clearInvocations(partitionMetrics);
+        ddl.clear();
+
+        job.ensurePartitions(YearMonth.of(2026, 1));
+
+        assertEquals(
+                List.of(
+                        "set local lock_timeout = '5000ms'",
+                        "create table if not exists ledger_entries_2026_03 partition of ledger_entries"
+                                + " for values from ('2026-03-01 00:00:00+00') to ('2026-04-01 00:00:00+00')",
+                        "create table if not exists pix_events_2026_03 partition of pix_events"
+                                + " for values from ('2026-03-01 00:00:00+00') to ('2026-04-01 00:00:00+00')"
+                ),
+                ddl
+        );
+        verify(partitionMetrics).updateMonthsAhead(2);
+    }
+
+    @Test
+    void shouldMoveRowsOutOfTheDefaultPartitionBeforeAttachingTheirMonth() {
+        partitions.add("ledger_entries_default");
+        partitions.add("pix_events_default");
+        when(jdbcTemplate.queryForObject(startsWith("select exists (select 1 from "), eq(Boolean.class)))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0)
+                        .equals("select exists (select 1 from ledger_entries_default where occurred_at >= '2025-11-01 00:00:00+00'"
+                                + " and occurred_at < '2025-12-01 00:00:00+00')"));
+        when(jdbcTemplate.update(startsWith("with moved as"))).thenReturn(3);
+
+        job.ensurePartitions(YearMonth.of(2025, 12));
+
+        int created = ddl.indexOf("create table ledger_entries_2025_11 (like ledger_entries including defaults)");
+        assertTrue(created > 0, ddl.toString());
+        assertEquals(
+                "alter table ledger_entries attach partition ledger_entries_2025_11"
+                        + " for values from ('2025-11-01 00:00:00+00') to ('2025-12-01 00:00:00+00')",
+                ddl.get(created + 1)
+        );
+        verify(jdbcTemplate).update("with moved as (delete from ledger_entries_default where occurred_at >= '2025-11-01 00:00:00+00'"
+                + " and occurred_at < '2025-12-01 00:00:00+00' returning *) insert into ledger_entries_2025_11 select * from moved");
+        assertTrue(ddl.contains("create table if not exists pix_events_2025_11 partition of pix_events"
+                + " for values from ('2025-11-01 00:00:00+00') to ('2025-12-01 00:00:00+00')"));
+        verify(partitionMetrics, times(4)).recordCreated("ledger_entries");
+    }
+}
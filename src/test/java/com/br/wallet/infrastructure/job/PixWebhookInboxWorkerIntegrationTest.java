@@ -0,0 +1,80 @@
+package com.br.wallet.infrastructure.job;
+
+import com.br.wallet.application.usecase.pix.EnqueuePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.IdempotentCreatePixTransferUseCase;
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// a database of its own: the lanes keep polling for as long as the cached context lives
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inboxworkerdb;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "wallet.pix.webhook.inbox.enabled=true",
+        "wallet.pix.webhook.inbox.poll-interval-ms=20"
+})
+@ActiveProfiles("test")
+class PixWebhookInboxWorkerIntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EnqueuePixWebhookUseCase enqueuePixWebhookUseCase;
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private RegisterPixKeyUseCase registerPixKeyUseCase;
+
+    @Autowired
+    private IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase;
+
+    @Autowired
+    private GetWalletBalanceUseCase getWalletBalanceUseCase;
+
+    @Test
+    void shouldKeepTheSharedSchedulerForScheduledJobs() {
+        assertThat(applicationContext.getBean("taskScheduler"))
+                .isNotSameAs(applicationContext.getBean("pixInboxTaskScheduler"));
+    }
+
+    @Test
+    void shouldApplyQueuedWebhooksFromTheLanes() throws Exception {
+        UUID from = createWalletUseCase.execute("worker-" + UUID.randomUUID()).id();
+        depositUseCase.execute(from, new BigDecimal("50.00"));
+        UUID to = createWalletUseCase.execute("worker-" + UUID.randomUUID()).id();
+        String key = "worker-" + UUID.randomUUID() + "@test.com";
+        registerPixKeyUseCase.execute(to, PixKeyType.EMAIL, key);
+        String endToEndId = idempotentCreatePixTransferUseCase.execute(
+                new PixTransferRequest(from, key, new BigDecimal("20.00")),
+                "worker-" + UUID.randomUUID()
+        ).endToEndId();
+
+        enqueuePixWebhookUseCase.execute(endToEndId, "evt-" + UUID.randomUUID(), PixEventType.CONFIRMED, Instant.now());
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (getWalletBalanceUseCase.currentBalance(to).signum() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(getWalletBalanceUseCase.currentBalance(to)).isEqualByComparingTo("20.00");
+    }
+}
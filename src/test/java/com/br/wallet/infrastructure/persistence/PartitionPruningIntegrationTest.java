@@ -0,0 +1,223 @@
+package com.br.wallet.infrastructure.persistence;
+
+import com.br.wallet.infrastructure.job.MonthlyPartitionJob;
+import com.br.wallet.infrastructure.metrics.PartitionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// partition pruning of the repository queries on the "partitioned" schema. Needs a PostgreSQL 14+ database, e.g. the
+// one from docker-compose: WALLET_PARTITIONED_DB_URL=jdbc:postgresql://localhost:5432/wallet (user/password wallet).
+// Each query mirrors its JPQL in LedgerEntryJpaRepository / PixEventJpaRepository (the ledger_entries half, for the
+// ones also reading ledger_entries_archive) and is checked with a custom plan
+// and with the generic plan pgjdbc ends up using for server-prepared statements (pruned at executor start)
+@EnabledIfEnvironmentVariable(named = "WALLET_PARTITIONED_DB_URL", matches = ".+")
+class PartitionPruningIntegrationTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2025, 3);
+    private static final YearMonth FIRST = CURRENT.minusMonths(2);
+    private static final YearMonth LAST = CURRENT.plusMonths(3);
+    private static final String WALLET_ID = UUID.randomUUID().toString();
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static String schema;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        dataSource = new SingleConnectionDataSource(
+                System.getenv("WALLET_PARTITIONED_DB_URL"),
+                System.getenv().getOrDefault("WALLET_PARTITIONED_DB_USER", "wallet"),
+                System.getenv().getOrDefault("WALLET_PARTITIONED_DB_PASSWORD", "wallet"),
+                true
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schema = "pruning_" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.execute("create schema " + schema);
+        jdbcTemplate.execute("set search_path to " + schema);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new EncodedResource(new ClassPathResource("db/partitioned/schema.sql")),
+                    false,
+                    false,
+                    ScriptUtils.DEFAULT_COMMENT_PREFIXES,
+                    ScriptUtils.EOF_STATEMENT_SEPARATOR,
+                    ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                    ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER
+            );
+        }
+        new MonthlyPartitionJob(
+                jdbcTemplate,
+                TransactionOperations.withoutTransaction(),
+                new PartitionMetrics(new SimpleMeterRegistry()),
+                2,
+                3,
+                Duration.ofSeconds(5)
+        ).ensurePartitions(CURRENT);
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("drop schema " + schema + " cascade");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void shouldReadOnlyPartitionsUpToTheInstantForHistoricalBalance() {
+        // findBalanceAnchor
+        assertLedgerPartitions(
+                "uuid, timestamptz",
+                """
+                        select * from ledger_entries
+                        where wallet_id = $1 and backdated = false and occurred_at <= $2
+                        order by wallet_id desc, backdated desc, occurred_at desc, entry_sequence desc
+                        limit 1
+                        """,
+                "'" + WALLET_ID + "', '2025-03-15T12:00:00Z'",
+                Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2), YearMonth.of(2025, 3))
+        );
+        // sumBackdatedAfter
+        assertLedgerPartitions(
+                "uuid, bigint, timestamptz",
+                """
+                        select coalesce(sum(case when direction = 'CREDIT' then amount else -amount end), 0)
+                        from ledger_entries
+                        where wallet_id = $1 and backdated = true and entry_sequence > $2 and occurred_at <= $3
+                        """,
+                "'" + WALLET_ID + "', 10, '2025-02-15T12:00:00Z'",
+                Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2))
+        );
+        // calculateBalanceAt (aggregate fallback)
+        assertLedgerPartitions(
+                "uuid, timestamptz",
+                """
+                        select coalesce(sum(case when direction = 'CREDIT' then amount else -amount end), 0)
+                        from ledger_entries
+                        where wallet_id = $1 and occurred_at <= $2 and operation_type <> 'OPENING_BALANCE'
+                        """,
+                "'" + WALLET_ID + "', '2025-01-20T00:00:00Z'",
+                Set.of(YearMonth.of(2025, 1))
+        );
+    }
+
+    @Test
+    void shouldReadOnlyPartitionsInRangeForBalanceSeries() {
+        // streamMovements
+        assertLedgerPartitions(
+                "uuid, timestamptz, timestamptz",
+                """
+                        select occurred_at, case when direction = 'CREDIT' then amount else -amount end
+                        from ledger_entries
+                        where wallet_id = $1 and occurred_at > $2 and occurred_at <= $3
+                          and operation_type <> 'OPENING_BALANCE'
+                        order by occurred_at
+                        """,
+                "'" + WALLET_ID + "', '2025-02-01T00:00:00Z', '2025-03-10T00:00:00Z'",
+                Set.of(YearMonth.of(2025, 2), YearMonth.of(2025, 3))
+        );
+    }
+
+    @Test
+    void shouldSkipPartitionsNewerThanTheStatementCursor() {
+        // findStatementAfter: the row-value comparison alone prunes nothing, the scalar bound does
+        assertLedgerPartitions(
+                "uuid, timestamptz, uuid",
+                """
+                        select * from ledger_entries
+                        where wallet_id = $1 and occurred_at <= $2 and (occurred_at, id) < ($2, $3)
+                        order by wallet_id desc, occurred_at desc, id desc
+                        limit 50
+                        """,
+                "'" + WALLET_ID + "', '2025-02-10T00:00:00Z', '" + UUID.randomUUID() + "'",
+                Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2))
+        );
+    }
+
+    @Test
+    void shouldArchiveWithoutReadingPartitionsAfterTheCutoff() {
+        // findArchivable
+        assertLedgerPartitions(
+                "uuid, bigint, timestamptz",
+                """
+                        select * from ledger_entries
+                        where wallet_id = $1 and entry_sequence <= $2 and occurred_at < $3
+                        order by entry_sequence
+                        limit 1000
+                        """,
+                "'" + WALLET_ID + "', 500, '2025-02-10T00:00:00Z'",
+                Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2))
+        );
+    }
+
+    @Test
+    void shouldReadDuplicateEventsWithoutOlderPartitions() {
+        // findByEventIdProcessedSince; whether the id exists at all is answered by pix_event_ids
+        assertPartitions(
+                "pix_events",
+                "varchar, timestamptz",
+                "select * from pix_events where event_id = $1 and processed_at >= $2",
+                "'evt-1', '2025-04-20T00:00:00Z'",
+                Set.of(YearMonth.of(2025, 4), YearMonth.of(2025, 5), YearMonth.of(2025, 6))
+        );
+    }
+
+    @Test
+    void shouldKeepEventIdsUniqueAcrossPartitions() {
+        String eventId = "evt-" + UUID.randomUUID();
+        String insert = """
+                insert into pix_events (id, event_id, end_to_end_id, event_type, occurred_at, processed_at)
+                values (?::uuid, ?, 'E2E-1', 'CONFIRMED', ?::timestamptz, ?::timestamptz)
+                """;
+        jdbcTemplate.update(insert, UUID.randomUUID().toString(), eventId, "2025-01-10T00:00:00Z", "2025-01-10T00:00:01Z");
+
+        DuplicateKeyException duplicate = assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                insert, UUID.randomUUID().toString(), eventId, "2025-01-10T00:00:00Z", "2025-04-01T00:00:00Z"
+        ));
+        assertTrue(duplicate.getMessage().contains("uk_pix_events_event_id"), duplicate.getMessage());
+    }
+
+    private static void assertLedgerPartitions(String types, String sql, String args, Set<YearMonth> expected) {
+        assertPartitions("ledger_entries", types, sql, args, expected);
+    }
+
+    private static void assertPartitions(String table, String types, String sql, String args, Set<YearMonth> expected) {
+        for (String planCacheMode : new String[]{"force_custom_plan", "force_generic_plan"}) {
+            String plan = plan(planCacheMode, types, sql, args);
+            for (YearMonth month = FIRST; !month.isAfter(LAST); month = month.plusMonths(1)) {
+                String partition = String.format("%s_%04d_%02d", table, month.getYear(), month.getMonthValue());
+                assertEquals(expected.contains(month), plan.contains(partition), planCacheMode + " " + partition + "\n" + plan);
+            }
+        }
+    }
+
+    private static String plan(String planCacheMode, String types, String sql, String args) {
+        jdbcTemplate.execute("set plan_cache_mode = " + planCacheMode);
+        jdbcTemplate.execute("prepare pruning_check(" + types + ") as " + sql);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList("explain execute pruning_check(" + args + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("deallocate pruning_check");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.infrastructure.metrics.IdempotencyCacheMetrics;
+import com.br.wallet.infrastructure.persistence.repository.IdempotencyKeyRow;
+import com.br.wallet.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingIdempotencyRecordRepositoryAdapterTest {
+
+    private static final String SCOPE = "PIX_TRANSFER";
+
+    @Mock
+    private IdempotencyRecordRepositoryAdapter delegate;
+
+    @Mock
+    private IdempotencyRecordJpaRepository idempotencyRecordJpaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingIdempotencyRecordRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingIdempotencyRecordRepositoryAdapter(
+                delegate,
+                idempotencyRecordJpaRepository,
+                new IdempotencyCacheMetrics(meterRegistry),
+                true,
+                10_000,
+                0.01,
+                Duration.ofHours(1),
+                Duration.ofSeconds(30),
+                100
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.stop();
+    }
+
+    @Test
+    void shouldAnswerUnknownKeysWithoutQueryingOnceLoaded() {
+        IdempotencyRecord stored = IdempotencyRecord.newRecord(SCOPE, "key-stored", "{}", Duration.ofHours(24));
+        when(idempotencyRecordJpaRepository.findKeysAfter(any(), any(), any()))
+                .thenReturn(List.of(new IdempotencyKeyRow(stored.id(), SCOPE, "key-stored", stored.createdAt())));
+        when(delegate.findByScopeAndIdempotencyKey(SCOPE, "key-stored")).thenReturn(Optional.of(stored));
+        adapter.start();
+
+        assertFalse(adapter.mightExist(SCOPE, "key-unknown"));
+        assertTrue(adapter.findByScopeAndIdempotencyKey(SCOPE, "key-unknown").isEmpty());
+        assertEquals(Optional.of(stored), adapter.findByScopeAndIdempotencyKey(SCOPE, "key-stored"));
+        assertEquals(Optional.of(stored), adapter.findByScopeAndIdempotencyKey(SCOPE, "key-stored"));
+
+        verify(delegate, never()).findByScopeAndIdempotencyKey(SCOPE, "key-unknown");
+        verify(delegate, times(1)).findByScopeAndIdempotencyKey(SCOPE, "key-stored");
+        assertEquals(2.0, meterRegistry.get("wallet.idempotency.lookups.total").tag("result", "filtered").counter().count());
+        assertEquals(1.0, meterRegistry.get("wallet.idempotency.lookups.total").tag("result", "cached").counter().count());
+    }
+
+    @Test
+    void shouldGoToDatabaseUntilFilterIsLoaded() {
+        when(delegate.findByScopeAndIdempotencyKey(SCOPE, "key-unknown")).thenReturn(Optional.empty());
+
+        assertTrue(adapter.mightExist(SCOPE, "key-unknown"));
+        assertTrue(adapter.findByScopeAndIdempotencyKey(SCOPE, "key-unknown").isEmpty());
+
+        verify(delegate).findByScopeAndIdempotencyKey(SCOPE, "key-unknown");
+    }
+
+    @Test
+    void shouldNeverRuleOutSavedKeys() {
+        when(idempotencyRecordJpaRepository.findKeysAfter(any(), any(), any())).thenReturn(List.of());
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        adapter.start();
+
+        List<String> keys = IntStream.range(0, 5_000).mapToObj(i -> "key-" + UUID.randomUUID()).toList();
+        for (String key : keys) {
+            adapter.save(IdempotencyRecord.newRecord(SCOPE, key, "{}", Duration.ofHours(24)));
+        }
+        for (String key : keys) {
+            assertTrue(adapter.mightExist(SCOPE, key));
+            adapter.findByScopeAndIdempotencyKey(SCOPE, key);
+        }
+
+        // only the most recent records fit in the response cache; the rest must reach the database
+        assertEquals(0.0, meterRegistry.get("wallet.idempotency.lookups.total").tag("result", "filtered").counter().count());
+        assertTrue(meterRegistry.get("wallet.idempotency.filter.memory.bytes").tag("scope", SCOPE).gauge().value() > 0);
+        assertTrue(meterRegistry.get("wallet.idempotency.filter.expected_false_positive.ratio").gauge().value() < 0.01);
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearConfiguredRate() {
+        when(idempotencyRecordJpaRepository.findKeysAfter(any(), any(), any())).thenReturn(List.of());
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delegate.findByScopeAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        adapter.start();
+        Instant start = Instant.now();
+        for (int i = 0; i < 10_000; i++) {
+            adapter.save(new IdempotencyRecord(UUID.randomUUID(), SCOPE, "stored-" + i, "{}", start, start.plus(Duration.ofHours(24))));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            adapter.findByScopeAndIdempotencyKey(SCOPE, "absent-" + i);
+        }
+
+        double ratio = meterRegistry.get("wallet.idempotency.filter.false_positive.ratio").gauge().value();
+        assertTrue(ratio < 0.03, "false positive ratio " + ratio);
+    }
+}
@@ -0,0 +1,109 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.infrastructure.metrics.HistoricalBalanceCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingLedgerEntryRepositoryAdapterTest {
+
+    @Mock
+    private LedgerEntryRepositoryAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingLedgerEntryRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingLedgerEntryRepositoryAdapter(
+                delegate,
+                new HistoricalBalanceCacheMetrics(meterRegistry),
+                true,
+                Duration.ofDays(7),
+                Duration.ofHours(1),
+                1000
+        );
+    }
+
+    @Test
+    void shouldAnswerSettledInstantsOfOneBucketFromASingleLoad() {
+        UUID walletId = UUID.randomUUID();
+        Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(30, ChronoUnit.DAYS);
+        Instant end = start.plus(1, ChronoUnit.HOURS);
+        when(delegate.findBalanceChanges(walletId, start, end)).thenReturn(List.of(
+                new BalancePoint(start, new BigDecimal("100.00")),
+                new BalancePoint(start.plusSeconds(600), new BigDecimal("80.00")),
+                new BalancePoint(start.plusSeconds(1800), new BigDecimal("95.00"))
+        ));
+
+        assertEquals(new BigDecimal("100.00"), adapter.calculateBalanceAt(walletId, start.plusSeconds(599)));
+        assertEquals(new BigDecimal("80.00"), adapter.calculateBalanceAt(walletId, start.plusSeconds(600)));
+        assertEquals(new BigDecimal("95.00"), adapter.calculateBalanceAt(walletId, start.plusSeconds(3599)));
+
+        verify(delegate, times(1)).findBalanceChanges(any(), any(), any());
+        verify(delegate, never()).calculateBalanceAt(any(), any());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldGoToDatabaseInsideSettlementHorizon() {
+        UUID walletId = UUID.randomUUID();
+        Instant recent = Instant.now().minus(1, ChronoUnit.DAYS);
+        when(delegate.calculateBalanceAt(walletId, recent)).thenReturn(BigDecimal.TEN);
+
+        assertEquals(BigDecimal.TEN, adapter.calculateBalanceAt(walletId, recent));
+        assertEquals(BigDecimal.TEN, adapter.calculateBalanceAt(walletId, recent));
+
+        verify(delegate, times(2)).calculateBalanceAt(walletId, recent);
+        verify(delegate, never()).findBalanceChanges(any(), any(), any());
+        assertEquals(2.0, meterRegistry.get("wallet.balance.history_cache.unsettled.total").counter().count());
+    }
+
+    @Test
+    void shouldDropBucketsReachedByLatePosting() {
+        UUID walletId = UUID.randomUUID();
+        Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(30, ChronoUnit.DAYS);
+        Instant end = start.plus(1, ChronoUnit.HOURS);
+        when(delegate.findBalanceChanges(walletId, start, end)).thenReturn(
+                List.of(new BalancePoint(start, new BigDecimal("100.00"))),
+                List.of(new BalancePoint(start, new BigDecimal("150.00")))
+        );
+        LedgerEntry late = LedgerEntry.newEntry(
+                walletId,
+                LedgerOperationType.DEPOSIT,
+                LedgerEntryDirection.CREDIT,
+                new BigDecimal("50.00"),
+                null,
+                null,
+                start.minus(1, ChronoUnit.DAYS)
+        );
+        when(delegate.save(late)).thenReturn(late);
+
+        assertEquals(new BigDecimal("100.00"), adapter.calculateBalanceAt(walletId, start.plusSeconds(60)));
+        adapter.save(late);
+
+        assertEquals(new BigDecimal("150.00"), adapter.calculateBalanceAt(walletId, start.plusSeconds(60)));
+        verify(delegate, times(2)).findBalanceChanges(walletId, start, end);
+        assertEquals(1.0, meterRegistry.get("wallet.balance.history_cache.late_postings.total").counter().count());
+    }
+}
@@ -0,0 +1,117 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.domain.model.PixKey;
+import com.br.wallet.infrastructure.metrics.PixKeyCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPixKeyRepositoryAdapterTest {
+
+    @Mock
+    private PixKeyRepositoryAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingPixKeyRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingPixKeyRepositoryAdapter(
+                delegate,
+                new PixKeyCacheMetrics(meterRegistry),
+                100,
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(30)
+        );
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        PixKey key = PixKey.newKey(UUID.randomUUID(), PixKeyType.EMAIL, "merchant@test.com");
+        when(delegate.findByKeyValue("merchant@test.com")).thenReturn(Optional.of(key));
+        when(delegate.findByKeyValue("unknown@test.com")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(key), adapter.findByKeyValue("merchant@test.com"));
+            assertEquals(Optional.empty(), adapter.findByKeyValue("unknown@test.com"));
+        }
+
+        verify(delegate, times(1)).findByKeyValue("merchant@test.com");
+        verify(delegate, times(1)).findByKeyValue("unknown@test.com");
+        assertEquals(4.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(3.0, meterRegistry.get("wallet.pix_key.cache.not_found.total").counter().count());
+    }
+
+    @Test
+    void shouldDropNegativeEntryWhenKeyIsRegistered() {
+        PixKey key = PixKey.newKey(UUID.randomUUID(), PixKeyType.EMAIL, "new@test.com");
+        when(delegate.findByKeyValue("new@test.com")).thenReturn(Optional.empty(), Optional.of(key));
+        when(delegate.save(key)).thenReturn(key);
+
+        assertTrue(adapter.findByKeyValue("new@test.com").isEmpty());
+        adapter.save(key);
+
+        assertEquals(Optional.of(key), adapter.findByKeyValue("new@test.com"));
+        verify(delegate, times(2)).findByKeyValue("new@test.com");
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesForSameKey() throws Exception {
+        PixKey key = PixKey.newKey(UUID.randomUUID(), PixKeyType.EMAIL, "hot@test.com");
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findByKeyValue("hot@test.com")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(key);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<PixKey>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(executor.submit(() -> adapter.findByKeyValue("hot@test.com")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Optional<PixKey>> lookup : lookups) {
+                assertEquals(Optional.of(key), lookup.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).findByKeyValue("hot@test.com");
+    }
+
+    @Test
+    void shouldRetryLookupAfterDelegateFailure() {
+        PixKey key = PixKey.newKey(UUID.randomUUID(), PixKeyType.EMAIL, "flaky@test.com");
+        when(delegate.findByKeyValue("flaky@test.com"))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(Optional.of(key));
+
+        assertThrows(IllegalStateException.class, () -> adapter.findByKeyValue("flaky@test.com"));
+
+        assertEquals(Optional.of(key), adapter.findByKeyValue("flaky@test.com"));
+        verify(delegate, times(2)).findByKeyValue("flaky@test.com");
+    }
+}
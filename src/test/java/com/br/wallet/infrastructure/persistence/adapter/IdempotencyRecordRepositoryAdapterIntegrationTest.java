@@ -0,0 +1,56 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyRecordRepositoryAdapterIntegrationTest {
+
+    private static final String SCOPE = "PURGE_TEST";
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void shouldDeleteOnlyExpiredRecordsInBatches() {
+        Instant now = Instant.now();
+        List<IdempotencyRecord> expired = IntStream.range(0, 5)
+                .mapToObj(i -> idempotencyRecordRepository.save(record(now.minus(Duration.ofDays(2)), now.minusSeconds(60))))
+                .toList();
+        IdempotencyRecord live = idempotencyRecordRepository.save(record(now, now.plus(Duration.ofHours(24))));
+
+        assertThat(idempotencyRecordRepository.deleteExpired(now, 2)).isEqualTo(2);
+        assertThat(idempotencyRecordRepository.deleteExpired(now, 2)).isEqualTo(2);
+        assertThat(idempotencyRecordRepository.deleteExpired(now, 2)).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.deleteExpired(now, 2)).isZero();
+
+        for (IdempotencyRecord record : expired) {
+            assertThat(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, record.idempotencyKey())).isEmpty();
+        }
+        assertThat(idempotencyRecordRepository.findByScopeAndIdempotencyKey(SCOPE, live.idempotencyKey())).contains(live);
+    }
+
+    private static IdempotencyRecord record(Instant createdAt, Instant expiresAt) {
+        return new IdempotencyRecord(
+                UUID.randomUUID(),
+                SCOPE,
+                "key-" + UUID.randomUUID(),
+                "PENDING:E2E-" + UUID.randomUUID(),
+                createdAt,
+                expiresAt
+        );
+    }
+}
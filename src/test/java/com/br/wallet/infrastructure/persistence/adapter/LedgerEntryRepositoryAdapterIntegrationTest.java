@@ -0,0 +1,452 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DebitBatchResult;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.PendingDebit;
+import com.br.wallet.application.usecase.wallet.ShardWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
+import com.br.wallet.application.usecase.wallet.WithdrawUseCase;
+import com.br.wallet.domain.enums.LedgerEntryDirection;
+import com.br.wallet.domain.enums.LedgerOperationType;
+import com.br.wallet.domain.model.BalancePoint;
+import com.br.wallet.domain.model.IdempotencyRecord;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.domain.model.PixTransfer;
+import com.br.wallet.domain.model.StatementCursor;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.PixTransferRepository;
+import com.br.wallet.infrastructure.persistence.entity.LedgerEntryEntity;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryArchiveJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.LedgerEntryJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerEntryRepositoryAdapterIntegrationTest {
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerEntryJpaRepository ledgerEntryJpaRepository;
+
+    @Autowired
+    private WalletBalanceJpaRepository walletBalanceJpaRepository;
+
+    @Autowired
+    private WalletDebitBatcher walletDebitBatcher;
+
+    @Autowired
+    private ShardWalletBalanceUseCase shardWalletBalanceUseCase;
+
+    // the historical cache in front of it would answer settled lookups without reading the tables
+    @Autowired
+    private LedgerEntryRepositoryAdapter ledgerEntryRepositoryAdapter;
+
+    @Autowired
+    private LedgerEntryArchiveJpaRepository ledgerEntryArchiveJpaRepository;
+
+    @Autowired
+    private PixTransferRepository pixTransferRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldStoreRunningBalanceOnEachEntry() {
+        UUID walletId = createWalletUseCase.execute("running-" + UUID.randomUUID()).id();
+        LedgerEntry deposit = depositUseCase.execute(walletId, new BigDecimal("200.00"));
+        LedgerEntry withdraw = withdrawUseCase.execute(walletId, new BigDecimal("75.25"));
+        assertThat(deposit.balanceAfter()).isEqualByComparingTo("200.00");
+        assertThat(withdraw.balanceAfter()).isEqualByComparingTo("124.75");
+        LedgerEntryEntity stored = ledgerEntryJpaRepository.findById(withdraw.id()).orElseThrow();
+        assertThat(stored.getEntrySequence()).isEqualTo(2L);
+        assertThat(stored.getBackdated()).isFalse();
+    }
+
+    @Test
+    void shouldCorrectHistoricalBalanceForBackdatedEntries() {
+        UUID walletId = createWalletUseCase.execute("backdated-" + UUID.randomUUID()).id();
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(1, ChronoUnit.DAYS);
+        post(walletId, LedgerEntryDirection.CREDIT, "100.00", base);
+        post(walletId, LedgerEntryDirection.DEBIT, "30.00", base.plus(2, ChronoUnit.HOURS));
+        // arrives last but happened between the two entries above
+        LedgerEntry late = post(walletId, LedgerEntryDirection.CREDIT, "50.00", base.plus(1, ChronoUnit.HOURS));
+        assertThat(ledgerEntryJpaRepository.findById(late.id()).orElseThrow().getBackdated()).isTrue();
+
+        for (Instant at : new Instant[]{
+                base.minusSeconds(1),
+                base,
+                base.plus(90, ChronoUnit.MINUTES),
+                base.plus(2, ChronoUnit.HOURS),
+                base.plus(3, ChronoUnit.HOURS)
+        }) {
+            assertThat(ledgerEntryRepository.calculateBalanceAt(walletId, at))
+                    .isEqualByComparingTo(ledgerEntryJpaRepository.calculateBalanceAt(walletId, at));
+        }
+        assertThat(ledgerEntryRepository.calculateBalanceAt(walletId, base.plus(90, ChronoUnit.MINUTES)))
+                .isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void shouldBackfillEntriesWrittenBeforeRunningBalance() {
+        UUID walletId = createWalletUseCase.execute("legacy-" + UUID.randomUUID()).id();
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(10, ChronoUnit.DAYS);
+        walletBalanceJpaRepository.deleteById(walletId);
+        legacy(walletId, LedgerEntryDirection.CREDIT, "40.00", base);
+        legacy(walletId, LedgerEntryDirection.CREDIT, "60.00", base.plus(1, ChronoUnit.DAYS));
+        legacy(walletId, LedgerEntryDirection.DEBIT, "25.00", base.plus(2, ChronoUnit.DAYS));
+        LedgerEntry current = post(walletId, LedgerEntryDirection.CREDIT, "10.00", base.plus(3, ChronoUnit.DAYS));
+        assertThat(current.balanceAfter()).isEqualByComparingTo("85.00");
+        Instant legacyPoint = base.plus(36, ChronoUnit.HOURS);
+        assertThat(ledgerEntryRepository.calculateBalanceAt(walletId, legacyPoint)).isEqualByComparingTo("100.00");
+
+        long updated = ledgerEntryRepository.backfillRunningBalances(walletId);
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(ledgerEntryJpaRepository.existsByWalletIdAndBalanceAfterIsNull(walletId)).isFalse();
+        assertThat(ledgerEntryRepository.calculateBalanceAt(walletId, legacyPoint)).isEqualByComparingTo("100.00");
+        assertThat(ledgerEntryRepository.calculateBalanceAt(walletId, base.plus(4, ChronoUnit.DAYS))).isEqualByComparingTo("85.00");
+        assertThat(ledgerEntryRepository.backfillRunningBalances(walletId)).isZero();
+        assertThat(post(walletId, LedgerEntryDirection.DEBIT, "5.00", base.plus(5, ChronoUnit.DAYS)).balanceAfter())
+                .isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void shouldPageStatementAcrossEntriesWithSameTimestamp() {
+        UUID walletId = createWalletUseCase.execute("statement-" + UUID.randomUUID()).id();
+        Instant at = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<UUID> posted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            posted.add(post(walletId, LedgerEntryDirection.CREDIT, "1.00", at).id());
+        }
+
+        // the id breaks ties, so a page boundary inside one instant neither skips nor repeats entries
+        List<UUID> read = new ArrayList<>();
+        StatementCursor cursor = null;
+        List<LedgerEntry> page;
+        do {
+            page = ledgerEntryRepository.findStatementPage(walletId, cursor, 2);
+            page.forEach(entry -> read.add(entry.id()));
+            cursor = page.isEmpty() ? null : StatementCursor.after(page.get(page.size() - 1));
+        } while (page.size() == 2);
+
+        assertThat(read).hasSize(5).containsExactlyInAnyOrderElementsOf(posted);
+    }
+
+    @Test
+    void shouldReadBalancesOfManyWalletsLikeOneAtATime() {
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(1, ChronoUnit.DAYS);
+        UUID plain = createWalletUseCase.execute("batch-plain-" + UUID.randomUUID()).id();
+        post(plain, LedgerEntryDirection.CREDIT, "100.00", base);
+        post(plain, LedgerEntryDirection.DEBIT, "30.00", base.plus(2, ChronoUnit.HOURS));
+        UUID hot = createWalletUseCase.execute("batch-hot-" + UUID.randomUUID()).id();
+        post(hot, LedgerEntryDirection.CREDIT, "10.00", base);
+        shardWalletBalanceUseCase.execute(hot, 4);
+        post(hot, LedgerEntryDirection.CREDIT, "5.00", base.plus(1, ChronoUnit.HOURS));
+        post(hot, LedgerEntryDirection.CREDIT, "7.00", base.plus(3, ChronoUnit.HOURS));
+        // no projection row: answered from the ledger
+        UUID legacy = createWalletUseCase.execute("batch-legacy-" + UUID.randomUUID()).id();
+        walletBalanceJpaRepository.deleteById(legacy);
+        legacy(legacy, LedgerEntryDirection.CREDIT, "40.00", base);
+        UUID empty = createWalletUseCase.execute("batch-empty-" + UUID.randomUUID()).id();
+        walletBalanceJpaRepository.deleteById(empty);
+        List<UUID> walletIds = List.of(plain, hot, legacy, empty);
+
+        Map<UUID, BigDecimal> current = ledgerEntryRepository.calculateCurrentBalances(walletIds);
+        Instant at = base.plus(90, ChronoUnit.MINUTES);
+        Map<UUID, BigDecimal> historical = ledgerEntryRepository.calculateBalancesAt(walletIds, at);
+
+        assertThat(current).containsOnlyKeys(plain, hot, legacy);
+        assertThat(current.get(plain)).isEqualByComparingTo("70.00");
+        assertThat(current.get(hot)).isEqualByComparingTo("22.00");
+        assertThat(current.get(legacy)).isEqualByComparingTo("40.00");
+        assertThat(historical).containsOnlyKeys(plain, hot, legacy);
+        for (UUID walletId : List.of(plain, hot, legacy)) {
+            assertThat(current.get(walletId)).isEqualByComparingTo(ledgerEntryRepository.calculateCurrentBalance(walletId));
+            assertThat(historical.get(walletId)).isEqualByComparingTo(ledgerEntryRepository.calculateBalanceAt(walletId, at));
+        }
+        assertThat(historical.get(hot)).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void shouldMatchHistoricalBalanceAtEverySeriesPoint() {
+        UUID walletId = createWalletUseCase.execute("series-" + UUID.randomUUID()).id();
+        Instant base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(5, ChronoUnit.DAYS);
+        post(walletId, LedgerEntryDirection.CREDIT, "100.00", base.minus(1, ChronoUnit.DAYS));
+        post(walletId, LedgerEntryDirection.CREDIT, "20.00", base.plus(1, ChronoUnit.DAYS));
+        post(walletId, LedgerEntryDirection.DEBIT, "5.00", base.plus(26, ChronoUnit.HOURS));
+        post(walletId, LedgerEntryDirection.CREDIT, "1.00", base.plus(3, ChronoUnit.DAYS));
+        // backdated into the second day
+        post(walletId, LedgerEntryDirection.CREDIT, "7.00", base.plus(30, ChronoUnit.HOURS));
+        List<Instant> points = new ArrayList<>();
+        for (int day = 0; day <= 4; day++) {
+            points.add(base.plus(day, ChronoUnit.DAYS));
+        }
+
+        List<BalancePoint> series = ledgerEntryRepository.calculateBalanceSeries(walletId, points);
+
+        assertThat(series).extracting(BalancePoint::at).containsExactlyElementsOf(points);
+        for (BalancePoint point : series) {
+            assertThat(point.balance()).isEqualByComparingTo(ledgerEntryRepository.calculateBalanceAt(walletId, point.at()));
+        }
+        assertThat(series).extracting(point -> point.balance().stripTrailingZeros().toPlainString())
+                .containsExactly("100", "120", "122", "123", "123");
+    }
+
+    @Test
+    void shouldAnswerBalancesAlikeAfterArchivingOldEntries() {
+        UUID walletId = createWalletUseCase.execute("archive-" + UUID.randomUUID()).id();
+        UUID other = createWalletUseCase.execute("archive-other-" + UUID.randomUUID()).id();
+        Instant base = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(40, ChronoUnit.DAYS);
+        post(walletId, LedgerEntryDirection.CREDIT, "100.00", base);
+        post(walletId, LedgerEntryDirection.DEBIT, "30.00", base.plus(1, ChronoUnit.DAYS));
+        post(walletId, LedgerEntryDirection.CREDIT, "50.00", base.plus(3, ChronoUnit.DAYS));
+        // backdated, still before the cutoff: archived with the rest
+        post(walletId, LedgerEntryDirection.CREDIT, "7.00", base.plus(2, ChronoUnit.DAYS));
+        post(walletId, LedgerEntryDirection.CREDIT, "20.00", base.plus(10, ChronoUnit.DAYS));
+        // backdated behind the cutoff but sequenced after an entry that is kept: stays in place
+        post(walletId, LedgerEntryDirection.DEBIT, "4.00", base.plus(36, ChronoUnit.HOURS));
+        post(other, LedgerEntryDirection.CREDIT, "9.00", base.plus(12, ChronoUnit.HOURS));
+        Instant cutoff = base.plus(5, ChronoUnit.DAYS);
+        List<Instant> points = new ArrayList<>();
+        for (Instant at = base.minus(1, ChronoUnit.DAYS); !at.isAfter(base.plus(12, ChronoUnit.DAYS)); at = at.plus(6, ChronoUnit.HOURS)) {
+            points.add(at);
+        }
+        List<BigDecimal> balances = points.stream().map(at -> ledgerEntryRepositoryAdapter.calculateBalanceAt(walletId, at)).toList();
+        List<BalancePoint> series = ledgerEntryRepositoryAdapter.calculateBalanceSeries(walletId, points);
+        List<BalancePoint> changes = ledgerEntryRepositoryAdapter.findBalanceChanges(walletId, points.get(0), points.get(points.size() - 1));
+        Map<UUID, BigDecimal> batch = ledgerEntryRepositoryAdapter.calculateBalancesAt(List.of(walletId, other), base.plus(2, ChronoUnit.DAYS));
+
+        // two entries per step: every step after the first also reads back the opening entry it replaces
+        List<Long> steps = new ArrayList<>();
+        long archived;
+        do {
+            archived = ledgerEntryRepositoryAdapter.archiveBefore(walletId, cutoff, 2);
+            steps.add(archived);
+        } while (archived > 0);
+
+        assertThat(steps).containsExactly(2L, 1L, 1L, 0L);
+        assertThat(ledgerEntryArchiveJpaRepository.findAll()).filteredOn(row -> row.getWalletId().equals(walletId)).hasSize(4);
+        List<LedgerEntry> statement = ledgerEntryRepositoryAdapter.findStatementPage(walletId, null, 10);
+        assertThat(statement).extracting(LedgerEntry::operationType)
+                .containsExactly(LedgerOperationType.PIX_CREDIT, LedgerOperationType.OPENING_BALANCE, LedgerOperationType.PIX_DEBIT);
+        assertThat(statement.get(1).occurredAt()).isEqualTo(base.plus(3, ChronoUnit.DAYS));
+        assertThat(statement.get(1).balanceAfter()).isEqualByComparingTo("127.00");
+        for (int i = 0; i < points.size(); i++) {
+            assertThat(ledgerEntryRepositoryAdapter.calculateBalanceAt(walletId, points.get(i)))
+                    .as("balance at %s", points.get(i))
+                    .isEqualByComparingTo(balances.get(i));
+        }
+        assertThat(render(ledgerEntryRepositoryAdapter.calculateBalanceSeries(walletId, points))).isEqualTo(render(series));
+        assertThat(render(ledgerEntryRepositoryAdapter.findBalanceChanges(walletId, points.get(0), points.get(points.size() - 1))))
+                .isEqualTo(render(changes));
+        Map<UUID, BigDecimal> batchAfter = ledgerEntryRepositoryAdapter.calculateBalancesAt(List.of(walletId, other), base.plus(2, ChronoUnit.DAYS));
+        assertThat(batchAfter).containsOnlyKeys(walletId, other);
+        assertThat(batchAfter.get(walletId)).isEqualByComparingTo(batch.get(walletId));
+        assertThat(batchAfter.get(other)).isEqualByComparingTo(batch.get(other));
+        assertThat(ledgerEntryRepositoryAdapter.calculateCurrentBalance(walletId)).isEqualByComparingTo("143.00");
+        assertThat(post(walletId, LedgerEntryDirection.DEBIT, "3.00", Instant.now()).balanceAfter()).isEqualByComparingTo("140.00");
+    }
+
+    private static List<String> render(List<BalancePoint> points) {
+        return points.stream()
+                .map(point -> point.at() + "=" + point.balance().stripTrailingZeros().toPlainString())
+                .toList();
+    }
+
+    private LedgerEntry post(UUID walletId, LedgerEntryDirection direction, String amount, Instant occurredAt) {
+        return ledgerEntryRepository.save(LedgerEntry.newEntry(
+                walletId,
+                direction == LedgerEntryDirection.CREDIT ? LedgerOperationType.PIX_CREDIT : LedgerOperationType.PIX_DEBIT,
+                direction,
+                new BigDecimal(amount),
+                null,
+                null,
+                occurredAt
+        ));
+    }
+
+    private void legacy(UUID walletId, LedgerEntryDirection direction, String amount, Instant occurredAt) {
+        ledgerEntryJpaRepository.save(new LedgerEntryEntity(
+                UUID.randomUUID(),
+                walletId,
+                direction == LedgerEntryDirection.CREDIT ? LedgerOperationType.DEPOSIT : LedgerOperationType.WITHDRAW,
+                direction,
+                new BigDecimal(amount),
+                null,
+                null,
+                occurredAt,
+                occurredAt
+        ));
+    }
+
+    @Test
+    void shouldNeverOverdrawWithConcurrentConditionalDebits() throws Exception {
+        UUID walletId = createWalletUseCase.execute("conditional-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("55.00"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Optional<LedgerEntry>>> debits = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                debits.add(executor.submit(() -> ledgerEntryRepository.saveIfCovered(LedgerEntry.newEntry(
+                        walletId,
+                        LedgerOperationType.WITHDRAW,
+                        LedgerEntryDirection.DEBIT,
+                        new BigDecimal("10.00"),
+                        null,
+                        null,
+                        Instant.now()
+                ))));
+            }
+            long posted = 0;
+            for (Future<Optional<LedgerEntry>> debit : debits) {
+                if (debit.get(10, TimeUnit.SECONDS).isPresent()) {
+                    posted++;
+                }
+            }
+            assertThat(posted).isEqualTo(5);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ledgerEntryRepository.calculateCurrentBalance(walletId)).isEqualByComparingTo("5.00");
+        assertThat(ledgerEntryJpaRepository.calculateCurrentBalance(walletId)).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    void shouldSeedProjectionOnceForConcurrentFirstPostings() throws Exception {
+        UUID walletId = createWalletUseCase.execute("seed-" + UUID.randomUUID()).id();
+        walletBalanceJpaRepository.deleteById(walletId);
+        legacy(walletId, LedgerEntryDirection.CREDIT, "40.00", Instant.now().minus(1, ChronoUnit.DAYS));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<LedgerEntry>> credits = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                credits.add(executor.submit(() -> post(walletId, LedgerEntryDirection.CREDIT, "1.00", Instant.now())));
+            }
+            for (Future<LedgerEntry> credit : credits) {
+                credit.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(walletBalanceJpaRepository.findBalance(walletId)).hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("48.00"));
+        assertThat(walletBalanceJpaRepository.findById(walletId).orElseThrow().getEntryCount()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldNeverOverdrawWithGroupCommittedDebits() throws Exception {
+        UUID walletId = createWalletUseCase.execute("group-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("55.00"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<DebitBatchResult>> debits = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                debits.add(executor.submit(() -> walletDebitBatcher.submit(new PendingDebit(LedgerEntry.newEntry(
+                        walletId,
+                        LedgerOperationType.WITHDRAW,
+                        LedgerEntryDirection.DEBIT,
+                        new BigDecimal("10.00"),
+                        null,
+                        null,
+                        Instant.now()
+                ), null))));
+            }
+            List<LedgerEntry> posted = new ArrayList<>();
+            for (Future<DebitBatchResult> debit : debits) {
+                DebitBatchResult result = debit.get(10, TimeUnit.SECONDS);
+                if (result.isPosted()) {
+                    posted.add(result.entry());
+                } else {
+                    assertThat(result.availableBalance()).isEqualByComparingTo("5.00");
+                }
+            }
+            assertThat(posted).hasSize(5);
+            // running balances and sequences are assigned per entry even when several share a batch
+            assertThat(posted).extracting(LedgerEntry::balanceAfter).map(BigDecimal::stripTrailingZeros)
+                    .containsExactlyInAnyOrder(
+                            new BigDecimal("45"), new BigDecimal("35"), new BigDecimal("25"), new BigDecimal("15"), new BigDecimal("5")
+                    );
+            assertThat(posted).extracting(entry -> ledgerEntryJpaRepository.findById(entry.id()).orElseThrow().getEntrySequence())
+                    .containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ledgerEntryRepository.calculateCurrentBalance(walletId)).isEqualByComparingTo("5.00");
+        assertThat(ledgerEntryJpaRepository.calculateCurrentBalance(walletId)).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    void shouldCommitTransferAndIdempotencyRecordWithTheDebitBatch() {
+        UUID walletId = createWalletUseCase.execute("group-idem-" + UUID.randomUUID()).id();
+        UUID toWalletId = createWalletUseCase.execute("group-idem-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("15.00"));
+        String postedKey = "group-idem-" + UUID.randomUUID();
+        String rejectedKey = "group-idem-" + UUID.randomUUID();
+
+        // the caller's transaction rolls back after the batch committed: the record must have gone with the batch
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(walletDebitBatcher.submit(pixDebit(walletId, toWalletId, postedKey)).isPosted()).isTrue();
+            assertThat(walletDebitBatcher.submit(pixDebit(walletId, toWalletId, rejectedKey)).isPosted()).isFalse();
+            status.setRollbackOnly();
+        });
+
+        assertThat(pixTransferRepository.findByFromWalletIdAndIdempotencyKey(walletId, postedKey)).isPresent();
+        assertThat(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", postedKey)).isPresent();
+        assertThat(pixTransferRepository.findByFromWalletIdAndIdempotencyKey(walletId, rejectedKey)).isEmpty();
+        assertThat(idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", rejectedKey)).isEmpty();
+    }
+
+    private static PendingDebit pixDebit(UUID walletId, UUID toWalletId, String idempotencyKey) {
+        BigDecimal amount = new BigDecimal("10.00");
+        PixTransfer transfer = PixTransfer.newPending(walletId, toWalletId, amount, "E2E-" + UUID.randomUUID(), idempotencyKey);
+        LedgerEntry entry = LedgerEntry.newEntry(
+                walletId,
+                LedgerOperationType.PIX_DEBIT,
+                LedgerEntryDirection.DEBIT,
+                amount,
+                transfer.id().toString(),
+                transfer.endToEndId(),
+                Instant.now()
+        );
+        IdempotencyRecord record = IdempotencyRecord.newRecord(
+                "PIX_TRANSFER", idempotencyKey, "PENDING:" + transfer.endToEndId(), Duration.ofHours(24)
+        );
+        return new PendingDebit(entry, transfer, record);
+    }
+}
@@ -0,0 +1,122 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.WalletApplication;
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.ExportLedgerUseCase;
+import com.br.wallet.application.usecase.wallet.LedgerExportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the export read through LedgerEntryJpaRepository.streamByWalletId from a real ledger_entries table, in a JVM whose
+// heap could not hold the wallet's entries. The table lives in an H2 file database, filled by another JVM
+class LedgerExportStreamingIntegrationTest {
+
+    private static final long ROWS = 500_000;
+    private static final long INSERT_CHUNK = 100_000;
+
+    @Test
+    void shouldStreamLedgerTableThroughExportInSmallHeap(@TempDir Path dir) throws Exception {
+        String database = dir.resolve("ledger").toString();
+        String populated = run("-Xmx512m", "populate", database);
+        String walletId = populated.substring(populated.indexOf("walletId=") + "walletId=".length()).trim();
+
+        // a heap far smaller than the wallet's entries: any buffering of them ends in OutOfMemoryError
+        String output = run("-Xmx128m", "export", database, walletId);
+
+        assertTrue(output.contains("format=NDJSON exported=" + ROWS + " "), output);
+        assertTrue(output.contains("format=CSV exported=" + ROWS + " "), output);
+    }
+
+    private static String run(String heap, String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                heap,
+                "-cp", System.getProperty("java.class.path"),
+                StreamedExport.class.getName()
+        ));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES));
+        assertEquals(0, process.exitValue(), output);
+        return output;
+    }
+
+    // runs in its own JVM, against the application context on an H2 file database
+    static final class StreamedExport {
+
+        public static void main(String[] args) throws Exception {
+            boolean populate = args[0].equals("populate");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("test")
+                    // arguments, so they win over application-test.yml
+                    .run(
+                            "--spring.datasource.url=jdbc:h2:file:" + args[1] + ";MODE=MYSQL",
+                            "--spring.jpa.hibernate.ddl-auto=" + (populate ? "create" : "none"),
+                            "--logging.level.root=WARN"
+                    )) {
+                if (populate) {
+                    System.out.println("walletId=" + populate(context));
+                    return;
+                }
+                UUID walletId = UUID.fromString(args[2]);
+                ExportLedgerUseCase useCase = context.getBean(ExportLedgerUseCase.class);
+                for (LedgerExportFormat format : LedgerExportFormat.values()) {
+                    CountingOutputStream out = new CountingOutputStream();
+                    long exported = useCase.execute(walletId, format).writeTo(out);
+                    System.out.println("format=" + format + " exported=" + exported + " bytes=" + out.bytes);
+                }
+            }
+        }
+
+        private static UUID populate(ConfigurableApplicationContext context) {
+            UUID walletId = context.getBean(CreateWalletUseCase.class).execute("export").id();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            for (long from = 1; from <= ROWS; from += INSERT_CHUNK) {
+                jdbcTemplate.update(
+                        """
+                                insert into ledger_entries
+                                    (id, wallet_id, operation_type, direction, amount, reference_id, occurred_at, created_at, backdated)
+                                select cast(concat('00000000-0000-7000-8000-', lpad(x, 12, '0')) as uuid), ?, 'DEPOSIT', 'CREDIT', 1.00, concat('ref-', x),
+                                       dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'), current_timestamp, false
+                                from system_range(?, ?)
+                                """,
+                        walletId, from, Math.min(from + INSERT_CHUNK - 1, ROWS)
+                );
+            }
+            return walletId;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
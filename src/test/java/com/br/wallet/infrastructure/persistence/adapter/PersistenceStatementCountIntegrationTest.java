@@ -0,0 +1,114 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.application.usecase.pix.HandlePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.IdempotentCreatePixTransferUseCase;
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalancesUseCase;
+import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PersistenceStatementCountIntegrationTest {
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private RegisterPixKeyUseCase registerPixKeyUseCase;
+
+    @Autowired
+    private IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase;
+
+    @Autowired
+    private HandlePixWebhookUseCase handlePixWebhookUseCase;
+
+    @Autowired
+    private GetWalletBalancesUseCase getWalletBalancesUseCase;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void shouldInsertNewAggregatesWithoutSelectingThemFirst() {
+        AtomicReference<UUID> from = new AtomicReference<>();
+        // insert wallet, insert balance projection
+        assertThat(statements(() -> from.set(createWalletUseCase.execute("stmt-" + UUID.randomUUID()).id()))).isEqualTo(2);
+        // load wallet, update projection, read projection, insert entry
+        assertThat(statements(() -> depositUseCase.execute(from.get(), new BigDecimal("100.00")))).isEqualTo(4);
+
+        UUID to = createWalletUseCase.execute("stmt-" + UUID.randomUUID()).id();
+        String key = "stmt-" + UUID.randomUUID() + "@test.com";
+        // load wallet, check key, insert key
+        assertThat(statements(() -> registerPixKeyUseCase.execute(to, PixKeyType.EMAIL, key))).isEqualTo(3);
+
+        AtomicReference<PixTransferResponse> transfer = new AtomicReference<>();
+        // key lookup, wallet lock, balance read, insert transfer, update projection, read projection, insert entry,
+        // insert idempotency record; the filter rules the new key out, so neither idempotency lookup runs
+        assertThat(statements(() -> transfer.set(idempotentCreatePixTransferUseCase.execute(
+                new PixTransferRequest(from.get(), key, new BigDecimal("40.00")),
+                UUID.randomUUID().toString()
+        )))).isEqualTo(8);
+
+        // event lookup, transfer lookup, insert event, conditional transfer update, update projection, read projection, insert entry
+        assertThat(statements(() -> handlePixWebhookUseCase.execute(
+                transfer.get().endToEndId(),
+                UUID.randomUUID().toString(),
+                PixEventType.CONFIRMED,
+                Instant.now()
+        ))).isEqualTo(7);
+    }
+
+    @Test
+    void shouldReadBalancesOfManyWalletsInOneStatement() {
+        List<UUID> walletIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UUID walletId = createWalletUseCase.execute("stmt-batch-" + UUID.randomUUID()).id();
+            depositUseCase.execute(walletId, new BigDecimal("10.00"));
+            walletIds.add(walletId);
+        }
+
+        // one projection read for all wallets
+        assertThat(statements(() -> getWalletBalancesUseCase.execute(walletIds, null))).isEqualTo(1);
+        // one grouped aggregation over the ledger
+        assertThat(statements(() -> getWalletBalancesUseCase.execute(walletIds, Instant.now()))).isEqualTo(1);
+    }
+
+    private long statements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,85 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.model.PixEvent;
+import com.br.wallet.infrastructure.persistence.entity.PixEventEntity;
+import com.br.wallet.infrastructure.persistence.repository.PixEventJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PixEventRepositoryAdapterTest {
+
+    private static final Duration CLOCK_SKEW = Duration.ofDays(1);
+
+    @Mock
+    private PixEventJpaRepository pixEventJpaRepository;
+
+    @Test
+    void shouldLookUpEventsWithoutATimeBoundOnTheDefaultSchema() {
+        PixEventRepositoryAdapter adapter = new PixEventRepositoryAdapter(pixEventJpaRepository, false, CLOCK_SKEW);
+        PixEventEntity stored = PixEventEntity.fromDomain(PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now()));
+        when(pixEventJpaRepository.findByEventId("evt-1")).thenReturn(Optional.of(stored));
+        when(pixEventJpaRepository.findEventIdsIn(List.of("evt-1"))).thenReturn(List.of("evt-1"));
+
+        assertTrue(adapter.findByEventId("evt-1", Instant.now().plus(Duration.ofDays(3))).isPresent());
+        assertTrue(adapter.findByEventId("evt-1", null).isPresent());
+        assertEquals(Set.of("evt-1"), adapter.findExistingEventIds(List.of("evt-1")));
+
+        verify(pixEventJpaRepository, never()).findByEventIdProcessedSince(any(), any());
+        verify(pixEventJpaRepository, never()).findClaimedEventIdsIn(any());
+    }
+
+    @Test
+    void shouldAnswerUnknownEventsFromTheClaimedIdsWhenPartitioned() {
+        PixEventRepositoryAdapter adapter = new PixEventRepositoryAdapter(pixEventJpaRepository, true, CLOCK_SKEW);
+        when(pixEventJpaRepository.findClaimedEventIdsIn(List.of("evt-new"))).thenReturn(List.of());
+
+        assertTrue(adapter.findByEventId("evt-new", Instant.now()).isEmpty());
+        assertEquals(Set.of(), adapter.findExistingEventIds(List.of("evt-new")));
+
+        verify(pixEventJpaRepository, never()).findByEventIdProcessedSince(any(), any());
+        verify(pixEventJpaRepository, never()).findByEventId(any());
+        verify(pixEventJpaRepository, never()).findEventIdsIn(any());
+    }
+
+    @Test
+    void shouldReadAKnownEventFromThePartitionsAfterItsOccurredAt() {
+        PixEventRepositoryAdapter adapter = new PixEventRepositoryAdapter(pixEventJpaRepository, true, CLOCK_SKEW);
+        Instant occurredAt = Instant.now();
+        PixEventEntity stored = PixEventEntity.fromDomain(PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, occurredAt));
+        when(pixEventJpaRepository.findClaimedEventIdsIn(List.of("evt-1"))).thenReturn(List.of("evt-1"));
+        when(pixEventJpaRepository.findByEventIdProcessedSince("evt-1", occurredAt.minus(CLOCK_SKEW))).thenReturn(Optional.of(stored));
+
+        assertTrue(adapter.findByEventId("evt-1", occurredAt).isPresent());
+
+        verify(pixEventJpaRepository, never()).findByEventId(any());
+    }
+
+    @Test
+    void shouldFindARedeliveryStampedLaterThanTheOriginalWhenPartitioned() {
+        PixEventRepositoryAdapter adapter = new PixEventRepositoryAdapter(pixEventJpaRepository, true, CLOCK_SKEW);
+        Instant redeliveredAt = Instant.now().plus(Duration.ofDays(3));
+        PixEventEntity stored = PixEventEntity.fromDomain(PixEvent.newEvent("evt-1", "E2E-1", PixEventType.CONFIRMED, Instant.now()));
+        when(pixEventJpaRepository.findClaimedEventIdsIn(List.of("evt-1"))).thenReturn(List.of("evt-1"));
+        when(pixEventJpaRepository.findByEventIdProcessedSince("evt-1", redeliveredAt.minus(CLOCK_SKEW))).thenReturn(Optional.empty());
+        when(pixEventJpaRepository.findByEventId("evt-1")).thenReturn(Optional.of(stored));
+
+        assertTrue(adapter.findByEventId("evt-1", redeliveredAt).isPresent());
+        assertTrue(adapter.findByEventId("evt-1", null).isPresent());
+
+        verify(pixEventJpaRepository, times(1)).findByEventIdProcessedSince(any(), any());
+    }
+}
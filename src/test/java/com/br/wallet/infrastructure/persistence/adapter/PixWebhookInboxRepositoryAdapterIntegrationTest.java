@@ -0,0 +1,146 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.application.usecase.pix.DrainPixWebhookInboxUseCase;
+import com.br.wallet.application.usecase.pix.EnqueuePixWebhookUseCase;
+import com.br.wallet.application.usecase.pix.IdempotentCreatePixTransferUseCase;
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.RegisterPixKeyUseCase;
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.domain.model.PixWebhookInboxEvent;
+import com.br.wallet.domain.port.PixWebhookInboxRepository;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PixWebhookInboxRepositoryAdapterIntegrationTest {
+
+    private static final int ALL_KEYS = PixWebhookInboxEvent.PARTITION_KEYS;
+
+    @Autowired
+    private PixWebhookInboxRepository pixWebhookInboxRepository;
+
+    @Autowired
+    private EnqueuePixWebhookUseCase enqueuePixWebhookUseCase;
+
+    @Autowired
+    private DrainPixWebhookInboxUseCase drainPixWebhookInboxUseCase;
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private RegisterPixKeyUseCase registerPixKeyUseCase;
+
+    @Autowired
+    private IdempotentCreatePixTransferUseCase idempotentCreatePixTransferUseCase;
+
+    @Autowired
+    private GetWalletBalanceUseCase getWalletBalanceUseCase;
+
+    @Value("${wallet.pix.webhook.inbox.max-attempts}")
+    private int maxAttempts;
+
+    @Test
+    void shouldClaimOnlyTheOldestEventOfATransfer() {
+        String endToEndId = "E2E-INBOX-" + UUID.randomUUID();
+        PixWebhookInboxEvent first = pixWebhookInboxRepository.save(
+                PixWebhookInboxEvent.newEvent("evt-" + UUID.randomUUID(), endToEndId, PixEventType.CONFIRMED, Instant.now())
+        );
+        PixWebhookInboxEvent second = pixWebhookInboxRepository.save(
+                PixWebhookInboxEvent.newEvent("evt-" + UUID.randomUUID(), endToEndId, PixEventType.REJECTED, Instant.now())
+        );
+        Instant now = Instant.now();
+
+        List<PixWebhookInboxEvent> claimed = pixWebhookInboxRepository.claim(
+                first.partitionKey(), ALL_KEYS, 10, 3, now, now.plusSeconds(30)
+        );
+        assertThat(claimed).extracting(PixWebhookInboxEvent::id).containsExactly(first.id());
+        // the first one is leased: the second keeps waiting behind it
+        assertThat(pixWebhookInboxRepository.claim(first.partitionKey(), ALL_KEYS, 10, 3, now, now.plusSeconds(30)))
+                .isEmpty();
+
+        pixWebhookInboxRepository.recordFailure(first.id(), "boom");
+        List<PixWebhookInboxEvent> retried = pixWebhookInboxRepository.claim(
+                first.partitionKey(), ALL_KEYS, 10, 3, now, now.plusSeconds(30)
+        );
+        assertThat(retried).extracting(PixWebhookInboxEvent::id).containsExactly(first.id());
+        assertThat(retried).extracting(PixWebhookInboxEvent::attempts).containsExactly(1);
+
+        // parked after its last attempt, it still holds the rest of its transfer back
+        pixWebhookInboxRepository.recordFailure(first.id(), "boom");
+        pixWebhookInboxRepository.recordFailure(first.id(), "boom");
+        assertThat(pixWebhookInboxRepository.claim(first.partitionKey(), ALL_KEYS, 10, 3, now, now.plusSeconds(30)))
+                .isEmpty();
+
+        pixWebhookInboxRepository.delete(first.id());
+        assertThat(pixWebhookInboxRepository.claim(first.partitionKey(), ALL_KEYS, 10, 3, now, now.plusSeconds(30)))
+                .extracting(PixWebhookInboxEvent::id).containsExactly(second.id());
+        pixWebhookInboxRepository.delete(second.id());
+    }
+
+    @Test
+    void shouldApplyQueuedWebhookWhenDrained() {
+        UUID to = createWalletUseCase.execute("inbox-" + UUID.randomUUID()).id();
+        String endToEndId = createTransfer(to);
+        String eventId = "evt-" + UUID.randomUUID();
+
+        enqueuePixWebhookUseCase.execute(endToEndId, eventId, PixEventType.CONFIRMED, Instant.now());
+        enqueuePixWebhookUseCase.execute(endToEndId, eventId, PixEventType.CONFIRMED, Instant.now());
+        assertThat(getWalletBalanceUseCase.currentBalance(to)).isEqualByComparingTo("0.00");
+
+        int partitionKey = PixWebhookInboxEvent.newEvent(eventId, endToEndId, PixEventType.CONFIRMED, Instant.now())
+                .partitionKey();
+        assertThat(drainPixWebhookInboxUseCase.drain(partitionKey, ALL_KEYS, 10)).isEqualTo(1);
+        assertThat(getWalletBalanceUseCase.currentBalance(to)).isEqualByComparingTo("20.00");
+        assertThat(drainPixWebhookInboxUseCase.drain(partitionKey, ALL_KEYS, 10)).isZero();
+    }
+
+    @Test
+    void shouldHoldLaterEventsOfATransferBehindAParkedOne() {
+        UUID to = createWalletUseCase.execute("inbox-" + UUID.randomUUID()).id();
+        String endToEndId = createTransfer(to);
+        PixWebhookInboxEvent parked = pixWebhookInboxRepository.save(
+                PixWebhookInboxEvent.newEvent("evt-" + UUID.randomUUID(), endToEndId, PixEventType.CONFIRMED, Instant.now())
+        );
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            pixWebhookInboxRepository.recordFailure(parked.id(), "boom");
+        }
+        enqueuePixWebhookUseCase.execute(endToEndId, "evt-" + UUID.randomUUID(), PixEventType.CONFIRMED, Instant.now());
+
+        assertThat(drainPixWebhookInboxUseCase.drain(parked.partitionKey(), ALL_KEYS, 10)).isZero();
+        assertThat(getWalletBalanceUseCase.currentBalance(to)).isEqualByComparingTo("0.00");
+
+        pixWebhookInboxRepository.delete(parked.id());
+        assertThat(drainPixWebhookInboxUseCase.drain(parked.partitionKey(), ALL_KEYS, 10)).isEqualTo(1);
+        assertThat(getWalletBalanceUseCase.currentBalance(to)).isEqualByComparingTo("20.00");
+    }
+
+    private String createTransfer(UUID to) {
+        UUID from = createWalletUseCase.execute("inbox-" + UUID.randomUUID()).id();
+        depositUseCase.execute(from, new BigDecimal("50.00"));
+        String key = "inbox-" + UUID.randomUUID() + "@test.com";
+        registerPixKeyUseCase.execute(to, PixKeyType.EMAIL, key);
+        return idempotentCreatePixTransferUseCase.execute(
+                new PixTransferRequest(from, key, new BigDecimal("20.00")),
+                "inbox-" + UUID.randomUUID()
+        ).endToEndId();
+    }
+}
@@ -0,0 +1,181 @@
+package com.br.wallet.infrastructure.persistence.adapter;
+
+import com.br.wallet.application.usecase.wallet.CreateWalletUseCase;
+import com.br.wallet.application.usecase.wallet.DepositUseCase;
+import com.br.wallet.application.usecase.wallet.GetWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.ShardWalletBalanceUseCase;
+import com.br.wallet.application.usecase.wallet.WalletDebitBatcher;
+import com.br.wallet.application.usecase.wallet.WithdrawUseCase;
+import com.br.wallet.domain.enums.DebitStrategy;
+import com.br.wallet.domain.model.BalanceReconciliation;
+import com.br.wallet.domain.port.LedgerEntryRepository;
+import com.br.wallet.domain.port.WalletBalanceRepository;
+import com.br.wallet.domain.port.WalletRepository;
+import com.br.wallet.domain.model.LedgerEntry;
+import com.br.wallet.infrastructure.metrics.WithdrawMetrics;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardEntity;
+import com.br.wallet.infrastructure.persistence.entity.WalletBalanceShardId;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceJpaRepository;
+import com.br.wallet.infrastructure.persistence.repository.WalletBalanceShardJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WalletBalanceRepositoryAdapterIntegrationTest {
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private GetWalletBalanceUseCase getWalletBalanceUseCase;
+
+    @Autowired
+    private WalletBalanceRepository walletBalanceRepository;
+
+    @Autowired
+    private ShardWalletBalanceUseCase shardWalletBalanceUseCase;
+
+    @Autowired
+    private WalletBalanceJpaRepository walletBalanceJpaRepository;
+
+    @Autowired
+    private WalletBalanceShardJpaRepository walletBalanceShardJpaRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private WithdrawMetrics withdrawMetrics;
+
+    @Autowired
+    private WalletDebitBatcher walletDebitBatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldKeepProjectionInSyncWithLedgerWrites() {
+        UUID walletId = createWalletUseCase.execute("projection-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("300.00"));
+        withdrawUseCase.execute(walletId, new BigDecimal("120.50"));
+        assertThat(walletBalanceJpaRepository.findBalance(walletId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("179.50")
+        );
+        BalanceReconciliation reconciliation = walletBalanceRepository.reconcile(walletId, false);
+        assertThat(reconciliation.consistent()).isTrue();
+    }
+
+    @Test
+    void shouldRebuildDriftedProjectionFromLedger() {
+        UUID walletId = createWalletUseCase.execute("projection-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("80.00"));
+        walletBalanceJpaRepository.deleteById(walletId);
+        assertThat(getWalletBalanceUseCase.currentBalance(walletId)).isEqualByComparingTo("80.00");
+        BalanceReconciliation verified = walletBalanceRepository.reconcile(walletId, false);
+        assertThat(verified.consistent()).isFalse();
+        assertThat(verified.repaired()).isFalse();
+        BalanceReconciliation rebuilt = walletBalanceRepository.reconcile(walletId, true);
+        assertThat(rebuilt.repaired()).isTrue();
+        assertThat(walletBalanceRepository.reconcile(walletId, false).consistent()).isTrue();
+        depositUseCase.execute(walletId, new BigDecimal("20.00"));
+        assertThat(getWalletBalanceUseCase.currentBalance(walletId)).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void shouldSpreadHotWalletCreditsOverShards() throws Exception {
+        UUID walletId = createWalletUseCase.execute("projection-" + UUID.randomUUID()).id();
+        depositUseCase.execute(walletId, new BigDecimal("50.00"));
+        assertThat(shardWalletBalanceUseCase.execute(walletId, 4)).isEqualTo(4);
+        assertThat(shardWalletBalanceUseCase.execute(walletId, 2)).isEqualTo(4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<LedgerEntry>> deposits = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                deposits.add(executor.submit(() -> depositUseCase.execute(walletId, new BigDecimal("10.00"))));
+            }
+            for (Future<LedgerEntry> deposit : deposits) {
+                assertThat(deposit.get().balanceAfter()).isNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Instant afterDeposits = Instant.now();
+
+        assertThat(walletBalanceShardJpaRepository.sumBalance(walletId)).isEqualByComparingTo("400.00");
+        assertThat(getWalletBalanceUseCase.currentBalance(walletId)).isEqualByComparingTo("450.00");
+        // the debit is covered by the shards even though the wallet_balances row alone holds 50.00
+        withdrawUseCase.execute(walletId, new BigDecimal("420.00"));
+        assertThat(getWalletBalanceUseCase.currentBalance(walletId)).isEqualByComparingTo("30.00");
+        assertThat(getWalletBalanceUseCase.balanceAt(walletId, afterDeposits)).isEqualByComparingTo("450.00");
+        assertThat(walletBalanceRepository.reconcile(walletId, false).consistent()).isTrue();
+
+        WalletBalanceShardEntity drifted = walletBalanceShardJpaRepository.findById(new WalletBalanceShardId(walletId, 0)).orElseThrow();
+        drifted.setBalance(drifted.getBalance().add(new BigDecimal("5.00")));
+        walletBalanceShardJpaRepository.save(drifted);
+        assertThat(walletBalanceRepository.reconcile(walletId, false).consistent()).isFalse();
+        assertThat(walletBalanceRepository.reconcile(walletId, true).repaired()).isTrue();
+        assertThat(getWalletBalanceUseCase.currentBalance(walletId)).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void shouldCoverDebitsOfAHotWalletWithItsShardsOnEveryDebitPath() {
+        for (DebitStrategy debitStrategy : DebitStrategy.values()) {
+            WithdrawUseCase withdraw = new WithdrawUseCase(
+                    walletRepository,
+                    ledgerEntryRepository,
+                    withdrawMetrics,
+                    debitStrategy,
+                    walletDebitBatcher,
+                    debitStrategy == DebitStrategy.GROUP_COMMIT ? TransactionOperations.withoutTransaction() : transactionTemplate
+            );
+            UUID walletId = createWalletUseCase.execute("projection-" + UUID.randomUUID()).id();
+            depositUseCase.execute(walletId, new BigDecimal("50.00"));
+            shardWalletBalanceUseCase.execute(walletId, 4);
+            for (int i = 0; i < 4; i++) {
+                depositUseCase.execute(walletId, new BigDecimal("100.00"));
+            }
+
+            withdraw.execute(walletId, new BigDecimal("420.00"));
+
+            // debits stay on the wallet_balances row, which goes negative; the shards cover it in every read
+            assertThat(walletBalanceJpaRepository.findById(walletId).orElseThrow().getBalance()).isEqualByComparingTo("-370.00");
+            assertThat(getWalletBalanceUseCase.currentBalance(walletId)).as(debitStrategy.name()).isEqualByComparingTo("30.00");
+            assertThat(ledgerEntryRepository.calculateCurrentBalances(List.of(walletId)).get(walletId)).isEqualByComparingTo("30.00");
+            assertThat(getWalletBalanceUseCase.balanceAt(walletId, Instant.now())).isEqualByComparingTo("30.00");
+            assertThat(walletBalanceRepository.reconcile(walletId, false).consistent()).isTrue();
+
+            assertThatThrownBy(() -> withdraw.execute(walletId, new BigDecimal("30.01")))
+                    .as(debitStrategy.name())
+                    .isInstanceOf(IllegalStateException.class);
+            withdraw.execute(walletId, new BigDecimal("30.00"));
+            assertThat(getWalletBalanceUseCase.currentBalance(walletId)).as(debitStrategy.name()).isEqualByComparingTo("0.00");
+        }
+    }
+}
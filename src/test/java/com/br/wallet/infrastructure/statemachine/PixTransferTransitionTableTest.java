@@ -0,0 +1,64 @@
+package com.br.wallet.infrastructure.statemachine;
+
+import com.br.wallet.domain.enums.PixEventType;
+import com.br.wallet.domain.enums.PixTransferStatus;
+import com.br.wallet.domain.model.PixTransfer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PixTransferTransitionTableTest {
+
+    @Test
+    void shouldRunActionOnlyForDefinedTransitions() {
+        List<String> fired = new ArrayList<>();
+        PixTransferTransitionTable table = PixTransferTransitionTable.compile(List.of(
+                new PixTransferTransition(
+                        PixTransferStatus.PENDING,
+                        PixEventType.CONFIRMED,
+                        PixTransferStatus.CONFIRMED,
+                        (transfer, occurredAt, eventId) -> fired.add(eventId)
+                )
+        ));
+        PixTransfer pending = mock(PixTransfer.class);
+        when(pending.status()).thenReturn(PixTransferStatus.PENDING);
+        PixTransfer confirmed = mock(PixTransfer.class);
+        when(confirmed.status()).thenReturn(PixTransferStatus.CONFIRMED);
+
+        assertEquals(PixTransitionResult.APPLIED, table.fire(pending, PixEventType.CONFIRMED, Instant.now(), "evt-1"));
+        assertEquals(PixTransitionResult.NOT_ACCEPTED, table.fire(pending, PixEventType.REJECTED, Instant.now(), "evt-2"));
+        assertEquals(PixTransitionResult.NOT_ACCEPTED, table.fire(confirmed, PixEventType.CONFIRMED, Instant.now(), "evt-3"));
+        assertEquals(List.of("evt-1"), fired);
+    }
+
+    @Test
+    void shouldReportConflictWhenActionLosesTheRace() {
+        PixTransferTransitionTable table = PixTransferTransitionTable.compile(List.of(
+                new PixTransferTransition(
+                        PixTransferStatus.PENDING,
+                        PixEventType.REJECTED,
+                        PixTransferStatus.REJECTED,
+                        (transfer, occurredAt, eventId) -> false
+                )
+        ));
+        PixTransfer pending = mock(PixTransfer.class);
+        when(pending.status()).thenReturn(PixTransferStatus.PENDING);
+        assertEquals(PixTransitionResult.CONFLICT, table.fire(pending, PixEventType.REJECTED, Instant.now(), "evt-4"));
+    }
+
+    @Test
+    void shouldRejectDuplicateTransitions() {
+        PixTransferTransition transition = new PixTransferTransition(
+                PixTransferStatus.PENDING,
+                PixEventType.REJECTED,
+                PixTransferStatus.REJECTED,
+                (transfer, occurredAt, eventId) -> true
+        );
+        assertThrows(IllegalStateException.class, () -> PixTransferTransitionTable.compile(List.of(transition, transition)));
+    }
+}
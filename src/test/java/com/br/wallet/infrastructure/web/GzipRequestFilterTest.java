@@ -0,0 +1,63 @@
+package com.br.wallet.infrastructure.web;
+
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipRequestFilterTest {
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(64 * 1024);
+
+    @Test
+    void shouldInflateBodyForBlockingReads() throws Exception {
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter.doFilter(gzipRequest("[]"), new MockHttpServletResponse(), (request, response) ->
+                body.set(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertEquals("[]", body.get());
+    }
+
+    @Test
+    void shouldAnswerAsyncReadsWithUnsupportedMediaType() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                filter.doFilter(gzipRequest("[]"), new MockHttpServletResponse(), (request, response) ->
+                        request.getInputStream().setReadListener(new ReadListener() {
+                            @Override
+                            public void onDataAvailable() {
+                            }
+
+                            @Override
+                            public void onAllDataRead() {
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                            }
+                        })));
+
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, exception.getStatusCode());
+    }
+
+    private MockHttpServletRequest gzipRequest(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/pix/webhook/batch");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(out.toByteArray());
+        return request;
+    }
+}
@@ -1,6 +1,9 @@
 package com.br.wallet.interfaces.rest.pix;
 
+import com.br.wallet.application.usecase.pix.CreatePixTransferUseCase;
 import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.domain.port.IdempotencyRecordRepository;
+import com.br.wallet.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
 import com.br.wallet.interfaces.rest.wallet.dto.CreateWalletRequest;
 import com.br.wallet.interfaces.rest.wallet.dto.AmountRequest;
 import com.br.wallet.interfaces.rest.wallet.dto.RegisterPixKeyRequest;
@@ -17,8 +20,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +50,17 @@ class PixTransferControllerIntegrationTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyRecordJpaRepository idempotencyRecordJpaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CreatePixTransferUseCase createPixTransferUseCase;
 
     private String createWallet(String owner) throws Exception {
         var resp = mockMvc.perform(
@@ -93,4 +120,119 @@ class PixTransferControllerIntegrationTest {
                 .andExpect(status().isAccepted())
                 .andExpect(content().json(firstResponse));
     }
+
+    @Test
+    void shouldReplayTransferAfterItsIdempotencyRecordIsPurged() throws Exception {
+        String fromWalletId = createWallet(UUID.randomUUID().toString());
+        deposit(fromWalletId, new BigDecimal("500"));
+        String toWalletId = createWallet(UUID.randomUUID().toString());
+        String pixKey = "purged-" + UUID.randomUUID() + "@test.com";
+        registerPixKey(toWalletId, pixKey);
+        String body = mapper.writeValueAsString(
+                new PixTransferRequest(UUID.fromString(fromWalletId), pixKey, new BigDecimal("100"))
+        );
+        String idemKey = "purged-" + UUID.randomUUID();
+        String firstResponse = mockMvc.perform(
+                        post("/pix/transfers")
+                                .header("Idempotency-Key", idemKey)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        UUID recordId = idempotencyRecordRepository.findByScopeAndIdempotencyKey("PIX_TRANSFER", idemKey).orElseThrow().id();
+        transactionTemplate.executeWithoutResult(status -> idempotencyRecordJpaRepository.deleteByIds(List.of(recordId)));
+
+        mockMvc.perform(
+                        post("/pix/transfers")
+                                .header("Idempotency-Key", idemKey)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(content().json(firstResponse));
+        var balance = mockMvc.perform(get("/wallets/" + fromWalletId + "/balance"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(0, new BigDecimal("400").compareTo(new BigDecimal(mapper.readTree(balance).get("balance").asText())));
+    }
+
+    @Test
+    void shouldReplayTransferCreatedUnderAKeyTheFilterHasNotSeen() throws Exception {
+        String fromWalletId = createWallet(UUID.randomUUID().toString());
+        deposit(fromWalletId, new BigDecimal("500"));
+        String toWalletId = createWallet(UUID.randomUUID().toString());
+        String pixKey = "unseen-" + UUID.randomUUID() + "@test.com";
+        registerPixKey(toWalletId, pixKey);
+        String idemKey = "unseen-" + UUID.randomUUID();
+        // as another instance would: the transfer commits, but this instance's filter has not loaded the key yet
+        var existing = createPixTransferUseCase.executeNew(UUID.fromString(fromWalletId), pixKey, new BigDecimal("100"), idemKey);
+
+        mockMvc.perform(
+                        post("/pix/transfers")
+                                .header("Idempotency-Key", idemKey)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(
+                                        new PixTransferRequest(UUID.fromString(fromWalletId), pixKey, new BigDecimal("100"))
+                                ))
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.endToEndId").value(existing.endToEndId()));
+        var balance = mockMvc.perform(get("/wallets/" + fromWalletId + "/balance"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(0, new BigDecimal("400").compareTo(new BigDecimal(mapper.readTree(balance).get("balance").asText())));
+    }
+
+    @Test
+    void shouldCreateSingleTransferForConcurrentRetriesWithSameKey() throws Exception {
+        String fromWalletId = createWallet(UUID.randomUUID().toString());
+        deposit(fromWalletId, new BigDecimal("500"));
+        String toWalletId = createWallet(UUID.randomUUID().toString());
+        String pixKey = "retry-" + UUID.randomUUID() + "@test.com";
+        registerPixKey(toWalletId, pixKey);
+        String body = mapper.writeValueAsString(
+                new PixTransferRequest(UUID.fromString(fromWalletId), pixKey, new BigDecimal("100"))
+        );
+        String idemKey = "retry-" + UUID.randomUUID();
+        int clients = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(
+                            post("/pix/transfers")
+                                    .header("Idempotency-Key", idemKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body)
+                    ).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+            Set<String> endToEndIds = new HashSet<>();
+            for (Future<MockHttpServletResponse> response : responses) {
+                MockHttpServletResponse result = response.get(30, TimeUnit.SECONDS);
+                assertEquals(202, result.getStatus());
+                endToEndIds.add(mapper.readTree(result.getContentAsString()).get("endToEndId").asText());
+            }
+            assertEquals(1, endToEndIds.size());
+        } finally {
+            executor.shutdownNow();
+        }
+        var balance = mockMvc.perform(get("/wallets/" + fromWalletId + "/balance"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(0, new BigDecimal("400").compareTo(new BigDecimal(mapper.readTree(balance).get("balance").asText())));
+    }
 }
@@ -0,0 +1,118 @@
+package com.br.wallet.interfaces.rest.pix;
+
+import com.br.wallet.domain.enums.PixKeyType;
+import com.br.wallet.interfaces.rest.pix.dto.PixTransferRequest;
+import com.br.wallet.interfaces.rest.wallet.dto.AmountRequest;
+import com.br.wallet.interfaces.rest.wallet.dto.CreateWalletRequest;
+import com.br.wallet.interfaces.rest.wallet.dto.RegisterPixKeyRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// callers parked in a debit batch must not hold a pool connection, or with more of them than the pool the batch
+// leader never gets one to write with
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groupcommitdb;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=" + PixTransferGroupCommitIntegrationTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=1000",
+        "wallet.debit.strategy=GROUP_COMMIT",
+        "wallet.debit.batch.window=50ms"
+})
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+class PixTransferGroupCommitIntegrationTest {
+
+    static final int POOL_SIZE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void shouldPostConcurrentDebitsOfOneWalletWithMoreCallersThanConnections() throws Exception {
+        String fromWalletId = createWallet();
+        mockMvc.perform(
+                post("/wallets/" + fromWalletId + "/deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new AmountRequest(new BigDecimal("1000"))))
+        ).andExpect(status().isCreated());
+        String pixKey = "group-commit-" + UUID.randomUUID() + "@test.com";
+        mockMvc.perform(
+                post("/wallets/" + createWallet() + "/pix-keys")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new RegisterPixKeyRequest(PixKeyType.EMAIL, pixKey)))
+        ).andExpect(status().isCreated());
+        String transfer = mapper.writeValueAsString(
+                new PixTransferRequest(UUID.fromString(fromWalletId), pixKey, BigDecimal.TEN)
+        );
+        String withdraw = mapper.writeValueAsString(new AmountRequest(BigDecimal.TEN));
+
+        int callers = POOL_SIZE * 6;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            boolean pix = i % 2 == 0;
+            statuses.add(executor.submit(() -> {
+                start.await();
+                if (pix) {
+                    return mockMvc.perform(
+                            post("/pix/transfers")
+                                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(transfer)
+                    ).andReturn().getResponse().getStatus();
+                }
+                return mockMvc.perform(
+                        post("/wallets/" + fromWalletId + "/withdraw")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(withdraw)
+                ).andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < callers; i++) {
+            assertEquals(i % 2 == 0 ? 202 : 200, statuses.get(i).get(30, TimeUnit.SECONDS), "caller " + i);
+        }
+        executor.shutdown();
+
+        mockMvc.perform(get("/wallets/" + fromWalletId + "/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1000 - 10 * callers));
+    }
+
+    private String createWallet() throws Exception {
+        var resp = mockMvc.perform(
+                post("/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new CreateWalletRequest(UUID.randomUUID().toString())))
+        ).andReturn();
+        return mapper.readTree(resp.getResponse().getContentAsString()).get("id").asText();
+    }
+}
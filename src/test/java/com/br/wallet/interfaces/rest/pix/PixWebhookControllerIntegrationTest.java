@@ -16,14 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -86,6 +91,30 @@ class PixWebhookControllerIntegrationTest {
         return new BigDecimal(json.get("balance").asText());
     }
 
+    private String createTransfer(String fromWalletId, String pixKey, BigDecimal amount) throws Exception {
+        String idempotencyKey = "batch-" + UUID.randomUUID();
+        mockMvc.perform(
+                post("/pix/transfers")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(
+                                new PixTransferRequest(UUID.fromString(fromWalletId), pixKey, amount)
+                        ))
+        ).andExpect(status().isAccepted());
+        return pixTransferRepository
+                .findByFromWalletIdAndIdempotencyKey(UUID.fromString(fromWalletId), idempotencyKey)
+                .orElseThrow()
+                .endToEndId();
+    }
+
+    private byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
     @Test
     void shouldExecutePixTransferEndToEndWithWebhookConfirmed() throws Exception {
         String fromWalletId = createWallet("origin-user");
@@ -136,4 +165,115 @@ class PixWebhookControllerIntegrationTest {
         assertThat(fromFinal).isEqualByComparingTo("300.00");
         assertThat(toFinal).isEqualByComparingTo("200.00");
     }
+
+    @Test
+    void shouldApplyGzippedWebhookBatchAndReportPerEventResults() throws Exception {
+        String fromWalletId = createWallet("batch-origin-user");
+        String toWalletId = createWallet("batch-target-user");
+        String pixKey = "target-batch-" + UUID.randomUUID() + "@test.com";
+        registerPixKey(toWalletId, pixKey);
+        deposit(fromWalletId, new BigDecimal("100.00"));
+        String confirmed = createTransfer(fromWalletId, pixKey, new BigDecimal("30.00"));
+        String rejected = createTransfer(fromWalletId, pixKey, new BigDecimal("20.00"));
+        String eventId = "evt-" + UUID.randomUUID();
+        List<PixWebhookRequest> batch = List.of(
+                new PixWebhookRequest(confirmed, eventId, PixEventType.CONFIRMED, Instant.now()),
+                new PixWebhookRequest(confirmed, eventId, PixEventType.CONFIRMED, Instant.now()),
+                new PixWebhookRequest(rejected, "evt-" + UUID.randomUUID(), PixEventType.REJECTED, Instant.now()),
+                new PixWebhookRequest("E2E-UNKNOWN", "evt-" + UUID.randomUUID(), PixEventType.CONFIRMED, Instant.now())
+        );
+        mockMvc.perform(
+                        post("/pix/webhook/batch")
+                                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(gzip(mapper.writeValueAsBytes(batch)))
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.results[0].result").value("APPLIED"))
+                .andExpect(jsonPath("$.results[1].result").value("DUPLICATE"))
+                .andExpect(jsonPath("$.results[2].result").value("APPLIED"))
+                .andExpect(jsonPath("$.results[3].result").value("TRANSFER_NOT_FOUND"));
+        assertThat(getBalance(fromWalletId)).isEqualByComparingTo("70.00");
+        assertThat(getBalance(toWalletId)).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void shouldRejectGzippedBatchInflatingPastTheCap() throws Exception {
+        // a few hundred compressed bytes, well over the 64KB test cap once inflated
+        byte[] bomb = gzip(("[" + " ".repeat(1024 * 1024) + "]").getBytes());
+        assertThat(bomb.length).isLessThan(4096);
+
+        mockMvc.perform(
+                        post("/pix/webhook/batch")
+                                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(bomb)
+                )
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void shouldNotInflateBodiesOfOtherEndpoints() throws Exception {
+        PixWebhookRequest request = new PixWebhookRequest("E2E-UNKNOWN", "evt-" + UUID.randomUUID(), PixEventType.CONFIRMED, Instant.now());
+
+        mockMvc.perform(
+                        post("/pix/webhook")
+                                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(gzip(mapper.writeValueAsBytes(request)))
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerALateRedeliveryAsADuplicate() throws Exception {
+        String fromWalletId = createWallet("redelivery-origin");
+        String toWalletId = createWallet("redelivery-target");
+        String pixKey = "redelivery-" + UUID.randomUUID() + "@test.com";
+        registerPixKey(toWalletId, pixKey);
+        deposit(fromWalletId, new BigDecimal("100.00"));
+        String endToEndId = createTransfer(fromWalletId, pixKey, new BigDecimal("40.00"));
+        String eventId = "evt-" + UUID.randomUUID();
+
+        for (Instant occurredAt : List.of(Instant.now(), Instant.now().plus(Duration.ofDays(3)))) {
+            mockMvc.perform(
+                            post("/pix/webhook")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(
+                                            new PixWebhookRequest(endToEndId, eventId, PixEventType.CONFIRMED, occurredAt)
+                                    ))
+                    )
+                    .andExpect(status().isAccepted());
+        }
+        // stamped further ahead than wallet.pix.events.clock-skew, the redelivery is still found
+        mockMvc.perform(
+                        post("/pix/webhook/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(new PixWebhookRequest(
+                                        endToEndId, eventId, PixEventType.CONFIRMED, Instant.now().plus(Duration.ofDays(3))
+                                ))))
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.results[0].result").value("DUPLICATE"));
+        assertThat(getBalance(toWalletId)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void shouldRejectEventsWithoutOccurredAt() throws Exception {
+        PixWebhookRequest request = new PixWebhookRequest("E2E-UNKNOWN", "evt-" + UUID.randomUUID(), PixEventType.CONFIRMED, null);
+
+        mockMvc.perform(
+                        post("/pix/webhook")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(request))
+                )
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(
+                        post("/pix/webhook/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(request)))
+                )
+                .andExpect(status().isBadRequest());
+    }
 }
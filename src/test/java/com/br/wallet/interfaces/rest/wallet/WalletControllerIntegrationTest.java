@@ -12,8 +12,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -205,4 +207,180 @@ class WalletControllerIntegrationTest {
         System.out.println("STATUS CODES = " + statusCodes);
         assertTrue(balance.compareTo(BigDecimal.ZERO) >= 0);
     }
+
+    @Test
+    void shouldPageThroughStatementWithCursor() throws Exception {
+        var walletResp = mockMvc.perform(
+                        post("/wallets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new CreateWalletRequest("owner-statement")))
+                )
+                .andReturn();
+        var walletId = mapper.readTree(walletResp.getResponse().getContentAsString()).get("id").asText();
+        for (int i = 1; i <= 5; i++) {
+            mockMvc.perform(
+                    post("/wallets/" + walletId + "/deposit")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(new AmountRequest(new BigDecimal(i))))
+            ).andExpect(status().isCreated());
+        }
+
+        List<String> amounts = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/wallets/" + walletId + "/statement").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            var page = mapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+            page.get("entries").forEach(entry -> amounts.add(entry.get("amount").decimalValue().stripTrailingZeros().toPlainString()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        // newest first, every entry exactly once
+        assertEquals(List.of("5", "4", "3", "2", "1"), amounts);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void shouldStreamLedgerExportAsNdjsonAndCsv() throws Exception {
+        var walletResp = mockMvc.perform(
+                        post("/wallets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new CreateWalletRequest("owner-export")))
+                )
+                .andReturn();
+        var walletId = mapper.readTree(walletResp.getResponse().getContentAsString()).get("id").asText();
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(
+                    post("/wallets/" + walletId + "/deposit")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(new AmountRequest(new BigDecimal(i))))
+            ).andExpect(status().isCreated());
+        }
+
+        var ndjson = mockMvc.perform(get("/wallets/" + walletId + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var ndjsonBody = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<String> amounts = new ArrayList<>();
+        for (String line : ndjsonBody.split("\n")) {
+            amounts.add(mapper.readTree(line).get("amount").decimalValue().stripTrailingZeros().toPlainString());
+        }
+        // oldest first
+        assertEquals(List.of("1", "2", "3"), amounts);
+
+        var csv = mockMvc.perform(get("/wallets/" + walletId + "/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var csvLines = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"ledger-" + walletId + ".csv\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+        assertEquals(4, csvLines.length);
+        assertTrue(csvLines[0].startsWith("id,wallet_id,"));
+    }
+
+    @Test
+    void shouldReturnBalancesOfManyWallets() throws Exception {
+        List<String> walletIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            var walletResp = mockMvc.perform(
+                            post("/wallets")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(new CreateWalletRequest("owner-balances-" + i)))
+                    )
+                    .andReturn();
+            var walletId = mapper.readTree(walletResp.getResponse().getContentAsString()).get("id").asText();
+            mockMvc.perform(
+                    post("/wallets/" + walletId + "/deposit")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(new AmountRequest(new BigDecimal(i * 10))))
+            ).andExpect(status().isCreated());
+            walletIds.add(walletId);
+        }
+
+        mockMvc.perform(
+                        post("/wallets/balances")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"walletIds\":[\"" + walletIds.get(2) + "\",\"" + walletIds.get(0) + "\"]}")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balances.length()").value(2))
+                .andExpect(jsonPath("$.balances[0].walletId").value(walletIds.get(2)))
+                .andExpect(jsonPath("$.balances[0].balance").value(30))
+                .andExpect(jsonPath("$.balances[1].walletId").value(walletIds.get(0)))
+                .andExpect(jsonPath("$.balances[1].balance").value(10));
+    }
+
+    @Test
+    void shouldReturnBalanceSeries() throws Exception {
+        var walletResp = mockMvc.perform(
+                        post("/wallets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new CreateWalletRequest("owner-series")))
+                )
+                .andReturn();
+        var walletId = mapper.readTree(walletResp.getResponse().getContentAsString()).get("id").asText();
+        var from = Instant.now().minusSeconds(3600);
+        mockMvc.perform(
+                post("/wallets/" + walletId + "/deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new AmountRequest(new BigDecimal("42.00"))))
+        ).andExpect(status().isCreated());
+
+        mockMvc.perform(
+                        get("/wallets/" + walletId + "/balance/series")
+                                .param("from", from.toString())
+                                .param("to", from.plusSeconds(7200).toString())
+                                .param("step", "PT1H")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points.length()").value(3))
+                .andExpect(jsonPath("$.points[0].balance").value(0))
+                .andExpect(jsonPath("$.points[2].at").value(from.plusSeconds(7200).toString()))
+                .andExpect(jsonPath("$.points[2].balance").value(42));
+    }
+
+    @Test
+    void shouldLetHttpCachesKeepSettledBalances() throws Exception {
+        var walletResp = mockMvc.perform(
+                        post("/wallets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new CreateWalletRequest("owner-settled")))
+                )
+                .andReturn();
+        var walletId = mapper.readTree(walletResp.getResponse().getContentAsString()).get("id").asText();
+        var settled = Instant.now().minus(Duration.ofDays(30)).toString();
+
+        var etag = mockMvc.perform(get("/wallets/" + walletId + "/balance").param("at", settled))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertTrue(etag != null && !etag.isEmpty());
+
+        mockMvc.perform(get("/wallets/" + walletId + "/balance").param("at", settled).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        // still moving inside the settlement horizon
+        mockMvc.perform(get("/wallets/" + walletId + "/balance").param("at", Instant.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"));
+    }
 }